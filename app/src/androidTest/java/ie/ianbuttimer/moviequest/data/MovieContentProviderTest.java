@@ -21,6 +21,8 @@
 package ie.ianbuttimer.moviequest.data;
 
 import android.content.ComponentName;
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
 import android.content.ContentUris;
 import android.content.ContentValues;
@@ -29,28 +31,61 @@ import android.content.UriMatcher;
 import android.content.pm.PackageManager;
 import android.content.pm.ProviderInfo;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.net.Uri;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.text.format.DateUtils;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
 
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+import ie.ianbuttimer.moviequest.tmdb.MovieList;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+import ie.ianbuttimer.moviequest.utils.PayloadCodec;
+import ie.ianbuttimer.moviequest.utils.PreferenceControl;
+import ie.ianbuttimer.moviequest.utils.TMDbNetworkUtils;
 import ie.ianbuttimer.moviequest.utils.UriUtils;
 
 import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
 import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.ReviewEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.VideoEntry;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(AndroidJUnit4.class)
 public class MovieContentProviderTest {
 
+    private static final String TAG = MovieContentProviderTest.class.getSimpleName();
+
+    /** Number of rows in a page of movies */
+    private static final int PAGE_ROWS = 20;
+    /** Time to wait for any further change notifications */
+    private static final long NOTIFICATION_SETTLE_MS = 500;
+
     /* Context used to access various parts of the system */
     private final Context mContext = InstrumentationRegistry.getTargetContext();
 
@@ -158,14 +193,23 @@ public class MovieContentProviderTest {
         String[] names = new String[] {
             "MOVIES",                   "MOVIE_WITH_ID",
             "FAVOURITES",               "FAVOURITE_WITH_ID",
+            "LIST_PAGES",               "MOVIE_SEARCH",
+            "VIDEOS",                   "VIDEO_WITH_ID",
+            "REVIEWS",                  "REVIEW_WITH_ID"
         };
         Uri[] uris = new Uri[] {
             MovieEntry.CONTENT_URI,     UriUtils.getMovieWithIdUri(1),
-            FavouriteEntry.CONTENT_URI, UriUtils.getFavouriteWithIdUri(1)
+            FavouriteEntry.CONTENT_URI, UriUtils.getFavouriteWithIdUri(1),
+            MovieListEntry.CONTENT_URI, UriUtils.getMovieSearchUri("test"),
+            VideoEntry.CONTENT_URI,     UriUtils.getVideosWithIdUri(1),
+            ReviewEntry.CONTENT_URI,    UriUtils.getReviewsWithIdUri(1)
         };
         int[] codes = new int[] {
             MovieContentProvider.MOVIES,    MovieContentProvider.MOVIE_WITH_ID,
-            MovieContentProvider.FAVOURITES, MovieContentProvider.FAVOURITE_WITH_ID
+            MovieContentProvider.FAVOURITES, MovieContentProvider.FAVOURITE_WITH_ID,
+            MovieContentProvider.LIST_PAGES, MovieContentProvider.MOVIE_SEARCH,
+            MovieContentProvider.VIDEOS,    MovieContentProvider.VIDEO_WITH_ID,
+            MovieContentProvider.REVIEWS,   MovieContentProvider.REVIEW_WITH_ID
         };
         for (int i = 0; i < uris.length; i++) {
             int actualTasksMatchCode = testMatcher.match(uris[i]);
@@ -507,5 +551,754 @@ public class MovieContentProviderTest {
         contentResolver.unregisterContentObserver(taskObserver);
     }
 
+    //================================================================================
+    // Test Bulk Insert & Batch
+    //================================================================================
+
+
+    /**
+     * Make the values for a page of movie rows
+     * @param firstId   Id of first movie
+     * @param count     Number of rows
+     * @return  array of values
+     */
+    private ContentValues[] makeMovieValues(int firstId, int count) {
+        ContentValues[] values = new ContentValues[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = MovieContentValues.builder()
+                    .setId(firstId + i)
+                    .setJson("Bulk json string " + (firstId + i))
+                    .build();
+        }
+        return values;
+    }
+
+    /**
+     * Wait for a change notification, and then for any further notifications
+     * @param observer  Observer to wait on
+     * @return  number of notifications received
+     */
+    private int waitForNotifications(TestUtilities.TestContentObserver observer) {
+        observer.waitForNotificationOrFail();
+        SystemClock.sleep(NOTIFICATION_SETTLE_MS);
+        return observer.mChangeCount;
+    }
+
+    /**
+     * Get the number of rows in a table
+     * @param uri   Content uri of table
+     * @return  number of rows
+     */
+    private int getRowCount(Uri uri) {
+        Cursor cursor = mContext.getContentResolver().query(uri, null, null, null, null);
+        assertNotNull("Query failed to return a valid Cursor for " + uri.toString(), cursor);
+        int count = cursor.getCount();
+        cursor.close();
+        return count;
+    }
+
+    /**
+     * Tests inserting a page of rows via a ContentResolver bulk insert
+     */
+    @Test
+    public void testBulkInsert() {
+        TestUtilities.TestContentObserver taskObserver = TestUtilities.getTestContentObserver();
+        ContentResolver contentResolver = mContext.getContentResolver();
+        contentResolver.registerContentObserver(MovieEntry.CONTENT_URI, true, taskObserver);
+
+        int count = contentResolver.bulkInsert(MovieEntry.CONTENT_URI, makeMovieValues(100, PAGE_ROWS));
+
+        assertEquals("Unable to bulk insert items through Provider", PAGE_ROWS, count);
+        assertEquals("Bulk insert row count", PAGE_ROWS, getRowCount(MovieEntry.CONTENT_URI));
+        assertEquals("Bulk insert notifications not coalesced", 1, waitForNotifications(taskObserver));
+
+        contentResolver.unregisterContentObserver(taskObserver);
+    }
+
+    /**
+     * Tests applying a batch of operations on movies and favourites via a ContentResolver
+     */
+    @Test
+    public void testApplyBatch() throws Exception {
+        TestUtilities.TestContentObserver taskObserver = TestUtilities.getTestContentObserver();
+        ContentResolver contentResolver = mContext.getContentResolver();
+        contentResolver.registerContentObserver(MovieEntry.CONTENT_URI, true, taskObserver);
+
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        for (ContentValues values : makeMovieValues(100, PAGE_ROWS)) {
+            operations.add(ContentProviderOperation.newInsert(MovieEntry.CONTENT_URI).withValues(values).build());
+        }
+        operations.add(ContentProviderOperation.newUpdate(UriUtils.getMovieWithIdUri(100))
+                .withValues(MovieContentValues.builder().setJson("Updated in batch").build()).build());
+        operations.add(ContentProviderOperation.newDelete(UriUtils.getMovieWithIdUri(101)).build());
+        operations.add(ContentProviderOperation.newInsert(FavouriteEntry.CONTENT_URI)
+                .withValues(FavouritesContentValues.builder().setId(100).setFavourite(true).build()).build());
+
+        ContentProviderResult[] results = contentResolver.applyBatch(MovieContract.AUTHORITY, operations);
+
+        assertEquals("Batch result count", operations.size(), results.length);
+        assertEquals("Batch update count", 1, results[PAGE_ROWS].count.intValue());
+        assertEquals("Batch delete count", 1, results[PAGE_ROWS + 1].count.intValue());
+        assertEquals("Batch movie row count", PAGE_ROWS - 1, getRowCount(MovieEntry.CONTENT_URI));
+        assertEquals("Batch favourite row count", 1, getRowCount(FavouriteEntry.CONTENT_URI));
+        assertEquals("Batch notifications not coalesced", 1, waitForNotifications(taskObserver));
+
+        contentResolver.unregisterContentObserver(taskObserver);
+    }
+
+    /**
+     * Tests that a failed batch is rolled back
+     */
+    @Test
+    public void testApplyBatchRollback() {
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        for (ContentValues values : makeMovieValues(100, PAGE_ROWS)) {
+            operations.add(ContentProviderOperation.newInsert(MovieEntry.CONTENT_URI).withValues(values).build());
+        }
+        // expect a row count which won't be matched, so the batch fails
+        operations.add(ContentProviderOperation.newDelete(UriUtils.getMovieWithIdUri(999))
+                .withExpectedCount(1).build());
+
+        try {
+            mContext.getContentResolver().applyBatch(MovieContract.AUTHORITY, operations);
+            fail("Batch did not fail");
+        } catch (Exception e) {
+            // expected
+        }
+        assertEquals("Failed batch not rolled back", 0, getRowCount(MovieEntry.CONTENT_URI));
+    }
+
+    /**
+     * Compare the throughput of inserting pages of movies with individual inserts, a bulk insert and
+     * a batch of operations
+     */
+    @Test
+    public void testInsertThroughput() throws Exception {
+        final int pages = 10;
+        ContentResolver contentResolver = mContext.getContentResolver();
+
+        long start = SystemClock.elapsedRealtime();
+        for (int page = 0; page < pages; page++) {
+            for (ContentValues values : makeMovieValues(1000 + (page * PAGE_ROWS), PAGE_ROWS)) {
+                contentResolver.insert(MovieEntry.CONTENT_URI, values);
+            }
+        }
+        long singleMs = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        for (int page = 0; page < pages; page++) {
+            contentResolver.bulkInsert(MovieEntry.CONTENT_URI, makeMovieValues(2000 + (page * PAGE_ROWS), PAGE_ROWS));
+        }
+        long bulkMs = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        for (int page = 0; page < pages; page++) {
+            ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+            for (ContentValues values : makeMovieValues(3000 + (page * PAGE_ROWS), PAGE_ROWS)) {
+                operations.add(ContentProviderOperation.newInsert(MovieEntry.CONTENT_URI).withValues(values).build());
+            }
+            contentResolver.applyBatch(MovieContract.AUTHORITY, operations);
+        }
+        long batchMs = SystemClock.elapsedRealtime() - start;
+
+        int rows = pages * PAGE_ROWS;
+        assertEquals("Throughput row count", rows * 3, getRowCount(MovieEntry.CONTENT_URI));
+        Log.i(TAG, String.format(Locale.US, "Insert %d pages of %d rows: single %d ms (%.0f rows/s), " +
+                        "bulk %d ms (%.0f rows/s), batch %d ms (%.0f rows/s)", pages, PAGE_ROWS,
+                singleMs, rowsPerSec(rows, singleMs), bulkMs, rowsPerSec(rows, bulkMs),
+                batchMs, rowsPerSec(rows, batchMs)));
+    }
+
+    //================================================================================
+    // Test Favourites List
+    //================================================================================
+
 
+    /**
+     * Tests getting pages of the favourites list, with details cached as json & binary records
+     */
+    @Test
+    public void testFavouritesList() throws Exception {
+        final int favourites = PAGE_ROWS + 5;
+        final int firstId = 100;
+        for (int i = 0; i < favourites + 3; i++) {
+            int id = firstId + i;
+            insertFavouriteRowDirect(id, (i < favourites));    // last few are not favourites
+
+            MovieContentValues.Builder builder = MovieContentValues.builder().setId(id);
+            if ((i % 2) == 0) {
+                builder.setJson(new JSONObject().put("id", id).put("title", "Json " + id).toString());
+            } else {
+                builder.setRecord(MovieDetailsRecord.encode(new MovieDetails(id, "Record " + id)));
+            }
+            insertRowDirect(MovieEntry.TABLE_NAME, builder.build());
+        }
+
+        Bundle list = getFavouritesPage(0);
+        assertEquals("Total results", favourites, list.getInt(MovieList.LIST_TOTAL_RESULTS));
+        assertEquals("Total pages", 2, list.getInt(MovieList.LIST_TOTAL_PAGES));
+        String[] results = list.getStringArray(MovieList.LIST_RESULTS);
+        assertNotNull("No results", results);
+        assertEquals("First page length", PAGE_ROWS, results.length);
+        assertEquals("Json title", "Json " + firstId, new JSONObject(results[0]).getString("title"));
+        assertEquals("Record title", "Record " + (firstId + 1), new JSONObject(results[1]).getString("title"));
+
+        list = getFavouritesPage(1);
+        results = list.getStringArray(MovieList.LIST_RESULTS);
+        assertNotNull("No results", results);
+        assertEquals("Second page length", favourites - PAGE_ROWS, results.length);
+        assertEquals("Second page id", firstId + PAGE_ROWS, new JSONObject(results[0]).getInt("id"));
+
+        assertTrue("Page beyond end", getFavouritesPage(2).isEmpty());
+    }
+
+    /**
+     * Get a page of the favourites list
+     * @param page  Page number, 0-based
+     * @return  list bundle
+     */
+    private Bundle getFavouritesPage(int page) {
+        Bundle extras = new Bundle();
+        extras.putInt(MovieList.RESULTS_PER_PAGE, PAGE_ROWS);
+        extras.putInt(MovieList.LIST_PAGE, page);
+        Bundle response = mContext.getContentResolver().call(MovieContract.MovieLists.MOVIE_LIST_CONTENT_URI,
+                MovieContract.MovieLists.GET_FAVOURITE_METHOD, null, extras);
+        assertNotNull("No response", response);
+        Bundle list = response.getBundle(MovieContract.MovieLists.GET_FAVOURITE_METHOD);
+        assertNotNull("No list", list);
+        return list;
+    }
+
+    /**
+     * Tests a fresh movie list page is served from the list pages cache, and that a page replaces
+     * the previous entry for its key
+     */
+    @Test
+    public void testListPagesCache() throws Exception {
+        assumeTrue("Caching disabled", PreferenceControl.getCachePreference(mContext));
+
+        String method = MovieContract.MovieLists.GET_POPULAR_METHOD;
+        String[] listKey = MovieListEntry.listKeyArgs(method, 1, null, null);
+        String stale = new JSONObject().put(MovieList.LIST_PAGE, 1).put("cached", false).toString();
+        String fresh = new JSONObject().put(MovieList.LIST_PAGE, 1).put("cached", true).toString();
+
+        ContentResolver resolver = mContext.getContentResolver();
+        resolver.insert(MovieListEntry.CONTENT_URI, MovieListContentValues.builder()
+                .setListKey(listKey)
+                .setJson(stale)
+                .setTimestamp(new Date(0))
+                .build());
+        resolver.insert(MovieListEntry.CONTENT_URI, MovieListContentValues.builder()
+                .setListKey(listKey)
+                .setJson(fresh)
+                .setTimestamp()
+                .build());
+
+        Cursor cursor = resolver.query(MovieListEntry.CONTENT_URI, null,
+                MovieListEntry.LIST_KEY_SELECTION, listKey, null);
+        assertNotNull("No cursor", cursor);
+        assertEquals("Entry not replaced", 1, cursor.getCount());
+        cursor.close();
+
+        Bundle response = resolver.call(MovieContract.MovieLists.MOVIE_LIST_CONTENT_URI, method, null, null);
+        assertNotNull("No response", response);
+        assertEquals("Cached page not served", fresh, response.getString(method));
+
+        // entry expired before now is purged
+        int count = resolver.delete(MovieListEntry.CONTENT_URI, MovieContract.TIMESTAMP_LTEQ_SELECTION,
+                new String[] { DbUtils.getTimestamp(new Date(0)) });
+        assertEquals("Fresh entry purged", 0, count);
+        count = resolver.delete(MovieListEntry.CONTENT_URI, MovieContract.TIMESTAMP_LTEQ_SELECTION,
+                new String[] { DbUtils.getTimestamp(new Date(new Date().getTime() + 60000)) });
+        assertEquals("Expired entry not purged", 1, count);
+    }
+
+    /**
+     * Tests a chunked delete of expired movies removes exactly the expired rows, and that the
+     * timestamp index used by the purge exists
+     */
+    @Test
+    public void testChunkedPurge() {
+        final int expired = (MovieContract.DELETE_CHUNK_SIZE * 2) + 50;
+        final int fresh = 5;
+        ContentValues[] values = new ContentValues[expired + fresh];
+        Date expiredDate = new Date(0);
+        for (int i = 0; i < values.length; i++) {
+            MovieContentValues.Builder builder = MovieContentValues.builder()
+                    .setId(i + 1)
+                    .setJson("{\"id\":" + (i + 1) + "}");
+            if (i < expired) {
+                builder.setTimestamp(expiredDate);
+            } else {
+                builder.setTimestamp();
+            }
+            values[i] = builder.build();
+        }
+        ContentResolver resolver = mContext.getContentResolver();
+        assertEquals("Bulk insert count", values.length, resolver.bulkInsert(MovieEntry.CONTENT_URI, values));
+
+        long start = SystemClock.elapsedRealtime();
+        int count = resolver.delete(
+                UriUtils.getChunkedDeleteUri(MovieEntry.CONTENT_URI, MovieContract.DELETE_CHUNK_SIZE),
+                MovieContract.TIMESTAMP_LTEQ_SELECTION, new String[] {
+                    DbUtils.getTimestamp(new Date(60000))
+                });
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        Log.i(TAG, String.format(Locale.US, "Chunked purge: %d rows in %dms", count, elapsed));
+
+        assertEquals("Purge count", expired, count);
+        Cursor cursor = resolver.query(MovieEntry.CONTENT_URI, null, null, null, null);
+        assertNotNull("No cursor", cursor);
+        assertEquals("Remaining count", fresh, cursor.getCount());
+        cursor.close();
+
+        SQLiteDatabase database = new MovieDbHelper(mContext).getReadableDatabase();
+        cursor = database.query("sqlite_master", null, "type='index' AND name=?",
+                new String[] { MovieEntry.TIMESTAMP_INDEX }, null, null, null);
+        assertEquals("Timestamp index missing", 1, cursor.getCount());
+        cursor.close();
+    }
+
+    /**
+     * Tests compressed payloads are read back, coexisting with uncompressed rows, and that the
+     * compression statistics are reported
+     */
+    @Test
+    public void testCompressedPayloads() throws Exception {
+        PayloadCodec.resetStats();
+
+        StringBuilder padding = new StringBuilder();
+        while (padding.length() < (PayloadCodec.MIN_COMPRESS_LENGTH * 2)) {
+            padding.append("A movie overview which compresses well. ");
+        }
+        final int compressedId = 1;
+        final int plainId = 2;
+        insertFavouriteRowDirect(compressedId, true);
+        insertFavouriteRowDirect(plainId, true);
+        ContentValues cv = MovieContentValues.builder()
+                .setCompression(true)
+                .setId(compressedId)
+                .setJson(new JSONObject().put("id", compressedId).put("title", "Compressed")
+                        .put("overview", padding.toString()).toString())
+                .build();
+        assertTrue("Not compressed", PayloadCodec.isCompressed(cv.getAsByteArray(MovieEntry.COLUMN_JSON)));
+        insertRowDirect(MovieEntry.TABLE_NAME, cv);
+        insertMovieRowDirect(plainId, new JSONObject().put("id", plainId).put("title", "Plain").toString());
+
+        String[] results = getFavouritesPage(0).getStringArray(MovieList.LIST_RESULTS);
+        assertNotNull("No results", results);
+        assertEquals("Compressed title", "Compressed", new JSONObject(results[0]).getString("title"));
+        assertEquals("Plain title", "Plain", new JSONObject(results[1]).getString("title"));
+
+        Cursor cursor = mContext.getContentResolver().query(UriUtils.getMovieWithIdUri(compressedId),
+                null, null, null, null);
+        assertNotNull("No cursor", cursor);
+        assertTrue("No row", cursor.moveToFirst());
+        assertEquals("Compressed details", "Compressed", DbUtils.movieDetailsFromCursor(cursor).getTitle());
+        cursor.close();
+
+        Bundle response = mContext.getContentResolver().call(MovieContract.MovieLists.MOVIE_LIST_CONTENT_URI,
+                MovieEntry.GET_CACHE_STATS_METHOD, null, null);
+        assertNotNull("No response", response);
+        Bundle stats = response.getBundle(MovieEntry.GET_CACHE_STATS_METHOD);
+        assertNotNull("No stats", stats);
+        assertEquals("Compressed count", 1, stats.getLong(MovieEntry.STATS_COMPRESSED_COUNT));
+        assertTrue("No bytes saved", stats.getLong(MovieEntry.STATS_BYTES_SAVED) > 0);
+        assertEquals("Decode count", 2, stats.getLong(MovieEntry.STATS_DECODE_COUNT));
+        Log.i(TAG, String.format(Locale.US, "Compression saved %d bytes, %d decodes in %dus",
+                stats.getLong(MovieEntry.STATS_BYTES_SAVED), stats.getLong(MovieEntry.STATS_DECODE_COUNT),
+                stats.getLong(MovieEntry.STATS_DECODE_NANOS) / 1000));
+    }
+
+    /**
+     * Tests the movie info columns can be used to sort and filter cached movies and favourites in sql
+     */
+    @Test
+    public void testInfoColumns() {
+        final double[] voteAverages = new double[] { 6.5, 8.1, 7.2, 5.9 };
+        final String[] languages = new String[] { "en", "fr", "en", "en" };
+        for (int i = 0; i < voteAverages.length; i++) {
+            int id = i + 1;
+            MovieDetails details = new MovieDetails(id, "Movie " + id);
+            details.setVoteAverage(voteAverages[i]);
+            details.setOriginalLanguage(languages[i]);
+            insertRowDirect(MovieEntry.TABLE_NAME, MovieContentValues.builder()
+                    .setId(id)
+                    .setRecord(MovieDetailsRecord.encode(details))
+                    .setInfoColumns(details)
+                    .build());
+            insertFavouriteRowDirect(id, true);
+        }
+
+        // english movies by rating
+        Cursor cursor = mContext.getContentResolver().query(MovieEntry.CONTENT_URI,
+                new String[] { MovieEntry._ID, MovieEntry.COLUMN_VOTE_AVERAGE },
+                MovieContract.columnEqSelection(MovieEntry.COLUMN_ORIGINAL_LANGUAGE), new String[] { "en" },
+                MovieEntry.COLUMN_VOTE_AVERAGE + " DESC");
+        assertNotNull("No cursor", cursor);
+        int[] expected = new int[] { 3, 1, 4 };
+        assertEquals("Filter count", expected.length, cursor.getCount());
+        for (int i = 0; cursor.moveToNext(); i++) {
+            assertEquals("Sort order", expected[i], cursor.getInt(0));
+        }
+        cursor.close();
+
+        // favourites by rating
+        Bundle extras = new Bundle();
+        extras.putString(MovieContract.MovieLists.SORT_ORDER, MovieEntry.COLUMN_VOTE_AVERAGE + " DESC");
+        Bundle response = mContext.getContentResolver().call(MovieContract.MovieLists.MOVIE_LIST_CONTENT_URI,
+                MovieContract.MovieLists.GET_FAVOURITE_METHOD, null, extras);
+        assertNotNull("No response", response);
+        String[] results = response.getBundle(MovieContract.MovieLists.GET_FAVOURITE_METHOD)
+                .getStringArray(MovieList.LIST_RESULTS);
+        assertNotNull("No results", results);
+        assertTrue("Favourites sort order", results[0].contains("Movie 2"));
+        assertTrue("Favourites sort order", results[results.length - 1].contains("Movie 4"));
+    }
+
+    /**
+     * Tests an upsert inserts a new row, updates an existing row keeping its other columns, and that
+     * concurrent upserts of the same row neither fail nor double insert
+     */
+    @Test
+    public void testUpsert() throws Exception {
+        final int id = 1;
+        final Uri upsertUri = UriUtils.getUpsertUri(MovieEntry.CONTENT_URI);
+        final ContentResolver resolver = mContext.getContentResolver();
+        Date lastAccessed = new Date(new Date().getTime() - DateUtils.DAY_IN_MILLIS);
+
+        Uri uri = resolver.insert(upsertUri, MovieContentValues.builder()
+                .setId(id)
+                .setJson("{\"id\":1,\"title\":\"First\"}")
+                .setLastAccessed(lastAccessed)
+                .build());
+        assertEquals("Insert uri", UriUtils.getMovieWithIdUri(id), uri);
+        uri = resolver.insert(upsertUri, MovieContentValues.builder()
+                .setId(id)
+                .setJson("{\"id\":1,\"title\":\"Second\"}")
+                .build());
+        assertEquals("Update uri", UriUtils.getMovieWithIdUri(id), uri);
+
+        SQLiteDatabase database = new MovieDbHelper(mContext).getReadableDatabase();
+        Cursor cursor = database.query(MovieEntry.TABLE_NAME,
+                new String[] { MovieEntry.COLUMN_LAST_ACCESSED }, null, null, null, null, null);
+        assertEquals("Row count", 1, cursor.getCount());
+        assertTrue(cursor.moveToFirst());
+        assertEquals("Other columns lost", DbUtils.getTimestamp(lastAccessed), cursor.getString(0));
+        cursor.close();
+        assertEquals("Payload not updated", 0, search("first").length);
+        assertEquals("Payload not updated", 1, search("second").length);
+
+        // concurrent upserts
+        final int threadCount = 4;
+        final int upserts = 50;
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threads.length; i++) {
+            final int thread = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < upserts; j++) {
+                            resolver.insert(upsertUri, MovieContentValues.builder()
+                                    .setId(id + 1 + (j % 2))
+                                    .setJson("{\"id\":" + (id + 1 + (j % 2)) + ",\"title\":\"T" + thread + "\"}")
+                                    .setTimestamp()
+                                    .build());
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            }, "upsert" + i);
+        }
+        long start = SystemClock.elapsedRealtime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Log.i(TAG, String.format(Locale.US, "%d concurrent upserts in %dms",
+                threadCount * upserts, SystemClock.elapsedRealtime() - start));
+        assertNull("Thread failure: " + failure.get(), failure.get());
+        assertEquals("Row count after concurrent upserts", 3, getRowCount(MovieEntry.CONTENT_URI));
+    }
+
+    /**
+     * Tests database maintenance vacuums a database with many free pages, and that the search index
+     * remains usable after optimisation
+     */
+    @Test
+    public void testMaintenance() {
+        final int count = 200;
+        StringBuilder overview = new StringBuilder();
+        while (overview.length() < 4096) {
+            overview.append("Padding to fill database pages. ");
+        }
+        ContentValues[] values = new ContentValues[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = MovieContentValues.builder()
+                    .setCompression(false)
+                    .setId(i + 1)
+                    .setJson("{\"id\":" + (i + 1) + ",\"title\":\"Movie " + (i + 1) +
+                            "\",\"overview\":\"" + overview + "\"}")
+                    .setTimestamp()
+                    .build();
+        }
+        ContentResolver resolver = mContext.getContentResolver();
+        assertEquals("Bulk insert count", count, resolver.bulkInsert(MovieEntry.CONTENT_URI, values));
+        // leave a single movie, so most of the pages are free
+        resolver.delete(MovieEntry.CONTENT_URI, MovieEntry._ID + ">1", null);
+
+        long start = SystemClock.elapsedRealtime();
+        Bundle response = resolver.call(MovieEntry.CONTENT_URI, MovieEntry.MAINTAIN_METHOD, null, null);
+        Log.i(TAG, String.format(Locale.US, "Maintenance in %dms", SystemClock.elapsedRealtime() - start));
+        assertNotNull("No response", response);
+        assertTrue("Not vacuumed", response.getBundle(MovieEntry.MAINTAIN_METHOD).getBoolean(MovieEntry.MAINTAIN_VACUUMED));
+
+        SQLiteDatabase database = new MovieDbHelper(mContext).getReadableDatabase();
+        assertEquals("Free pages after vacuum", 0,
+                DatabaseUtils.longForQuery(database, "PRAGMA freelist_count;", null));
+        assertEquals("Search after optimise", 1, search("movie").length);
+    }
+
+    /**
+     * Tests the write-behind queue merges repeated writes of a row, keeping the last, and flushes the
+     * writes as a single batch
+     */
+    @Test
+    public void testWriteBehindQueue() {
+        DbWriteBehindQueue.resetStats();
+        DbWriteBehindQueue queue = DbWriteBehindQueue.getInstance(mContext);
+        int[] ids = new int[] { 1, 2, 1 };
+        for (int i = 0; i < ids.length; i++) {
+            ContentValues cv = MovieContentValues.builder()
+                    .setJson("{\"id\":" + ids[i] + ",\"title\":\"Write " + i + "\"}")
+                    .setTimestamp()
+                    .build();
+            queue.upsert(MovieEntry.CONTENT_URI, ids[i], cv);
+            assertFalse("Caller's values modified", cv.containsKey(MovieEntry._ID));
+        }
+        queue.flushNow();  // waits for any flush in progress if the debounce window has passed
+
+        Log.i(TAG, String.format(Locale.US, "Write-behind queue: max depth %d, %d flush(es) in %dus",
+                DbWriteBehindQueue.getMaxQueueDepth(), DbWriteBehindQueue.getFlushCount(),
+                DbWriteBehindQueue.getFlushNanos() / 1000));
+        assertEquals("Coalesced count", 1, DbWriteBehindQueue.getCoalescedCount());
+        assertEquals("Flushed count", 2, DbWriteBehindQueue.getFlushedCount());
+        assertEquals("Flush count", 1, DbWriteBehindQueue.getFlushCount());
+        assertEquals("Queue depth", 0, DbWriteBehindQueue.getQueueDepth());
+        assertEquals("Row count", 2, getRowCount(MovieEntry.CONTENT_URI));
+        assertEquals("Last write not kept", 1, search("write 2").length);
+    }
+
+    /**
+     * Tests the write-behind queue writes the rows individually if the batch fails, so a bad write doesn't
+     * lose the others, and doesn't count the failed batch as a flush
+     */
+    @Test
+    public void testWriteBehindQueueFailure() {
+        DbWriteBehindQueue.resetStats();
+        DbWriteBehindQueue queue = DbWriteBehindQueue.getInstance(mContext);
+        queue.upsert(MovieEntry.CONTENT_URI, 1, MovieContentValues.builder()
+                .setJson("{\"id\":1,\"title\":\"Good write\"}")
+                .setTimestamp()
+                .build());
+        // no payload, so the insert fails the not null constraint
+        queue.upsert(MovieEntry.CONTENT_URI, 2, MovieContentValues.builder()
+                .setTimestamp()
+                .build());
+        queue.flushNow();  // waits for any flush in progress if the debounce window has passed
+
+        assertEquals("Failed flush count", 1, DbWriteBehindQueue.getFailedFlushCount());
+        assertEquals("Flush count", 0, DbWriteBehindQueue.getFlushCount());
+        assertEquals("Flushed count", 1, DbWriteBehindQueue.getFlushedCount());
+        assertEquals("Row count", 1, getRowCount(MovieEntry.CONTENT_URI));
+        assertEquals("Good write lost", 1, search("good").length);
+    }
+
+    /**
+     * Tests reading a movie updates its last accessed timestamp, and that eviction removes the least
+     * recently used movies first, but never favourites
+     */
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final int count = 5;
+        long now = new Date().getTime();
+        ContentValues[] values = new ContentValues[count];
+        for (int i = 0; i < count; i++) {
+            // movie 1 is least recently used
+            values[i] = MovieContentValues.builder()
+                    .setId(i + 1)
+                    .setJson("{\"id\":" + (i + 1) + "}")
+                    .setTimestamp()
+                    .setLastAccessed(new Date(now - ((count - i) * DateUtils.DAY_IN_MILLIS)))
+                    .build();
+        }
+        ContentResolver resolver = mContext.getContentResolver();
+        assertEquals("Bulk insert count", count, resolver.bulkInsert(MovieEntry.CONTENT_URI, values));
+
+        // read movie 1, making movie 2 the least recently used
+        Cursor cursor = resolver.query(UriUtils.getMovieWithIdUri(1), null, null, null, null);
+        assertNotNull("No cursor", cursor);
+        cursor.close();
+
+        Bundle extras = new Bundle();
+        extras.putInt(MovieEntry.EVICT_MAX_ROWS, 3);
+        long start = SystemClock.elapsedRealtime();
+        Bundle response = resolver.call(MovieEntry.CONTENT_URI, MovieEntry.EVICT_METHOD, null, extras);
+        Log.i(TAG, String.format(Locale.US, "Eviction in %dms", SystemClock.elapsedRealtime() - start));
+        assertNotNull("No response", response);
+        assertEquals("Evicted count", 2, response.getBundle(MovieEntry.EVICT_METHOD).getInt(MovieEntry.EVICT_COUNT));
+
+        cursor = resolver.query(MovieEntry.CONTENT_URI, new String[] { MovieEntry._ID }, null, null,
+                MovieEntry._ID + " ASC");
+        assertNotNull("No cursor", cursor);
+        int[] remaining = new int[cursor.getCount()];
+        for (int i = 0; cursor.moveToNext(); i++) {
+            remaining[i] = cursor.getInt(0);
+        }
+        cursor.close();
+        assertTrue("Wrong movies evicted", Arrays.equals(new int[] { 1, 4, 5 }, remaining));
+
+        // byte limit smaller than a single payload evicts all but the favourite
+        assertNotNull(resolver.insert(FavouriteEntry.CONTENT_URI,
+                FavouritesContentValues.builder().setId(4).setFavourite(true).build()));
+        extras = new Bundle();
+        extras.putLong(MovieEntry.EVICT_MAX_BYTES, 1);
+        resolver.call(MovieEntry.CONTENT_URI, MovieEntry.EVICT_METHOD, null, extras);
+        assertEquals("Byte limit not applied", 1, getRowCount(MovieEntry.CONTENT_URI));
+        cursor = resolver.query(UriUtils.getMovieWithIdUri(4), null, null, null, null);
+        assertNotNull("No cursor", cursor);
+        assertEquals("Favourite evicted", 1, cursor.getCount());
+        cursor.close();
+    }
+
+    /**
+     * Tests fresh movie videos & reviews are served from their caches, and that expired entries are purged
+     */
+    @Test
+    public void testAdditionalInfoCache() throws Exception {
+        assumeTrue("Caching disabled", PreferenceControl.getCachePreference(mContext));
+
+        final int id = 1;
+        String videos = new JSONObject().put("id", id).put("results", new JSONArray().put(new JSONObject()
+                .put("id", "v1").put("key", "abc").put("site", "YouTube"))).toString();
+        String reviews = new JSONObject().put("id", id).put("page", 1).put("results", new JSONArray().put(
+                new JSONObject().put("id", "r1").put("author", "critic").put("content", "Great"))).toString();
+
+        ContentResolver resolver = mContext.getContentResolver();
+        assertNotNull(resolver.insert(VideoEntry.CONTENT_URI, AdditionalInfoContentValues.builder()
+                .setCompression(true)
+                .setId(id)
+                .setJson(videos)
+                .setTimestamp()
+                .build()));
+        assertNotNull(resolver.insert(ReviewEntry.CONTENT_URI, AdditionalInfoContentValues.builder()
+                .setId(id)
+                .setJson(reviews)
+                .setTimestamp()
+                .build()));
+
+        String[] methods = new String[] {
+            MovieEntry.GET_VIDEOS_METHOD, MovieEntry.GET_REVIEWS_METHOD
+        };
+        String[] info = new String[] {
+            TMDbNetworkUtils.VIDEO_DETAILS, TMDbNetworkUtils.REVIEW_DETAILS
+        };
+        String[] expected = new String[] {
+            videos, reviews
+        };
+        for (int i = 0; i < methods.length; i++) {
+            Bundle response = resolver.call(UriUtils.getMovieWithIdAdditionalInfoUri(id, info[i]),
+                    methods[i], String.valueOf(id), null);
+            assertNotNull("No response", response);
+            assertEquals("Cached " + info[i] + " not served", expected[i], response.getString(methods[i]));
+        }
+
+        // entry expired before now is purged
+        resolver.update(UriUtils.getReviewsWithIdUri(id), AdditionalInfoContentValues.builder()
+                .setTimestamp(new Date(0))
+                .build(), null, null);
+        String[] expiry = new String[] { DbUtils.getTimestamp(new Date(60000)) };
+        assertEquals("Fresh entry purged", 0,
+                resolver.delete(VideoEntry.CONTENT_URI, MovieContract.TIMESTAMP_LTEQ_SELECTION, expiry));
+        assertEquals("Expired entry not purged", 1,
+                resolver.delete(ReviewEntry.CONTENT_URI, MovieContract.TIMESTAMP_LTEQ_SELECTION, expiry));
+    }
+
+    /**
+     * Tests searching cached movies by title, overview and review content, with ranked results, and that
+     * the search table follows updates & deletes
+     */
+    @Test
+    public void testSearch() throws Exception {
+        ContentResolver resolver = mContext.getContentResolver();
+        JSONObject reviews = new JSONObject().put("page", 1).put("total_pages", 1).put("total_results", 1)
+                .put("results", new JSONArray().put(new JSONObject()
+                        .put("id", "r1").put("author", "critic").put("content", "Space opera at its finest")));
+        JSONObject[] movies = new JSONObject[] {
+            new JSONObject().put("id", 1).put("title", "Space Station").put("overview", "Astronauts adrift")
+                    .put("popularity", 5.0),
+            new JSONObject().put("id", 2).put("title", "Harbour Lights").put("overview", "A lighthouse in space")
+                    .put("popularity", 9.0),
+            new JSONObject().put("id", 3).put("title", "Quiet Farm").put("overview", "Life on a farm")
+                    .put("popularity", 1.0).put("reviews", reviews),
+            new JSONObject().put("id", 4).put("title", "Ocean Deep").put("overview", "Under the sea")
+                    .put("popularity", 7.0),
+        };
+        for (JSONObject movie : movies) {
+            MovieDetails details = MovieDetails.getInstance(movie.toString());
+            assertNotNull(resolver.insert(MovieEntry.CONTENT_URI, MovieContentValues.builder()
+                    .setId(movie.getInt("id"))
+                    .setJson(movie.toString())
+                    .setInfoColumns(details)
+                    .build()));
+        }
+
+        long start = SystemClock.elapsedRealtime();
+        int[] ids = search("spac");
+        Log.i(TAG, String.format(Locale.US, "Search of %d movies in %dms",
+                movies.length, SystemClock.elapsedRealtime() - start));
+        assertEquals("Search results", 3, ids.length);
+        assertEquals("Title match not first", 1, ids[0]);
+        assertEquals("Overview match not second", 2, ids[1]);
+        assertEquals("Review match not last", 3, ids[2]);
+
+        assertEquals("Multiple terms", 1, search("astronauts station").length);
+        assertEquals("No match", 0, search("zebra").length);
+        assertEquals("Syntax removed", 1, search("\"ocean*").length);
+
+        // update & delete are reflected in search
+        resolver.update(UriUtils.getMovieWithIdUri(4), MovieContentValues.builder()
+                .setJson(movies[3].put("overview", "Space under the sea").toString())
+                .build(), null, null);
+        assertEquals("Update not searchable", 4, search("space").length);
+        resolver.delete(UriUtils.getMovieWithIdUri(1), null, null);
+        assertEquals("Delete still searchable", 3, search("space").length);
+    }
+
+    /**
+     * Search the cached movies
+     * @param terms     Search terms
+     * @return  Ids of results in rank order
+     */
+    private int[] search(String terms) {
+        Cursor cursor = mContext.getContentResolver().query(UriUtils.getMovieSearchUri(terms),
+                null, null, null, null);
+        assertNotNull("No cursor", cursor);
+        int[] ids = new int[cursor.getCount()];
+        int idIndex = cursor.getColumnIndex(MovieEntry._ID);
+        for (int i = 0; cursor.moveToNext(); i++) {
+            ids[i] = cursor.getInt(idIndex);
+        }
+        cursor.close();
+        return ids;
+    }
+
+    private static double rowsPerSec(int rows, long ms) {
+        return (ms > 0 ? (rows * 1000.0) / ms : 0);
+    }
 }
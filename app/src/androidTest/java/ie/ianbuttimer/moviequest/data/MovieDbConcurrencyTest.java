@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+
+import static ie.ianbuttimer.moviequest.data.MovieContract.ID_EQ_SELECTION;
+import static ie.ianbuttimer.moviequest.data.MovieContract.columnEqSelection;
+import static ie.ianbuttimer.moviequest.utils.DbUtils.DB_RAW_BOOLEAN_TRUE;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Stress test of concurrent database access; one thread continuously writes cached movie details while
+ * others run favourite and movie queries. Query latencies are reported with and without write-ahead logging.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDbConcurrencyTest {
+
+    private static final String TAG = MovieDbConcurrencyTest.class.getSimpleName();
+
+    private static final String WAL_DATABASE_NAME = "movieDbStressWal.db";
+    private static final String ROLLBACK_DATABASE_NAME = "movieDbStressRollback.db";
+
+    /* Number of movies, of which every other one is a favourite */
+    private static final int MOVIES = 200;
+    /* Number of reader threads */
+    private static final int READERS = 3;
+    /* Duration of each run */
+    private static final long RUN_MS = 5000;
+
+    private final Context mContext = InstrumentationRegistry.getTargetContext();
+
+    @After
+    public void tearDown() {
+        mContext.deleteDatabase(WAL_DATABASE_NAME);
+        mContext.deleteDatabase(ROLLBACK_DATABASE_NAME);
+    }
+
+    @Test
+    public void testQueryLatency() throws Exception {
+        long[] rollback = runStress(ROLLBACK_DATABASE_NAME, false);
+        long[] wal = runStress(WAL_DATABASE_NAME, true);
+
+        Log.i(TAG, String.format(Locale.US, "Query latency rollback: %d queries, p50 %dus, p99 %dus",
+                rollback.length, percentile(rollback, 50), percentile(rollback, 99)));
+        Log.i(TAG, String.format(Locale.US, "Query latency WAL:      %d queries, p50 %dus, p99 %dus",
+                wal.length, percentile(wal, 50), percentile(wal, 99)));
+    }
+
+    /**
+     * Run the stress test
+     * @param name              Database name
+     * @param writeAheadLogging Use write-ahead logging flag
+     * @return  Sorted array of query latencies in microseconds
+     */
+    private long[] runStress(String name, boolean writeAheadLogging) throws Exception {
+        mContext.deleteDatabase(name);
+        final MovieDbHelper dbHelper = new MovieDbHelper(mContext, name, writeAheadLogging);
+        final SQLiteDatabase database = dbHelper.getWritableDatabase();
+
+        Cursor cursor = database.rawQuery("PRAGMA journal_mode", null);
+        assertTrue("No journal mode", cursor.moveToFirst());
+        assertEquals("Journal mode", writeAheadLogging, "wal".equalsIgnoreCase(cursor.getString(0)));
+        cursor.close();
+
+        database.beginTransaction();
+        try {
+            for (int id = 1; id <= MOVIES; id++) {
+                database.insert(MovieEntry.TABLE_NAME, null, movieValues(id));
+                database.insert(FavouriteEntry.TABLE_NAME, null, FavouritesContentValues.builder()
+                        .setId(id)
+                        .setFavourite((id % 2) == 0)
+                        .build());
+            }
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ArrayList<long[]> latencies = new ArrayList<>();
+
+        ArrayList<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    int id = 0;
+                    while (running.get()) {
+                        id = (id % MOVIES) + 1;
+                        database.insertWithOnConflict(MovieEntry.TABLE_NAME, null, movieValues(id),
+                                SQLiteDatabase.CONFLICT_REPLACE);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }
+        }, "writer"));
+        for (int i = 0; i < READERS; i++) {
+            final long[] readerLatencies = new long[100000];
+            latencies.add(readerLatencies);
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        int count = 0;
+                        while (running.get() && (count < readerLatencies.length)) {
+                            long start = System.nanoTime();
+                            Cursor cursor;
+                            if ((count % 2) == 0) {
+                                cursor = database.query(FavouriteEntry.TABLE_NAME, null,
+                                        columnEqSelection(FavouriteEntry.COLUMN_FAVOURITE),
+                                        new String[] { DB_RAW_BOOLEAN_TRUE }, null, null, null);
+                            } else {
+                                cursor = database.query(MovieEntry.TABLE_NAME, null, ID_EQ_SELECTION,
+                                        DbUtils.idArgArray((count % MOVIES) + 1), null, null, null);
+                            }
+                            while (cursor.moveToNext()) {
+                                cursor.getString(0);
+                            }
+                            cursor.close();
+                            readerLatencies[count++] = (System.nanoTime() - start) / 1000;
+                        }
+                        if (count < readerLatencies.length) {
+                            readerLatencies[count] = -1;    // end marker
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            }, "reader" + i));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(RUN_MS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        dbHelper.close();
+
+        assertNull("Thread failure: " + failure.get(), failure.get());
+
+        int total = 0;
+        for (long[] readerLatencies : latencies) {
+            total += queryCount(readerLatencies);
+        }
+        long[] result = new long[total];
+        int index = 0;
+        for (long[] readerLatencies : latencies) {
+            int count = queryCount(readerLatencies);
+            System.arraycopy(readerLatencies, 0, result, index, count);
+            index += count;
+        }
+        Arrays.sort(result);
+        assertTrue("No queries run", result.length > 0);
+        return result;
+    }
+
+    /**
+     * Make the values for a cached movie
+     * @param id    Movie id
+     * @return  Content values
+     */
+    private static ContentValues movieValues(int id) {
+        return MovieContentValues.builder()
+                .setId(id)
+                .setRecord(MovieDetailsRecord.encode(new MovieDetails(id, "Movie " + id)))
+                .setTimestamp()
+                .build();
+    }
+
+    /**
+     * Get the number of queries recorded
+     * @param latencies Latencies array
+     * @return  Number of queries
+     */
+    private static int queryCount(long[] latencies) {
+        int count = 0;
+        while ((count < latencies.length) && (latencies[count] >= 0)) {
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Get a percentile value
+     * @param sorted        Sorted values
+     * @param percentile    Percentile to get
+     * @return  Value
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil((percentile / 100.0) * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
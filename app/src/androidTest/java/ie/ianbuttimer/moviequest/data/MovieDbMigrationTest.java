@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test of the database schema migrations, upgrading a populated version 1 database
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDbMigrationTest {
+
+    private static final String MIGRATE_DATABASE_NAME = "movieDbMigrate.db";
+    private static final String FRESH_DATABASE_NAME = "movieDbFresh.db";
+
+    private static final int MOVIES = 10;
+
+    private final Context mContext = InstrumentationRegistry.getTargetContext();
+
+    @Before
+    public void setUp() {
+        tearDown();
+    }
+
+    @After
+    public void tearDown() {
+        mContext.deleteDatabase(MIGRATE_DATABASE_NAME);
+        mContext.deleteDatabase(FRESH_DATABASE_NAME);
+    }
+
+    /**
+     * Create a populated version 1 database
+     * @return  Database
+     */
+    private SQLiteDatabase createVersion1() {
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(mContext.getDatabasePath(MIGRATE_DATABASE_NAME), null);
+        db.execSQL("CREATE TABLE movies (" +
+                "_id INTEGER PRIMARY KEY, " +
+                "json STRING NOT NULL, " +
+                "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            ");");
+        db.execSQL("CREATE TABLE favourites (" +
+                "_id INTEGER PRIMARY KEY, " +
+                "favourite BOOLEAN DEFAULT 0," +
+                "title STRING" +
+            ");");
+        for (int id = 1; id <= MOVIES; id++) {
+            ContentValues cv = new ContentValues();
+            cv.put("_id", id);
+            cv.put("json", "{\"id\":" + id + ",\"title\":\"Movie " + id + "\",\"vote_average\":" + id + "}");
+            cv.put("timestamp", DbUtils.getTimestamp(new Date()));
+            db.insert("movies", null, cv);
+
+            cv = new ContentValues();
+            cv.put("_id", id);
+            cv.put("favourite", (id % 2));
+            cv.put("title", "Movie " + id);
+            db.insert("favourites", null, cv);
+        }
+        db.setVersion(MovieDbMigrations.FIRST_VERSION);
+        return db;
+    }
+
+    /**
+     * Check the version 1 data has been kept
+     * @param db    Database to check
+     */
+    private void assertDataKept(SQLiteDatabase db) {
+        for (String table : new String[] { MovieEntry.TABLE_NAME, FavouriteEntry.TABLE_NAME }) {
+            Cursor cursor = db.query(table, null, null, null, null, null, null);
+            assertEquals(table + " rows lost", MOVIES, cursor.getCount());
+            cursor.close();
+        }
+        Cursor cursor = db.query(FavouriteEntry.TABLE_NAME, null, MovieContract.ID_EQ_SELECTION,
+                DbUtils.idArgArray(MOVIES), null, null, null);
+        assertTrue("No favourite", cursor.moveToFirst());
+        assertEquals("Favourite title", "Movie " + MOVIES,
+                cursor.getString(cursor.getColumnIndex(FavouriteEntry.COLUMN_TITLE)));
+        cursor.close();
+    }
+
+    /**
+     * Check if a table or index exists
+     * @param db    Database to check
+     * @param type  'table' or 'index'
+     * @param name  Name of table/index
+     * @return  <code>true</code> if exists
+     */
+    private static boolean exists(SQLiteDatabase db, String type, String name) {
+        Cursor cursor = db.query("sqlite_master", null, "type=? AND name=?", new String[] { type, name },
+                null, null, null);
+        boolean exists = (cursor.getCount() == 1);
+        cursor.close();
+        return exists;
+    }
+
+    @Test
+    public void testMigrate1To2() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 2);
+
+        assertDataKept(db);
+        assertTrue("No list pages table", exists(db, "table", MovieListEntry.TABLE_NAME));
+        db.insert(MovieListEntry.TABLE_NAME, null, MovieListContentValues.builder()
+                .setListKey(MovieContract.MovieLists.GET_POPULAR_METHOD, 1, null, null)
+                .setJson("{}")
+                .setTimestamp()
+                .build());
+        db.close();
+    }
+
+    @Test
+    public void testMigrate2To3() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 2);
+        MovieDbMigrations.migrate(db, 2, 3);
+
+        assertDataKept(db);
+        assertTrue("No timestamp index", exists(db, "index", MovieEntry.TIMESTAMP_INDEX));
+        db.close();
+    }
+
+    @Test
+    public void testMigrate3To4() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 3);
+        MovieDbMigrations.migrate(db, 3, 4);
+
+        assertDataKept(db);
+        for (String column : MovieEntry.INFO_COLUMNS) {
+            assertTrue("No " + column + " index", exists(db, "index", MovieEntry.indexName(column)));
+        }
+        // info columns populated from the existing json
+        Cursor cursor = db.query(MovieEntry.TABLE_NAME, new String[] {
+                MovieEntry._ID, MovieEntry.COLUMN_TITLE, MovieEntry.COLUMN_VOTE_AVERAGE
+            }, null, null, null, null, MovieEntry.COLUMN_VOTE_AVERAGE + " DESC");
+        assertTrue("No movies", cursor.moveToFirst());
+        assertEquals("Sort order", MOVIES, cursor.getInt(0));
+        assertEquals("Title", "Movie " + MOVIES, cursor.getString(1));
+        assertEquals("Vote average", (double) MOVIES, cursor.getDouble(2));
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void testMigrate4To5() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 4);
+        MovieDbMigrations.migrate(db, 4, 5);
+
+        assertDataKept(db);
+        assertTrue("No search table", exists(db, "table", MovieContract.MovieSearchEntry.TABLE_NAME));
+        // search table populated from the existing json
+        Cursor cursor = MovieSearchIndex.search(db, "movie " + MOVIES);
+        assertEquals("Search count", 1, cursor.getCount());
+        cursor.close();
+        // and follows deletes
+        db.delete(MovieEntry.TABLE_NAME, MovieContract.ID_EQ_SELECTION, DbUtils.idArgArray(MOVIES));
+        cursor = MovieSearchIndex.search(db, "movie " + MOVIES);
+        assertEquals("Search count after delete", 0, cursor.getCount());
+        cursor.close();
+        db.close();
+    }
+
+    /**
+     * Tests the migration from version 5 to 6 adds the videos & reviews caches, keeping existing data
+     */
+    @Test
+    public void testMigrate5To6() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 5);
+        MovieDbMigrations.migrate(db, 5, 6);
+
+        assertDataKept(db);
+        assertTrue("No videos table", exists(db, "table", MovieContract.VideoEntry.TABLE_NAME));
+        assertTrue("No reviews table", exists(db, "table", MovieContract.ReviewEntry.TABLE_NAME));
+        db.close();
+    }
+
+    /**
+     * Tests the migration from version 6 to 7 adds the movie last accessed column, initialised to the
+     * movie timestamp
+     */
+    @Test
+    public void testMigrate6To7() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 6);
+        MovieDbMigrations.migrate(db, 6, 7);
+
+        assertDataKept(db);
+        assertTrue("No last accessed index", exists(db, "index", MovieEntry.LAST_ACCESSED_INDEX));
+        Cursor cursor = db.query(MovieEntry.TABLE_NAME,
+                new String[] { MovieEntry.COLUMN_TIMESTAMP, MovieEntry.COLUMN_LAST_ACCESSED },
+                null, null, null, null, null);
+        assertTrue("No movies", cursor.getCount() > 0);
+        while (cursor.moveToNext()) {
+            assertEquals("Last accessed not initialised", cursor.getString(0), cursor.getString(1));
+        }
+        cursor.close();
+        db.close();
+    }
+
+    /**
+     * Tests the migration from version 7 to 8 adds the movie payload size column, initialised to the
+     * payload size
+     */
+    @Test
+    public void testMigrate7To8() {
+        SQLiteDatabase db = createVersion1();
+        MovieDbMigrations.migrate(db, 1, 7);
+        MovieDbMigrations.migrate(db, 7, 8);
+
+        assertDataKept(db);
+        assertTrue("No last accessed index", exists(db, "index", MovieEntry.LAST_ACCESSED_INDEX));
+        Cursor cursor = db.query(MovieEntry.TABLE_NAME,
+                new String[] { MovieEntry.COLUMN_JSON, MovieEntry.COLUMN_PAYLOAD_SIZE },
+                null, null, null, null, null);
+        assertTrue("No movies", cursor.getCount() > 0);
+        while (cursor.moveToNext()) {
+            assertEquals("Payload size not initialised", cursor.getString(0).length(), cursor.getInt(1));
+        }
+        cursor.close();
+        db.close();
+    }
+
+    /**
+     * Tests opening a version 1 database with the helper upgrades it to the same schema as a new database,
+     * keeping the existing data
+     */
+    @Test
+    public void testUpgradeFromVersion1() {
+        createVersion1().close();
+
+        MovieDbHelper migrateHelper = new MovieDbHelper(mContext, MIGRATE_DATABASE_NAME, false);
+        SQLiteDatabase migrated = migrateHelper.getWritableDatabase();
+        MovieDbHelper freshHelper = new MovieDbHelper(mContext, FRESH_DATABASE_NAME, false);
+        SQLiteDatabase fresh = freshHelper.getWritableDatabase();
+
+        assertEquals("Version", MovieDbHelper.VERSION, migrated.getVersion());
+        assertDataKept(migrated);
+        assertEquals("Schema", describeSchema(fresh), describeSchema(migrated));
+
+        migrateHelper.close();
+        freshHelper.close();
+    }
+
+    /**
+     * Describe the database schema; table columns and indices
+     * @param db    Database to describe
+     * @return  Schema description
+     */
+    private static ArrayList<String> describeSchema(SQLiteDatabase db) {
+        ArrayList<String> schema = new ArrayList<>();
+        Cursor master = db.rawQuery("SELECT type, name, tbl_name FROM sqlite_master " +
+                "WHERE name NOT LIKE 'sqlite_%' AND name != 'android_metadata' ORDER BY type, name", null);
+        while (master.moveToNext()) {
+            String type = master.getString(0);
+            String name = master.getString(1);
+            StringBuilder sb = new StringBuilder(type).append(' ').append(name).append(" on ").append(master.getString(2));
+            Cursor info = db.rawQuery("PRAGMA " + ("table".equals(type) ? "table_info" : "index_info") +
+                    "(" + name + ")", null);
+            while (info.moveToNext()) {
+                sb.append(" [");
+                for (int i = 0; i < info.getColumnCount(); i++) {
+                    sb.append(info.getString(i)).append(',');
+                }
+                sb.append(']');
+            }
+            info.close();
+            schema.add(sb.toString());
+        }
+        master.close();
+        return schema;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measurement of the size of the movie list instance state, when saving the full list of models and when
+ * saving just the movie ids (see MainActivity.onSaveInstanceState())
+ */
+@RunWith(AndroidJUnit4.class)
+@SmallTest
+public class SavedStateSizeTest {
+
+    private static final String TAG = SavedStateSizeTest.class.getSimpleName();
+
+    private static final int PAGES = 3;
+
+    private ArrayList<MovieInfoModel> movieList;
+
+    @Before
+    public void createList() {
+        TestMovieInfoModelInstance modelProvider = new TestMovieInfoModelInstance();
+        TestMovieDetailInstance detailProvider = new TestMovieDetailInstance();
+
+        movieList = new ArrayList<>();
+        for (int i = 0; i < PAGES * AbstractList.RESULTS_PER_LIST; i++) {
+            MovieInfoModel model = modelProvider.setupObject();
+            model.setId(model.getId() + i);
+            model.setIndex(i);
+            model.setPosterUri(Uri.parse("https://image.tmdb.org/t/p/w185" + model.getPosterPath()));
+            model.setBackdropUri(Uri.parse("https://image.tmdb.org/t/p/w300" + model.getBackdropPath()));
+            model.setThumbnailUri(Uri.parse("https://image.tmdb.org/t/p/w154" + model.getPosterPath()));
+            model.setDetails(detailProvider.setupObject(new MovieDetails()));
+            model.setCacheDate(new Date());
+            movieList.add(model);
+        }
+    }
+
+    /**
+     * Get the size of a bundle when written to a parcel
+     * @param bundle    Bundle to measure
+     * @return  size in bytes
+     */
+    private static int parcelSize(Bundle bundle) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            bundle.writeToParcel(parcel, 0);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @Test
+    public void savedStateSize() {
+        Bundle fullState = new Bundle();
+        fullState.putSerializable("movie_array", movieList);
+
+        Bundle idState = new Bundle();
+        idState.putIntArray("movie_ids", MovieModelCache.getInstance().putAndGetIds(movieList));
+        idState.putInt("list_position", 0);
+
+        int fullSize = parcelSize(fullState);
+        int idSize = parcelSize(idState);
+        Log.i(TAG, movieList.size() + " movies: full list " + fullSize + " bytes, ids " + idSize + " bytes");
+
+        assertTrue("Id state not smaller", idSize < fullSize);
+        assertEquals("Restored count", movieList.size(),
+                MovieModelCache.getInstance().getAll(idState.getIntArray("movie_ids")).size());
+    }
+}
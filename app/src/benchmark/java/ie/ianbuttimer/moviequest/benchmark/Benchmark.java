@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.benchmark;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Simple JVM microbenchmark harness.<br>
+ * An operation is run for a number of warm up iterations, followed by a number of measurement rounds.
+ * Throughput is reported in ops/sec, and where supported by the JVM, allocation in bytes per op.
+ */
+@SuppressWarnings("unused")
+public class Benchmark {
+
+    /** Value reported when allocation counting is not supported */
+    public static final long NOT_SUPPORTED = -1;
+
+    public static final int DEFAULT_WARMUP = 2000;
+    public static final int DEFAULT_ROUNDS = 10;
+    public static final int DEFAULT_OPS_PER_ROUND = 1000;
+
+    /**
+     * Interface for a benchmarked operation
+     */
+    public interface IOperation {
+        /**
+         * Run the operation once
+         * @return  operation result, which is consumed to stop the work being optimised away
+         */
+        Object run();
+    }
+
+    private String name;
+    private IOperation operation;
+    private int warmup;
+    private int rounds;
+    private int opsPerRound;
+
+    private int sink;   // consumes operation results
+
+    /**
+     * Constructor
+     * @param name          Name of benchmark
+     * @param operation     Operation to benchmark
+     * @param warmup        Number of warm up operations
+     * @param rounds        Number of measurement rounds
+     * @param opsPerRound   Number of operations per measurement round
+     */
+    public Benchmark(String name, IOperation operation, int warmup, int rounds, int opsPerRound) {
+        this.name = name;
+        this.operation = operation;
+        this.warmup = warmup;
+        this.rounds = rounds;
+        this.opsPerRound = opsPerRound;
+    }
+
+    /**
+     * Constructor using default iteration counts
+     * @param name          Name of benchmark
+     * @param operation     Operation to benchmark
+     */
+    public Benchmark(String name, IOperation operation) {
+        this(name, operation, DEFAULT_WARMUP, DEFAULT_ROUNDS, DEFAULT_OPS_PER_ROUND);
+    }
+
+    /**
+     * Run the benchmark
+     * @return  result
+     */
+    public Result run() {
+        for (int i = 0; i < warmup; i++) {
+            consume(operation.run());
+        }
+
+        com.sun.management.ThreadMXBean threadBean = null;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+            if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+                threadBean = null;
+            }
+        }
+        long threadId = Thread.currentThread().getId();
+
+        double bestOpsPerSec = 0;
+        long totalNs = 0;
+        long totalBytes = 0;
+        for (int round = 0; round < rounds; round++) {
+            long startBytes = (threadBean != null ? threadBean.getThreadAllocatedBytes(threadId) : 0);
+            long start = System.nanoTime();
+            for (int i = 0; i < opsPerRound; i++) {
+                consume(operation.run());
+            }
+            long elapsed = System.nanoTime() - start;
+            if (threadBean != null) {
+                totalBytes += threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+            }
+            totalNs += elapsed;
+            bestOpsPerSec = Math.max(bestOpsPerSec, opsPerSec(opsPerRound, elapsed));
+        }
+
+        long operations = (long) rounds * opsPerRound;
+        return new Result(name, operations, opsPerSec(operations, totalNs), bestOpsPerSec,
+                (threadBean != null ? totalBytes / operations : NOT_SUPPORTED));
+    }
+
+    private void consume(Object result) {
+        if (result != null) {
+            sink += System.identityHashCode(result);
+        }
+    }
+
+    private static double opsPerSec(long operations, long elapsedNs) {
+        return (elapsedNs > 0 ? (operations * 1e9) / elapsedNs : 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Benchmark result
+     */
+    public static class Result {
+
+        private String name;
+        private long operations;
+        private double opsPerSec;
+        private double bestOpsPerSec;
+        private long bytesPerOp;
+
+        /**
+         * Constructor
+         * @param name          Name of benchmark
+         * @param operations    Number of measured operations
+         * @param opsPerSec     Mean throughput
+         * @param bestOpsPerSec Throughput of the fastest round
+         * @param bytesPerOp    Bytes allocated per operation or {@link #NOT_SUPPORTED}
+         */
+        public Result(String name, long operations, double opsPerSec, double bestOpsPerSec, long bytesPerOp) {
+            this.name = name;
+            this.operations = operations;
+            this.opsPerSec = opsPerSec;
+            this.bestOpsPerSec = bestOpsPerSec;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getOpsPerSec() {
+            return opsPerSec;
+        }
+
+        public double getBestOpsPerSec() {
+            return bestOpsPerSec;
+        }
+
+        public long getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /**
+         * Get the JSON representation of this result
+         * @return  JSON object
+         * @throws JSONException
+         */
+        public JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("name", name);
+            json.put("operations", operations);
+            json.put("ops_per_sec", Math.round(opsPerSec));
+            json.put("best_ops_per_sec", Math.round(bestOpsPerSec));
+            json.put("ns_per_op", (opsPerSec > 0 ? Math.round(1e9 / opsPerSec) : 0));
+            json.put("bytes_per_op", bytesPerOp);
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + Math.round(opsPerSec) + " ops/sec, " +
+                    (bytesPerOp == NOT_SUPPORTED ? "n/a" : String.valueOf(bytesPerOp)) + " bytes/op";
+        }
+    }
+}
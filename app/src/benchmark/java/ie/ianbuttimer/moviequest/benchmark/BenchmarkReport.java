@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collection of benchmark results, written as machine-readable JSON so results may be tracked across releases.<br>
+ * Report format:
+ * <pre>
+ * {
+ *   "suite": "ModelBenchmark",
+ *   "timestamp": 1508198400000,
+ *   "java_version": "1.8.0_144",
+ *   "java_vm": "Java HotSpot(TM) 64-Bit Server VM",
+ *   "benchmarks": [
+ *     { "name": "MovieInfoModel.getInstance", "operations": 10000, "ops_per_sec": 105000,
+ *       "best_ops_per_sec": 110000, "ns_per_op": 9523, "bytes_per_op": 4120 },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class BenchmarkReport {
+
+    /** System property specifying the path of the report file */
+    public static final String OUTPUT_PROPERTY = "benchmark.output";
+
+    private String suite;
+    private List<Benchmark.Result> results;
+
+    /**
+     * Constructor
+     * @param suite     Name of benchmark suite
+     */
+    public BenchmarkReport(String suite) {
+        this.suite = suite;
+        this.results = new ArrayList<>();
+    }
+
+    /**
+     * Check if benchmarks have been requested
+     * @return  <code>true</code> if a report file has been specified
+     */
+    public static boolean isEnabled() {
+        return (getOutputPath() != null);
+    }
+
+    /**
+     * Get the path of the report file
+     * @return  path or <code>null</code> if not specified
+     */
+    public static String getOutputPath() {
+        String path = System.getProperty(OUTPUT_PROPERTY);
+        if ((path != null) && path.trim().isEmpty()) {
+            path = null;
+        }
+        return path;
+    }
+
+    /**
+     * Add a result to the report
+     * @param result    Result to add
+     */
+    public synchronized void add(Benchmark.Result result) {
+        results.add(result);
+    }
+
+    public synchronized List<Benchmark.Result> getResults() {
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Get the JSON representation of this report
+     * @return  JSON object
+     * @throws JSONException
+     */
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONArray benchmarks = new JSONArray();
+        for (Benchmark.Result result : results) {
+            benchmarks.put(result.toJson());
+        }
+        JSONObject json = new JSONObject();
+        json.put("suite", suite);
+        json.put("timestamp", System.currentTimeMillis());
+        json.put("java_version", System.getProperty("java.version"));
+        json.put("java_vm", System.getProperty("java.vm.name"));
+        json.put("benchmarks", benchmarks);
+        return json;
+    }
+
+    /**
+     * Write this report to the file specified by the {@link #OUTPUT_PROPERTY} system property
+     * @return  report file or <code>null</code> if not written
+     */
+    public File write() {
+        File file = null;
+        String path = getOutputPath();
+        if (path != null) {
+            file = new File(path);
+            File dir = file.getParentFile();
+            if ((dir != null) && !dir.exists() && !dir.mkdirs()) {
+                file = null;
+            } else {
+                Writer writer = null;
+                try {
+                    writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+                    writer.write(toJson().toString(2));
+                }
+                catch (IOException | JSONException e) {
+                    e.printStackTrace();
+                    file = null;
+                }
+                finally {
+                    if (writer != null) {
+                        try {
+                            writer.close();
+                        }
+                        catch (IOException e) {
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+
+import ie.ianbuttimer.moviequest.tmdb.AbstractList;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+import ie.ianbuttimer.moviequest.tmdb.MovieInfo;
+import ie.ianbuttimer.moviequest.tmdb.MovieInfoModel;
+import ie.ianbuttimer.moviequest.tmdb.MovieList;
+import ie.ianbuttimer.moviequest.tmdb.TMDbObject;
+import ie.ianbuttimer.moviequest.tmdb.TestMovieDetailInstance;
+import ie.ianbuttimer.moviequest.tmdb.TestMovieInfoModelInstance;
+import ie.ianbuttimer.moviequest.utils.FilterList;
+import ie.ianbuttimer.moviequest.utils.ITester;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Microbenchmarks for the tmdb model layer.<br>
+ * Only run when a report file is specified, e.g.
+ * <pre>./gradlew testDebugUnitTest -Pbenchmark --tests '*ModelBenchmark'</pre>
+ * which writes the results to app/build/reports/benchmark/&lt;task&gt;.json
+ */
+public class ModelBenchmark {
+
+    private static final double FILTER_VOTE_AVERAGE = 5.0;
+
+    private static BenchmarkReport report;
+
+    private TestMovieInfoModelInstance modelProvider = new TestMovieInfoModelInstance();
+    private TestMovieDetailInstance detailProvider = new TestMovieDetailInstance();
+
+    @BeforeClass
+    public static void setUp() {
+        Assume.assumeTrue("Benchmarks not requested", BenchmarkReport.isEnabled());
+        report = new BenchmarkReport(ModelBenchmark.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        if (report != null) {
+            File file = report.write();
+            System.out.println("Benchmark report: " + (file != null ? file.getAbsolutePath() : "not written"));
+        }
+    }
+
+    private static void run(Benchmark benchmark) {
+        Benchmark.Result result = benchmark.run();
+        report.add(result);
+        System.out.println(result);
+    }
+
+    @Test
+    public void movieInfoModelGetInstance() {
+        final JSONObject json = modelProvider.getJsonObject(modelProvider.setupObject());
+        assertNotNull(MovieInfoModel.getInstance(json));
+
+        run(new Benchmark("MovieInfoModel.getInstance", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                return MovieInfoModel.getInstance(json);
+            }
+        }));
+    }
+
+    @Test
+    public void movieDetailsGetInstance() {
+        final JSONObject json = detailProvider.getJsonObject(detailProvider.setupObject(new MovieDetails()));
+        assertNotNull(MovieDetails.getInstance(json));
+
+        run(new Benchmark("MovieDetails.getInstance", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                return MovieDetails.getInstance(json);
+            }
+        }));
+    }
+
+    @Test
+    public void movieDetailsRecordDecode() {
+        final byte[] record = MovieDetailsRecord.encode(detailProvider.setupObject(new MovieDetails()));
+        assertNotNull(MovieDetailsRecord.decode(record));
+
+        run(new Benchmark("MovieDetailsRecord.decode", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                return MovieDetailsRecord.decode(record);
+            }
+        }));
+    }
+
+    @Test
+    public void getListFromJsonString() {
+        final String json = getMovieListJson();
+        assertEquals("Result count", AbstractList.RESULTS_PER_LIST,
+                MovieList.getListFromJsonString(json).getResultCount());
+
+        run(new Benchmark("AbstractList.getListFromJsonString", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                return MovieList.getListFromJsonString(json);
+            }
+        }, Benchmark.DEFAULT_WARMUP / 10, Benchmark.DEFAULT_ROUNDS, Benchmark.DEFAULT_OPS_PER_ROUND / 10));
+    }
+
+    @Test
+    public void copy() {
+        final MovieDetails details = detailProvider.setupObject(new MovieDetails());
+        final MovieInfoModel model = new MovieInfoModel();
+
+        run(new Benchmark("TMDbObject.copy", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                TMDbObject.copy(details, model, MovieInfo.MOVIE_INFO_FIELDS);
+                return model;
+            }
+        }));
+        assertEquals("Copy", details.getTitle(), model.getTitle());
+    }
+
+    @Test
+    public void filter() {
+        MovieInfoModel[] results = MovieList.getListFromJsonString(getMovieListJson()).getResults();
+        final FilterList<MovieInfoModel> filterList = new FilterList<>(results, new ITester<MovieInfoModel>() {
+            @Override
+            public boolean test(MovieInfoModel obj) {
+                return (obj.getVoteAverage() >= FILTER_VOTE_AVERAGE);
+            }
+        });
+        assertEquals("Filtered count", results.length / 2, filterList.filter().length);
+
+        run(new Benchmark("FilterList.filter", new Benchmark.IOperation() {
+            @Override
+            public Object run() {
+                return filterList.filter();
+            }
+        }));
+    }
+
+    /**
+     * Get a list response JSON string, using the MovieInfo test instance for each result, with varying
+     * ids and vote averages
+     * @return JSON string
+     */
+    private String getMovieListJson() {
+        JSONObject list = new JSONObject();
+        try {
+            JSONArray results = new JSONArray();
+            for (int i = 0; i < AbstractList.RESULTS_PER_LIST; i++) {
+                JSONObject movie = modelProvider.getJsonObject(modelProvider.setupObject());
+                movie.put("id", movie.getInt("id") + i);
+                // half the results are below the filter threshold
+                movie.put("vote_average", (FILTER_VOTE_AVERAGE * 2 * i) / AbstractList.RESULTS_PER_LIST);
+                results.put(movie);
+            }
+            list.put("page", 1);
+            list.put("results", results);
+            list.put("total_pages", 1);
+            list.put("total_results", AbstractList.RESULTS_PER_LIST);
+        }
+        catch (JSONException e) {
+            fail("JSONObject creation error: " + e.getMessage());
+        }
+        return list.toString();
+    }
+}
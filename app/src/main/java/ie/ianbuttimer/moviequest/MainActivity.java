@@ -47,13 +47,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 
-import ie.ianbuttimer.moviequest.data.DbCacheIntentService;
+import ie.ianbuttimer.moviequest.data.CacheMaintenance;
 import ie.ianbuttimer.moviequest.data.IAdapterOnClickHandler;
 import ie.ianbuttimer.moviequest.data.adapter.MovieInfoAdapter;
+import ie.ianbuttimer.moviequest.tmdb.InternRegistry;
 import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
 import ie.ianbuttimer.moviequest.tmdb.MovieInfo;
 import ie.ianbuttimer.moviequest.tmdb.MovieInfoModel;
 import ie.ianbuttimer.moviequest.tmdb.MovieList;
+import ie.ianbuttimer.moviequest.tmdb.MovieModelCache;
 import ie.ianbuttimer.moviequest.data.AbstractResultWrapper;
 import ie.ianbuttimer.moviequest.data.AsyncCallback;
 import ie.ianbuttimer.moviequest.utils.Dialog;
@@ -71,7 +73,6 @@ import okhttp3.Response;
 import static ie.ianbuttimer.moviequest.Constants.MOVIE_ID;
 import static ie.ianbuttimer.moviequest.Constants.MOVIE_OBJ;
 import static ie.ianbuttimer.moviequest.Constants.MOVIE_TITLE;
-import static ie.ianbuttimer.moviequest.data.DbCacheIntentService.PURGE_EXPIRED;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry.COLUMN_FAVOURITE;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.GET_FAVOURITE_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.MOVIE_LIST_CONTENT_URI;
@@ -92,6 +93,9 @@ public class MainActivity extends AppCompatActivity implements
     private MovieInfoAdapter mMovieAdapter;
     private ArrayList<MovieInfoModel> mMovieList;  // movie data list
     private static String MOVIE_ARRAY = "movie_array";
+    private static String MOVIE_IDS = "movie_ids";
+    private static String LIST_POSITION = "list_position";
+    private int mRestorePosition;   // list position to restore once the movie list is available
 
     private GridLayoutManager mLayoutManager;
 
@@ -135,9 +139,17 @@ public class MainActivity extends AppCompatActivity implements
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
+        mRestorePosition = RecyclerView.NO_POSITION;
         if (savedInstanceState != null) {
             mListSelection = savedInstanceState.getString(getString(R.string.pref_movie_list_key));
-            Object obj = savedInstanceState.getSerializable(MOVIE_ARRAY);
+            mRestorePosition = savedInstanceState.getInt(LIST_POSITION, RecyclerView.NO_POSITION);
+            Object obj;
+            if (savedInstanceState.containsKey(MOVIE_IDS)) {
+                // rebuild the list from the model cache, if the process was killed it will be requested again
+                obj = MovieModelCache.getInstance().getAll(savedInstanceState.getIntArray(MOVIE_IDS));
+            } else {
+                obj = savedInstanceState.getSerializable(MOVIE_ARRAY);
+            }
             if (obj != null) {
                 if (obj instanceof ArrayList) {
                     mMovieList = (ArrayList<MovieInfoModel>) obj;
@@ -199,6 +211,7 @@ public class MainActivity extends AppCompatActivity implements
         if (savedInstanceState != null) {
             mMovieRangeTextView.setText(savedInstanceState.getString(MOVIE_RANGE));
         }
+        restoreListPosition();
 
         mRetry = (Button) findViewById(R.id.button_retry_mainA);
         mRetry.setOnClickListener(new View.OnClickListener() {
@@ -220,7 +233,7 @@ public class MainActivity extends AppCompatActivity implements
         // misc activity
         Utils.setBackdropPreference(this);  // set backdrop preference as currently not in settings
 
-        startService(DbCacheIntentService.getLaunchIntent(this, PURGE_EXPIRED)); // purge expired entries from db
+        CacheMaintenance.schedule(this); // purge expired entries from db & optimise, when device is idle
     }
 
     /**
@@ -357,7 +370,7 @@ public class MainActivity extends AppCompatActivity implements
                                 // if tile is a placeholder update it with the info
                                 MovieInfoModel model = mMovieAdapter.getItem(index);
                                 if (model.isPlaceHolder()) {
-                                    model.copy(details, new MovieInfo().getFieldIds()); // YUCK
+                                    model.copy(details, MovieInfo.MOVIE_INFO_FIELDS);
 
                                     dataChange = true;
                                 }
@@ -376,6 +389,19 @@ public class MainActivity extends AppCompatActivity implements
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            // release the shared genres, languages etc.; they are re-interned as movies are decoded
+            InternRegistry.clearAll();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -499,6 +525,17 @@ public class MainActivity extends AppCompatActivity implements
                 mMovieAdapter.addAll(response.getResults());
             }
             mMovieAdapter.notifyDataSetChanged();
+            restoreListPosition();
+        }
+    }
+
+    /**
+     * Scroll to the list position saved in the instance state, if the list is available
+     */
+    private void restoreListPosition() {
+        if ((mRestorePosition != RecyclerView.NO_POSITION) && (mMovieList.size() > 0)) {
+            mLayoutManager.scrollToPosition(Math.min(mRestorePosition, mMovieList.size() - 1));
+            mRestorePosition = RecyclerView.NO_POSITION;
         }
     }
 
@@ -581,7 +618,18 @@ public class MainActivity extends AppCompatActivity implements
     protected void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
 
-        outState.putSerializable(MOVIE_ARRAY, mMovieList);
+        int[] ids = null;
+        if (getResources().getBoolean(R.bool.save_state_by_id)) {
+            // just save the ids, the list is rebuilt from the model cache
+            ids = MovieModelCache.getInstance().putAndGetIds(mMovieList);
+        }
+        if (ids != null) {
+            outState.putIntArray(MOVIE_IDS, ids);
+        } else {
+            // not saving by id, or list too large for the model cache
+            outState.putSerializable(MOVIE_ARRAY, mMovieList);
+        }
+        outState.putInt(LIST_POSITION, mLayoutManager.findFirstVisibleItemPosition());
         outState.putString(getString(R.string.pref_movie_list_key), mListSelection);
         outState.putString(MOVIE_RANGE, mMovieRangeTextView.getText().toString());
     }
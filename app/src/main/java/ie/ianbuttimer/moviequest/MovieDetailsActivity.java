@@ -33,6 +33,7 @@ import android.support.v4.app.TaskStackBuilder;
 import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
 import android.text.TextUtils;
+import android.text.format.DateUtils;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
@@ -62,6 +63,7 @@ import ie.ianbuttimer.moviequest.tmdb.AbstractList;
 import ie.ianbuttimer.moviequest.tmdb.CollectionInfo;
 import ie.ianbuttimer.moviequest.tmdb.MovieInfo;
 import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
 import ie.ianbuttimer.moviequest.tmdb.MovieInfoModel;
 import ie.ianbuttimer.moviequest.data.AbstractResultWrapper;
 import ie.ianbuttimer.moviequest.data.AsyncCallback;
@@ -100,13 +102,13 @@ import static ie.ianbuttimer.moviequest.Constants.MOVIE_TITLE;
 import static ie.ianbuttimer.moviequest.data.DbCacheIntentService.CV_EXTRA;
 import static ie.ianbuttimer.moviequest.data.DbCacheIntentService.INSERT_OR_UPDATE_FAVOURITE;
 import static ie.ianbuttimer.moviequest.data.DbCacheIntentService.INSERT_OR_UPDATE_MOVIE;
+import static ie.ianbuttimer.moviequest.data.DbCacheIntentService.UPDATE_MOVIE;
 import static ie.ianbuttimer.moviequest.data.MovieContentProvider.FAVOURITE_WITH_ID;
 import static ie.ianbuttimer.moviequest.data.MovieContentProvider.MOVIE_WITH_ID;
 import static ie.ianbuttimer.moviequest.data.MovieContentProvider.MOVIE_WITH_REVIEWS;
 import static ie.ianbuttimer.moviequest.data.MovieContentProvider.MOVIE_WITH_VIDEOS;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry.COLUMN_FAVOURITE;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.APPEND_TO_RESPONSE;
-import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_JSON;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_REVIEWS_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_VIDEOS_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry._ID;
@@ -203,6 +205,8 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
     private ImageView backdropImageView;    // banner backdrop image
     private ImageLoader thumbnailLoader;    // loader for thumbnail image
     private boolean mFavourite = false;     // movie favourite status
+    private MovieDetails mRevalidating = null;      // cached details being revalidated in the background
+    private boolean mRevalidatedUnchanged = false;  // revalidation response matches the cached details
 
     // favourite related variables
     private Button mFavouriteButton;        // favourite button
@@ -837,6 +841,89 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
         dimUnknown();
         showRefreshInProgress();
 
+        fetchDetailsFromServer(id);
+    }
+
+    /**
+     * Revalidate cached movie details in the background, while they are displayed. The display and
+     * cache are only updated if the details from the server differ from the cached details.
+     * @param details   Cached details
+     */
+    private void revalidateDetails(MovieDetails details) {
+        if (NetworkUtils.isInternetAvailable(this)) {
+            mRevalidating = details;
+            mRevalidatedUnchanged = false;
+            showRefreshInProgress();    // but don't dim the cached details
+
+            fetchDetailsFromServer(details.getId());
+        }
+    }
+
+    /**
+     * Check if cached movie details are older than the soft time-to-live, and should be revalidated
+     * @param cacheDate Date details were cached
+     * @return  <code>true</code> if stale
+     */
+    private boolean isStale(Date cacheDate) {
+        long ttl = getResources().getInteger(R.integer.movie_details_soft_ttl_hours) * DateUtils.HOUR_IN_MILLIS;
+        return (ttl > 0) &&
+                ((cacheDate == null) || (cacheDate.getTime() < (System.currentTimeMillis() - ttl)));
+    }
+
+    /**
+     * Check if movie details have the same displayed content. Fields which change frequently but are
+     * not displayed, e.g. popularity & vote count, are ignored.
+     * @param cached    Cached details
+     * @param fetched   Details from the server
+     * @return  <code>true</code> if the same
+     */
+    private boolean isSameDisplay(MovieDetails cached, MovieDetails fetched) {
+        return isSame(cached.getTitle(), fetched.getTitle()) &&
+                isSame(cached.getOriginalTitle(), fetched.getOriginalTitle()) &&
+                isSame(cached.getOverview(), fetched.getOverview()) &&
+                isSame(cached.getReleaseDate(), fetched.getReleaseDate()) &&
+                isSame(cached.getVoteAverage(), fetched.getVoteAverage()) &&
+                isSame(cached.getPosterPath(), fetched.getPosterPath()) &&
+                isSame(cached.getBackdropPath(), fetched.getBackdropPath()) &&
+                isSame(cached.getRuntime(), fetched.getRuntime()) &&
+                isSame(cached.getHomepage(), fetched.getHomepage()) &&
+                isSame(cached.getRevenue(), fetched.getRevenue()) &&
+                isSame(cached.getBudget(), fetched.getBudget()) &&
+                isSame(cached.getCollection(), fetched.getCollection()) &&
+                isSame(cached.getOriginalLanguageName(), fetched.getOriginalLanguageName()) &&
+                isSame(cached.getTagline(), fetched.getTagline()) &&
+                Arrays.equals(cached.getGenreNames(), fetched.getGenreNames()) &&
+                Arrays.equals(cached.getSpokenLanguageNames(), fetched.getSpokenLanguageNames()) &&
+                Arrays.equals(cached.getProductionCompaniesNames(), fetched.getProductionCompaniesNames()) &&
+                Arrays.equals(cached.getProductionCountriesNames(), fetched.getProductionCountriesNames()) &&
+                Arrays.equals(getResults(cached.getMovieVideoList()), getResults(fetched.getMovieVideoList())) &&
+                Arrays.equals(getResults(cached.getReviewList()), getResults(fetched.getReviewList()));
+    }
+
+    /**
+     * Null-safe equality check
+     * @param obj1  First object
+     * @param obj2  Second object
+     * @return  <code>true</code> if equal
+     */
+    private static boolean isSame(Object obj1, Object obj2) {
+        return (obj1 != null ? obj1.equals(obj2) : obj2 == null);
+    }
+
+    /**
+     * Get the results from a list
+     * @param list  List to get results from
+     * @return  Results or <code>null</code> if no list
+     */
+    private static Object[] getResults(AbstractList<?> list) {
+        return (list != null ? list.getResults() : null);
+    }
+
+    /**
+     * Request the movie details from the server
+     * @param id Id of movie to request
+     */
+    private void fetchDetailsFromServer(int id) {
         Uri uri = UriUtils.getMovieWithIdUri(id);
         Bundle extras = null;
         if (REQUEST_APPENDED_INFO) {
@@ -857,11 +944,23 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
      */
     private void requestFromServer(AsyncCallback handler, int id, Uri uri, String method, Bundle extras) {
         if (NetworkUtils.isInternetAvailable(this)) {
-            // matcher result is used as loader id
-            handler.call(this, matchMovieUri(uri), uri, method, String.valueOf(id), extras);
+            requestFromProvider(handler, id, uri, method, extras);
         }
     }
 
+    /**
+     * Request the movie details from the content provider, which may respond from its cache without
+     * accessing the server
+     * @param handler   Handler to make request & process response
+     * @param id        Id of movie to request
+     * @param uri       Request uri
+     * @param method    Method to request
+     */
+    private void requestFromProvider(AsyncCallback handler, int id, Uri uri, String method, Bundle extras) {
+        // matcher result is used as loader id
+        handler.call(this, matchMovieUri(uri), uri, method, String.valueOf(id), extras);
+    }
+
     /**
      * Request the movie video details from the server
      * @param id Id of movie to request
@@ -869,7 +968,8 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
     private void requestVideosFromServer(int id) {
         setVideosInProgress(true);
         Uri uri = UriUtils.getMovieWithIdAdditionalInfoUri(id, VIDEO_DETAILS);
-        requestFromServer(videoListResponseHandler, id, uri, GET_VIDEOS_METHOD, null);
+        // provider responds from its videos cache if possible, so no network check
+        requestFromProvider(videoListResponseHandler, id, uri, GET_VIDEOS_METHOD, null);
     }
 
     /**
@@ -879,7 +979,8 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
     private void requestReviewsFromServer(int id) {
         setReviewsInProgress(true);
         Uri uri = UriUtils.getMovieWithIdAdditionalInfoUri(id, REVIEW_DETAILS);
-        requestFromServer(reviewListResponseHandler, id, uri, GET_REVIEWS_METHOD, null);
+        // provider responds from its reviews cache if possible, so no network check
+        requestFromProvider(reviewListResponseHandler, id, uri, GET_REVIEWS_METHOD, null);
     }
 
     /**
@@ -1117,7 +1218,17 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
 
         @Override
         public void onResponseResult(MovieDetails result, int msgId) {
-            onMovieResponse(result, msgId);
+            boolean revalidation = (mRevalidating != null);
+            boolean unchanged = mRevalidatedUnchanged;
+            mRevalidating = null;
+            mRevalidatedUnchanged = false;
+
+            if (revalidation && ((msgId != 0) || unchanged)) {
+                // background revalidation failed or details unchanged, so keep displaying the cached details
+                hideRefreshInProgress();
+            } else {
+                onMovieResponse(result, msgId);
+            }
         }
 
         @Override
@@ -1137,16 +1248,32 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
                 case MOVIE_WITH_ID:
                     movieDetails = MovieDetails.getInstance(stringResult);
 
+                    if ((mRevalidating != null) && (movieDetails != null)) {
+                        mRevalidatedUnchanged = isSameDisplay(mRevalidating, movieDetails);
+                    }
+
                     // if caching is enabled save details to db
                     boolean cache = PreferenceControl.getCachePreference(getContext());
                     if ((movieDetails != null) && cache) {
                         int id = movieDetails.getId();
-                        if (id > 0) {
+                        if (mRevalidatedUnchanged) {
+                            // just mark the cached details as fresh, updating the info columns
+                            startDbCacheIntentService(UPDATE_MOVIE,
+                                    MovieContentValues.builder().setInfoColumns(movieDetails).setTimestamp(), id);
+                        } else if (id > 0) {
+                            MovieContentValues.Builder builder = MovieContentValues.builder()
+                                    .setCompression(getResources().getBoolean(R.bool.cache_compression));
+                            byte[] record = null;
+                            if (getResources().getBoolean(R.bool.cache_binary_records)) {
+                                record = MovieDetailsRecord.encode(movieDetails);
+                            }
+                            if (record != null) {
+                                builder.setRecord(record);
+                            } else {
+                                builder.setJson(stringResult);
+                            }
                             startDbCacheIntentService(INSERT_OR_UPDATE_MOVIE,
-                                    MovieContentValues.builder()
-                                            .setJson(stringResult)
-                                            .setTimestamp(),
-                                    id);
+                                    builder.setInfoColumns(movieDetails).setTimestamp(), id);
                         }
                     }
                     break;
@@ -1158,10 +1285,18 @@ public class MovieDetailsActivity extends AppCompatActivity /*implements IAdapte
         public void processQueryResponse(@Nullable QueryResultWrapper response, Uri uriRequest, int match, Cursor cursor) {
             switch (match) {
                 case MOVIE_WITH_ID:
+                    MovieDetails details = null;
                     if (cursor.moveToNext()) {
                         // got result
-                        int idxJson = cursor.getColumnIndex(COLUMN_JSON);
-                        setMovieDetails(MovieDetails.getInstance(cursor.getString(idxJson)), DbUtils.timestampToDate(cursor));
+                        details = DbUtils.movieDetailsFromCursor(cursor);
+                    }
+                    if (details != null) {
+                        // stale-while-revalidate; display the cached details, refresh if stale
+                        Date cacheDate = DbUtils.timestampToDate(cursor);
+                        setMovieDetails(details, cacheDate);
+                        if (isStale(cacheDate)) {
+                            revalidateDetails(details);
+                        }
                     } else {
                         // details n/a in database
                         int id;
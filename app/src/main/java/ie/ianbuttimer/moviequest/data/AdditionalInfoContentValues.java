@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import java.util.Date;
+
+/**
+ * Builder class for movie additional info (i.e. videos & reviews) ContentValue objects
+ */
+@SuppressWarnings("unused")
+public class AdditionalInfoContentValues extends DbContentValues {
+
+    public static class Builder extends DbContentValues.Builder {
+
+        /**
+         * Constructor
+         */
+        Builder() {
+            super();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setId(int id) {
+            super.setId(id);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setCompression(boolean compress) {
+            super.setCompression(compress);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setJson(String json) {
+            super.setJson(json);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setTimestamp() {
+            super.setTimestamp();
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setTimestamp(Date timestamp) {
+            super.setTimestamp(timestamp);
+            return this;
+        }
+
+        @Override
+        public Builder clear() {
+            super.clear();
+            return this;
+        }
+    }
+
+    /**
+     * Get a builder instance
+     * @return  New builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.annotation.TargetApi;
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Build;
+import android.text.format.DateUtils;
+
+import java.io.File;
+
+import ie.ianbuttimer.moviequest.R;
+import ie.ianbuttimer.moviequest.utils.PreferenceControl;
+
+/**
+ * Utility class for scheduling database cache maintenance; expired entry purges, least recently used
+ * eviction, statistics & search index optimisation and vacuuming.<br>
+ * From Lollipop, maintenance runs as a {@link CacheMaintenanceJobService} job when the device is idle.
+ * On earlier versions it is run on request if due.
+ * @see CacheMaintenancePolicy
+ */
+public class CacheMaintenance {
+
+    /** Shared preferences key for time of last maintenance run */
+    private static final String LAST_RUN_KEY = "cache_maintenance_last_run";
+
+    /** Maintenance job id */
+    static final int JOB_ID = 1;
+
+    /**
+     * Get the maintenance policy
+     * @param context   The current context
+     * @return  Policy
+     */
+    public static CacheMaintenancePolicy getPolicy(Context context) {
+        Resources resources = context.getResources();
+        return new CacheMaintenancePolicy(
+                resources.getInteger(R.integer.cache_maintenance_min_interval_hours) * DateUtils.HOUR_IN_MILLIS,
+                resources.getInteger(R.integer.cache_maintenance_max_interval_hours) * DateUtils.HOUR_IN_MILLIS,
+                resources.getInteger(R.integer.cache_maintenance_size_threshold_kbytes) * 1024L,
+                resources.getInteger(R.integer.cache_maintenance_vacuum_free_percent));
+    }
+
+    /**
+     * Get the time of the last maintenance run
+     * @param context   The current context
+     * @return  Time in milliseconds, or {@link CacheMaintenancePolicy#NEVER}
+     */
+    public static long getLastRun(Context context) {
+        return PreferenceControl.getSharedPreferences(context).getLong(LAST_RUN_KEY, CacheMaintenancePolicy.NEVER);
+    }
+
+    /**
+     * Set the time of the last maintenance run
+     * @param context   The current context
+     * @param time      Time in milliseconds
+     */
+    public static void setLastRun(Context context, long time) {
+        PreferenceControl.getSharedPreferences(context).edit().putLong(LAST_RUN_KEY, time).apply();
+    }
+
+    /**
+     * Get the size of the database, including its write-ahead log
+     * @param context   The current context
+     * @return  Size in bytes
+     */
+    public static long getDatabaseSize(Context context) {
+        File db = context.getDatabasePath(MovieDbHelper.DATABASE_NAME);
+        return db.length() + new File(db.getPath() + "-wal").length();
+    }
+
+    /**
+     * Check if maintenance is due
+     * @param context   The current context
+     * @return  <code>true</code> if due
+     */
+    public static boolean isDue(Context context) {
+        return getPolicy(context).isDue(System.currentTimeMillis(), getLastRun(context), getDatabaseSize(context));
+    }
+
+    /**
+     * Schedule maintenance. From Lollipop a job is scheduled if not already pending, and expired entries
+     * are only purged immediately if maintenance is due, i.e. the job hasn't run within the policy's
+     * interval, as the device may rarely be idle and charging. Otherwise maintenance is started
+     * immediately if due.
+     * @param context   The current context
+     */
+    public static void schedule(Context context) {
+        String action = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            scheduleJob(context);
+            if (isDue(context)) {
+                action = DbCacheIntentService.PURGE_EXPIRED;
+            }
+        } else if (isDue(context)) {
+            action = DbCacheIntentService.MAINTENANCE;
+        }
+        if (action != null) {
+            context.startService(DbCacheIntentService.getLaunchIntent(context, action));
+        }
+    }
+
+    /**
+     * Schedule the periodic maintenance job, if not already pending. The job checks if maintenance
+     * is due each time it runs.
+     * @param context   The current context
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private static void scheduleJob(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler != null) {
+            for (JobInfo job : scheduler.getAllPendingJobs()) {
+                if (job.getId() == JOB_ID) {
+                    return; // already scheduled
+                }
+            }
+            Resources resources = context.getResources();
+            JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, CacheMaintenanceJobService.class))
+                    .setPeriodic(resources.getInteger(R.integer.cache_maintenance_min_interval_hours) *
+                            DateUtils.HOUR_IN_MILLIS)
+                    .setRequiresDeviceIdle(true)
+                    .setRequiresCharging(resources.getBoolean(R.bool.cache_maintenance_requires_charging))
+                    .build();
+            scheduler.schedule(job);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.annotation.TargetApi;
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+import android.content.Context;
+import android.os.Build;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JobService to run database cache maintenance when the device is idle.<br>
+ * Maintenance runs on a worker thread owned by the job, which stops between maintenance steps if the
+ * job is stopped by the system.
+ * @see CacheMaintenance
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+public class CacheMaintenanceJobService extends JobService {
+
+    /** Flag set when the system stops the job */
+    private final AtomicBoolean mCancelled = new AtomicBoolean();
+
+    @Override
+    public boolean onStartJob(final JobParameters params) {
+        boolean running = false;
+        if (CacheMaintenance.isDue(this)) {
+            final Context context = getApplicationContext();
+            mCancelled.set(false);
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        DbCacheIntentService.maintain(context, mCancelled);
+                    } finally {
+                        jobFinished(params, false);
+                    }
+                }
+            }, "CacheMaintenance").start();
+            running = true;
+        }
+        return running;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        mCancelled.set(true);
+        return true;    // reschedule, as maintenance didn't complete
+    }
+}
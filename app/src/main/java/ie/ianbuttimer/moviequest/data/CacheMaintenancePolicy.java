@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+/**
+ * Policy deciding when database cache maintenance is due, and which maintenance tasks to perform.<br>
+ * Maintenance is due if it has never run, or if the maximum interval has passed, or if the minimum
+ * interval has passed and the database has grown beyond the size threshold.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.data.CacheMaintenancePolicyTest
+ */
+public class CacheMaintenancePolicy {
+
+    /** Last run time indicating maintenance has never run */
+    public static final long NEVER = 0;
+
+    private final long minIntervalMs;           // minimum time between runs
+    private final long maxIntervalMs;           // maximum time between runs
+    private final long sizeThresholdBytes;      // database size which makes a run due after the minimum interval
+    private final int vacuumFreePercent;        // percentage of free pages which makes a vacuum worthwhile
+
+    /**
+     * Constructor
+     * @param minIntervalMs         Minimum time between runs in milliseconds
+     * @param maxIntervalMs         Maximum time between runs in milliseconds
+     * @param sizeThresholdBytes    Database size in bytes which makes a run due after the minimum interval
+     * @param vacuumFreePercent     Percentage of free database pages which makes a vacuum worthwhile
+     */
+    public CacheMaintenancePolicy(long minIntervalMs, long maxIntervalMs, long sizeThresholdBytes,
+                                  int vacuumFreePercent) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+        this.sizeThresholdBytes = sizeThresholdBytes;
+        this.vacuumFreePercent = vacuumFreePercent;
+    }
+
+    /**
+     * Check if maintenance is due
+     * @param now       Current time in milliseconds
+     * @param lastRun   Time of last run in milliseconds, or {@link #NEVER}
+     * @param dbSize    Current database size in bytes
+     * @return  <code>true</code> if due
+     */
+    public boolean isDue(long now, long lastRun, long dbSize) {
+        boolean due;
+        long elapsed = now - lastRun;
+        if ((lastRun == NEVER) || (elapsed < 0)) {
+            due = true;     // never run or clock has been changed
+        } else if (elapsed < minIntervalMs) {
+            due = false;
+        } else {
+            due = (elapsed >= maxIntervalMs) || (dbSize >= sizeThresholdBytes);
+        }
+        return due;
+    }
+
+    /**
+     * Check if vacuuming the database is worthwhile
+     * @param pageCount     Number of pages in the database
+     * @param freePages     Number of free pages in the database
+     * @return  <code>true</code> if worthwhile
+     */
+    public boolean shouldVacuum(long pageCount, long freePages) {
+        return (pageCount > 0) && (freePages > 0) && ((freePages * 100) >= (pageCount * vacuumFreePercent));
+    }
+}
@@ -18,20 +18,22 @@
 package ie.ianbuttimer.moviequest.data;
 
 import android.app.IntentService;
-import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
 import android.content.Intent;
-import android.database.Cursor;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.ResultReceiver;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Log;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import ie.ianbuttimer.moviequest.R;
 import ie.ianbuttimer.moviequest.utils.DbUtils;
 import ie.ianbuttimer.moviequest.utils.PreferenceControl;
 import ie.ianbuttimer.moviequest.utils.UriUtils;
@@ -43,7 +45,10 @@ import static ie.ianbuttimer.moviequest.Constants.RESULT_RECEIVER;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry.COLUMN_FAVOURITE;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
-import static ie.ianbuttimer.moviequest.data.MovieContract.ID_EQ_SELECTION;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry;
+import static ie.ianbuttimer.moviequest.data.MovieContract.ReviewEntry;
+import static ie.ianbuttimer.moviequest.data.MovieContract.VideoEntry;
+import static ie.ianbuttimer.moviequest.data.MovieContract.DELETE_CHUNK_SIZE;
 import static ie.ianbuttimer.moviequest.data.MovieContract.TIMESTAMP_LTEQ_SELECTION;
 import static ie.ianbuttimer.moviequest.data.MovieContract.columnEqSelection;
 import static ie.ianbuttimer.moviequest.data.MovieContract.columnInSelection;
@@ -60,6 +65,8 @@ public class DbCacheIntentService extends IntentService {
 
     /** Clear expired database entries action */
     public static final String PURGE_EXPIRED = "purge_expired";
+    /** Database maintenance action; purge expired entries, evict movies & optimise the database */
+    public static final String MAINTENANCE = "maintenance";
 
 
     private static final String MOVIE = "movie";
@@ -75,6 +82,8 @@ public class DbCacheIntentService extends IntentService {
     public static final String DELETE_ALL_MOVIES = "delete_all_" + MOVIE;
     /** Clear expired movie cache action */
     public static final String PURGE_EXPIRED_MOVIES = PURGE_EXPIRED + "_" + MOVIE;
+    /** Evict least recently used movies to bring the movie cache within its limits action */
+    public static final String EVICT_MOVIES = "evict_" + MOVIE;
 
     private static final String FAVOURITE = "favourite";
     /** Insert a favourite action */
@@ -90,12 +99,31 @@ public class DbCacheIntentService extends IntentService {
     /** Clear expired movie cache action */
     public static final String PURGE_EXPIRED_FAVOURITES = PURGE_EXPIRED + "_" + FAVOURITE;
 
+    private static final String LIST = "list";
+    /** Clear expired movie list pages cache action */
+    public static final String PURGE_EXPIRED_LISTS = PURGE_EXPIRED + "_" + LIST;
+
+    private static final String VIDEO = "video";
+    /** Insert or update a movie's videos action */
+    public static final String INSERT_OR_UPDATE_VIDEOS = "insert_or_update_" + VIDEO;
+    /** Clear expired movie videos cache action */
+    public static final String PURGE_EXPIRED_VIDEOS = PURGE_EXPIRED + "_" + VIDEO;
+
+    private static final String REVIEW = "review";
+    /** Insert or update a movie's reviews action */
+    public static final String INSERT_OR_UPDATE_REVIEWS = "insert_or_update_" + REVIEW;
+    /** Clear expired movie reviews cache action */
+    public static final String PURGE_EXPIRED_REVIEWS = PURGE_EXPIRED + "_" + REVIEW;
+
     /** Name for ContentValues in intent */
     public static final String CV_EXTRA = "cv_extra";
 
     /** Name for result count in result bundle */
     public static final String RESULT_COUNT = "result_count";
 
+    /** Number of movies cached since the last eviction; eviction may also run from the maintenance job */
+    private static final AtomicInteger sInsertsSinceEviction = new AtomicInteger();
+
     public DbCacheIntentService() {
         super(DbCacheIntentService.class.getSimpleName());
     }
@@ -107,7 +135,6 @@ public class DbCacheIntentService extends IntentService {
         }
         int id = intent.getIntExtra(_ID, 0);
         ContentValues cv = intent.getParcelableExtra(CV_EXTRA);
-        Cursor cursor;
         int count = 0;
         ResultReceiver resultReceiver;
 
@@ -118,20 +145,36 @@ public class DbCacheIntentService extends IntentService {
         }
 
         String action = intent.getAction();
+        if ((cv != null) && action.contains(MOVIE) &&
+                cv.containsKey(MovieEntry.COLUMN_JSON) && !cv.containsKey(MovieEntry.COLUMN_TITLE)) {
+            // extract the movie info columns from the details being cached
+            MovieContentValues.putInfoColumns(cv, DbUtils.movieDetailsFromContentValues(cv));
+        }
+        if (!isQueuedAction(action)) {
+            // apply queued writes first, so they don't overwrite or re-add rows after this action
+            flushQueuedWrites(this);
+        }
         switch (action) {
             // movie related actions
             case INSERT_OR_UPDATE_MOVIE:
+            case INSERT_OR_UPDATE_VIDEOS:
+            case INSERT_OR_UPDATE_REVIEWS:
+                // cached data is queued & flushed in batches, merging repeated writes of the same row
+                onInserted(action, queueUpsert(action, id, cv));
+                break;
             case INSERT_OR_UPDATE_FAVOURITE:
-                cursor = dbGetById(action, id);
-                if (cursor != null) {
-                    // row exists so update
-                    dbUpdate(getWithIdUri(action, id), cv);
-                    break;
-                }
-                // else fall through to insert
+                // favourites are user data, so written immediately
+                onInserted(action, (dbUpsert(action, id, cv) != null));
+                break;
             case INSERT_MOVIE:
             case INSERT_FAVOURITE:
-                dbInsert(action, cv);
+                onInserted(action, (dbInsert(action, cv) != null));
+                break;
+            case EVICT_MOVIES:
+                count = evictMovies(this);
+                break;
+            case MAINTENANCE:
+                count = maintain(this, null);
                 break;
             case UPDATE_MOVIE:
             case UPDATE_FAVOURITE:
@@ -147,13 +190,32 @@ public class DbCacheIntentService extends IntentService {
                 break;
             case PURGE_EXPIRED:
             case PURGE_EXPIRED_MOVIES:
-                purgeExpiredMovies();
+                purgeExpiredMovies(this);
+                evictMovies(this);
                 if (action.equals(PURGE_EXPIRED_MOVIES)) {
                     break;
                 }
                 // else fall through
             case PURGE_EXPIRED_FAVOURITES:
-                purgeExpiredFavourites();
+                purgeExpiredFavourites(this);
+                if (action.equals(PURGE_EXPIRED_FAVOURITES)) {
+                    break;
+                }
+                // else fall through
+            case PURGE_EXPIRED_LISTS:
+                purgeExpiredLists(this);
+                if (action.equals(PURGE_EXPIRED_LISTS)) {
+                    break;
+                }
+                // else fall through
+            case PURGE_EXPIRED_VIDEOS:
+                purgeExpired(this, VideoEntry.CONTENT_URI, "video list");
+                if (action.equals(PURGE_EXPIRED_VIDEOS)) {
+                    break;
+                }
+                // else fall through
+            case PURGE_EXPIRED_REVIEWS:
+                purgeExpired(this, ReviewEntry.CONTENT_URI, "review list");
                 break;
             default:
                 throw new UnsupportedOperationException("Unknown service action: " + action);
@@ -177,6 +239,10 @@ public class DbCacheIntentService extends IntentService {
             uri = MovieEntry.CONTENT_URI;
         } else if (action.contains(FAVOURITE)) {
             uri = FavouriteEntry.CONTENT_URI;
+        } else if (action.contains(VIDEO)) {
+            uri = VideoEntry.CONTENT_URI;
+        } else if (action.contains(REVIEW)) {
+            uri = ReviewEntry.CONTENT_URI;
         }
         return uri;
     }
@@ -193,6 +259,10 @@ public class DbCacheIntentService extends IntentService {
             uri = UriUtils.getMovieWithIdUri(id);
         } else if (action.contains(FAVOURITE)) {
             uri = UriUtils.getFavouriteWithIdUri(id);
+        } else if (action.contains(VIDEO)) {
+            uri = UriUtils.getVideosWithIdUri(id);
+        } else if (action.contains(REVIEW)) {
+            uri = UriUtils.getReviewsWithIdUri(id);
         }
         return uri;
     }
@@ -212,6 +282,76 @@ public class DbCacheIntentService extends IntentService {
         return resultUri;
     }
 
+    /**
+     * Update a row in the database if it exists, or add it otherwise, in a single provider operation
+     * @param action    Action to do upsert for
+     * @param id        Id of row
+     * @param cv        Values to update or add
+     * @return  Uri of row, or <code>null</code>
+     * @see UriUtils#getUpsertUri(Uri)
+     */
+    private Uri dbUpsert(@NonNull String action, int id, ContentValues cv) {
+        Uri resultUri = null;
+        Uri uri = getBaseUri(action);
+        if ((uri != null) && (cv != null)) {
+            if (!cv.containsKey(_ID) && (id > 0)) {
+                cv.put(_ID, id);
+            }
+            resultUri = getContentResolver().insert(UriUtils.getUpsertUri(uri), cv);
+        }
+        return resultUri;
+    }
+
+    /**
+     * Check if an action's writes are queued
+     * @param action    Action to check
+     * @return  <code>true</code> if queued
+     * @see DbWriteBehindQueue
+     */
+    private static boolean isQueuedAction(@NonNull String action) {
+        return INSERT_OR_UPDATE_MOVIE.equals(action) || INSERT_OR_UPDATE_VIDEOS.equals(action) ||
+                INSERT_OR_UPDATE_REVIEWS.equals(action);
+    }
+
+    /**
+     * Apply any queued writes to the database, waiting until they have been applied
+     * @param context   The current context
+     * @see DbWriteBehindQueue
+     */
+    static void flushQueuedWrites(Context context) {
+        DbWriteBehindQueue.getInstance(context).flushNow();
+    }
+
+    /**
+     * Queue an update of a row in the database if it exists, or its addition otherwise
+     * @param action    Action to do upsert for
+     * @param id        Id of row
+     * @param cv        Values to update or add
+     * @return  <code>true</code> if queued
+     * @see DbWriteBehindQueue
+     */
+    private boolean queueUpsert(@NonNull String action, int id, ContentValues cv) {
+        boolean queued = false;
+        Uri uri = getBaseUri(action);
+        if ((uri != null) && (cv != null) && (id > 0)) {
+            DbWriteBehindQueue.getInstance(this).upsert(uri, id, cv);
+            queued = true;
+        }
+        return queued;
+    }
+
+    /**
+     * Process the result of adding a row to the database, evicting movies if the eviction interval has passed
+     * @param action    Action insert was done for
+     * @param inserted  <code>true</code> if row was added or queued for addition
+     */
+    private void onInserted(@NonNull String action, boolean inserted) {
+        if (inserted && action.contains(MOVIE) &&
+                (sInsertsSinceEviction.incrementAndGet() >= getResources().getInteger(R.integer.movie_cache_evict_interval))) {
+            evictMovies(this);
+        }
+    }
+
     /**
      * Update an existing movie in the database
      * @param uri   Uri to use for update
@@ -226,26 +366,6 @@ public class DbCacheIntentService extends IntentService {
         return count;
     }
 
-    /**
-     * Get a row from the database
-     * @param action    Action to do get for
-     * @param id        Id of row
-     * @return  Cursor containing movie info
-     */
-    private Cursor dbGetById(@NonNull String action, int id) {
-        Cursor cursor = null;
-        Uri uri = getBaseUri(action);
-        if ((uri != null) && (id > 0)) {
-            cursor = getContentResolver().query(uri, null, ID_EQ_SELECTION, DbUtils.idArgArray(id), null);
-            if ((cursor != null) && (cursor.getCount() == 0)) {
-                // doesn't exist so return null for convenience
-                cursor.close();
-                cursor = null;
-            }
-        }
-        return cursor;
-    }
-
     /**
      * Delete a row from the database
      * @param action    Action to do delete for
@@ -300,79 +420,154 @@ public class DbCacheIntentService extends IntentService {
 
     /**
      * Purge movies which have expired from the db
+     * @param context   The current context
      * @return  Number of deleted items
      */
-    private int purgeExpiredMovies() {
-        ContentResolver resolver = getContentResolver();
-        int days = PreferenceControl.getCacheLengthPreference(getApplicationContext());
+    static int purgeExpiredMovies(Context context) {
+        int days = PreferenceControl.getCacheLengthPreference(context);
         long expiryMsec = new Date().getTime() - (days * DAY_IN_MILLIS);    // expiry date in msec
         Date expiryDate = new Date(expiryMsec);
-        int count = 0;
+        long start = SystemClock.elapsedRealtime();
 
-        Cursor cursor = resolver.query(MovieEntry.CONTENT_URI, new String[] {
-            _ID     // only need id
-        }, TIMESTAMP_LTEQ_SELECTION, new String[] {
-            DbUtils.getTimestamp(expiryDate)
-        }, null);
+        // set-based delete in chunks using the timestamp index, rather than a delete by list of ids
+        int count = context.getContentResolver().delete(
+                UriUtils.getChunkedDeleteUri(MovieEntry.CONTENT_URI, DELETE_CHUNK_SIZE),
+                TIMESTAMP_LTEQ_SELECTION, new String[] {
+                    DbUtils.getTimestamp(expiryDate)
+                });
 
-        if (cursor != null) {
-            String[] toPurge = getSelectionArgs(cursor, cursor.getColumnIndex(_ID));
-            if (toPurge != null) {
-                count = dbDeleteById(PURGE_EXPIRED_MOVIES, toPurge);
+        Log.i(TAG, "Purged " + count + " movie(s) from db in " + (SystemClock.elapsedRealtime() - start) + "ms");
+        return count;
+    }
 
-                Log.i(TAG, "Purged " + count + " movie(s) from db");
+    /**
+     * Perform database maintenance; purge all expired entries, evict the least recently used movies and
+     * optimise the database
+     * @param context   The current context
+     * @param cancelled Flag to check between steps, stopping maintenance if set; may be <code>null</code>
+     * @return  Number of deleted items
+     * @see CacheMaintenance
+     */
+    static int maintain(Context context, @Nullable AtomicBoolean cancelled) {
+        long start = SystemClock.elapsedRealtime();
+
+        flushQueuedWrites(context);     // may be called from the maintenance job
+
+        int count = purgeExpiredMovies(context);
+        count += purgeExpiredFavourites(context);
+        count += purgeExpiredLists(context);
+        count += purgeExpired(context, VideoEntry.CONTENT_URI, "video list");
+        count += purgeExpired(context, ReviewEntry.CONTENT_URI, "review list");
+        count += evictMovies(context);
+
+        boolean vacuumed = false;
+        boolean stopped = false;
+        String[] steps = new String[] {
+            MovieEntry.MAINTAIN_STEP_OPTIMIZE, MovieEntry.MAINTAIN_STEP_ANALYZE, MovieEntry.MAINTAIN_STEP_VACUUM
+        };
+        for (String step : steps) {
+            if ((cancelled != null) && cancelled.get()) {
+                stopped = true;
+                break;
             }
+            Bundle result = context.getContentResolver().call(MovieEntry.CONTENT_URI, MovieEntry.MAINTAIN_METHOD,
+                    step, null);
+            if (result != null) {
+                Bundle maintained = result.getBundle(MovieEntry.MAINTAIN_METHOD);
+                if (maintained != null) {
+                    vacuumed |= maintained.getBoolean(MovieEntry.MAINTAIN_VACUUMED);
+                }
+            }
+        }
+        if (!stopped) {
+            CacheMaintenance.setLastRun(context, System.currentTimeMillis());
         }
+
+        Log.i(TAG, "Maintenance deleted " + count + " item(s)" + (vacuumed ? " and vacuumed db" : "") +
+                (stopped ? ", stopped before completion," : "") +
+                " in " + (SystemClock.elapsedRealtime() - start) + "ms");
         return count;
     }
 
     /**
-     * Purge favourites which have expired from the db
-     * @return  Number of deleted items
+     * Evict the least recently used movies to bring the movie cache within its configured limits
+     * @param context   The current context
+     * @return  Number of evicted items
      */
-    private int purgeExpiredFavourites() {
-        ContentResolver resolver = getContentResolver();
-        int count =0;
-
-        // look for movies marked as not in favourites
-        Cursor cursor = resolver.query(FavouriteEntry.CONTENT_URI, new String[] {
-            _ID     // only need id
-        }, columnEqSelection(COLUMN_FAVOURITE), new String[] {
-            DB_RAW_BOOLEAN_FALSE
-        }, null);
-
-        if (cursor != null) {
-            String[] toPurge = getSelectionArgs(cursor, cursor.getColumnIndex(_ID));
-            if (toPurge != null) {
-                count = dbDeleteById(PURGE_EXPIRED_FAVOURITES, toPurge);
-
-                Log.i(TAG, "Purged " + count + " favourite(s) from db");
+    static int evictMovies(Context context) {
+        sInsertsSinceEviction.set(0);
+
+        Bundle extras = new Bundle();
+        extras.putInt(MovieEntry.EVICT_MAX_ROWS, context.getResources().getInteger(R.integer.movie_cache_max_rows));
+        extras.putLong(MovieEntry.EVICT_MAX_BYTES,
+                context.getResources().getInteger(R.integer.movie_cache_max_kbytes) * 1024L);
+        long start = SystemClock.elapsedRealtime();
+
+        int count = 0;
+        Bundle result = context.getContentResolver().call(MovieEntry.CONTENT_URI, MovieEntry.EVICT_METHOD, null, extras);
+        if (result != null) {
+            Bundle evicted = result.getBundle(MovieEntry.EVICT_METHOD);
+            if (evicted != null) {
+                count = evicted.getInt(MovieEntry.EVICT_COUNT);
             }
         }
+        if (count > 0) {
+            Log.i(TAG, "Evicted " + count + " movie(s) from db in " + (SystemClock.elapsedRealtime() - start) + "ms");
+        }
         return count;
     }
 
     /**
-     * Make a selection args array, and closes cursor
-     * @param cursor    Cursor to generate selection args from
-     * @param colIdx    Index of cursor column
-     * @return  selection args array
+     * Purge favourites which have expired from the db
+     * @param context   The current context
+     * @return  Number of deleted items
      */
-    private String[] getSelectionArgs(Cursor cursor, int colIdx) {
-        String[] argArray = null;
-        if (cursor != null) {
-            int count = cursor.getCount();
-            if (count > 0) {
-                argArray = new String[count];
-
-                while (cursor.moveToNext()) {
-                    --count;    // use count var to avoid creating new var
-                    argArray[count] = cursor.getString(colIdx);
-                }
-            }
-            cursor.close();
+    static int purgeExpiredFavourites(Context context) {
+        long start = SystemClock.elapsedRealtime();
+
+        // delete movies marked as not in favourites
+        int count = context.getContentResolver().delete(
+                UriUtils.getChunkedDeleteUri(FavouriteEntry.CONTENT_URI, DELETE_CHUNK_SIZE),
+                columnEqSelection(COLUMN_FAVOURITE), new String[] {
+                    DB_RAW_BOOLEAN_FALSE
+                });
+
+        Log.i(TAG, "Purged " + count + " favourite(s) from db in " + (SystemClock.elapsedRealtime() - start) + "ms");
+        return count;
+    }
+
+    /**
+     * Purge movie list pages which have expired from the db
+     * @param context   The current context
+     * @return  Number of deleted items
+     */
+    static int purgeExpiredLists(Context context) {
+        return purgeExpired(context, MovieListEntry.CONTENT_URI, "list page");
+    }
+
+    /**
+     * Purge rows which have expired from a timestamped cache table
+     * @param context   The current context
+     * @param uri       Content uri of table
+     * @param name      Name of row type for logging
+     * @return  Number of deleted items
+     */
+    static int purgeExpired(Context context, @NonNull Uri uri, String name) {
+        int days = PreferenceControl.getCacheLengthPreference(context);
+        long expiryMsec = new Date().getTime() - (days * DAY_IN_MILLIS);    // expiry date in msec
+        Date expiryDate = new Date(expiryMsec);
+        long start = SystemClock.elapsedRealtime();
+
+        int count = context.getContentResolver().delete(
+                UriUtils.getChunkedDeleteUri(uri, DELETE_CHUNK_SIZE),
+                TIMESTAMP_LTEQ_SELECTION, new String[] {
+                    DbUtils.getTimestamp(expiryDate)
+                });
+        if (count > 0) {
+            Log.i(TAG, "Purged " + count + " " + name + "(s) from db in " +
+                    (SystemClock.elapsedRealtime() - start) + "ms");
         }
-        return argArray;
+        return count;
     }
 
     /**
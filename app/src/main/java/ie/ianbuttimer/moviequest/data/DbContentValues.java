@@ -18,8 +18,16 @@
 package ie.ianbuttimer.moviequest.data;
 
 import android.content.ContentValues;
+import android.text.TextUtils;
+
+import java.util.Date;
+
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+import ie.ianbuttimer.moviequest.utils.PayloadCodec;
 
 import static android.provider.BaseColumns._ID;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_JSON;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_TIMESTAMP;
 
 /**
  * Builder class for a Movie ContentValue objects
@@ -30,6 +38,7 @@ public class DbContentValues {
     public static class Builder {
 
         protected ContentValues cv;
+        private boolean compress;   // compress payloads flag
 
         /**
          * Constructor
@@ -58,6 +67,69 @@ public class DbContentValues {
             return this;
         }
 
+        /**
+         * Set compression of the payload, applies to subsequent payloads set
+         * @param compress  Compress payload flag
+         * @see PayloadCodec
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setCompression(boolean compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        /**
+         * Compress a payload, if compression is set
+         * @param payload   Payload to compress
+         * @return  Compressed payload, or the original payload if not compressed
+         */
+        protected byte[] compressPayload(byte[] payload) {
+            byte[] compressed = null;
+            if (compress) {
+                compressed = PayloadCodec.compress(payload);
+            }
+            return (compressed != null ? compressed : payload);
+        }
+
+        /**
+         * Set the JSON string, compressed if compression is set.<br>
+         * The JSON & timestamp columns have the same names in all the cache tables.
+         * @param json  Json string to set
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setJson(String json) {
+            if (!TextUtils.isEmpty(json)) {
+                byte[] compressed = null;
+                if (compress) {
+                    compressed = PayloadCodec.compress(json);
+                }
+                if (compressed != null) {
+                    cv.put(COLUMN_JSON, compressed);
+                } else {
+                    cv.put(COLUMN_JSON, json);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Set the timestamp to the current date & time
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setTimestamp() {
+            return setTimestamp(new Date());
+        }
+
+        /**
+         * Set the timestamp to the specified date & time
+         * @param timestamp     Timestamp to set
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setTimestamp(Date timestamp) {
+            cv.put(COLUMN_TIMESTAMP, DbUtils.getTimestamp(timestamp));
+            return this;
+        }
+
         /**
          * Clear the builder contents
          * @return  Builder to facilitate chaining
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentProviderOperation;
+import android.content.ContentUris;
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.OperationApplicationException;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.os.RemoteException;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ie.ianbuttimer.moviequest.R;
+import ie.ianbuttimer.moviequest.utils.UriUtils;
+
+import static ie.ianbuttimer.moviequest.data.MovieContract.AUTHORITY;
+
+/**
+ * Write-behind queue for cache upserts.<br>
+ * Writes are held for a short debounce window, during which a later write of the same row replaces the
+ * pending write, and are then flushed to the content provider as a single batch transaction. If the batch
+ * fails, the writes are retried individually so one bad write doesn't lose the others.<br>
+ * Pending writes are lost if the process is killed within the window, which is acceptable for cached
+ * data, i.e. the movies, videos & reviews caches. It must not be used for user data such as favourites.<br>
+ * Direct writes & deletes of the cache tables must call {@link #flushNow()} first, so that pending writes
+ * are not applied after them, e.g. re-adding deleted rows or overwriting a later update.
+ */
+public class DbWriteBehindQueue {
+
+    private static final String TAG = DbWriteBehindQueue.class.getSimpleName();
+
+    private static DbWriteBehindQueue sInstance;
+
+    // statistics
+    private static final AtomicLong queueDepth = new AtomicLong();
+    private static final AtomicLong maxQueueDepth = new AtomicLong();
+    private static final AtomicLong coalescedCount = new AtomicLong();
+    private static final AtomicLong flushCount = new AtomicLong();
+    private static final AtomicLong failedFlushCount = new AtomicLong();
+    private static final AtomicLong flushedCount = new AtomicLong();
+    private static final AtomicLong flushNanos = new AtomicLong();
+    private static final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private final Context context;
+    private final Handler handler;
+    private final long delayMs;         // debounce window
+    private final int maxPending;       // pending writes which trigger an immediate flush
+
+    /** Pending upserts by row 'with id' uri, in order of most recent write */
+    private final LinkedHashMap<Uri, ContentProviderOperation> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    /**
+     * Constructor
+     * @param context   The current context
+     */
+    private DbWriteBehindQueue(Context context) {
+        this.context = context.getApplicationContext();
+        this.delayMs = context.getResources().getInteger(R.integer.cache_write_delay_ms);
+        this.maxPending = context.getResources().getInteger(R.integer.cache_write_max_pending);
+
+        HandlerThread thread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+        thread.start();
+        this.handler = new Handler(thread.getLooper());
+    }
+
+    /**
+     * Get the queue instance
+     * @param context   The current context
+     * @return  Queue
+     */
+    public static synchronized DbWriteBehindQueue getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new DbWriteBehindQueue(context);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Queue an upsert of a row
+     * @param uri   Directory uri of table
+     * @param id    Id of row
+     * @param cv    Values to upsert
+     * @see UriUtils#getUpsertUri(Uri)
+     */
+    public void upsert(@NonNull Uri uri, int id, @NonNull ContentValues cv) {
+        ContentValues values = new ContentValues(cv);   // don't modify the caller's values
+        if (!values.containsKey(MovieContract.MovieEntry._ID)) {
+            values.put(MovieContract.MovieEntry._ID, id);
+        }
+        ContentProviderOperation operation = ContentProviderOperation.newInsert(UriUtils.getUpsertUri(uri))
+                .withValues(values)
+                .build();
+        Uri key = ContentUris.withAppendedId(uri, id);
+
+        synchronized (pending) {
+            if (pending.remove(key) != null) {
+                coalescedCount.incrementAndGet();   // last write wins
+            }
+            pending.put(key, operation);
+
+            int depth = pending.size();
+            queueDepth.set(depth);
+            if (depth > maxQueueDepth.get()) {
+                maxQueueDepth.set(depth);
+            }
+            if (depth >= maxPending) {
+                handler.removeCallbacks(flushRunnable);
+                handler.post(flushRunnable);
+                flushScheduled = true;
+            } else if (!flushScheduled) {
+                handler.postDelayed(flushRunnable, delayMs);
+                flushScheduled = true;
+            }
+        }
+    }
+
+    /**
+     * Flush the pending writes on the queue thread, and wait for the flush to complete. Any flush already
+     * in progress on the queue thread completes first, so all writes queued before the call have been
+     * applied on return.
+     * @return  Number of rows written by this flush
+     */
+    int flushNow() {
+        int count = 0;
+        if (Looper.myLooper() == handler.getLooper()) {
+            count = flush();
+        } else {
+            FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return flush();
+                }
+            });
+            handler.post(task);
+            try {
+                count = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Flush the pending writes to the content provider in a single batch. Only called on the queue thread.
+     * Only a successful batch is counted as a flush.
+     * @return  Number of rows written
+     */
+    private int flush() {
+        ArrayList<ContentProviderOperation> operations;
+        synchronized (pending) {
+            handler.removeCallbacks(flushRunnable);
+            flushScheduled = false;
+            operations = new ArrayList<>(pending.values());
+            pending.clear();
+            queueDepth.set(0);
+        }
+
+        int count = 0;
+        if (!operations.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                context.getContentResolver().applyBatch(AUTHORITY, operations);
+                count = operations.size();
+            } catch (RemoteException | OperationApplicationException | RuntimeException e) {
+                Log.w(TAG, "Batch of " + operations.size() + " write(s) failed, writing individually", e);
+                count = -1;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (count >= 0) {
+                flushCount.incrementAndGet();
+                flushNanos.addAndGet(elapsed);
+                if (elapsed > maxFlushNanos.get()) {
+                    maxFlushNanos.set(elapsed);
+                }
+                Log.i(TAG, "Flushed " + count + " write(s) in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+            } else {
+                failedFlushCount.incrementAndGet();
+                count = applyIndividually(operations);
+            }
+            flushedCount.addAndGet(count);
+        }
+        return count;
+    }
+
+    /**
+     * Apply writes one at a time, so a failed write doesn't prevent the others
+     * @param operations    Writes to apply
+     * @return  Number of rows written
+     */
+    private int applyIndividually(ArrayList<ContentProviderOperation> operations) {
+        int count = 0;
+        ArrayList<ContentProviderOperation> single = new ArrayList<>(1);
+        for (ContentProviderOperation operation : operations) {
+            single.clear();
+            single.add(operation);
+            try {
+                context.getContentResolver().applyBatch(AUTHORITY, single);
+                ++count;
+            } catch (RemoteException | OperationApplicationException | RuntimeException e) {
+                Log.e(TAG, "Write to " + operation.getUri() + " failed, discarding", e);
+            }
+        }
+        Log.i(TAG, "Wrote " + count + " of " + operations.size() + " write(s) individually");
+        return count;
+    }
+
+    /**
+     * Get the number of pending writes
+     * @return  Queue depth
+     */
+    public static long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Get the maximum number of pending writes
+     * @return  Maximum queue depth
+     */
+    public static long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Get the number of writes replaced by a later write of the same row before being flushed
+     * @return  Coalesced count
+     */
+    public static long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get the number of batches flushed
+     * @return  Flush count
+     */
+    public static long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Get the number of batches which failed, and whose writes were retried individually
+     * @return  Failed flush count
+     */
+    public static long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    /**
+     * Get the number of rows written by flushes
+     * @return  Flushed count
+     */
+    public static long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    /**
+     * Get the total time spent flushing
+     * @return  Time in nanoseconds
+     */
+    public static long getFlushNanos() {
+        return flushNanos.get();
+    }
+
+    /**
+     * Get the longest time spent on a flush
+     * @return  Time in nanoseconds
+     */
+    public static long getMaxFlushNanos() {
+        return maxFlushNanos.get();
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public static void resetStats() {
+        maxQueueDepth.set(queueDepth.get());
+        coalescedCount.set(0);
+        flushCount.set(0);
+        failedFlushCount.set(0);
+        flushedCount.set(0);
+        flushNanos.set(0);
+        maxFlushNanos.set(0);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.format.DateUtils;
+
+import java.util.Date;
+import java.util.Locale;
+
+import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+
+import static ie.ianbuttimer.moviequest.data.MovieContract.ID_EQ_SELECTION;
+
+/**
+ * Class maintaining the cached movies last accessed timestamps, and evicting the least recently used
+ * movies, other than favourites, to keep the cache within its size limits.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.data.MovieCacheEvictionTest
+ */
+class MovieCacheEviction {
+
+    /** Minimum interval between last accessed updates of a movie, so repeated reads don't each write */
+    static final long TOUCH_RESOLUTION_MS = DateUtils.MINUTE_IN_MILLIS;
+
+    /** Query for the number of cached movies and the total size of their payloads */
+    private static final String TOTALS_QUERY = "SELECT COUNT(*), IFNULL(SUM(" + MovieEntry.COLUMN_PAYLOAD_SIZE +
+            "), 0) FROM " + MovieEntry.TABLE_NAME;
+
+    /** Selection for movies which may be evicted, i.e. are not favourites */
+    private static final String NOT_FAVOURITE_SELECTION = MovieEntry._ID + " NOT IN (SELECT " + FavouriteEntry._ID +
+            " FROM " + FavouriteEntry.TABLE_NAME + " WHERE " + FavouriteEntry.COLUMN_FAVOURITE + "<>0)";
+
+    /** Format of the selection for the least recently used evictable movies, the argument is the number
+        of movies; a limit can't be a selection argument, as they are bound as strings */
+    private static final String EVICT_SELECTION_FORMAT = MovieEntry._ID + " IN (SELECT " + MovieEntry._ID +
+            " FROM " + MovieEntry.TABLE_NAME + " WHERE " + NOT_FAVOURITE_SELECTION +
+            " ORDER BY " + MovieEntry.LEAST_RECENTLY_USED_ORDER + " LIMIT %d)";
+
+    /** Selection for a movie whose last accessed timestamp is older than the argument */
+    private static final String TOUCH_SELECTION = ID_EQ_SELECTION + " AND (" +
+            MovieEntry.COLUMN_LAST_ACCESSED + " IS NULL OR " + MovieEntry.COLUMN_LAST_ACCESSED + "<?)";
+
+    /**
+     * Update the last accessed timestamp of a movie, unless it was updated within the last
+     * {@link #TOUCH_RESOLUTION_MS}
+     * @param db    Database to update
+     * @param id    Movie id
+     * @param now   Current date & time
+     * @return  <code>true</code> if the timestamp was updated
+     */
+    static boolean touch(SQLiteDatabase db, long id, Date now) {
+        ContentValues cv = new ContentValues();
+        cv.put(MovieEntry.COLUMN_LAST_ACCESSED, DbUtils.getTimestamp(now));
+        return (db.update(MovieEntry.TABLE_NAME, cv, TOUCH_SELECTION, new String[] {
+                    String.valueOf(id), DbUtils.getTimestamp(new Date(now.getTime() - TOUCH_RESOLUTION_MS))
+                }) > 0);
+    }
+
+    /**
+     * Evict the least recently used movies until the cache is within the specified limits. Favourites
+     * are never evicted, so the cache may remain over its limits if they alone exceed them.<br>
+     * The cache totals and the least recently used order are read from the payload size column and
+     * the last accessed index, so the payloads themselves are not read.
+     * @param db        Database to evict from
+     * @param maxRows   Maximum number of movies, <code>0</code> for no limit
+     * @param maxBytes  Maximum total size in bytes of movie payloads, <code>0</code> for no limit
+     * @return  Number of movies evicted
+     */
+    static int evict(SQLiteDatabase db, int maxRows, long maxBytes) {
+        if ((maxRows <= 0) && (maxBytes <= 0)) {
+            return 0;   // no limits
+        }
+
+        int count = 0;
+        db.beginTransaction();
+        try {
+            long rows = 0;
+            long bytes = 0;
+            Cursor cursor = db.rawQuery(TOTALS_QUERY, null);
+            if (cursor != null) {
+                if (cursor.moveToFirst()) {
+                    rows = cursor.getLong(0);
+                    bytes = cursor.getLong(1);
+                }
+                cursor.close();
+            }
+
+            if (isOverLimits(rows, bytes, maxRows, maxBytes)) {
+                // walk the evictable movies in least recently used order until within the limits
+                int evict = 0;
+                cursor = db.query(MovieEntry.TABLE_NAME, new String[] { MovieEntry.COLUMN_PAYLOAD_SIZE },
+                        NOT_FAVOURITE_SELECTION, null, null, null, MovieEntry.LEAST_RECENTLY_USED_ORDER);
+                if (cursor != null) {
+                    while (isOverLimits(rows - evict, bytes, maxRows, maxBytes) && cursor.moveToNext()) {
+                        bytes -= cursor.getLong(0);
+                        ++evict;
+                    }
+                    cursor.close();
+                }
+                if (evict > 0) {
+                    count = db.delete(MovieEntry.TABLE_NAME,
+                            String.format(Locale.US, EVICT_SELECTION_FORMAT, evict), null);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return count;
+    }
+
+    /**
+     * Check if the cache exceeds the specified limits
+     * @param rows      Number of cached movies
+     * @param bytes     Total size in bytes of cached movie payloads
+     * @param maxRows   Maximum number of movies, <code>0</code> for no limit
+     * @param maxBytes  Maximum total size in bytes of movie payloads, <code>0</code> for no limit
+     * @return  <code>true</code> if over either limit
+     */
+    static boolean isOverLimits(long rows, long bytes, int maxRows, long maxBytes) {
+        return ((maxRows > 0) && (rows > maxRows)) || ((maxBytes > 0) && (bytes > maxBytes));
+    }
+}
@@ -18,18 +18,25 @@
 package ie.ianbuttimer.moviequest.data;
 
 import android.content.ContentProvider;
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentUris;
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.Intent;
+import android.content.OperationApplicationException;
 import android.content.UriMatcher;
 import android.database.ContentObserver;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.net.Uri;
 import android.os.Bundle;
+import android.provider.BaseColumns;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
+import android.text.format.DateUtils;
 import android.util.Log;
 import android.util.Pair;
 
@@ -38,10 +45,30 @@ import com.google.gson.Gson;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import ie.ianbuttimer.moviequest.R;
 import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+import ie.ianbuttimer.moviequest.tmdb.MovieInfo;
 import ie.ianbuttimer.moviequest.utils.HttpException;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
 import ie.ianbuttimer.moviequest.utils.NetworkUtils;
+import ie.ianbuttimer.moviequest.utils.PayloadCodec;
+import ie.ianbuttimer.moviequest.utils.PreferenceControl;
 import ie.ianbuttimer.moviequest.utils.TMDbNetworkUtils;
 import ie.ianbuttimer.moviequest.utils.UriUtils;
 
@@ -49,24 +76,60 @@ import static ie.ianbuttimer.moviequest.data.ICallback.CONTENT_PROVIDER_ERROR_CO
 import static ie.ianbuttimer.moviequest.data.ICallback.CONTENT_PROVIDER_ERROR_STRING;
 import static ie.ianbuttimer.moviequest.data.MovieContract.AUTHORITY;
 import static ie.ianbuttimer.moviequest.data.MovieContract.BASE_CONTENT_URI;
+import static ie.ianbuttimer.moviequest.data.MovieContract.DELETE_CHUNK_PARAM;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
 import static ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry.COLUMN_FAVOURITE;
 import static ie.ianbuttimer.moviequest.data.MovieContract.ID_EQ_SELECTION;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.APPEND_TO_RESPONSE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.EVICT_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.EVICT_MAX_BYTES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.EVICT_MAX_ROWS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.EVICT_METHOD;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_CACHE_STATS_METHOD;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_METHOD;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_NANOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_STEP_ANALYZE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_STEP_OPTIMIZE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_STEP_VACUUM;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.MAINTAIN_VACUUMED;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_BYTES_SAVED;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_COMPRESSED_BYTES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_COMPRESSED_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_DECODE_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_DECODE_NANOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_UNCOMPRESSED_BYTES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_COALESCED_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_FAILED_FLUSH_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_FLUSH_COUNT;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_FLUSH_NANOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_MAX_FLUSH_NANOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_QUEUE_DEPTH;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.STATS_WRITE_QUEUE_MAX_DEPTH;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_DETAILS_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_REVIEWS_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.GET_VIDEOS_METHOD;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieSearchEntry;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.GET_FAVOURITE_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.GET_POPULAR_METHOD;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.GET_TOP_RATED_METHOD;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieLists.SORT_ORDER;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_FAVOURITES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_LIST_PAGES;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_MOVIES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_SEARCH;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_POPULAR_MOVIES;
+import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_REVIEWS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_VIDEOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.ReviewEntry;
+import static ie.ianbuttimer.moviequest.data.MovieContract.VideoEntry;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_TOP_RATED_MOVIES;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_WITH_ID;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_WITH_ID_REVIEWS;
 import static ie.ianbuttimer.moviequest.data.MovieContract.PATH_WITH_ID_VIDEOS;
+import static ie.ianbuttimer.moviequest.data.MovieContract.TIMESTAMP_GTEQ_SELECTION;
+import static ie.ianbuttimer.moviequest.data.MovieContract.UPSERT_PARAM;
 import static ie.ianbuttimer.moviequest.data.MovieContract.columnEqSelection;
 import static ie.ianbuttimer.moviequest.tmdb.MovieList.LIST_PAGE;
 import static ie.ianbuttimer.moviequest.tmdb.MovieList.LIST_RESULTS;
@@ -102,10 +165,31 @@ public class MovieContentProvider extends ContentProvider {
     public static final int MOVIE_WITH_REVIEWS = MOVIES + 2;
     /** Individual movie videos constant */
     public static final int MOVIE_WITH_VIDEOS = MOVIES + 3;
+    /** Movie search constant */
+    public static final int MOVIE_SEARCH = MOVIES + 4;
     /** Movie directory constant */
     public static final int FAVOURITES = 300;
     /** Individual movie constant */
     public static final int FAVOURITE_WITH_ID = FAVOURITES + 1;
+    /** Movie list pages cache constant */
+    public static final int LIST_PAGES = 400;
+    /** Movie videos cache constant */
+    public static final int VIDEOS = 500;
+    /** Individual movie videos cache constant */
+    public static final int VIDEO_WITH_ID = VIDEOS + 1;
+    /** Movie reviews cache constant */
+    public static final int REVIEWS = 600;
+    /** Individual movie reviews cache constant */
+    public static final int REVIEW_WITH_ID = REVIEWS + 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /** Page requested when no page is specified for a movie list */
+    private static final int DEFAULT_LIST_PAGE = 1;
+
+    /** Number of concurrent requests & timeout in milliseconds for missing favourites, if no context */
+    private static final int FAVOURITE_FETCH_THREADS = 4;
+    private static final int FAVOURITE_FETCH_TIMEOUT_MS = 10000;
 
     /** Movie content provider Uri matcher */
     public static final UriMatcher sUriMatcher = buildUriMatcher();
@@ -122,8 +206,14 @@ public class MovieContentProvider extends ContentProvider {
         matcher.addURI(AUTHORITY, PATH_MOVIES + PATH_WITH_ID_REVIEWS, MOVIE_WITH_REVIEWS);
         matcher.addURI(AUTHORITY, PATH_MOVIES + PATH_WITH_ID_VIDEOS, MOVIE_WITH_VIDEOS);
         matcher.addURI(AUTHORITY, PATH_MOVIES + PATH_WITH_ID, MOVIE_WITH_ID);
+        matcher.addURI(AUTHORITY, PATH_MOVIES + PATH_SEARCH, MOVIE_SEARCH);
         matcher.addURI(AUTHORITY, PATH_FAVOURITES, FAVOURITES);
         matcher.addURI(AUTHORITY, PATH_FAVOURITES + PATH_WITH_ID, FAVOURITE_WITH_ID);
+        matcher.addURI(AUTHORITY, PATH_LIST_PAGES, LIST_PAGES);
+        matcher.addURI(AUTHORITY, PATH_VIDEOS, VIDEOS);
+        matcher.addURI(AUTHORITY, PATH_VIDEOS + PATH_WITH_ID, VIDEO_WITH_ID);
+        matcher.addURI(AUTHORITY, PATH_REVIEWS, REVIEWS);
+        matcher.addURI(AUTHORITY, PATH_REVIEWS + PATH_WITH_ID, REVIEW_WITH_ID);
         matcher.addURI(AUTHORITY, PATH_POPULAR_MOVIES, POPULAR_MOVIES);
         matcher.addURI(AUTHORITY, PATH_TOP_RATED_MOVIES, TOP_RATED_MOVIES);
 
@@ -133,6 +223,9 @@ public class MovieContentProvider extends ContentProvider {
 
     private MovieDbHelper dbHelper; // database helper
 
+    /** Change notifications deferred until the end of the batch being applied by the current thread */
+    private final ThreadLocal<LinkedHashSet<Uri>> batchNotifications = new ThreadLocal<>();
+
 
     @Override
     public boolean onCreate() {
@@ -150,14 +243,26 @@ public class MovieContentProvider extends ContentProvider {
         switch (match) {
             case MOVIES:
             case FAVOURITES:
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
                 cursor = db.query(getTable(match), projection, selection, selectionArgs, null, null, sortOrder);
                 break;
             case MOVIE_WITH_ID:
             case FAVOURITE_WITH_ID:
+            case VIDEO_WITH_ID:
+            case REVIEW_WITH_ID:
                 // ignore selection & selectionArgs arguments as have id in uri
                 cursor = db.query(getTable(match), projection, ID_EQ_SELECTION,
                                     UriUtils.getIdSelectionArgFromWithIdUri(uri),
                                     null, null, sortOrder);
+                if (match == MOVIE_WITH_ID) {
+                    touchMovie(uri);
+                }
+                break;
+            case MOVIE_SEARCH:
+                // ignore projection, selection, selectionArgs & sortOrder arguments as results are ranked
+                cursor = MovieSearchIndex.search(db, uri.getQueryParameter(MovieSearchEntry.QUERY_PARAM));
                 break;
             default:
                 throwUnsupportedException(uri, "query");
@@ -182,7 +287,16 @@ public class MovieContentProvider extends ContentProvider {
         switch (match) {
             case MOVIES:
             case FAVOURITES:
-                long id = db.insert(getTable(match), null, contentValues);
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
+                long id;
+                if (isUpsert(uri, match)) {
+                    id = upsertRow(db, match, contentValues);
+                    uri = getContentUri(match);     // result & notify the table uri rather than the upsert uri
+                } else {
+                    id = insertRow(db, match, contentValues);
+                }
                 if (id > 0) {
                     resultUri = ContentUris.withAppendedId(uri, id);
                 }
@@ -199,6 +313,95 @@ public class MovieContentProvider extends ContentProvider {
         return resultUri;
     }
 
+    /**
+     * Insert a set of rows in a single transaction, with a single change notification
+     * @see ContentProvider#bulkInsert(Uri, ContentValues[])
+     */
+    @Override
+    public int bulkInsert(@NonNull Uri uri, @NonNull ContentValues[] values) {
+        int count = 0;
+
+        int match = sUriMatcher.match(uri);
+        switch (match) {
+            case MOVIES:
+            case FAVOURITES:
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
+                SQLiteDatabase db = dbHelper.getWritableDatabase();
+                db.beginTransaction();
+                try {
+                    for (ContentValues contentValues : values) {
+                        if (insertRow(db, match, contentValues) > 0) {
+                            ++count;
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                break;
+            default:
+                throwUnsupportedException(uri, "bulkInsert");
+        }
+
+        // Notify the resolver of a change
+        if (count > 0) {
+            notifyChange(uri, null);
+        }
+
+        return count;
+    }
+
+    /**
+     * Apply a batch of operations in a single transaction. Change notifications are coalesced into a single
+     * notification per table, sent once the transaction has been committed.
+     * @see ContentProvider#applyBatch(ArrayList)
+     */
+    @NonNull
+    @Override
+    public ContentProviderResult[] applyBatch(@NonNull ArrayList<ContentProviderOperation> operations)
+                                                                    throws OperationApplicationException {
+        // validate all operations before starting
+        for (ContentProviderOperation operation : operations) {
+            Uri uri = operation.getUri();
+            switch (sUriMatcher.match(uri)) {
+                case MOVIES:
+                case MOVIE_WITH_ID:
+                case FAVOURITES:
+                case FAVOURITE_WITH_ID:
+                case LIST_PAGES:
+                case VIDEOS:
+                case VIDEO_WITH_ID:
+                case REVIEWS:
+                case REVIEW_WITH_ID:
+                    break;
+                default:
+                    throwUnsupportedException(uri, "applyBatch");
+            }
+        }
+
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        LinkedHashSet<Uri> notifications = new LinkedHashSet<>();
+        ContentProviderResult[] results;
+        batchNotifications.set(notifications);
+        db.beginTransaction();
+        try {
+            results = super.applyBatch(operations);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            batchNotifications.remove();
+        }
+
+        // Notify the resolver of the changes
+        for (Uri uri : notifications) {
+            notifyChange(uri, null);
+        }
+
+        return results;
+    }
+
     @Override
     public int delete(@NonNull Uri uri, @Nullable String selection, @Nullable String[] selectionArgs) {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
@@ -208,10 +411,21 @@ public class MovieContentProvider extends ContentProvider {
         switch (match) {
             case MOVIES:
             case FAVOURITES:
-                count = db.delete(getTable(match), selection, selectionArgs);
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
+                int chunkSize = getDeleteChunkSize(uri);
+                if (chunkSize > 0) {
+                    count = deleteInChunks(db, getTable(match), selection, selectionArgs, chunkSize);
+                    uri = getContentUri(match);     // notify the table uri rather than the chunked uri
+                } else {
+                    count = db.delete(getTable(match), selection, selectionArgs);
+                }
                 break;
             case MOVIE_WITH_ID:
             case FAVOURITE_WITH_ID:
+            case VIDEO_WITH_ID:
+            case REVIEW_WITH_ID:
                 // ignore selection & selectionArgs arguments as have id in uri
                 count = db.delete(getTable(match), ID_EQ_SELECTION,
                                     UriUtils.getIdSelectionArgFromWithIdUri(uri));
@@ -228,6 +442,50 @@ public class MovieContentProvider extends ContentProvider {
         return count;
     }
 
+    /**
+     * Get the maximum number of rows to delete per statement, from a chunked delete uri
+     * @param uri   Uri to get chunk size from
+     * @return  Chunk size, or <code>0</code> if not a chunked delete
+     * @see UriUtils#getChunkedDeleteUri(Uri, int)
+     */
+    private int getDeleteChunkSize(@NonNull Uri uri) {
+        int chunkSize = 0;
+        String param = uri.getQueryParameter(DELETE_CHUNK_PARAM);
+        if (param != null) {
+            try {
+                chunkSize = Integer.parseInt(param);
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+        return chunkSize;
+    }
+
+    /**
+     * Delete the rows matching a selection, as a series of statements each deleting at most
+     * <code>chunkSize</code> rows. Each statement is committed separately so the database lock is
+     * released between chunks, and row ids are never bound as arguments or held in memory.
+     * @param db            Database to delete from
+     * @param table         Table to delete from
+     * @param selection     Selection criteria, or <code>null</code> for all rows
+     * @param selectionArgs Selection arguments
+     * @param chunkSize     Maximum number of rows to delete per statement
+     * @return  Number of deleted rows
+     */
+    private int deleteInChunks(SQLiteDatabase db, String table, String selection, String[] selectionArgs,
+                               int chunkSize) {
+        String chunkSelection = BaseColumns._ID + " IN (SELECT " + BaseColumns._ID + " FROM " + table +
+                (TextUtils.isEmpty(selection) ? "" : " WHERE " + selection) +
+                " LIMIT " + chunkSize + ")";
+        int count = 0;
+        int deleted;
+        do {
+            deleted = db.delete(table, chunkSelection, selectionArgs);
+            count += deleted;
+        } while (deleted >= chunkSize);
+        return count;
+    }
+
     @Override
     public int update(@NonNull Uri uri, @Nullable ContentValues contentValues, @Nullable String selection, @Nullable String[] selectionArgs) {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
@@ -237,13 +495,27 @@ public class MovieContentProvider extends ContentProvider {
         switch (match) {
             case MOVIES:
             case FAVOURITES:
-                count = db.update(getTable(match), contentValues, selection, selectionArgs);
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
+                if (isMovieSearchUpdate(match, contentValues)) {
+                    count = updateMovies(db, contentValues, selection, selectionArgs);
+                } else {
+                    count = db.update(getTable(match), contentValues, selection, selectionArgs);
+                }
                 break;
             case MOVIE_WITH_ID:
             case FAVOURITE_WITH_ID:
+            case VIDEO_WITH_ID:
+            case REVIEW_WITH_ID:
                 // ignore selection & selectionArgs arguments as have id
-                count = db.update(getTable(match), contentValues, ID_EQ_SELECTION,
-                                    UriUtils.getIdSelectionArgFromWithIdUri(uri));
+                if (isMovieSearchUpdate(match, contentValues)) {
+                    count = updateMovies(db, contentValues, ID_EQ_SELECTION,
+                                        UriUtils.getIdSelectionArgFromWithIdUri(uri));
+                } else {
+                    count = db.update(getTable(match), contentValues, ID_EQ_SELECTION,
+                                        UriUtils.getIdSelectionArgFromWithIdUri(uri));
+                }
                 break;
             default:
                 throwUnsupportedException(uri, "update");
@@ -257,6 +529,146 @@ public class MovieContentProvider extends ContentProvider {
         return count;
     }
 
+    /**
+     * Update the last accessed timestamp of a movie being read.<br>
+     * Note: no change notification is sent, as the last accessed timestamp is not movie content and a
+     * notification would cause observers to read the movie again.
+     * @param uri   'with id' uri of movie
+     */
+    private void touchMovie(@NonNull Uri uri) {
+        try {
+            long id = Long.parseLong(UriUtils.getIdFromWithIdUri(uri));
+            MovieCacheEviction.touch(dbHelper.getWritableDatabase(), id, new Date());
+        } catch (NumberFormatException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Insert a row, adding movies to the search table
+     * @param db            Database to insert into
+     * @param match         Uri match id
+     * @param contentValues Values to insert
+     * @return  Row id of new row, or -1 if an error occurred
+     */
+    private long insertRow(SQLiteDatabase db, int match, ContentValues contentValues) {
+        long id;
+        if (match == MOVIES) {
+            if ((contentValues != null) && !contentValues.containsKey(MovieEntry.COLUMN_LAST_ACCESSED)) {
+                // a newly cached movie is being accessed
+                contentValues = new ContentValues(contentValues);
+                contentValues.put(MovieEntry.COLUMN_LAST_ACCESSED, DbUtils.getTimestamp(new Date()));
+            }
+            db.beginTransaction();
+            try {
+                id = db.insert(MovieEntry.TABLE_NAME, null, contentValues);
+                if (id > 0) {
+                    MovieSearchIndex.index(db, id, contentValues);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } else {
+            id = db.insert(getTable(match), null, contentValues);
+        }
+        return id;
+    }
+
+    /**
+     * Check if an insert is to update the row if it already exists
+     * @param uri   Insert uri
+     * @param match Uri match id
+     * @return  <code>true</code> if upsert
+     * @see UriUtils#getUpsertUri(Uri)
+     */
+    private boolean isUpsert(@NonNull Uri uri, int match) {
+        // list pages are unique by list key & replaced on insert, so only tables keyed by movie id apply
+        return (match != LIST_PAGES) && Boolean.parseBoolean(uri.getQueryParameter(UPSERT_PARAM));
+    }
+
+    /**
+     * Update a row if it exists or insert it otherwise, as a single transaction so concurrent upserts
+     * of the same row neither double insert nor lose updates.<br>
+     * Note: an update only replaces the columns in <code>contentValues</code>, unlike an insert with
+     * a replace conflict algorithm which would delete the existing row and lose its other columns,
+     * e.g. a movie's last accessed timestamp.
+     * @param db            Database to upsert into
+     * @param match         Uri match id
+     * @param contentValues Values to upsert, must include the id
+     * @return  Row id, or -1 if an error occurred
+     */
+    private long upsertRow(SQLiteDatabase db, int match, ContentValues contentValues) {
+        long id = -1;
+        Long rowId = (contentValues != null ? contentValues.getAsLong(BaseColumns._ID) : null);
+        if (rowId == null) {
+            id = insertRow(db, match, contentValues);
+        } else {
+            String[] selectionArgs = new String[] { String.valueOf(rowId) };
+            db.beginTransaction();
+            try {
+                int count;
+                if (isMovieSearchUpdate(match, contentValues)) {
+                    count = updateMovies(db, contentValues, ID_EQ_SELECTION, selectionArgs);
+                } else {
+                    count = db.update(getTable(match), contentValues, ID_EQ_SELECTION, selectionArgs);
+                }
+                if (count > 0) {
+                    id = rowId;
+                } else {
+                    id = insertRow(db, match, contentValues);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Check if an update requires the search table to be updated
+     * @param match         Uri match id
+     * @param contentValues Values to update
+     * @return  <code>true</code> if search table update required
+     */
+    private boolean isMovieSearchUpdate(int match, ContentValues contentValues) {
+        return ((match == MOVIES) || (match == MOVIE_WITH_ID)) &&
+                (contentValues != null) && contentValues.containsKey(MovieEntry.COLUMN_JSON);
+    }
+
+    /**
+     * Update movies with a new payload, updating the search table
+     * @param db            Database to update
+     * @param contentValues Values to update
+     * @param selection     Selection criteria
+     * @param selectionArgs Selection arguments
+     * @return  Number of rows updated
+     */
+    private int updateMovies(SQLiteDatabase db, ContentValues contentValues, String selection,
+                             String[] selectionArgs) {
+        int count;
+        db.beginTransaction();
+        try {
+            count = db.update(MovieEntry.TABLE_NAME, contentValues, selection, selectionArgs);
+            if (count > 0) {
+                Cursor cursor = db.query(MovieEntry.TABLE_NAME, new String[] { MovieEntry._ID },
+                        selection, selectionArgs, null, null, null);
+                if (cursor != null) {
+                    MovieDetails details = DbUtils.movieDetailsFromContentValues(contentValues);
+                    while (cursor.moveToNext()) {
+                        MovieSearchIndex.index(db, cursor.getLong(0), details);
+                    }
+                    cursor.close();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return count;
+    }
+
     @Nullable
     @Override
     public Bundle call(@NonNull String method, @Nullable String arg, @Nullable Bundle extras) {
@@ -264,17 +676,32 @@ public class MovieContentProvider extends ContentProvider {
         Context context = getContext();
         URL url = null;
         Bundle bundleResult = null;
+        String[] listKey = null;
+        int infoId = 0;
+        String infoTable = null;
+        String infoAction = null;
 
         switch (method) {
             case GET_POPULAR_METHOD:    // request the popular movies list
                 url = TMDbNetworkUtils.buildGetPopularUrl(context);
+                listKey = MovieListEntry.listKeyArgs(method, DEFAULT_LIST_PAGE, null, null);
                 break;
             case GET_TOP_RATED_METHOD:  // request the top rated movies list
                 url = TMDbNetworkUtils.buildGetTopRatedUrl(context);
+                listKey = MovieListEntry.listKeyArgs(method, DEFAULT_LIST_PAGE, null, null);
                 break;
             case GET_FAVOURITE_METHOD:
                 bundleResult = getFavouritesList(extras);
                 break;
+            case GET_CACHE_STATS_METHOD:
+                bundleResult = getCacheStats();
+                break;
+            case EVICT_METHOD:
+                bundleResult = evictMovies(extras);
+                break;
+            case MAINTAIN_METHOD:
+                bundleResult = maintainDatabase(context, arg);
+                break;
             case GET_DETAILS_METHOD:    // request individual movie details
             case GET_VIDEOS_METHOD:
             case GET_REVIEWS_METHOD:
@@ -297,17 +724,36 @@ public class MovieContentProvider extends ContentProvider {
                             break;
                         case GET_VIDEOS_METHOD:
                             url = TMDbNetworkUtils.buildGetAdditionalUrl(context, id, VIDEO_DETAILS);
+                            infoTable = VideoEntry.TABLE_NAME;
+                            infoAction = DbCacheIntentService.INSERT_OR_UPDATE_VIDEOS;
                             break;
                         case GET_REVIEWS_METHOD:
                             url = TMDbNetworkUtils.buildGetAdditionalUrl(context, id, REVIEW_DETAILS);
+                            infoTable = ReviewEntry.TABLE_NAME;
+                            infoAction = DbCacheIntentService.INSERT_OR_UPDATE_REVIEWS;
                             break;
                     }
+                    infoId = id;
                 }
                 break;
             default:
                 throwUnsupportedException(null, method);
         }
-        if (url != null) {
+        boolean cache = ((context != null) && PreferenceControl.getCachePreference(context));
+        boolean cacheList = (cache && (listKey != null));
+        boolean cacheInfo = (cache && (infoTable != null));
+        String cached = null;
+        if (cacheList) {
+            cached = getCachedListPage(context, listKey);
+        } else if (cacheInfo) {
+            cached = getCachedAdditionalInfo(context, infoTable, infoId);
+        }
+        if (cached != null) {
+            // put the cached response into the bundle
+            bundle.putInt(CONTENT_PROVIDER_RESULT_TYPE, AbstractResultWrapper.ResultType.STRING.ordinal());
+            bundle.putString(method, cached);
+
+        } else if (url != null) {
             // put the response from the url into the bundle
             ICallback.UrlProviderResultWrapper result = getHttpResponseStringSync(url);
             if (result.isError()) {
@@ -318,7 +764,13 @@ public class MovieContentProvider extends ContentProvider {
             } else {
                 bundle.putInt(CONTENT_PROVIDER_RESULT_TYPE, AbstractResultWrapper.ResultType.STRING.ordinal());
                 if (result.isString()) {
-                    bundle.putString(method, result.getStringResult());
+                    String response = result.getStringResult();
+                    bundle.putString(method, response);
+                    if (cacheList) {
+                        putCachedListPage(context, listKey, response);
+                    } else if (cacheInfo) {
+                        putCachedAdditionalInfo(context, infoAction, infoId, response);
+                    }
                 } else {
                     bundle.putString(method, "");
                 }
@@ -332,6 +784,185 @@ public class MovieContentProvider extends ContentProvider {
         return bundle;
     }
 
+    /**
+     * Get the cache payload compression & write-behind queue statistics
+     * @return  Bundle of statistics
+     * @see PayloadCodec
+     * @see DbWriteBehindQueue
+     */
+    private Bundle getCacheStats() {
+        Bundle stats = new Bundle();
+        stats.putLong(STATS_COMPRESSED_COUNT, PayloadCodec.getCompressedCount());
+        stats.putLong(STATS_UNCOMPRESSED_BYTES, PayloadCodec.getUncompressedBytes());
+        stats.putLong(STATS_COMPRESSED_BYTES, PayloadCodec.getCompressedBytes());
+        stats.putLong(STATS_BYTES_SAVED, PayloadCodec.getBytesSaved());
+        stats.putLong(STATS_DECODE_COUNT, PayloadCodec.getDecodeCount());
+        stats.putLong(STATS_DECODE_NANOS, PayloadCodec.getDecodeNanos());
+        stats.putLong(STATS_WRITE_QUEUE_DEPTH, DbWriteBehindQueue.getQueueDepth());
+        stats.putLong(STATS_WRITE_QUEUE_MAX_DEPTH, DbWriteBehindQueue.getMaxQueueDepth());
+        stats.putLong(STATS_WRITE_COALESCED_COUNT, DbWriteBehindQueue.getCoalescedCount());
+        stats.putLong(STATS_WRITE_FLUSH_COUNT, DbWriteBehindQueue.getFlushCount());
+        stats.putLong(STATS_WRITE_FAILED_FLUSH_COUNT, DbWriteBehindQueue.getFailedFlushCount());
+        stats.putLong(STATS_WRITE_FLUSH_NANOS, DbWriteBehindQueue.getFlushNanos());
+        stats.putLong(STATS_WRITE_MAX_FLUSH_NANOS, DbWriteBehindQueue.getMaxFlushNanos());
+        return stats;
+    }
+
+    /**
+     * Evict the least recently used movies to bring the movie cache within its limits
+     * @param extras    Limits bundle
+     * @return  Bundle of result
+     * @see MovieEntry#EVICT_MAX_ROWS
+     * @see MovieEntry#EVICT_MAX_BYTES
+     */
+    private Bundle evictMovies(@Nullable Bundle extras) {
+        int maxRows = 0;
+        long maxBytes = 0;
+        if (extras != null) {
+            maxRows = extras.getInt(EVICT_MAX_ROWS, 0);
+            maxBytes = extras.getLong(EVICT_MAX_BYTES, 0);
+        }
+        int count = MovieCacheEviction.evict(dbHelper.getWritableDatabase(), maxRows, maxBytes);
+        if (count > 0) {
+            notifyChange(MovieEntry.CONTENT_URI, null);
+        }
+        Bundle result = new Bundle();
+        result.putInt(EVICT_COUNT, count);
+        return result;
+    }
+
+    /**
+     * Optimise the database; update the query planner statistics, merge the search index segments and,
+     * if the maintenance policy considers it worthwhile, vacuum the database to reclaim free pages and
+     * rebuild the tables & indices
+     * @param context   The current context
+     * @param step      Step to perform, one of the <code>MAINTAIN_STEP_*</code> steps, or <code>null</code> for all
+     * @return  Bundle of result
+     * @see CacheMaintenancePolicy
+     */
+    private Bundle maintainDatabase(Context context, String step) {
+        long start = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        if ((step == null) || MAINTAIN_STEP_OPTIMIZE.equals(step)) {
+            MovieSearchIndex.optimize(db);
+        }
+        if ((step == null) || MAINTAIN_STEP_ANALYZE.equals(step)) {
+            db.execSQL("ANALYZE;");
+        }
+        boolean vacuum = false;
+        if ((step == null) || MAINTAIN_STEP_VACUUM.equals(step)) {
+            long pageCount = DatabaseUtils.longForQuery(db, "PRAGMA page_count;", null);
+            long freePages = DatabaseUtils.longForQuery(db, "PRAGMA freelist_count;", null);
+            vacuum = ((context != null) && CacheMaintenance.getPolicy(context).shouldVacuum(pageCount, freePages));
+            if (vacuum) {
+                db.execSQL("VACUUM;");
+            }
+        }
+
+        Bundle result = new Bundle();
+        result.putBoolean(MAINTAIN_VACUUMED, vacuum);
+        result.putLong(MAINTAIN_NANOS, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Get a movie list page from the list pages cache
+     * @param context   The current context
+     * @param listKey   List key selection arguments
+     * @return  Cached page json or <code>null</code> if there is no cached page newer than the cache length
+     * @see MovieListEntry#listKeyArgs(String, int, String, String)
+     */
+    private String getCachedListPage(@NonNull Context context, String[] listKey) {
+        int days = PreferenceControl.getCacheLengthPreference(context);
+        Date expiryDate = new Date(new Date().getTime() - (days * DateUtils.DAY_IN_MILLIS));
+
+        String[] selectionArgs = new String[listKey.length + 1];
+        System.arraycopy(listKey, 0, selectionArgs, 0, listKey.length);
+        selectionArgs[listKey.length] = DbUtils.getTimestamp(expiryDate);
+
+        String json = null;
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.query(MovieListEntry.TABLE_NAME, new String[] { MovieListEntry.COLUMN_JSON },
+                MovieListEntry.LIST_KEY_SELECTION + " AND " + TIMESTAMP_GTEQ_SELECTION, selectionArgs,
+                null, null, null);
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                json = DbUtils.jsonFromCursor(cursor, 0);
+            }
+            cursor.close();
+        }
+        return json;
+    }
+
+    /**
+     * Save a movie list page to the list pages cache, replacing any existing entry
+     * @param context   The current context
+     * @param listKey   List key selection arguments
+     * @param json      Page json
+     * @see MovieListEntry#listKeyArgs(String, int, String, String)
+     */
+    private void putCachedListPage(@NonNull Context context, String[] listKey, String json) {
+        if (!TextUtils.isEmpty(json)) {
+            ContentValues cv = MovieListContentValues.builder()
+                    .setCompression(context.getResources().getBoolean(R.bool.cache_compression))
+                    .setListKey(listKey)
+                    .setJson(json)
+                    .setTimestamp()
+                    .build();
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            db.insert(MovieListEntry.TABLE_NAME, null, cv);
+        }
+    }
+
+    /**
+     * Get a movie's videos or reviews from the additional info cache
+     * @param context   The current context
+     * @param table     Cache table to query
+     * @param id        Id of movie
+     * @return  Cached json or <code>null</code> if there is no cached response newer than the cache length
+     */
+    private String getCachedAdditionalInfo(@NonNull Context context, String table, int id) {
+        int days = PreferenceControl.getCacheLengthPreference(context);
+        Date expiryDate = new Date(new Date().getTime() - (days * DateUtils.DAY_IN_MILLIS));
+
+        String json = null;
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.query(table, new String[] { VideoEntry.COLUMN_JSON },
+                ID_EQ_SELECTION + " AND " + TIMESTAMP_GTEQ_SELECTION, new String[] {
+                    String.valueOf(id), DbUtils.getTimestamp(expiryDate)
+                }, null, null, null);
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                json = DbUtils.jsonFromCursor(cursor, 0);
+            }
+            cursor.close();
+        }
+        return json;
+    }
+
+    /**
+     * Save a movie's videos or reviews to the additional info cache, via the {@link DbCacheIntentService}
+     * @param context   The current context
+     * @param action    Service insert or update action
+     * @param id        Id of movie
+     * @param json      Response json
+     */
+    private void putCachedAdditionalInfo(@NonNull Context context, String action, int id, String json) {
+        if (!TextUtils.isEmpty(json)) {
+            ContentValues cv = AdditionalInfoContentValues.builder()
+                    .setCompression(context.getResources().getBoolean(R.bool.cache_compression))
+                    .setId(id)
+                    .setJson(json)
+                    .setTimestamp()
+                    .build();
+            Intent intent = DbCacheIntentService.getLaunchIntent(context, action);
+            intent.putExtra(BaseColumns._ID, id);
+            intent.putExtra(DbCacheIntentService.CV_EXTRA, cv);
+            context.startService(intent);
+        }
+    }
+
     @Nullable
     @Override
     public String getType(@NonNull Uri uri) {
@@ -342,10 +973,16 @@ public class MovieContentProvider extends ContentProvider {
         switch (match) {
             case MOVIES:
             case FAVOURITES:
+            case LIST_PAGES:
+            case VIDEOS:
+            case REVIEWS:
+            case MOVIE_SEARCH:
                 type = "vnd.android.cursor.dir" + type;
                 break;
             case MOVIE_WITH_ID:
             case FAVOURITE_WITH_ID:
+            case VIDEO_WITH_ID:
+            case REVIEW_WITH_ID:
                 type = "vnd.android.cursor.item" + type;
                 break;
             default:
@@ -370,6 +1007,17 @@ public class MovieContentProvider extends ContentProvider {
             case FAVOURITE_WITH_ID:
                 table = MovieContract.FavouriteEntry.TABLE_NAME;
                 break;
+            case LIST_PAGES:
+                table = MovieListEntry.TABLE_NAME;
+                break;
+            case VIDEOS:
+            case VIDEO_WITH_ID:
+                table = VideoEntry.TABLE_NAME;
+                break;
+            case REVIEWS:
+            case REVIEW_WITH_ID:
+                table = ReviewEntry.TABLE_NAME;
+                break;
             default:
                 throw new UnsupportedOperationException("No table for unknown match: " + match);
         }
@@ -392,6 +1040,20 @@ public class MovieContentProvider extends ContentProvider {
             case FAVOURITE_WITH_ID:
                 uri = FavouriteEntry.CONTENT_URI;
                 break;
+            case LIST_PAGES:
+                uri = MovieListEntry.CONTENT_URI;
+                break;
+            case VIDEOS:
+            case VIDEO_WITH_ID:
+                uri = VideoEntry.CONTENT_URI;
+                break;
+            case REVIEWS:
+            case REVIEW_WITH_ID:
+                uri = ReviewEntry.CONTENT_URI;
+                break;
+            case MOVIE_SEARCH:
+                uri = MovieEntry.SEARCH_CONTENT_URI;
+                break;
             default:
                 throw new UnsupportedOperationException("No uri for unknown match: " + match);
         }
@@ -425,9 +1087,15 @@ public class MovieContentProvider extends ContentProvider {
      * @param observer  The observer that originated the change
      */
     private void notifyChange(@NonNull Uri uri, ContentObserver observer) {
-        Context context = getContext();
-        if (context != null) {
-            context.getContentResolver().notifyChange(uri, observer);
+        LinkedHashSet<Uri> notifications = batchNotifications.get();
+        if ((notifications != null) && (observer == null)) {
+            // applying a batch, notify the table uri (and therefore all its descendants) once the batch is complete
+            notifications.add(getContentUri(sUriMatcher.match(uri)));
+        } else {
+            Context context = getContext();
+            if (context != null) {
+                context.getContentResolver().notifyChange(uri, observer);
+            }
         }
     }
 
@@ -451,85 +1119,206 @@ public class MovieContentProvider extends ContentProvider {
         throw new UnsupportedOperationException(message);
     }
 
+    /** Alias of the total number of favourites column in the favourites list query */
+    private static final String COLUMN_TOTAL = "total";
+
+    /** Query for a page of favourites joined with any cached movie details, arguments are favourite flag for
+        the total count, favourite flag, limit and offset. The sort order is added by favouritesPageQuery() */
+    private static final String FAVOURITES_PAGE_QUERY =
+            "SELECT f." + FavouriteEntry._ID + ", f." + FavouriteEntry.COLUMN_TITLE + ", m." + MovieEntry.COLUMN_JSON +
+                ", (SELECT COUNT(*) FROM " + FavouriteEntry.TABLE_NAME +
+                    " WHERE " + columnEqSelection(COLUMN_FAVOURITE) + ") AS " + COLUMN_TOTAL +
+            " FROM " + FavouriteEntry.TABLE_NAME + " f LEFT JOIN " + MovieEntry.TABLE_NAME + " m" +
+                " ON f." + FavouriteEntry._ID + "=m." + MovieEntry._ID +
+            " WHERE f." + columnEqSelection(COLUMN_FAVOURITE) +
+            " ORDER BY %s f." + FavouriteEntry._ID +
+            " LIMIT ? OFFSET ?";
+
     /**
-     * Get a list of favourite movies
+     * Get the query for a page of favourites
+     * @param sortOrder Sort order; one of the movie info columns, optionally followed by 'ASC' or 'DESC'.
+     *                  Anything else is ignored and the favourites are ordered by id.
+     * @return  Query string
+     * @see MovieEntry#INFO_COLUMNS
+     */
+    private static String favouritesPageQuery(String sortOrder) {
+        String orderBy = "";
+        if (!TextUtils.isEmpty(sortOrder)) {
+            // only a movie info column, as the order by clause can't be a query argument
+            String[] splits = sortOrder.trim().split("\\s+");
+            if ((splits.length <= 2) && Arrays.asList(MovieEntry.INFO_COLUMNS).contains(splits[0])) {
+                String direction = "";
+                if (splits.length == 2) {
+                    direction = splits[1].toUpperCase(Locale.US);
+                    if (!"ASC".equals(direction) && !"DESC".equals(direction)) {
+                        direction = null;
+                    }
+                }
+                if (direction != null) {
+                    orderBy = "m." + splits[0] + (direction.isEmpty() ? "" : " " + direction) + ",";
+                }
+            }
+        }
+        return String.format(FAVOURITES_PAGE_QUERY, orderBy);
+    }
+
+    /**
+     * Get a list of favourite movies.<br>
+     * The requested page of favourites, along with any cached details, is read in a single query. The details
+     * of any favourites which are not cached are then requested from the server.
      * @param extras    Arguments bundle
      * @return  Favourite result bundle
      */
     private Bundle getFavouritesList(Bundle extras) {
 
         Bundle result = new Bundle();
+        int perPage = RESULTS_PER_LIST;
+        int page = 0;
+        String sortOrder = null;
+        if (extras != null) {
+            perPage = extras.getInt(RESULTS_PER_PAGE, RESULTS_PER_LIST);
+            page = extras.getInt(LIST_PAGE, 0);
+            sortOrder = extras.getString(SORT_ORDER);
+        }
+        int start = (page * perPage);                   // start position
 
-        // get all favourites
-        Cursor cursor = query(FavouriteEntry.CONTENT_URI, null, columnEqSelection(COLUMN_FAVOURITE), new String[] {
-            DB_RAW_BOOLEAN_TRUE
-        }, null);
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.rawQuery(favouritesPageQuery(sortOrder), new String[] {
+            DB_RAW_BOOLEAN_TRUE, DB_RAW_BOOLEAN_TRUE, String.valueOf(perPage), String.valueOf(start)
+        });
 
         if (cursor != null) {
-            int count = cursor.getCount();
-            int perPage = extras.getInt(RESULTS_PER_PAGE, RESULTS_PER_LIST);
-            int page = extras.getInt(LIST_PAGE, 0);
-
-            if (count > 0) {
+            int length = cursor.getCount();
+            if (length > 0) {
                 int idIndex = cursor.getColumnIndex(FavouriteEntry._ID);
                 int titleIndex = cursor.getColumnIndex(FavouriteEntry.COLUMN_TITLE);
-                int start = (page * perPage);                   // start position
-                int limit = Math.min((start + perPage), count); // end position
-                int noResponseLimit = 1;    // number of time to get no response before aborting network requests
-
-                if (start < limit) {
-                    String[] list = new String[limit - start];
-                    for (int i = start; i < limit; ++i) {
-
-                        cursor.moveToPosition(i);
-                        String id = cursor.getString(idIndex);  // movie id
-
-                        // see if movie in db
-                        Cursor movieCursor = query(MovieEntry.CONTENT_URI, null, ID_EQ_SELECTION, new String[]{
-                                id
-                        }, null);
-
-                        if (movieCursor.moveToNext()) {
-                            // add cached info
-                            int jsonIndex = cursor.getColumnIndex(FavouriteEntry.COLUMN_FAVOURITE);
-                            list[i] = movieCursor.getString(jsonIndex);
-                        } else {
-                            // request info from server
-                            String json;
-                            if (noResponseLimit > 0) {
-                                Bundle movieBundle = call(GET_DETAILS_METHOD, id, null);
-                                json = movieBundle.getString(GET_DETAILS_METHOD, "");
-                            } else {
-                                // don't request as not getting responses
-                                json = null;
-                                Log.i(TAG, "No response limit exceeded, no requesting");
-                            }
-                            if (TextUtils.isEmpty(json)) {
-                                /** make placeholder object with id & title
-                                    @see MovieInfo#isPlaceHolder()
-                                 */
-                                MovieDetails movie = new MovieDetails(Integer.valueOf(id), cursor.getString(titleIndex));
-                                json = new Gson().toJson(movie);
-
-                                --noResponseLimit;
-                                Log.i(TAG, "Received no response generated placeholder");
+                int jsonIndex = cursor.getColumnIndex(MovieEntry.COLUMN_JSON);
+                int totalIndex = cursor.getColumnIndex(COLUMN_TOTAL);
+                int count = 0;
+
+                String[] list = new String[length];
+                int[] missIds = new int[length];
+                String[] missTitles = new String[length];
+                int missCount = 0;
+                for (int i = 0; cursor.moveToPosition(i); ++i) {
+                    count = cursor.getInt(totalIndex);
+
+                    String json = null;
+                    switch (cursor.getType(jsonIndex)) {
+                        case Cursor.FIELD_TYPE_BLOB:
+                            byte[] data = PayloadCodec.decompress(cursor.getBlob(jsonIndex));
+                            if (MovieDetailsRecord.isRecord(data)) {
+                                // binary record, only the list info is required
+                                MovieDetails details = MovieDetailsRecord.decode(data);
+                                if (details != null) {
+                                    json = details.toJSONObject(MovieInfo.MOVIE_INFO_FIELDS).toString();
+                                }
+                            } else if (data != null) {
+                                // compressed json
+                                json = new String(data, UTF_8);
                             }
-                            list[i] = json;
-                        }
-                        movieCursor.close();
+                            break;
+                        case Cursor.FIELD_TYPE_STRING:
+                            json = cursor.getString(jsonIndex);
+                            break;
+                        default:
+                            // not in db
+                            break;
+                    }
+                    if (TextUtils.isEmpty(json)) {
+                        json = null;
+                        missIds[missCount] = cursor.getInt(idIndex);
+                        missTitles[missCount] = cursor.getString(titleIndex);
+                        ++missCount;
                     }
+                    list[i] = json;
+                }
+                cursor.close();
+                cursor = null;
 
-                    // mimic the field in a TMDb server list response
-                    result.putInt(LIST_PAGE, page + 1);    // sever is 1-based
-                    result.putInt(LIST_TOTAL_RESULTS, count);
-                    result.putInt(LIST_TOTAL_PAGES, ((count + (perPage - 1)) / perPage));
-                    result.putStringArray(LIST_RESULTS, list);
+                if (missCount > 0) {
+                    requestFavourites(list, missIds, missTitles, missCount);
                 }
+
+                // mimic the field in a TMDb server list response
+                result.putInt(LIST_PAGE, page + 1);    // sever is 1-based
+                result.putInt(LIST_TOTAL_RESULTS, count);
+                result.putInt(LIST_TOTAL_PAGES, ((count + (perPage - 1)) / perPage));
+                result.putStringArray(LIST_RESULTS, list);
+            }
+            if (cursor != null) {
+                cursor.close();
             }
-            cursor.close();
         }
         return result;
     }
 
+    /**
+     * Request the details of favourites which are not in the database from the server. The requests are
+     * made concurrently, and any which do not respond within the timeout are replaced by placeholders.
+     * @param list          Favourites list to update; entries for which the details are not available are
+     *                      <code>null</code>
+     * @param ids           Ids of the missing favourites
+     * @param titles        Titles of the missing favourites
+     * @param count         Number of missing favourites
+     */
+    private void requestFavourites(String[] list, int[] ids, String[] titles, int count) {
+        Context context = getContext();
+        int threads = FAVOURITE_FETCH_THREADS;
+        long timeout = FAVOURITE_FETCH_TIMEOUT_MS;
+        if (context != null) {
+            threads = context.getResources().getInteger(R.integer.favourite_fetch_threads);
+            timeout = context.getResources().getInteger(R.integer.favourite_fetch_timeout_ms);
+        }
+
+        List<Callable<String>> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            final String id = String.valueOf(ids[i]);
+            requests.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    Bundle movieBundle = MovieContentProvider.this.call(GET_DETAILS_METHOD, id, null);
+                    return movieBundle.getString(GET_DETAILS_METHOD, "");
+                }
+            });
+        }
+
+        String[] responses = new String[count];
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, count)));
+        try {
+            List<Future<String>> futures = executor.invokeAll(requests, timeout, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < count; ++i) {
+                try {
+                    responses[i] = futures.get(i).get();
+                } catch (CancellationException | ExecutionException e) {
+                    Log.i(TAG, "No response for favourite " + ids[i] + ": " + e);
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int missIndex = 0;
+        for (int i = 0; (i < list.length) && (missIndex < count); ++i) {
+            if (list[i] == null) {
+                String json = responses[missIndex];
+                if (TextUtils.isEmpty(json)) {
+                    /** make placeholder object with id & title
+                        @see MovieInfo#isPlaceHolder()
+                     */
+                    MovieDetails movie = new MovieDetails(ids[missIndex], titles[missIndex]);
+                    json = new Gson().toJson(movie);
+
+                    Log.i(TAG, "Received no response generated placeholder");
+                }
+                list[i] = json;
+                ++missIndex;
+            }
+        }
+    }
+
 
 }
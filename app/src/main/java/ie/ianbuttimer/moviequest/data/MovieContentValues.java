@@ -17,14 +17,24 @@
 
 package ie.ianbuttimer.moviequest.data;
 
+import android.content.ContentValues;
 import android.text.TextUtils;
 
 import java.util.Date;
 
+import ie.ianbuttimer.moviequest.tmdb.MovieInfo;
+import ie.ianbuttimer.moviequest.tmdb.TMDbDate;
 import ie.ianbuttimer.moviequest.utils.DbUtils;
 
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_JSON;
-import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_TIMESTAMP;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_LAST_ACCESSED;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_ORIGINAL_LANGUAGE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_PAYLOAD_SIZE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_POPULARITY;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_RELEASE_DATE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_TITLE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_VOTE_AVERAGE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_VOTE_COUNT;
 
 /**
  * Builder class for a Movie ContentValue objects
@@ -51,32 +61,84 @@ public class MovieContentValues extends DbContentValues {
         }
 
         /**
-         * Set the JSON string
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setCompression(boolean compress) {
+            super.setCompression(compress);
+            return this;
+        }
+
+        /**
+         * Set the JSON string, and the size of the stored payload
          * @param json  Json string to set
          * @return  Builder to facilitate chaining
          */
+        @Override
         public Builder setJson(String json) {
+            super.setJson(json);
             if (!TextUtils.isEmpty(json)) {
-                cv.put(COLUMN_JSON, json);
+                Object payload = cv.get(COLUMN_JSON);
+                if (payload instanceof byte[]) {
+                    cv.put(COLUMN_PAYLOAD_SIZE, ((byte[]) payload).length);
+                } else {
+                    cv.put(COLUMN_PAYLOAD_SIZE, utf8Length(json));
+                }
             }
             return this;
         }
 
         /**
-         * Set the timestamp to the current date & time
+         * Set the binary record
+         * @param record    Binary record to set
+         * @see ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord
          * @return  Builder to facilitate chaining
          */
-        public Builder setTimestamp() {
-            return setTimestamp(new Date());
+        public Builder setRecord(byte[] record) {
+            if ((record != null) && (record.length > 0)) {
+                byte[] payload = compressPayload(record);
+                cv.put(COLUMN_JSON, payload);
+                cv.put(COLUMN_PAYLOAD_SIZE, payload.length);
+            }
+            return this;
         }
 
         /**
-         * Set the timestamp to the specified date & time
-         * @param timestamp     Timestamp to set
+         * Set the movie info columns
+         * @param info  Movie info to set columns from
+         * @see MovieContract.MovieEntry#INFO_COLUMNS
          * @return  Builder to facilitate chaining
          */
+        public Builder setInfoColumns(MovieInfo info) {
+            putInfoColumns(cv, info);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setTimestamp() {
+            super.setTimestamp();
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
         public Builder setTimestamp(Date timestamp) {
-            cv.put(COLUMN_TIMESTAMP, DbUtils.getTimestamp(timestamp));
+            super.setTimestamp(timestamp);
+            return this;
+        }
+
+        /**
+         * Set the last accessed timestamp to the specified date & time
+         * @param lastAccessed  Timestamp to set
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setLastAccessed(Date lastAccessed) {
+            cv.put(COLUMN_LAST_ACCESSED, DbUtils.getTimestamp(lastAccessed));
             return this;
         }
 
@@ -87,6 +149,29 @@ public class MovieContentValues extends DbContentValues {
         }
     }
 
+    /**
+     * Get the size in bytes of a string stored in the database, i.e. its UTF-8 encoded length
+     * @param str   String to size
+     * @return  Size in bytes
+     */
+    static int utf8Length(String str) {
+        int length = 0;
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char ch = str.charAt(i);
+            if (ch < 0x80) {
+                length += 1;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch) && (i + 1 < len) && Character.isLowSurrogate(str.charAt(i + 1))) {
+                length += 4;    // surrogate pair
+                ++i;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
     /**
      * Get a builder instance
      * @return  New builder instance
@@ -95,4 +180,26 @@ public class MovieContentValues extends DbContentValues {
         return new Builder();
     }
 
+    /**
+     * Put the movie info columns in a ContentValue object
+     * @param cv    ContentValue object to update
+     * @param info  Movie info to set columns from
+     * @see MovieContract.MovieEntry#INFO_COLUMNS
+     */
+    public static void putInfoColumns(ContentValues cv, MovieInfo info) {
+        if (info != null) {
+            cv.put(COLUMN_TITLE, info.getTitle());
+            int releaseDate = info.getReleaseDateValue();
+            if (TMDbDate.isValid(releaseDate)) {
+                cv.put(COLUMN_RELEASE_DATE, releaseDate);
+            } else {
+                cv.putNull(COLUMN_RELEASE_DATE);
+            }
+            cv.put(COLUMN_POPULARITY, info.getPopularity());
+            cv.put(COLUMN_VOTE_AVERAGE, info.getVoteAverage());
+            cv.put(COLUMN_VOTE_COUNT, info.getVoteCount());
+            cv.put(COLUMN_ORIGINAL_LANGUAGE, info.getOriginalLanguage());
+        }
+    }
+
 }
@@ -59,6 +59,18 @@ public class MovieContract {
     /** Favourites path for content provider */
     static final String PATH_FAVOURITES = "favourites";
 
+    /** Cached movie list pages path for content provider */
+    static final String PATH_LIST_PAGES = "list_pages";
+
+    /** Search path for content provider (appended to movies path) */
+    static final String PATH_SEARCH = "/search";
+
+    /** Cached movie videos path for content provider */
+    static final String PATH_VIDEOS = "videos";
+
+    /** Cached movie reviews path for content provider */
+    static final String PATH_REVIEWS = "reviews";
+
     static {
         Uri.Builder builder = new Uri.Builder().
                 scheme(ContentResolver.SCHEME_CONTENT).
@@ -82,6 +94,11 @@ public class MovieContract {
 
         /** Method name to get favourite movies list */
         public static final String GET_FAVOURITE_METHOD = "getFavouriteList";
+
+        /** Extra bundle key for the favourite movies list sort order; one of the movie info columns, optionally
+            followed by 'ASC' or 'DESC', e.g. "vote_average DESC"
+            @see MovieEntry#INFO_COLUMNS */
+        public static final String SORT_ORDER = "sortOrder";
     }
 
     /**
@@ -95,8 +112,47 @@ public class MovieContract {
         // Movies table and column names
         public static final String TABLE_NAME = "movies";
 
-        public static final String COLUMN_JSON = "json";                // json string received from server
+        public static final String COLUMN_JSON = "json";                // json string received from server, or binary record
+                                                                        // (see ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord),
+                                                                        // either may be compressed (see PayloadCodec)
         public static final String COLUMN_TIMESTAMP = "timestamp";       // timestamp of server response
+        // movie info columns extracted from the cached details, to allow sorting & filtering in sql
+        public static final String COLUMN_TITLE = "title";                          // title
+        public static final String COLUMN_RELEASE_DATE = "release_date";            // release date as a packed yyyymmdd int
+                                                                                    // (see ie.ianbuttimer.moviequest.tmdb.TMDbDate)
+        public static final String COLUMN_POPULARITY = "popularity";                // popularity
+        public static final String COLUMN_VOTE_AVERAGE = "vote_average";            // vote average
+        public static final String COLUMN_VOTE_COUNT = "vote_count";                // vote count
+        public static final String COLUMN_ORIGINAL_LANGUAGE = "original_language";  // ISO 639-1 original language
+        public static final String COLUMN_LAST_ACCESSED = "last_accessed";  // timestamp of last read, for least recently used eviction
+        public static final String COLUMN_PAYLOAD_SIZE = "payload_size";    // size in bytes of the stored payload, for eviction
+
+        /** Movie info columns, each of which is indexed */
+        public static final String[] INFO_COLUMNS = new String[] {
+            COLUMN_TITLE, COLUMN_RELEASE_DATE, COLUMN_POPULARITY, COLUMN_VOTE_AVERAGE, COLUMN_VOTE_COUNT,
+            COLUMN_ORIGINAL_LANGUAGE
+        };
+
+        /** Name of the index on the timestamp column */
+        public static final String TIMESTAMP_INDEX = indexName(COLUMN_TIMESTAMP);
+        /** Name of the index on the last accessed & payload size columns, which covers the eviction queries */
+        public static final String LAST_ACCESSED_INDEX = indexName(COLUMN_LAST_ACCESSED);
+
+        /** Least recently used first sort order; matches the last accessed index, so rows needn't be read to sort */
+        public static final String LEAST_RECENTLY_USED_ORDER = COLUMN_LAST_ACCESSED + " ASC";
+
+        /** Cached movies search Uri for content provider, see {@link MovieSearchEntry} */
+        public static final Uri SEARCH_CONTENT_URI = BASE_CONTENT_URI.buildUpon()
+                .appendEncodedPath(PATH_MOVIES + PATH_SEARCH).build();
+
+        /**
+         * Get the name of the index on a movies table column
+         * @param column    Column name
+         * @return  Index name
+         */
+        public static String indexName(String column) {
+            return TABLE_NAME + "_" + column + "_idx";
+        }
 
         /** Method name to get movies details */
         public static final String GET_DETAILS_METHOD = "getMovieDetails";;
@@ -107,6 +163,58 @@ public class MovieContract {
 
         /** Extra bundle key for append to response details */
         public static final String APPEND_TO_RESPONSE = "appendToResponse";;
+
+        /** Method name to evict the least recently used movies to bring the cache within its limits */
+        public static final String EVICT_METHOD = "evictMovies";
+        /** Extra bundle key for the maximum number of cached movies, <code>0</code> for no limit */
+        public static final String EVICT_MAX_ROWS = "maxRows";
+        /** Extra bundle key for the maximum size in bytes of cached movie payloads, <code>0</code> for no limit */
+        public static final String EVICT_MAX_BYTES = "maxBytes";
+        /** Result bundle key for number of movies evicted */
+        public static final String EVICT_COUNT = "evictCount";
+
+        /** Method name to optimise the database; update statistics, optimise the search index & vacuum if worthwhile.
+            The method argument may be one of the <code>MAINTAIN_STEP_*</code> steps to perform only that step */
+        public static final String MAINTAIN_METHOD = "maintainDb";
+        /** Maintenance step to merge the search index segments */
+        public static final String MAINTAIN_STEP_OPTIMIZE = "optimize";
+        /** Maintenance step to update the query planner statistics */
+        public static final String MAINTAIN_STEP_ANALYZE = "analyze";
+        /** Maintenance step to vacuum the database if worthwhile */
+        public static final String MAINTAIN_STEP_VACUUM = "vacuum";
+        /** Result bundle key for database vacuumed flag */
+        public static final String MAINTAIN_VACUUMED = "vacuumed";
+        /** Result bundle key for maintenance time in nanoseconds */
+        public static final String MAINTAIN_NANOS = "maintainNanos";
+
+        /** Method name to get the cache payload compression statistics */
+        public static final String GET_CACHE_STATS_METHOD = "getCacheStats";
+        /** Statistics bundle key for number of payloads compressed */
+        public static final String STATS_COMPRESSED_COUNT = "compressedCount";
+        /** Statistics bundle key for total uncompressed size of payloads compressed */
+        public static final String STATS_UNCOMPRESSED_BYTES = "uncompressedBytes";
+        /** Statistics bundle key for total compressed size of payloads compressed */
+        public static final String STATS_COMPRESSED_BYTES = "compressedBytes";
+        /** Statistics bundle key for total bytes saved by compression */
+        public static final String STATS_BYTES_SAVED = "bytesSaved";
+        /** Statistics bundle key for number of payloads decompressed */
+        public static final String STATS_DECODE_COUNT = "decodeCount";
+        /** Statistics bundle key for total decompression time in nanoseconds */
+        public static final String STATS_DECODE_NANOS = "decodeNanos";
+        /** Statistics bundle key for number of cache writes pending in the write-behind queue */
+        public static final String STATS_WRITE_QUEUE_DEPTH = "writeQueueDepth";
+        /** Statistics bundle key for maximum number of cache writes pending in the write-behind queue */
+        public static final String STATS_WRITE_QUEUE_MAX_DEPTH = "writeQueueMaxDepth";
+        /** Statistics bundle key for number of cache writes replaced by a later write before being flushed */
+        public static final String STATS_WRITE_COALESCED_COUNT = "writeCoalescedCount";
+        /** Statistics bundle key for number of write-behind queue flushes */
+        public static final String STATS_WRITE_FLUSH_COUNT = "writeFlushCount";
+        /** Statistics bundle key for number of write-behind queue flushes which failed and were written individually */
+        public static final String STATS_WRITE_FAILED_FLUSH_COUNT = "writeFailedFlushCount";
+        /** Statistics bundle key for total write-behind queue flush time in nanoseconds */
+        public static final String STATS_WRITE_FLUSH_NANOS = "writeFlushNanos";
+        /** Statistics bundle key for longest write-behind queue flush time in nanoseconds */
+        public static final String STATS_WRITE_MAX_FLUSH_NANOS = "writeMaxFlushNanos";
     }
 
     /**
@@ -126,6 +234,117 @@ public class MovieContract {
     }
 
 
+    /**
+     * Class to define the cached movies full-text search table.<br>
+     * The table is maintained by the content provider from the cached movie details. Searches are made by
+     * querying {@link MovieEntry#SEARCH_CONTENT_URI} with the search terms in the {@link #QUERY_PARAM}
+     * query parameter. The result cursor contains {@link #RESULT_COLUMNS}, in order of rank.
+     */
+    public static final class MovieSearchEntry {
+
+        // Search table and column names
+        public static final String TABLE_NAME = "movies_fts";
+
+        public static final String COLUMN_TITLE = "title";          // movie title
+        public static final String COLUMN_OVERVIEW = "overview";    // movie overview
+        public static final String COLUMN_REVIEWS = "reviews";      // content of cached reviews
+
+        /** Name of the trigger removing deleted movies from the search table */
+        public static final String DELETE_TRIGGER = TABLE_NAME + "_delete";
+
+        /** Search uri query parameter specifying the search terms */
+        public static final String QUERY_PARAM = "query";
+
+        /** Search result rank column, higher is a better match */
+        public static final String COLUMN_RANK = "rank";
+
+        /** Search result columns */
+        public static final String[] RESULT_COLUMNS = new String[] {
+            MovieEntry._ID, MovieEntry.COLUMN_TITLE, MovieEntry.COLUMN_RELEASE_DATE, MovieEntry.COLUMN_VOTE_AVERAGE,
+            MovieEntry.COLUMN_POPULARITY, COLUMN_RANK
+        };
+    }
+
+    /**
+     * Class to define the movie videos cache table
+     */
+    public static final class VideoEntry implements BaseColumns {
+
+        /** Movie videos Uri for content provider */
+        public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_VIDEOS).build();
+
+        // Videos table and column names
+        public static final String TABLE_NAME = "videos";
+
+        /* use TMDb movie id as the id */
+        public static final String COLUMN_JSON = "json";                // json string received from server, may be compressed
+        public static final String COLUMN_TIMESTAMP = "timestamp";      // timestamp of server response
+    }
+
+    /**
+     * Class to define the movie reviews cache table
+     */
+    public static final class ReviewEntry implements BaseColumns {
+
+        /** Movie reviews Uri for content provider */
+        public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_REVIEWS).build();
+
+        // Reviews table and column names
+        public static final String TABLE_NAME = "reviews";
+
+        /* use TMDb movie id as the id */
+        public static final String COLUMN_JSON = "json";                // json string received from server, may be compressed
+        public static final String COLUMN_TIMESTAMP = "timestamp";      // timestamp of server response
+    }
+
+    /**
+     * Class to define the movie list pages cache table
+     */
+    public static final class MovieListEntry implements BaseColumns {
+
+        /** Movie list pages Uri for content provider */
+        public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_LIST_PAGES).build();
+
+        // Movie list pages table and column names
+        public static final String TABLE_NAME = "movie_lists";
+
+        public static final String COLUMN_LIST_TYPE = "list_type";      // list type, i.e. the list method name
+        public static final String COLUMN_PAGE = "page";                // page number
+        public static final String COLUMN_LANGUAGE = "language";        // ISO 639-1 language or empty if not specified
+        public static final String COLUMN_REGION = "region";            // ISO 3166-1 region or empty if not specified
+        public static final String COLUMN_JSON = "json";                // json string received from server, may be compressed
+        public static final String COLUMN_TIMESTAMP = "timestamp";      // timestamp of server response
+
+        /** String for a selection by list key */
+        public static final String LIST_KEY_SELECTION =
+                columnEqSelection(COLUMN_LIST_TYPE) + " AND " + columnEqSelection(COLUMN_PAGE) + " AND " +
+                columnEqSelection(COLUMN_LANGUAGE) + " AND " + columnEqSelection(COLUMN_REGION);
+
+        /**
+         * Make the selection arguments for a list key
+         * @param listType  List type
+         * @param page      Page number
+         * @param language  Language or <code>null</code> if not specified
+         * @param region    Region or <code>null</code> if not specified
+         * @return  Selection arguments for {@link #LIST_KEY_SELECTION}
+         */
+        public static String[] listKeyArgs(String listType, int page, String language, String region) {
+            return new String[] {
+                listType, String.valueOf(page),
+                (language == null ? "" : language), (region == null ? "" : region)
+            };
+        }
+    }
+
+
+    /** Delete uri query parameter specifying the maximum number of rows to delete per statement */
+    public static final String DELETE_CHUNK_PARAM = "chunk";
+    /** Default maximum number of rows to delete per statement for a chunked delete */
+    public static final int DELETE_CHUNK_SIZE = 500;
+
+    /** Insert uri query parameter specifying the row is to be updated if it already exists */
+    public static final String UPSERT_PARAM = "upsert";
+
     /** String for a selection by id */
     public static final String ID_EQ_SELECTION = columnEqSelection(_ID);
     /** String for a selection by greater than or equal to timestamp */
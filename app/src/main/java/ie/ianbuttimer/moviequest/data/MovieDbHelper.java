@@ -20,9 +20,16 @@ package ie.ianbuttimer.moviequest.data;
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Build;
+
+import ie.ianbuttimer.moviequest.R;
 
 import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
 import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieSearchEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.ReviewEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.VideoEntry;
 
 /**
  * Movie database helper class
@@ -31,17 +38,78 @@ import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
 public class MovieDbHelper extends SQLiteOpenHelper {
 
     // The name of the database
-    private static final String DATABASE_NAME = "movieDb.db";
+    static final String DATABASE_NAME = "movieDb.db";
+
+    // The database version; 1 - initial, 2 - movie list pages cache, 3 - movie timestamp index,
+    // 4 - movie info columns, 5 - movie search, 6 - videos & reviews caches, 7 - movie last accessed,
+    // 8 - movie payload size
+    // (see MovieDbMigrations for the migrations between versions)
+    static final int VERSION = 8;
+
+    // Page cache size in KiB (negative value for PRAGMA cache_size)
+    private static final int PAGE_CACHE_KIB = 4096;
 
-    // The database version
-    private static final int VERSION = 1;
+    // Number of prepared statements cached per connection
+    private static final int SQL_CACHE_SIZE = 50;
+
+    private final boolean writeAheadLogging;   // use write-ahead logging
 
     /**
      * Constructor
      * @param context   The current context
      */
     public MovieDbHelper(Context context) {
-        super(context, DATABASE_NAME, null, VERSION);
+        this(context, DATABASE_NAME, context.getResources().getBoolean(R.bool.db_write_ahead_logging));
+    }
+
+    /**
+     * Constructor
+     * @param context           The current context
+     * @param name              Name of the database file
+     * @param writeAheadLogging Use write-ahead logging flag
+     */
+    MovieDbHelper(Context context, String name, boolean writeAheadLogging) {
+        super(context, name, null, VERSION);
+        this.writeAheadLogging = writeAheadLogging;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase sqLiteDatabase) {
+        super.onConfigure(sqLiteDatabase);
+        configure(sqLiteDatabase);
+    }
+
+    @Override
+    public void onOpen(SQLiteDatabase sqLiteDatabase) {
+        super.onOpen(sqLiteDatabase);
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+            // onConfigure not available
+            configure(sqLiteDatabase);
+        }
+    }
+
+    /**
+     * Configure the database connection.
+     * With write-ahead logging readers are not blocked by a writer (and vice versa), which allows
+     * synchronous=NORMAL without risk of corruption; only the last commits may be lost on power failure.
+     * @param sqLiteDatabase    The database
+     */
+    private void configure(SQLiteDatabase sqLiteDatabase) {
+        if (writeAheadLogging) {
+            sqLiteDatabase.enableWriteAheadLogging();
+            sqLiteDatabase.execSQL("PRAGMA synchronous=NORMAL;");
+        }
+        sqLiteDatabase.execSQL("PRAGMA cache_size=-" + PAGE_CACHE_KIB + ";");
+        // reuse compiled statements for the repeated provider queries/inserts
+        sqLiteDatabase.setMaxSqlCacheSize(SQL_CACHE_SIZE);
+    }
+
+    /**
+     * Check if write-ahead logging is enabled
+     * @return  <code>true</code> if enabled
+     */
+    public boolean isWriteAheadLogging() {
+        return writeAheadLogging;
     }
 
 
@@ -53,11 +121,28 @@ public class MovieDbHelper extends SQLiteOpenHelper {
                 /* use TMDb movie as the primary key */
                 MovieEntry._ID              + " INTEGER PRIMARY KEY, " +
                 MovieEntry.COLUMN_JSON      + " STRING NOT NULL, " +
-                MovieEntry.COLUMN_TIMESTAMP + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                MovieEntry.COLUMN_TIMESTAMP + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                MovieEntry.COLUMN_TITLE             + " STRING, " +
+                MovieEntry.COLUMN_RELEASE_DATE      + " INTEGER, " +
+                MovieEntry.COLUMN_POPULARITY        + " REAL, " +
+                MovieEntry.COLUMN_VOTE_AVERAGE      + " REAL, " +
+                MovieEntry.COLUMN_VOTE_COUNT        + " INTEGER, " +
+                MovieEntry.COLUMN_ORIGINAL_LANGUAGE + " STRING, " +
+                MovieEntry.COLUMN_LAST_ACCESSED     + " TIMESTAMP, " +
+                MovieEntry.COLUMN_PAYLOAD_SIZE      + " INTEGER NOT NULL DEFAULT 0" +
             ");";
 
         sqLiteDatabase.execSQL(SQL_CREATE_MOVIE_TABLE);
 
+        createMovieTimestampIndex(sqLiteDatabase);
+        sqLiteDatabase.execSQL("CREATE INDEX " + MovieEntry.LAST_ACCESSED_INDEX +
+                " ON " + MovieEntry.TABLE_NAME + " (" + MovieEntry.COLUMN_LAST_ACCESSED + ", " +
+                MovieEntry.COLUMN_PAYLOAD_SIZE + ");");
+        for (String column : MovieEntry.INFO_COLUMNS) {
+            sqLiteDatabase.execSQL("CREATE INDEX " + MovieEntry.indexName(column) +
+                    " ON " + MovieEntry.TABLE_NAME + " (" + column + ");");
+        }
+
         final String SQL_CREATE_FAVOURITES_TABLE =
             "CREATE TABLE " + FavouriteEntry.TABLE_NAME + " (" +
                 /* use TMDb movie as the primary key */
@@ -67,21 +152,120 @@ public class MovieDbHelper extends SQLiteOpenHelper {
             ");";
 
         sqLiteDatabase.execSQL(SQL_CREATE_FAVOURITES_TABLE);
+
+        createMovieListsTable(sqLiteDatabase);
+
+        createMovieSearchTable(sqLiteDatabase);
+
+        createAdditionalInfoTable(sqLiteDatabase, VideoEntry.TABLE_NAME);
+        createAdditionalInfoTable(sqLiteDatabase, ReviewEntry.TABLE_NAME);
+    }
+
+    /**
+     * Create a movie additional info (videos or reviews) cache table
+     * @param sqLiteDatabase    The database
+     * @param table             Name of table
+     */
+    private void createAdditionalInfoTable(SQLiteDatabase sqLiteDatabase, String table) {
+        // videos & reviews tables have the same columns
+        final String SQL_CREATE_ADDITIONAL_INFO_TABLE =
+            "CREATE TABLE " + table + " (" +
+                /* use TMDb movie as the primary key */
+                VideoEntry._ID              + " INTEGER PRIMARY KEY, " +
+                VideoEntry.COLUMN_JSON      + " STRING NOT NULL, " +
+                VideoEntry.COLUMN_TIMESTAMP + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            ");";
+
+        sqLiteDatabase.execSQL(SQL_CREATE_ADDITIONAL_INFO_TABLE);
+    }
+
+    /**
+     * Create the movie full-text search table
+     * @param sqLiteDatabase    The database
+     */
+    private void createMovieSearchTable(SQLiteDatabase sqLiteDatabase) {
+        final String SQL_CREATE_MOVIE_SEARCH_TABLE =
+            "CREATE VIRTUAL TABLE " + MovieSearchEntry.TABLE_NAME + " USING fts4 (" +
+                MovieSearchEntry.COLUMN_TITLE       + ", " +
+                MovieSearchEntry.COLUMN_OVERVIEW    + ", " +
+                MovieSearchEntry.COLUMN_REVIEWS     + ", " +
+                "tokenize=porter" +
+            ");";
+
+        sqLiteDatabase.execSQL(SQL_CREATE_MOVIE_SEARCH_TABLE);
+
+        /* entries are added by the content provider as the payload needs to be decoded, but removal can
+            be done by trigger */
+        final String SQL_CREATE_MOVIE_SEARCH_DELETE_TRIGGER =
+            "CREATE TRIGGER " + MovieSearchEntry.DELETE_TRIGGER + " AFTER DELETE ON " + MovieEntry.TABLE_NAME +
+            " BEGIN" +
+                " DELETE FROM " + MovieSearchEntry.TABLE_NAME + " WHERE docid=old." + MovieEntry._ID + ";" +
+            " END;";
+
+        sqLiteDatabase.execSQL(SQL_CREATE_MOVIE_SEARCH_DELETE_TRIGGER);
+    }
+
+    /**
+     * Create the movie list pages cache table
+     * @param sqLiteDatabase    The database
+     */
+    private void createMovieListsTable(SQLiteDatabase sqLiteDatabase) {
+        final String SQL_CREATE_MOVIE_LISTS_TABLE =
+            "CREATE TABLE " + MovieListEntry.TABLE_NAME + " (" +
+                MovieListEntry._ID              + " INTEGER PRIMARY KEY, " +
+                MovieListEntry.COLUMN_LIST_TYPE + " STRING NOT NULL, " +
+                MovieListEntry.COLUMN_PAGE      + " INTEGER NOT NULL, " +
+                /* empty rather than null for unspecified, as nulls are distinct in a unique constraint */
+                MovieListEntry.COLUMN_LANGUAGE  + " STRING NOT NULL DEFAULT '', " +
+                MovieListEntry.COLUMN_REGION    + " STRING NOT NULL DEFAULT '', " +
+                MovieListEntry.COLUMN_JSON      + " STRING NOT NULL, " +
+                MovieListEntry.COLUMN_TIMESTAMP + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                /* a new response for a list page replaces the previous one */
+                "UNIQUE (" + MovieListEntry.COLUMN_LIST_TYPE + ", " + MovieListEntry.COLUMN_PAGE + ", " +
+                    MovieListEntry.COLUMN_LANGUAGE + ", " + MovieListEntry.COLUMN_REGION + ") ON CONFLICT REPLACE" +
+            ");";
+
+        sqLiteDatabase.execSQL(SQL_CREATE_MOVIE_LISTS_TABLE);
+    }
+
+    /**
+     * Create the index on the movie table timestamp, used by the expiry purge
+     * @param sqLiteDatabase    The database
+     */
+    private void createMovieTimestampIndex(SQLiteDatabase sqLiteDatabase) {
+        final String SQL_CREATE_MOVIE_TIMESTAMP_INDEX =
+            "CREATE INDEX IF NOT EXISTS " + MovieEntry.TIMESTAMP_INDEX + " ON " + MovieEntry.TABLE_NAME + " (" +
+                MovieEntry.COLUMN_TIMESTAMP +
+            ");";
+
+        sqLiteDatabase.execSQL(SQL_CREATE_MOVIE_TIMESTAMP_INDEX);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
-        // recreate db
-        for (String table : getTableNames()) {
-            sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + table + ";");
+        if (MovieDbMigrations.canMigrate(oldVersion, newVersion)) {
+            // migrate schema keeping the existing data
+            MovieDbMigrations.migrate(sqLiteDatabase, oldVersion, newVersion);
+        } else {
+            recreate(sqLiteDatabase);
         }
-        onCreate(sqLiteDatabase);
     }
 
     @Override
     public void onDowngrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
-        // recreate db
-        onUpgrade(sqLiteDatabase, oldVersion, newVersion);
+        // no migrations to a previous schema, so recreate db
+        recreate(sqLiteDatabase);
+    }
+
+    /**
+     * Drop all tables and recreate the database
+     * @param sqLiteDatabase    The database
+     */
+    private void recreate(SQLiteDatabase sqLiteDatabase) {
+        for (String table : getTableNames()) {
+            sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + table + ";");
+        }
+        onCreate(sqLiteDatabase);
     }
 
 
@@ -91,7 +275,8 @@ public class MovieDbHelper extends SQLiteOpenHelper {
      */
     public String[] getTableNames() {
         return new String []{
-                MovieEntry.TABLE_NAME, FavouriteEntry.TABLE_NAME
+                MovieEntry.TABLE_NAME, FavouriteEntry.TABLE_NAME, MovieListEntry.TABLE_NAME,
+                MovieSearchEntry.TABLE_NAME, VideoEntry.TABLE_NAME, ReviewEntry.TABLE_NAME
         };
     }
 
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.TMDbDate;
+import ie.ianbuttimer.moviequest.tmdb.review.AppendedReviewList;
+import ie.ianbuttimer.moviequest.tmdb.review.BaseReview;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+
+/**
+ * Registry of the database schema migrations.<br>
+ * Each migration upgrades the schema from one version to the next, keeping the existing data, so an
+ * app update which changes the schema doesn't discard the movie cache and favourites.<br>
+ * Note: the sql and column names in a migration are fixed at the schema of the version it migrates to;
+ * it must not reference the current schema definitions or the content values builders, which may have
+ * changed in later versions. Data conversions may only use the current model classes to decode the
+ * cached details.
+ */
+class MovieDbMigrations {
+
+    /**
+     * Interface for a single schema migration step
+     */
+    interface Migration {
+        /**
+         * Migrate the schema to the next version
+         * @param db    Database to migrate
+         */
+        void migrate(SQLiteDatabase db);
+    }
+
+    /** First schema version */
+    static final int FIRST_VERSION = 1;
+
+    /** Migrations in order, the migration at index <code>n</code> migrates from version <code>FIRST_VERSION + n</code> */
+    private static final Migration[] MIGRATIONS = new Migration[] {
+        // 1 -> 2: movie list pages cache
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("CREATE TABLE movie_lists (" +
+                        "_id INTEGER PRIMARY KEY, " +
+                        "list_type STRING NOT NULL, " +
+                        "page INTEGER NOT NULL, " +
+                        "language STRING NOT NULL DEFAULT '', " +
+                        "region STRING NOT NULL DEFAULT '', " +
+                        "json STRING NOT NULL, " +
+                        "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                        "UNIQUE (list_type, page, language, region) ON CONFLICT REPLACE" +
+                    ");");
+            }
+        },
+        // 2 -> 3: movie timestamp index
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("CREATE INDEX IF NOT EXISTS movies_timestamp_idx ON movies (timestamp);");
+            }
+        },
+        // 3 -> 4: movie info columns, populated from the cached details
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                String[][] columns = new String[][] {
+                    { "title", "STRING" },
+                    { "release_date", "INTEGER" },
+                    { "popularity", "REAL" },
+                    { "vote_average", "REAL" },
+                    { "vote_count", "INTEGER" },
+                    { "original_language", "STRING" },
+                };
+                for (String[] column : columns) {
+                    db.execSQL("ALTER TABLE movies ADD COLUMN " + column[0] + " " + column[1] + ";");
+                    db.execSQL("CREATE INDEX movies_" + column[0] + "_idx ON movies (" + column[0] + ");");
+                }
+
+                Cursor cursor = db.query("movies", new String[] { "_id", "json" }, null, null, null, null, null);
+                if (cursor != null) {
+                    String[] idArg = new String[1];
+                    ContentValues cv = new ContentValues();
+                    while (cursor.moveToNext()) {
+                        MovieDetails details = DbUtils.movieDetailsFromCursor(cursor);
+                        if (details != null) {
+                            cv.clear();
+                            cv.put("title", details.getTitle());
+                            int releaseDate = details.getReleaseDateValue();
+                            if (TMDbDate.isValid(releaseDate)) {
+                                cv.put("release_date", releaseDate);
+                            } else {
+                                cv.putNull("release_date");
+                            }
+                            cv.put("popularity", details.getPopularity());
+                            cv.put("vote_average", details.getVoteAverage());
+                            cv.put("vote_count", details.getVoteCount());
+                            cv.put("original_language", details.getOriginalLanguage());
+                            idArg[0] = cursor.getString(0);
+                            db.update("movies", cv, "_id=?", idArg);
+                        }
+                    }
+                    cursor.close();
+                }
+            }
+        },
+        // 4 -> 5: movie full-text search, populated from the cached details
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("CREATE VIRTUAL TABLE movies_fts USING fts4 (title, overview, reviews, tokenize=porter);");
+                db.execSQL("CREATE TRIGGER movies_fts_delete AFTER DELETE ON movies" +
+                        " BEGIN DELETE FROM movies_fts WHERE docid=old._id; END;");
+
+                Cursor cursor = db.query("movies", new String[] { "_id", "json" }, null, null, null, null, null);
+                if (cursor != null) {
+                    ContentValues cv = new ContentValues();
+                    while (cursor.moveToNext()) {
+                        MovieDetails details = DbUtils.movieDetailsFromCursor(cursor);
+                        if (details != null) {
+                            cv.clear();
+                            cv.put("docid", cursor.getLong(0));
+                            cv.put("title", details.getTitle());
+                            cv.put("overview", details.getOverview());
+                            cv.put("reviews", getReviewsText(details));
+                            db.insert("movies_fts", null, cv);
+                        }
+                    }
+                    cursor.close();
+                }
+            }
+        },
+        // 5 -> 6: videos & reviews caches
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                for (String table : new String[] { "videos", "reviews" }) {
+                    db.execSQL("CREATE TABLE " + table + " (" +
+                            "_id INTEGER PRIMARY KEY, " +
+                            "json STRING NOT NULL, " +
+                            "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                        ");");
+                }
+            }
+        },
+        // 6 -> 7: movie last accessed, for least recently used eviction
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("ALTER TABLE movies ADD COLUMN last_accessed TIMESTAMP;");
+                db.execSQL("UPDATE movies SET last_accessed = timestamp;");
+                db.execSQL("CREATE INDEX movies_last_accessed_idx ON movies (last_accessed);");
+            }
+        },
+        // 7 -> 8: movie payload size, and last accessed index covering it for eviction
+        new Migration() {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("ALTER TABLE movies ADD COLUMN payload_size INTEGER NOT NULL DEFAULT 0;");
+                db.execSQL("UPDATE movies SET payload_size = LENGTH(CAST(json AS BLOB));");
+                db.execSQL("DROP INDEX IF EXISTS movies_last_accessed_idx;");
+                db.execSQL("CREATE INDEX movies_last_accessed_idx ON movies (last_accessed, payload_size);");
+            }
+        },
+    };
+
+    /**
+     * Get the text of the reviews of a movie, as indexed by the version 5 search table
+     * @param details   Movie details
+     * @return  Reviews text, separated by new lines, or <code>null</code> if no reviews
+     */
+    private static String getReviewsText(MovieDetails details) {
+        String text = null;
+        AppendedReviewList reviewList = details.getReviewList();
+        if (reviewList != null) {
+            BaseReview[] reviews = reviewList.getResults();
+            if ((reviews != null) && (reviews.length > 0)) {
+                StringBuilder sb = new StringBuilder();
+                for (BaseReview review : reviews) {
+                    String content = review.getContent();
+                    if (!TextUtils.isEmpty(content)) {
+                        if (sb.length() > 0) {
+                            sb.append('\n');
+                        }
+                        sb.append(content);
+                    }
+                }
+                text = sb.toString();
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Get the latest schema version the registry can migrate to
+     * @return  Schema version
+     */
+    static int getLatestVersion() {
+        return FIRST_VERSION + MIGRATIONS.length;
+    }
+
+    /**
+     * Get the migration from the specified version to the next
+     * @param fromVersion   Version to migrate from
+     * @return  Migration or <code>null</code> if no migration available
+     */
+    static Migration getMigration(int fromVersion) {
+        Migration migration = null;
+        int index = fromVersion - FIRST_VERSION;
+        if ((index >= 0) && (index < MIGRATIONS.length)) {
+            migration = MIGRATIONS[index];
+        }
+        return migration;
+    }
+
+    /**
+     * Check if migrations are available between the specified versions
+     * @param fromVersion   Version to migrate from
+     * @param toVersion     Version to migrate to
+     * @return  <code>true</code> if can migrate
+     */
+    static boolean canMigrate(int fromVersion, int toVersion) {
+        return (fromVersion >= FIRST_VERSION) && (fromVersion < toVersion) && (toVersion <= getLatestVersion());
+    }
+
+    /**
+     * Apply the migrations between the specified versions in order, in a single transaction.
+     * If the database is already in a transaction (e.g. in SQLiteOpenHelper.onUpgrade()), the
+     * migrations are applied as part of it.
+     * @param db            Database to migrate
+     * @param fromVersion   Version to migrate from
+     * @param toVersion     Version to migrate to
+     * @throws IllegalArgumentException if no migrations are available between the versions
+     */
+    static void migrate(SQLiteDatabase db, int fromVersion, int toVersion) {
+        if (!canMigrate(fromVersion, toVersion)) {
+            throw new IllegalArgumentException("No migration from version " + fromVersion + " to " + toVersion);
+        }
+        boolean transaction = !db.inTransaction();
+        if (transaction) {
+            db.beginTransaction();
+        }
+        try {
+            for (int version = fromVersion; version < toVersion; version++) {
+                getMigration(version).migrate(db);
+            }
+            if (transaction) {
+                db.setTransactionSuccessful();
+            }
+        } finally {
+            if (transaction) {
+                db.endTransaction();
+            }
+        }
+    }
+}
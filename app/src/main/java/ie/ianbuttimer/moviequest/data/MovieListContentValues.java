@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import java.util.Date;
+
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry.COLUMN_LANGUAGE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry.COLUMN_LIST_TYPE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry.COLUMN_PAGE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieListEntry.COLUMN_REGION;
+
+/**
+ * Builder class for a Movie list page ContentValue objects
+ */
+@SuppressWarnings("unused")
+public class MovieListContentValues extends DbContentValues {
+
+    public static class Builder extends DbContentValues.Builder {
+
+        /**
+         * Constructor
+         */
+        Builder() {
+            super();
+        }
+
+        /**
+         * Set the list key fields
+         * @param listType  List type
+         * @param page      Page number
+         * @param language  Language or <code>null</code> if not specified
+         * @param region    Region or <code>null</code> if not specified
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setListKey(String listType, int page, String language, String region) {
+            cv.put(COLUMN_LIST_TYPE, listType);
+            cv.put(COLUMN_PAGE, page);
+            cv.put(COLUMN_LANGUAGE, (language == null ? "" : language));
+            cv.put(COLUMN_REGION, (region == null ? "" : region));
+            return this;
+        }
+
+        /**
+         * Set the list key fields
+         * @param listKeyArgs   List key selection arguments
+         * @see MovieContract.MovieListEntry#listKeyArgs(String, int, String, String)
+         * @return  Builder to facilitate chaining
+         */
+        public Builder setListKey(String[] listKeyArgs) {
+            return setListKey(listKeyArgs[0], Integer.parseInt(listKeyArgs[1]), listKeyArgs[2], listKeyArgs[3]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setCompression(boolean compress) {
+            super.setCompression(compress);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setJson(String json) {
+            super.setJson(json);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setTimestamp() {
+            super.setTimestamp();
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Builder setTimestamp(Date timestamp) {
+            super.setTimestamp(timestamp);
+            return this;
+        }
+
+        @Override
+        public Builder clear() {
+            super.clear();
+            return this;
+        }
+    }
+
+    /**
+     * Get a builder instance
+     * @return  New builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieSearchEntry;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.review.AppendedReviewList;
+import ie.ianbuttimer.moviequest.tmdb.review.BaseReview;
+import ie.ianbuttimer.moviequest.utils.DbUtils;
+
+/**
+ * Class maintaining and querying the cached movies full-text search table.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.data.MovieSearchIndexTest
+ */
+class MovieSearchIndex {
+
+    /** Rank weights of the search table columns; title, overview & reviews */
+    private static final double[] COLUMN_WEIGHTS = new double[] { 10.0, 2.0, 1.0 };
+
+    /** Search query, argument is the match expression */
+    private static final String SEARCH_QUERY =
+            "SELECT m." + MovieEntry._ID + ", m." + MovieEntry.COLUMN_TITLE + ", m." + MovieEntry.COLUMN_RELEASE_DATE +
+                ", m." + MovieEntry.COLUMN_VOTE_AVERAGE + ", m." + MovieEntry.COLUMN_POPULARITY +
+                ", matchinfo(" + MovieSearchEntry.TABLE_NAME + ", 'pcx')" +
+            " FROM " + MovieSearchEntry.TABLE_NAME + " JOIN " + MovieEntry.TABLE_NAME + " m" +
+                " ON m." + MovieEntry._ID + "=" + MovieSearchEntry.TABLE_NAME + ".docid" +
+            " WHERE " + MovieSearchEntry.TABLE_NAME + " MATCH ?";
+
+    // search query column indices
+    private static final int ID_IDX = 0;
+    private static final int TITLE_IDX = 1;
+    private static final int RELEASE_DATE_IDX = 2;
+    private static final int VOTE_AVERAGE_IDX = 3;
+    private static final int POPULARITY_IDX = 4;
+    private static final int MATCHINFO_IDX = 5;
+
+    private static final String DOCID_EQ_SELECTION = MovieContract.columnEqSelection("docid");
+
+    /**
+     * Update the search table entry for a movie from the payload being cached
+     * @param db    Database to update
+     * @param id    Movie id
+     * @param cv    Movie ContentValues containing the payload
+     */
+    static void index(SQLiteDatabase db, long id, ContentValues cv) {
+        index(db, id, DbUtils.movieDetailsFromContentValues(cv));
+    }
+
+    /**
+     * Update the search table entry for a movie
+     * @param db        Database to update
+     * @param id        Movie id
+     * @param details   Movie details, or <code>null</code> to remove the movie
+     */
+    static void index(SQLiteDatabase db, long id, MovieDetails details) {
+        String[] idArg = new String[] { String.valueOf(id) };
+        db.delete(MovieSearchEntry.TABLE_NAME, DOCID_EQ_SELECTION, idArg);
+        if (details != null) {
+            ContentValues cv = new ContentValues();
+            cv.put("docid", id);
+            cv.put(MovieSearchEntry.COLUMN_TITLE, details.getTitle());
+            cv.put(MovieSearchEntry.COLUMN_OVERVIEW, details.getOverview());
+            cv.put(MovieSearchEntry.COLUMN_REVIEWS, getReviewsText(details));
+            db.insert(MovieSearchEntry.TABLE_NAME, null, cv);
+        }
+    }
+
+    /**
+     * Get the text of the reviews included in movie details
+     * @param details   Movie details
+     * @return  Reviews text or <code>null</code> if no reviews
+     */
+    static String getReviewsText(MovieDetails details) {
+        String text = null;
+        AppendedReviewList reviewList = details.getReviewList();
+        if (reviewList != null) {
+            BaseReview[] reviews = reviewList.getResults();
+            if ((reviews != null) && (reviews.length > 0)) {
+                StringBuilder sb = new StringBuilder();
+                for (BaseReview review : reviews) {
+                    String content = review.getContent();
+                    if (!TextUtils.isEmpty(content)) {
+                        if (sb.length() > 0) {
+                            sb.append('\n');
+                        }
+                        sb.append(content);
+                    }
+                }
+                text = sb.toString();
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Merge the search table's index segments into a single b-tree, for faster searches
+     * @param db    Database to optimise
+     */
+    static void optimize(SQLiteDatabase db) {
+        db.execSQL("INSERT INTO " + MovieSearchEntry.TABLE_NAME + "(" + MovieSearchEntry.TABLE_NAME +
+                ") VALUES('optimize');");
+    }
+
+    /**
+     * Search the cached movies
+     * @param db        Database to search
+     * @param terms     Search terms
+     * @return  Cursor containing {@link MovieSearchEntry#RESULT_COLUMNS}, in order of rank
+     */
+    static Cursor search(SQLiteDatabase db, String terms) {
+        MatrixCursor result = new MatrixCursor(MovieSearchEntry.RESULT_COLUMNS);
+        String match = makeMatchExpression(terms);
+        if (match != null) {
+            ArrayList<Object[]> rows = new ArrayList<>();
+            Cursor cursor = db.rawQuery(SEARCH_QUERY, new String[] { match });
+            if (cursor != null) {
+                while (cursor.moveToNext()) {
+                    rows.add(new Object[] {
+                        cursor.getLong(ID_IDX),
+                        cursor.getString(TITLE_IDX),
+                        (cursor.isNull(RELEASE_DATE_IDX) ? null : cursor.getInt(RELEASE_DATE_IDX)),
+                        (cursor.isNull(VOTE_AVERAGE_IDX) ? null : cursor.getDouble(VOTE_AVERAGE_IDX)),
+                        (cursor.isNull(POPULARITY_IDX) ? null : cursor.getDouble(POPULARITY_IDX)),
+                        rank(cursor.getBlob(MATCHINFO_IDX))
+                    });
+                }
+                cursor.close();
+            }
+            final int rankIdx = MovieSearchEntry.RESULT_COLUMNS.length - 1;
+            Collections.sort(rows, new Comparator<Object[]>() {
+                @Override
+                public int compare(Object[] row1, Object[] row2) {
+                    int result = Double.compare((Double) row2[rankIdx], (Double) row1[rankIdx]);
+                    if (result == 0) {
+                        // most popular first
+                        Double popularity1 = (Double) row1[POPULARITY_IDX];
+                        Double popularity2 = (Double) row2[POPULARITY_IDX];
+                        result = Double.compare((popularity2 == null ? 0 : popularity2),
+                                                (popularity1 == null ? 0 : popularity1));
+                    }
+                    return result;
+                }
+            });
+            for (Object[] row : rows) {
+                result.addRow(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Make a full-text search match expression from user entered search terms. Each word becomes a prefix
+     * match, and all must be matched; any search syntax is removed.
+     * @param terms     Search terms
+     * @return  Match expression or <code>null</code> if no terms
+     */
+    static String makeMatchExpression(String terms) {
+        String match = null;
+        if (terms != null) {
+            StringBuilder sb = new StringBuilder();
+            for (String term : terms.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!term.isEmpty()) {
+                    if (sb.length() > 0) {
+                        sb.append(' ');
+                    }
+                    sb.append('"').append(term).append("*\"");
+                }
+            }
+            if (sb.length() > 0) {
+                match = sb.toString();
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Calculate the rank of a search result from its match info. Each phrase matched in a column contributes
+     * the column weight multiplied by the fraction of all the phrase's hits in the column which are in the
+     * result.
+     * @param matchinfo     Match info blob, in 'pcx' format
+     * @return  Rank, higher is a better match
+     * @see <a href="https://www.sqlite.org/fts3.html#matchinfo">matchinfo</a>
+     */
+    static double rank(byte[] matchinfo) {
+        double rank = 0;
+        if ((matchinfo != null) && (matchinfo.length >= 8)) {
+            ByteBuffer buffer = ByteBuffer.wrap(matchinfo).order(ByteOrder.nativeOrder());
+            int phrases = buffer.getInt(0);
+            int columns = buffer.getInt(4);
+            if (matchinfo.length >= (4 * (2 + (phrases * columns * 3)))) {
+                for (int phrase = 0; phrase < phrases; phrase++) {
+                    for (int column = 0; column < columns; column++) {
+                        int offset = 4 * (2 + (((phrase * columns) + column) * 3));
+                        int hits = buffer.getInt(offset);
+                        int globalHits = buffer.getInt(offset + 4);
+                        if ((hits > 0) && (globalHits > 0)) {
+                            double weight = (column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0);
+                            rank += weight * ((double) hits / globalHits);
+                        }
+                    }
+                }
+            }
+        }
+        return rank;
+    }
+}
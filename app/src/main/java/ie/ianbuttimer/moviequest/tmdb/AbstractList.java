@@ -21,10 +21,17 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.text.TextUtils;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import ie.ianbuttimer.moviequest.data.IEmpty;
@@ -125,6 +132,25 @@ public abstract class AbstractList<T extends TMDbObject> implements Parcelable,
      */
     protected abstract void setResult(int index, JSONObject json);
 
+    /**
+     * Read a result from a JSON stream
+     * @param reader    JSON reader positioned at the start of the result object
+     * @return  result
+     * @throws IOException if the stream cannot be read
+     */
+    protected abstract T readResult(JsonReader reader) throws IOException;
+
+    /**
+     * Read an extra field for subclasses from a JSON stream
+     * @param name      Name of the field
+     * @param reader    JSON reader positioned at the field value
+     * @return  <code>true</code> if the value was consumed, <code>false</code> otherwise
+     * @throws IOException if the stream cannot be read
+     */
+    protected boolean readExtraField(String name, JsonReader reader) throws IOException {
+        return false;
+    }
+
     /**
      * Create a AbstractList object from a JSON string
      * @param response  AbstractList object to save list to
@@ -132,14 +158,76 @@ public abstract class AbstractList<T extends TMDbObject> implements Parcelable,
      * @return  A AbstractList object
      */
     public static <T extends TMDbObject> AbstractList<T> getListFromJsonString(AbstractList<T> response, String jsonString) {
+        if (!TextUtils.isEmpty(jsonString)) {
+            getListFromReader(response, new StringReader(jsonString));
+        }
+        return response;
+    }
+
+    /**
+     * Create a AbstractList object from a JSON character stream.<br>
+     * The results are read directly from the stream, without building an intermediate JSON object tree.
+     * @param response  AbstractList object to save list to
+     * @param in        The JSON stream to read
+     * @return  A AbstractList object
+     */
+    public static <T extends TMDbObject> AbstractList<T> getListFromReader(AbstractList<T> response, Reader in) {
+        JsonReader reader = new JsonReader(in);
+        ArrayList<T> results = null;
+        Integer totalResults = null;
+        Integer totalPages = null;
+        Integer page = null;
         try {
-            if (!TextUtils.isEmpty(jsonString)) {
-                JSONObject json = new JSONObject(jsonString);
-                getListFromJson(response, json);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else if (LIST_RESULTS.equals(name)) {
+                    results = new ArrayList<>(RESULTS_PER_LIST);
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        results.add(response.readResult(reader));
+                    }
+                    reader.endArray();
+                } else if (LIST_TOTAL_RESULTS.equals(name)) {
+                    totalResults = reader.nextInt();
+                } else if (LIST_TOTAL_PAGES.equals(name)) {
+                    totalPages = reader.nextInt();
+                } else if (LIST_PAGE.equals(name)) {
+                    page = reader.nextInt();
+                } else if (!response.readExtraField(name, reader)) {
+                    reader.skipValue();
+                }
             }
+            reader.endObject();
         }
-        catch (JSONException e) {
+        catch (IOException | IllegalStateException | NumberFormatException e) {
             e.printStackTrace();
+            results = null;     // incomplete response
+        }
+        finally {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // numbers are set first as results may depend on them, e.g. indices
+        if ((totalResults != null) && (totalPages != null) && (page != null)) {
+            response.setNumbers(totalResults, totalPages, page);
+        }
+        if (results != null) {
+            int length = results.size();
+
+            response.setListLength(length);
+
+            for (int i = 0; i < length; i++) {
+                response.setResult(i, results.get(i));
+            }
+            response.nonResponse = false;   // represents a valid response
         }
         return response;
     }
@@ -328,7 +416,7 @@ public abstract class AbstractList<T extends TMDbObject> implements Parcelable,
      * @param in    Parcel to read
      * @param obj   Object to populate
      */
-    protected void readFromParcel(Parcel in, AbstractList obj, ClassLoader loader, Class<? extends TMDbObject[]> arrayClass) {
+    protected void readFromParcel(Parcel in, AbstractList<T> obj, ClassLoader loader, Class<? extends T[]> arrayClass) {
         obj.totalResults = in.readInt();
         obj.totalPages = in.readInt();
         obj.pageNumber = in.readInt();
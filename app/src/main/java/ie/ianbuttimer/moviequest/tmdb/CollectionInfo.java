@@ -22,10 +22,8 @@ import android.os.Parcelable;
 
 import org.json.JSONObject;
 
-import java.util.Arrays;
 import java.util.HashMap;
 
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 /**
  * This class represents the movie details provided by TMDb as part of the popular & top rated movie lists
@@ -39,7 +37,7 @@ import ie.ianbuttimer.moviequest.utils.Utils;
 public class CollectionInfo extends TMDbObject implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
+    private static long placeholderFields;  // mask of default value fields for a placeholder
 
     private String posterPath;
     private String backdropPath;
@@ -55,17 +53,80 @@ public class CollectionInfo extends TMDbObject implements Parcelable {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices above!!!!
-        "poster_path",
-        "backdrop_path",
-        "name",
-        "id"
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        stringTemplate.copy(POSTER_PATH, "poster_path", "posterPath", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((CollectionInfo) obj).setPosterPath((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((CollectionInfo) obj).posterPath;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((CollectionInfo) to).posterPath = ((CollectionInfo) from).posterPath;
+            }
+        }),
+        stringTemplate.copy(BACKDROP_PATH, "backdrop_path", "backdropPath", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((CollectionInfo) obj).setBackdropPath((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((CollectionInfo) obj).backdropPath;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((CollectionInfo) to).backdropPath = ((CollectionInfo) from).backdropPath;
+            }
+        }),
+        stringTemplate.copy(NAME, "name", "name", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((CollectionInfo) obj).setName((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((CollectionInfo) obj).name;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((CollectionInfo) to).name = ((CollectionInfo) from).name;
+            }
+        }),
+        intTemplate.copy(ID, "id", "id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((CollectionInfo) obj).setId((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((CollectionInfo) obj).id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((CollectionInfo) to).id = ((CollectionInfo) from).id;
+            }
+        })
     };
 
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
+
     static {
         jsonMemberMap = generateMemberMap(null);
-        placeholderMemberMap = generateMemberMap(new int[] {
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
                 NAME, ID
         });
 
@@ -82,29 +143,7 @@ public class CollectionInfo extends TMDbObject implements Parcelable {
      * @param exclude   Array of ids of members to exclude
      */
     protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_COLLECTION_INFO_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case POSTER_PATH:
-                        memberMap.put(key, stringTemplate.copy("setPosterPath", "getPosterPath", "posterPath"));
-                        break;
-                    case BACKDROP_PATH:
-                        memberMap.put(key, stringTemplate.copy("setBackdropPath", "getBackdropPath", "backdropPath"));
-                        break;
-                    case NAME:
-                        memberMap.put(key, stringTemplate.copy("setName", "getName", "name"));
-                        break;
-                    case ID:
-                        memberMap.put(key, intTemplate.copy("setId", "getId", "id"));
-                        break;
-                }
-            }
-        }
-        return memberMap;
+        return generateMemberMap(MEMBERS, exclude);
     }
 
     @Override
@@ -121,6 +160,11 @@ public class CollectionInfo extends TMDbObject implements Parcelable {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -204,7 +248,7 @@ public class CollectionInfo extends TMDbObject implements Parcelable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
@@ -32,6 +32,8 @@ public class Genre extends IdName implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
 
+    private static final InternRegistry<Genre> sRegistry = new InternRegistry<>();  // shared instances
+
     static {
         jsonMemberMap = generateMemberMap(null);
     }
@@ -63,10 +65,20 @@ public class Genre extends IdName implements Parcelable {
     /**
      * Create an Genre object from JSON data
      * @param jsonData  JSON data object
-     * @return  new Genre object or null if no data
+     * @return  shared Genre object or null if no data
      */
     public static Genre getInstance(JSONObject jsonData) {
-        return TMDbObject.getInstance(jsonMemberMap, jsonData, new Genre());
+        return intern(TMDbObject.getInstance(jsonMemberMap, jsonData, new Genre()));
+    }
+
+    /**
+     * Get the shared instance of a genre
+     * @param genre    Object to intern
+     * @return  shared instance, or <code>genre</code> if there isn't one
+     * @see InternRegistry
+     */
+    public static Genre intern(Genre genre) {
+        return (genre == null ? null : sRegistry.intern(genre.getId(), genre));
     }
 
     // just provide the creator and parcel constructor as other parcelable methods are in super class
@@ -74,7 +86,7 @@ public class Genre extends IdName implements Parcelable {
     public static final Parcelable.Creator<Genre> CREATOR
             = new Parcelable.Creator<Genre>() {
         public Genre createFromParcel(Parcel in) {
-            return new Genre(in);
+            return intern(new Genre(in));
         }
 
         public Genre[] newArray(int size) {
@@ -19,18 +19,15 @@ package ie.ianbuttimer.moviequest.tmdb;
 
 import android.os.Parcel;
 
-import java.util.Arrays;
 import java.util.HashMap;
 
-import ie.ianbuttimer.moviequest.utils.Utils;
-
 /**
  * Class representing an id/name pair as utilised by the TMDb API
  */
 @SuppressWarnings("unused")
 public abstract class IdName extends TMDbObject {
 
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
+    private static long placeholderFields;  // mask of default value fields for a placeholder
 
     private Integer id;
     private String name;
@@ -42,14 +39,47 @@ public abstract class IdName extends TMDbObject {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices above!!!!
-        "id",
-        "name"
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        intTemplate.copy(ID, "id", "id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((IdName) obj).setId((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((IdName) obj).id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((IdName) to).id = ((IdName) from).id;
+            }
+        }),
+        stringTemplate.copy(NAME, "name", "name", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((IdName) obj).setName((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((IdName) obj).name;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((IdName) to).name = ((IdName) from).name;
+            }
+        })
     };
 
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
+
     static {
-        placeholderMemberMap = generateMemberMap(new int[] {
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
             ID
         });
 
@@ -60,23 +90,7 @@ public abstract class IdName extends TMDbObject {
      * Generate the member map representing this object
      */
     protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_IDNAME_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case NAME:
-                        memberMap.put(key, stringTemplate.copy("setName", "getName", "name"));
-                        break;
-                    case ID:
-                        memberMap.put(key, intTemplate.copy("setId", "getId", "id"));
-                        break;
-                }
-            }
-        }
-        return memberMap;
+        return generateMemberMap(MEMBERS, exclude);
     }
 
     @Override
@@ -109,6 +123,11 @@ public abstract class IdName extends TMDbObject {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -132,7 +151,7 @@ public abstract class IdName extends TMDbObject {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
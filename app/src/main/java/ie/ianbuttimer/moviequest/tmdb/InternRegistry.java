@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide registry of shared instances of simple TMDb objects, such as genres and languages.<br>
+ * There are relatively few distinct values of these objects, so rather than each decoded movie holding
+ * its own copies, identical objects are replaced by a single shared instance.<br>
+ * A registry holds at most its capacity of instances (by default {@link #DEFAULT_CAPACITY}); once it is
+ * full, objects without a shared instance are not interned but returned as is. The registries may be
+ * emptied, e.g. when memory is low, using {@link #clearAll()}.<br>
+ * <b>NOTE:</b> an interned instance is shared, so it must not be modified after it is interned.
+ */
+public class InternRegistry<T extends TMDbObject> {
+
+    /** Default maximum number of instances in a registry */
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private static final List<InternRegistry<?>> sRegistries = new CopyOnWriteArrayList<>();  // all registries
+
+    private final ConcurrentHashMap<Object, T> registry;
+    private final int capacity;
+
+    /**
+     * Constructor
+     * @param capacity  Maximum number of instances in the registry; once reached, new objects are not interned
+     */
+    public InternRegistry(int capacity) {
+        this.registry = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+        sRegistries.add(this);
+    }
+
+    /**
+     * Default constructor
+     */
+    public InternRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the shared instance of an object
+     * @param key   Key identifying the object, e.g. its id
+     * @param obj   Object to intern
+     * @return  shared instance if one equal to <code>obj</code> exists, otherwise <code>obj</code>
+     */
+    public T intern(Object key, T obj) {
+        T shared = obj;
+        if ((key != null) && (obj != null)) {
+            T existing = registry.get(key);
+            if ((existing == null) && (registry.size() < capacity)) {
+                existing = registry.putIfAbsent(key, obj);
+            }
+            if ((existing != null) && existing.equals(obj)) {
+                shared = existing;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Get the number of instances in the registry
+     * @return  number of instances
+     */
+    int size() {
+        return registry.size();
+    }
+
+    /**
+     * Remove all instances from all registries. Instances which have already been shared are unaffected,
+     * but objects decoded afterwards will not share them.
+     */
+    public static void clearAll() {
+        for (InternRegistry<?> registry : sRegistries) {
+            registry.registry.clear();
+        }
+    }
+}
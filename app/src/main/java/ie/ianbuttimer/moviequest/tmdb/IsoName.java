@@ -19,11 +19,6 @@ package ie.ianbuttimer.moviequest.tmdb;
 
 import android.os.Parcel;
 
-import java.util.Arrays;
-import java.util.HashMap;
-
-import ie.ianbuttimer.moviequest.utils.Utils;
-
 /**
  * Class representing an iso designator/name pair as utilised by the TMDb API
  */
@@ -50,27 +45,45 @@ public abstract class IsoName extends TMDbObject {
     }
 
     /**
-     * Generate the member map representing this object
-     * @param fieldNames    Array of fields names used by TMDb server
+     * Make the table of members representing this object
+     * @param isoName   Name of the iso designator used by TMDb server
+     * @return  member table
      */
-    protected static HashMap<String, MemberEntry> generateMemberMap(String[] fieldNames, int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_ISONAME_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = fieldNames[i];
-                switch (i) {
-                    case ISO:
-                        memberMap.put(key, stringTemplate.copy("setIso", "getIso", "iso"));
-                        break;
-                    case NAME:
-                        memberMap.put(key, stringTemplate.copy("setName", "getName", "name"));
-                        break;
+    protected static MemberEntry[] makeMembers(String isoName) {
+        return new MemberEntry[] {
+            stringTemplate.copy(ISO, isoName, "iso", new MemberAccessor() {
+                @Override
+                public void set(TMDbObject obj, Object value) {
+                    ((IsoName) obj).setIso((String) value);
                 }
-            }
-        }
-        return memberMap;
+
+                @Override
+                public Object get(TMDbObject obj) {
+                    return ((IsoName) obj).iso;
+                }
+
+                @Override
+                public void copy(TMDbObject from, TMDbObject to) {
+                    ((IsoName) to).iso = ((IsoName) from).iso;
+                }
+            }),
+            stringTemplate.copy(NAME, "name", "name", new MemberAccessor() {
+                @Override
+                public void set(TMDbObject obj, Object value) {
+                    ((IsoName) obj).setName((String) value);
+                }
+
+                @Override
+                public Object get(TMDbObject obj) {
+                    return ((IsoName) obj).name;
+                }
+
+                @Override
+                public void copy(TMDbObject from, TMDbObject to) {
+                    ((IsoName) to).name = ((IsoName) from).name;
+                }
+            })
+        };
     }
 
     @Override
@@ -31,17 +31,19 @@ import java.util.HashMap;
 public class Language extends IsoName implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices in super class
-        "iso_639_1",
-        "name"
-    };
+    private static final InternRegistry<Language> sRegistry = new InternRegistry<>();  // shared instances
+    private static long placeholderFields;  // mask of default value fields for a placeholder
+
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = makeMembers("iso_639_1");
+
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
 
     static {
-        jsonMemberMap = generateMemberMap(FIELD_NAMES, null);
-        placeholderMemberMap = generateMemberMap(FIELD_NAMES, new int[] {
+        jsonMemberMap = generateMemberMap(MEMBERS, null);
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
                 ISO
         });
     }
@@ -51,6 +53,11 @@ public class Language extends IsoName implements Parcelable {
         return jsonMemberMap;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -77,16 +84,26 @@ public class Language extends IsoName implements Parcelable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     /**
      * Create an Language object from JSON data
      * @param jsonData  JSON data object
-     * @return  new Language object or null if no data
+     * @return  shared Language object or null if no data
      */
     public static Language getInstance(JSONObject jsonData) {
-        return TMDbObject.getInstance(jsonMemberMap, jsonData, new Language());
+        return intern(TMDbObject.getInstance(jsonMemberMap, jsonData, new Language()));
+    }
+
+    /**
+     * Get the shared instance of a language
+     * @param language    Object to intern
+     * @return  shared instance, or <code>language</code> if there isn't one
+     * @see InternRegistry
+     */
+    public static Language intern(Language language) {
+        return (language == null ? null : sRegistry.intern(language.getIso(), language));
     }
 
     // just provide the creator and parcel constructor as other parcelable ,ethods are in super class
@@ -94,7 +111,7 @@ public class Language extends IsoName implements Parcelable {
     public static final Parcelable.Creator<Language> CREATOR
             = new Parcelable.Creator<Language>() {
         public Language createFromParcel(Parcel in) {
-            return new Language(in);
+            return intern(new Language(in));
         }
 
         public Language[] newArray(int size) {
@@ -30,7 +30,6 @@ import java.util.Locale;
 
 import ie.ianbuttimer.moviequest.tmdb.review.AppendedReviewList;
 import ie.ianbuttimer.moviequest.tmdb.video.MovieVideoList;
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 import static ie.ianbuttimer.moviequest.utils.Utils.readArrayFromParcel;
 
@@ -62,6 +61,19 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     private AppendedReviewList reviewList;
     private MovieVideoList movieVideoList;
 
+    /* JSON of the nested members, which is only decoded when the member is first accessed
+       (e.g. a cached object which is merged into a grid item never needs its genres).
+       Transient so they are not included in Gson serialisation. Volatile and decoded under the object's
+       lock as the object may be accessed from multiple threads (e.g. parcelling, loaders); the decoded
+       member is set before the JSON is cleared, so a null JSON guarantees the member is visible */
+    private transient volatile JSONArray genresJson;
+    private transient volatile JSONArray productionCompaniesJson;
+    private transient volatile JSONArray productionCountriesJson;
+    private transient volatile JSONArray spokenLanguagesJson;
+    private transient volatile JSONObject collectionJson;
+    private transient volatile JSONObject reviewListJson;
+    private transient volatile JSONObject movieVideoListJson;
+
     protected static final int FIRST_MOVIE_DETAIL_MEMBER = LAST_MOVIE_INFO_MEMBER + 1;
     protected static final int BUDGET = FIRST_MOVIE_DETAIL_MEMBER;
     protected static final int GENRES = FIRST_MOVIE_DETAIL_MEMBER + 1;
@@ -81,100 +93,266 @@ public class MovieDetails extends MovieInfo implements Parcelable {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES;  // NOTE order must follow the order of the indices in super class & above!!!!
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object.
+        Nested member JSON is copied before the member, as it is cleared after the member is decoded */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        intTemplate.copy(BUDGET, "budget", "budget", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setBudget((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).budget;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).budget = ((MovieDetails) from).budget;
+            }
+        }),
+        jsonArrayTemplate.copy(GENRES, "genres", "genres", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setGenresFromJson((JSONArray) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getGenres();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).genresJson = ((MovieDetails) from).genresJson;
+                ((MovieDetails) to).genres = ((MovieDetails) from).genres;
+            }
+        }),
+        stringTemplate.copy(HOMEPAGE, "homepage", "homepage", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setHomepage((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).homepage;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).homepage = ((MovieDetails) from).homepage;
+            }
+        }),
+        stringTemplate.copy(IMDB_ID, "imdb_id", "imdbId", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setImdbId((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).imdbId;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).imdbId = ((MovieDetails) from).imdbId;
+            }
+        }),
+        jsonArrayTemplate.copy(PRODUCTION_COMPANIES, "production_companies", "productionCompanies", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setProductionCompaniesFromJson((JSONArray) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getProductionCompanies();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).productionCompaniesJson = ((MovieDetails) from).productionCompaniesJson;
+                ((MovieDetails) to).productionCompanies = ((MovieDetails) from).productionCompanies;
+            }
+        }),
+        jsonArrayTemplate.copy(PRODUCTION_COUNTRIES, "production_countries", "productionCountries", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setProductionCountriesFromJson((JSONArray) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getProductionCountries();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).productionCountriesJson = ((MovieDetails) from).productionCountriesJson;
+                ((MovieDetails) to).productionCountries = ((MovieDetails) from).productionCountries;
+            }
+        }),
+        intTemplate.copy(REVENUE, "revenue", "revenue", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setRevenue((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).revenue;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).revenue = ((MovieDetails) from).revenue;
+            }
+        }),
+        intTemplate.copy(RUNTIME, "runtime", "runtime", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setRuntime((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).runtime;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).runtime = ((MovieDetails) from).runtime;
+            }
+        }),
+        jsonArrayTemplate.copy(SPOKEN_LANGUAGES, "spoken_languages", "spokenLanguages", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setSpokenLanguagesFromJson((JSONArray) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getSpokenLanguages();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).spokenLanguagesJson = ((MovieDetails) from).spokenLanguagesJson;
+                ((MovieDetails) to).spokenLanguages = ((MovieDetails) from).spokenLanguages;
+            }
+        }),
+        stringTemplate.copy(STATUS, "status", "status", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setStatus((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).status;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).status = ((MovieDetails) from).status;
+            }
+        }),
+        stringTemplate.copy(TAGLINE, "tagline", "tagline", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setTagline((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).tagline;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).tagline = ((MovieDetails) from).tagline;
+            }
+        }),
+        jsonObjectTemplate.copy(COLLECTION, "belongs_to_collection", "collection", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setCollectionFromJson((JSONObject) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getCollection();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).collectionJson = ((MovieDetails) from).collectionJson;
+                ((MovieDetails) to).collection = ((MovieDetails) from).collection;
+            }
+        }),
+        jsonObjectTemplate.copy(REVIEWS, "reviews", "reviewList", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setReviewListFromJson((JSONObject) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getReviewList();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).reviewListJson = ((MovieDetails) from).reviewListJson;
+                ((MovieDetails) to).reviewList = ((MovieDetails) from).reviewList;
+            }
+        }),
+        jsonObjectTemplate.copy(VIDEOS, "videos", "movieVideoList", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieDetails) obj).setVideoListFromJson((JSONObject) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieDetails) obj).getMovieVideoList();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieDetails) to).movieVideoListJson = ((MovieDetails) from).movieVideoListJson;
+                ((MovieDetails) to).movieVideoList = ((MovieDetails) from).movieVideoList;
+            }
+        })
+    };
+
+    private static final String[] FIELD_NAMES = makeFieldNames(MovieInfo.getFieldNamesArray(), MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(MovieInfo.getMemberIndexArray(), MEMBERS);
 
     static {
-        FIELD_NAMES = Arrays.copyOf(MovieInfo.getFieldNamesArray(), LAST_MOVIE_DETAIL_MEMBER + 1);
-        FIELD_NAMES[BUDGET] = "budget";
-        FIELD_NAMES[GENRES] = "genres";
-        FIELD_NAMES[HOMEPAGE] = "homepage";
-        FIELD_NAMES[IMDB_ID] = "imdb_id";
-        FIELD_NAMES[PRODUCTION_COMPANIES] = "production_companies";
-        FIELD_NAMES[PRODUCTION_COUNTRIES] = "production_countries";
-        FIELD_NAMES[REVENUE] = "revenue";
-        FIELD_NAMES[RUNTIME] = "runtime";
-        FIELD_NAMES[SPOKEN_LANGUAGES] = "spoken_languages";
-        FIELD_NAMES[STATUS] = "status";
-        FIELD_NAMES[TAGLINE] = "tagline";
-        FIELD_NAMES[COLLECTION] = "belongs_to_collection";
-        FIELD_NAMES[REVIEWS] = "reviews";
-        FIELD_NAMES[VIDEOS] = "videos";
-
-            // get members from super class
+        // get members from super class
         jsonMemberMap = MovieInfo.generateMemberMap(new int [] {
                 GENRE_IDS   // exclude genre ids which isn't part of this object
         });
         // add local members
-        jsonMemberMap.putAll(generateMemberMap(null));
+        jsonMemberMap.putAll(generateMemberMap(MEMBERS, null));
 
         sAllFields = makeFieldIdsArray(FIRST_MEMBER, LAST_MOVIE_DETAIL_MEMBER);
     }
 
-    /**
-     * Generate the member map representing this object
-     * @param exclude   Array of ids of members to exclude
-     */
-    protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MOVIE_DETAIL_MEMBER; i <= LAST_MOVIE_DETAIL_MEMBER; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case BUDGET:
-                        memberMap.put(key, intTemplate.copy("setBudget", "getBudget", "budget"));
-                        break;
-                    case GENRES:
-                        memberMap.put(key, jsonArrayTemplate.copy("setGenresFromJson", "getGenres", "genres"));
-                        break;
-                    case HOMEPAGE:
-                        memberMap.put(key, stringTemplate.copy("setHomepage", "getHomepage", "homepage"));
-                        break;
-                    case IMDB_ID:
-                        memberMap.put(key, stringTemplate.copy("setImdbId", "getImdbId", "imdbId"));
-                        break;
-                    case PRODUCTION_COMPANIES:
-                        memberMap.put(key, jsonArrayTemplate.copy("setProductionCompaniesFromJson", "getProductionCompanies", "productionCompanies"));
-                        break;
-                    case PRODUCTION_COUNTRIES:
-                        memberMap.put(key, jsonArrayTemplate.copy("setProductionCountriesFromJson", "getProductionCountries", "productionCountries"));
-                        break;
-                    case REVENUE:
-                        memberMap.put(key, intTemplate.copy("setRevenue", "getRevenue", "revenue"));
-                        break;
-                    case RUNTIME:
-                        memberMap.put(key, intTemplate.copy("setRuntime", "getRuntime", "runtime"));
-                        break;
-                    case SPOKEN_LANGUAGES:
-                        memberMap.put(key, jsonArrayTemplate.copy("setSpokenLanguagesFromJson", "getSpokenLanguages", "spokenLanguages"));
-                        break;
-                    case STATUS:
-                        memberMap.put(key, stringTemplate.copy("setStatus", "getStatus", "status"));
-                        break;
-                    case TAGLINE:
-                        memberMap.put(key, stringTemplate.copy("setTagline", "getTagline", "tagline"));
-                        break;
-                    case COLLECTION:
-                        memberMap.put(key, jsonObjectTemplate.copy("setCollectionFromJson", "getCollection", "collection"));
-                        break;
-                    case REVIEWS:
-                        memberMap.put(key, jsonObjectTemplate.copy("setReviewListFromJson", "getReviewList", "reviewList"));
-                        break;
-                    case VIDEOS:
-                        memberMap.put(key, jsonObjectTemplate.copy("setVideoListFromJson", "getMovieVideoList", "movieVideoList"));
-                        break;
-                }
-            }
-        }
-        return memberMap;
-    }
-
     @Override
     protected HashMap<String, MemberEntry> getMemberMap() {
         return jsonMemberMap;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -272,6 +450,15 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public Genre[] getGenres() {
+        if (genresJson != null) {
+            synchronized (this) {
+                JSONArray json = genresJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    genres = decodeGenres(json);
+                    genresJson = null;
+                }
+            }
+        }
         return genres;
     }
 
@@ -285,14 +472,23 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public String[] getGenreNames() {
-        return getIdNames(genres);
+        return getIdNames(getGenres());
     }
 
-    public void setGenres(Genre[] genres) {
+    public synchronized void setGenres(Genre[] genres) {
         this.genres = genres;
+        this.genresJson = null;
+    }
+
+    /**
+     * Set the genres from JSON; decoding is deferred until first access
+     * @param genres   JSON array
+     */
+    public synchronized void setGenresFromJson(JSONArray genres) {
+        this.genresJson = genres;
     }
 
-    public void setGenresFromJson(JSONArray genres) {
+    private static Genre[] decodeGenres(JSONArray genres) {
         int len = genres.length();
         Genre[] array = new Genre[len];
         for (int i = 0; i < len; i++) {
@@ -304,7 +500,7 @@ public class MovieDetails extends MovieInfo implements Parcelable {
                 array[i] = new Genre();
             }
         }
-        this.genres = array;
+        return array;
     }
 
     public String getHomepage() {
@@ -324,18 +520,36 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public ProdCompany[] getProductionCompanies() {
+        if (productionCompaniesJson != null) {
+            synchronized (this) {
+                JSONArray json = productionCompaniesJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    productionCompanies = decodeProductionCompanies(json);
+                    productionCompaniesJson = null;
+                }
+            }
+        }
         return productionCompanies;
     }
 
     public String[] getProductionCompaniesNames() {
-        return getIdNames(productionCompanies);
+        return getIdNames(getProductionCompanies());
     }
 
-    public void setProductionCompanies(ProdCompany[] productionCompanies) {
+    public synchronized void setProductionCompanies(ProdCompany[] productionCompanies) {
         this.productionCompanies = productionCompanies;
+        this.productionCompaniesJson = null;
+    }
+
+    /**
+     * Set the productionCompanies from JSON; decoding is deferred until first access
+     * @param productionCompanies   JSON array
+     */
+    public synchronized void setProductionCompaniesFromJson(JSONArray productionCompanies) {
+        this.productionCompaniesJson = productionCompanies;
     }
 
-    public void setProductionCompaniesFromJson(JSONArray productionCompanies) {
+    private static ProdCompany[] decodeProductionCompanies(JSONArray productionCompanies) {
         int len = productionCompanies.length();
         ProdCompany[] array = new ProdCompany[len];
         for (int i = 0; i < len; i++) {
@@ -347,22 +561,40 @@ public class MovieDetails extends MovieInfo implements Parcelable {
                 array[i] = new ProdCompany();
             }
         }
-        this.productionCompanies = array;
+        return array;
     }
 
     public ProdCountry[] getProductionCountries() {
+        if (productionCountriesJson != null) {
+            synchronized (this) {
+                JSONArray json = productionCountriesJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    productionCountries = decodeProductionCountries(json);
+                    productionCountriesJson = null;
+                }
+            }
+        }
         return productionCountries;
     }
 
     public String[] getProductionCountriesNames() {
-        return getIsoNames(productionCountries);
+        return getIsoNames(getProductionCountries());
     }
 
-    public void setProductionCountries(ProdCountry[] productionCountries) {
+    public synchronized void setProductionCountries(ProdCountry[] productionCountries) {
         this.productionCountries = productionCountries;
+        this.productionCountriesJson = null;
     }
 
-    public void setProductionCountriesFromJson(JSONArray productionCountries) {
+    /**
+     * Set the productionCountries from JSON; decoding is deferred until first access
+     * @param productionCountries   JSON array
+     */
+    public synchronized void setProductionCountriesFromJson(JSONArray productionCountries) {
+        this.productionCountriesJson = productionCountries;
+    }
+
+    private static ProdCountry[] decodeProductionCountries(JSONArray productionCountries) {
         int len = productionCountries.length();
         ProdCountry[] array = new ProdCountry[len];
         for (int i = 0; i < len; i++) {
@@ -374,7 +606,7 @@ public class MovieDetails extends MovieInfo implements Parcelable {
                 array[i] = new ProdCountry();
             }
         }
-        this.productionCountries = array;
+        return array;
     }
 
     public Integer getRevenue() {
@@ -398,6 +630,15 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public Language[] getSpokenLanguages() {
+        if (spokenLanguagesJson != null) {
+            synchronized (this) {
+                JSONArray json = spokenLanguagesJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    spokenLanguages = decodeSpokenLanguages(json);
+                    spokenLanguagesJson = null;
+                }
+            }
+        }
         return spokenLanguages;
     }
 
@@ -411,12 +652,13 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public String[] getSpokenLanguageNames() {
-        return getIsoNames(spokenLanguages);
+        return getIsoNames(getSpokenLanguages());
     }
 
     public String getOriginalLanguageName() {
         String code = getOriginalLanguage();
         String name = "";
+        Language[] spokenLanguages = getSpokenLanguages();
         for (int i = 0; i < spokenLanguages.length; i++) {
             if (code.equals(spokenLanguages[i].getIso())) {
                 name =  spokenLanguages[i].getName();
@@ -426,11 +668,20 @@ public class MovieDetails extends MovieInfo implements Parcelable {
         return name;
     }
 
-    public void setSpokenLanguages(Language[] spokenLanguages) {
+    public synchronized void setSpokenLanguages(Language[] spokenLanguages) {
         this.spokenLanguages = spokenLanguages;
+        this.spokenLanguagesJson = null;
+    }
+
+    /**
+     * Set the spokenLanguages from JSON; decoding is deferred until first access
+     * @param spokenLanguages   JSON array
+     */
+    public synchronized void setSpokenLanguagesFromJson(JSONArray spokenLanguages) {
+        this.spokenLanguagesJson = spokenLanguages;
     }
 
-    public void setSpokenLanguagesFromJson(JSONArray spokenLanguages) {
+    private static Language[] decodeSpokenLanguages(JSONArray spokenLanguages) {
         int len = spokenLanguages.length();
         Language[] array = new Language[len];
         for (int i = 0; i < len; i++) {
@@ -442,7 +693,7 @@ public class MovieDetails extends MovieInfo implements Parcelable {
                 array[i] = new Language();
             }
         }
-        this.spokenLanguages = array;
+        return array;
     }
 
     public String getStatus() {
@@ -462,39 +713,69 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     }
 
     public CollectionInfo getCollection() {
+        if (collectionJson != null) {
+            synchronized (this) {
+                JSONObject json = collectionJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    collection = CollectionInfo.getInstance(json);
+                    collectionJson = null;
+                }
+            }
+        }
         return collection;
     }
 
-    public void setCollection(CollectionInfo collection) {
+    public synchronized void setCollection(CollectionInfo collection) {
         this.collection = collection;
+        this.collectionJson = null;
     }
 
-    public void setCollectionFromJson(JSONObject collection) {
-        this.collection = CollectionInfo.getInstance(collection);
+    public synchronized void setCollectionFromJson(JSONObject collection) {
+        this.collectionJson = collection;
     }
 
     public AppendedReviewList getReviewList() {
+        if (reviewListJson != null) {
+            synchronized (this) {
+                JSONObject json = reviewListJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    reviewList = AppendedReviewList.getInstance(json);
+                    reviewListJson = null;
+                }
+            }
+        }
         return reviewList;
     }
 
-    public void setReviewList(AppendedReviewList reviewList) {
+    public synchronized void setReviewList(AppendedReviewList reviewList) {
         this.reviewList = reviewList;
+        this.reviewListJson = null;
     }
 
-    public void setReviewListFromJson(JSONObject reviewList) {
-        this.reviewList = AppendedReviewList.getInstance(reviewList);
+    public synchronized void setReviewListFromJson(JSONObject reviewList) {
+        this.reviewListJson = reviewList;
     }
 
     public MovieVideoList getMovieVideoList() {
+        if (movieVideoListJson != null) {
+            synchronized (this) {
+                JSONObject json = movieVideoListJson;   // re-read under lock, another thread may have decoded it
+                if (json != null) {
+                    movieVideoList = MovieVideoList.getInstance(json);
+                    movieVideoListJson = null;
+                }
+            }
+        }
         return movieVideoList;
     }
 
-    public void setMovieVideoList(MovieVideoList movieVideoList) {
+    public synchronized void setMovieVideoList(MovieVideoList movieVideoList) {
         this.movieVideoList = movieVideoList;
+        this.movieVideoListJson = null;
     }
 
-    public void setVideoListFromJson(JSONObject videoList) {
-        this.movieVideoList = MovieVideoList.getInstance(videoList);
+    public synchronized void setVideoListFromJson(JSONObject videoList) {
+        this.movieVideoListJson = videoList;
     }
 
     private String formatAmount(int amount) {
@@ -512,22 +793,25 @@ public class MovieDetails extends MovieInfo implements Parcelable {
         MovieDetails that = (MovieDetails) o;
 
         if (budget != null ? !budget.equals(that.budget) : that.budget != null) return false;
-        if (!Arrays.equals(genres, that.genres)) return false;
+        if (!Arrays.equals(getGenres(), that.getGenres())) return false;
         if (homepage != null ? !homepage.equals(that.homepage) : that.homepage != null)
             return false;
         if (imdbId != null ? !imdbId.equals(that.imdbId) : that.imdbId != null) return false;
-        if (!Arrays.equals(productionCompanies, that.productionCompanies)) return false;
-        if (!Arrays.equals(productionCountries, that.productionCountries)) return false;
+        if (!Arrays.equals(getProductionCompanies(), that.getProductionCompanies())) return false;
+        if (!Arrays.equals(getProductionCountries(), that.getProductionCountries())) return false;
         if (revenue != null ? !revenue.equals(that.revenue) : that.revenue != null) return false;
         if (runtime != null ? !runtime.equals(that.runtime) : that.runtime != null) return false;
-        if (!Arrays.equals(spokenLanguages, that.spokenLanguages)) return false;
+        if (!Arrays.equals(getSpokenLanguages(), that.getSpokenLanguages())) return false;
         if (status != null ? !status.equals(that.status) : that.status != null) return false;
         if (tagline != null ? !tagline.equals(that.tagline) : that.tagline != null) return false;
-        if (collection != null ? !collection.equals(that.collection) : that.collection != null)
+        CollectionInfo collection = getCollection();
+        if (collection != null ? !collection.equals(that.getCollection()) : that.getCollection() != null)
             return false;
-        if (reviewList != null ? !reviewList.equals(that.reviewList) : that.reviewList != null)
+        AppendedReviewList reviewList = getReviewList();
+        if (reviewList != null ? !reviewList.equals(that.getReviewList()) : that.getReviewList() != null)
             return false;
-        return movieVideoList != null ? movieVideoList.equals(that.movieVideoList) : that.movieVideoList == null;
+        MovieVideoList movieVideoList = getMovieVideoList();
+        return movieVideoList != null ? movieVideoList.equals(that.getMovieVideoList()) : that.getMovieVideoList() == null;
 
     }
 
@@ -535,18 +819,21 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + (budget != null ? budget.hashCode() : 0);
-        result = 31 * result + Arrays.hashCode(genres);
+        result = 31 * result + Arrays.hashCode(getGenres());
         result = 31 * result + (homepage != null ? homepage.hashCode() : 0);
         result = 31 * result + (imdbId != null ? imdbId.hashCode() : 0);
-        result = 31 * result + Arrays.hashCode(productionCompanies);
-        result = 31 * result + Arrays.hashCode(productionCountries);
+        result = 31 * result + Arrays.hashCode(getProductionCompanies());
+        result = 31 * result + Arrays.hashCode(getProductionCountries());
         result = 31 * result + (revenue != null ? revenue.hashCode() : 0);
         result = 31 * result + (runtime != null ? runtime.hashCode() : 0);
-        result = 31 * result + Arrays.hashCode(spokenLanguages);
+        result = 31 * result + Arrays.hashCode(getSpokenLanguages());
         result = 31 * result + (status != null ? status.hashCode() : 0);
         result = 31 * result + (tagline != null ? tagline.hashCode() : 0);
+        CollectionInfo collection = getCollection();
         result = 31 * result + (collection != null ? collection.hashCode() : 0);
+        AppendedReviewList reviewList = getReviewList();
         result = 31 * result + (reviewList != null ? reviewList.hashCode() : 0);
+        MovieVideoList movieVideoList = getMovieVideoList();
         result = 31 * result + (movieVideoList != null ? movieVideoList.hashCode() : 0);
         return result;
     }
@@ -565,17 +852,17 @@ public class MovieDetails extends MovieInfo implements Parcelable {
     public void writeToParcel(Parcel parcel, int flags) {
         super.writeToParcel(parcel, flags);
         parcel.writeInt(budget);
-        parcel.writeArray(genres);
+        parcel.writeArray(getGenres());
         parcel.writeString(homepage);
         parcel.writeString(imdbId);
-        parcel.writeArray(productionCompanies);
-        parcel.writeArray(productionCountries);
+        parcel.writeArray(getProductionCompanies());
+        parcel.writeArray(getProductionCountries());
         parcel.writeInt(revenue);
         parcel.writeInt(runtime);
-        parcel.writeArray(spokenLanguages);
+        parcel.writeArray(getSpokenLanguages());
         parcel.writeString(status);
         parcel.writeString(tagline);
-        parcel.writeParcelable(collection, flags);
+        parcel.writeParcelable(getCollection(), flags);
     }
 
     public static final Parcelable.Creator<MovieDetails> CREATOR
@@ -0,0 +1,506 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import ie.ianbuttimer.moviequest.tmdb.review.AppendedReviewList;
+import ie.ianbuttimer.moviequest.tmdb.review.BaseReview;
+import ie.ianbuttimer.moviequest.tmdb.video.MovieVideoList;
+import ie.ianbuttimer.moviequest.tmdb.video.Video;
+
+/**
+ * Class providing a compact binary record format for MovieDetails objects, as an alternative to storing
+ * the TMDb server JSON in the database cache.<br>
+ * A record consists of a marker byte and a format version byte, followed by the object members in a
+ * fixed order. Records with an unknown marker or version are rejected, in which case the cached
+ * details should be treated as unavailable.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecordTest
+ */
+@SuppressWarnings("unused")
+public class MovieDetailsRecord {
+
+    /** Marker byte identifying a binary record */
+    public static final byte RECORD_MARKER = (byte) 0xB1;
+    /** Current version of the record format */
+    public static final byte RECORD_VERSION = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // nullable value flags
+    private static final int NULL = 0;
+    private static final int PRESENT = 1;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+
+    /**
+     * Check if the specified data is a binary record
+     * @param data  Data to check
+     * @return  <code>true</code> if data is a binary record
+     */
+    public static boolean isRecord(byte[] data) {
+        return ((data != null) && (data.length >= 2) && (data[0] == RECORD_MARKER));
+    }
+
+    /**
+     * Encode a MovieDetails object as a binary record
+     * @param movie     Object to encode
+     * @return  binary record or <code>null</code> if unable to encode
+     */
+    public static byte[] encode(MovieDetails movie) {
+        byte[] record = null;
+        if (movie != null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(2048);
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                out.writeByte(RECORD_MARKER);
+                out.writeByte(RECORD_VERSION);
+
+                // MovieInfo members
+                writeString(out, movie.getPosterPath());
+                writeString(out, movie.getBackdropPath());
+                writeString(out, movie.getOverview());
+                out.writeInt(movie.getReleaseDateValue());
+                writeString(out, movie.getOriginalTitle());
+                writeString(out, movie.getOriginalLanguage());
+                writeString(out, movie.getTitle());
+                writeInteger(out, movie.getId());
+                writeBoolean(out, movie.isAdult());
+                writeBoolean(out, movie.isVideo());
+                writeInteger(out, movie.getVoteCount());
+                writeDouble(out, movie.getPopularity());
+                writeDouble(out, movie.getVoteAverage());
+                Integer[] genreIds = movie.getGenreIds();
+                writeLength(out, genreIds);
+                if (genreIds != null) {
+                    for (Integer genreId : genreIds) {
+                        writeInteger(out, genreId);
+                    }
+                }
+
+                // MovieDetails members
+                writeInteger(out, movie.getBudget());
+                writeIdNames(out, movie.getGenres());
+                writeString(out, movie.getHomepage());
+                writeString(out, movie.getImdbId());
+                writeIdNames(out, movie.getProductionCompanies());
+                writeIsoNames(out, movie.getProductionCountries());
+                writeInteger(out, movie.getRevenue());
+                writeInteger(out, movie.getRuntime());
+                writeIsoNames(out, movie.getSpokenLanguages());
+                writeString(out, movie.getStatus());
+                writeString(out, movie.getTagline());
+                writeCollection(out, movie.getCollection());
+                writeReviews(out, movie.getReviewList());
+                writeVideos(out, movie.getMovieVideoList());
+
+                out.flush();
+                record = bytes.toByteArray();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Decode a MovieDetails object from a binary record
+     * @param record    Binary record
+     * @return  new MovieDetails object or <code>null</code> if not a valid record
+     */
+    public static MovieDetails decode(byte[] record) {
+        MovieDetails movie = null;
+        if (isRecord(record) && (record[1] == RECORD_VERSION)) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, 2, record.length - 2));
+            try {
+                MovieDetails details = new MovieDetails();
+
+                // MovieInfo members
+                details.setPosterPath(readString(in));
+                details.setBackdropPath(readString(in));
+                details.setOverview(readString(in));
+                details.setReleaseDateValue(in.readInt());
+                details.setOriginalTitle(readString(in));
+                details.setOriginalLanguage(readString(in));
+                details.setTitle(readString(in));
+                details.setId(readInteger(in));
+                details.setAdult(readBoolean(in));
+                details.setVideo(readBoolean(in));
+                details.setVoteCount(readInteger(in));
+                details.setPopularity(readDouble(in));
+                details.setVoteAverage(readDouble(in));
+                int count = readLength(in);
+                if (count >= 0) {
+                    Integer[] genreIds = new Integer[count];
+                    for (int i = 0; i < count; i++) {
+                        genreIds[i] = readInteger(in);
+                    }
+                    details.setGenreIds(genreIds);
+                } else {
+                    details.setGenreIds((Integer[]) null);
+                }
+
+                // MovieDetails members
+                details.setBudget(readInteger(in));
+                details.setGenres(readGenres(in));
+                details.setHomepage(readString(in));
+                details.setImdbId(readString(in));
+                details.setProductionCompanies(readProdCompanies(in));
+                details.setProductionCountries(readProdCountries(in));
+                details.setRevenue(readInteger(in));
+                details.setRuntime(readInteger(in));
+                details.setSpokenLanguages(readLanguages(in));
+                details.setStatus(readString(in));
+                details.setTagline(readString(in));
+                details.setCollection(readCollection(in));
+                details.setReviewList(readReviews(in));
+                details.setMovieVideoList(readVideos(in));
+
+                movie = details;
+            } catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        return movie;
+    }
+
+    /**
+     * Write an unsigned variable length integer, 7 bits per byte
+     * @param out   Stream to write to
+     * @param value Value to write
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Read an unsigned variable length integer, 7 bits per byte
+     * @param in    Stream to read from
+     * @return  value
+     * @throws IOException if an I/O error occurs
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable length integer");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Write the length of an array, offset by one so that 0 represents <code>null</code>
+     */
+    private static void writeLength(DataOutputStream out, Object[] array) throws IOException {
+        writeVarInt(out, (array == null ? 0 : array.length + 1));
+    }
+
+    /**
+     * Read the length of an array
+     * @return  length or -1 for <code>null</code>
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        return readVarInt(in) - 1;
+    }
+
+    /**
+     * Read the length of an array, treating <code>null</code> as empty
+     */
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = readLength(in);
+        return (count < 0 ? 0 : count);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+        } else {
+            byte[] bytes = value.getBytes(UTF_8);
+            writeVarInt(out, bytes.length + 1);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        String value = null;
+        int length = readVarInt(in) - 1;
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            value = new String(bytes, UTF_8);
+        }
+        return value;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else {
+            out.writeByte(PRESENT);
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        Integer value = null;
+        if (in.readUnsignedByte() != NULL) {
+            value = in.readInt();
+        }
+        return value;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else {
+            out.writeByte(PRESENT);
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        Double value = null;
+        if (in.readUnsignedByte() != NULL) {
+            value = in.readDouble();
+        }
+        return value;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        int flag;
+        if (value == null) {
+            flag = NULL;
+        } else {
+            flag = (value ? TRUE : FALSE);
+        }
+        out.writeByte(flag);
+    }
+
+    private static Boolean readBoolean(DataInputStream in) throws IOException {
+        Boolean value;
+        switch (in.readUnsignedByte()) {
+            case NULL:
+                value = null;
+                break;
+            case TRUE:
+                value = Boolean.TRUE;
+                break;
+            default:
+                value = Boolean.FALSE;
+                break;
+        }
+        return value;
+    }
+
+    private static void writeIdNames(DataOutputStream out, IdName[] array) throws IOException {
+        writeLength(out, array);
+        if (array != null) {
+            for (IdName item : array) {
+                writeInteger(out, item.getId());
+                writeString(out, item.getName());
+            }
+        }
+    }
+
+    private static Genre[] readGenres(DataInputStream in) throws IOException {
+        Genre[] array = new Genre[readCount(in)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Genre.intern(new Genre(readInteger(in), readString(in)));
+        }
+        return array;
+    }
+
+    private static ProdCompany[] readProdCompanies(DataInputStream in) throws IOException {
+        ProdCompany[] array = new ProdCompany[readCount(in)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ProdCompany.intern(new ProdCompany(readInteger(in), readString(in)));
+        }
+        return array;
+    }
+
+    private static void writeIsoNames(DataOutputStream out, IsoName[] array) throws IOException {
+        writeLength(out, array);
+        if (array != null) {
+            for (IsoName item : array) {
+                writeString(out, item.getIso());
+                writeString(out, item.getName());
+            }
+        }
+    }
+
+    private static <T extends IsoName> T readIsoName(DataInputStream in, T item) throws IOException {
+        item.setIso(readString(in));
+        item.setName(readString(in));
+        return item;
+    }
+
+    private static ProdCountry[] readProdCountries(DataInputStream in) throws IOException {
+        ProdCountry[] array = new ProdCountry[readCount(in)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ProdCountry.intern(readIsoName(in, new ProdCountry()));
+        }
+        return array;
+    }
+
+    private static Language[] readLanguages(DataInputStream in) throws IOException {
+        Language[] array = new Language[readCount(in)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Language.intern(readIsoName(in, new Language()));
+        }
+        return array;
+    }
+
+    private static void writeCollection(DataOutputStream out, CollectionInfo collection) throws IOException {
+        if (collection == null) {
+            out.writeByte(NULL);
+        } else {
+            out.writeByte(PRESENT);
+            writeString(out, collection.getPosterPath());
+            writeString(out, collection.getBackdropPath());
+            writeString(out, collection.getName());
+            writeInteger(out, collection.getId());
+        }
+    }
+
+    private static CollectionInfo readCollection(DataInputStream in) throws IOException {
+        CollectionInfo collection = null;
+        if (in.readUnsignedByte() != NULL) {
+            collection = new CollectionInfo();
+            collection.setPosterPath(readString(in));
+            collection.setBackdropPath(readString(in));
+            collection.setName(readString(in));
+            collection.setId(readInteger(in));
+        }
+        return collection;
+    }
+
+    private static void writeListNumbers(DataOutputStream out, AbstractList<? extends TMDbObject> list) throws IOException {
+        writeVarInt(out, list.getPageNumber());
+        writeVarInt(out, list.getTotalPages());
+        writeVarInt(out, list.getTotalResults());
+    }
+
+    private static void readListNumbers(DataInputStream in, AbstractList<? extends TMDbObject> list) throws IOException {
+        list.setPageNumber(readVarInt(in));
+        list.setTotalPages(readVarInt(in));
+        list.setTotalResults(readVarInt(in));
+    }
+
+    private static void writeReviews(DataOutputStream out, AppendedReviewList list) throws IOException {
+        if (list == null) {
+            out.writeByte(NULL);
+        } else {
+            out.writeByte(PRESENT);
+            writeListNumbers(out, list);
+            BaseReview[] reviews = list.getResults();
+            writeLength(out, reviews);
+            if (reviews != null) {
+                for (BaseReview review : reviews) {
+                    writeString(out, review.getId());
+                    writeString(out, review.getAuthor());
+                    writeString(out, review.getContent());
+                    writeString(out, review.getUrl());
+                }
+            }
+        }
+    }
+
+    private static AppendedReviewList readReviews(DataInputStream in) throws IOException {
+        AppendedReviewList list = null;
+        if (in.readUnsignedByte() != NULL) {
+            list = new AppendedReviewList();
+            readListNumbers(in, list);
+            BaseReview[] reviews = new BaseReview[readCount(in)];
+            for (int i = 0; i < reviews.length; i++) {
+                BaseReview review = new BaseReview();
+                review.setId(readString(in));
+                review.setAuthor(readString(in));
+                review.setContent(readString(in));
+                review.setUrl(readString(in));
+                reviews[i] = review;
+            }
+            list.setResults(reviews);
+        }
+        return list;
+    }
+
+    private static void writeVideos(DataOutputStream out, MovieVideoList list) throws IOException {
+        if (list == null) {
+            out.writeByte(NULL);
+        } else {
+            out.writeByte(PRESENT);
+            writeInteger(out, list.getMovieId());
+            writeListNumbers(out, list);
+            Video[] videos = list.getResults();
+            writeLength(out, videos);
+            if (videos != null) {
+                for (Video video : videos) {
+                    writeString(out, video.getId());
+                    writeString(out, video.getLanguage());
+                    writeString(out, video.getCountry());
+                    writeString(out, video.getKey());
+                    writeString(out, video.getName());
+                    writeString(out, video.getSite());
+                    writeInteger(out, video.getSize());
+                    writeString(out, video.getType());
+                }
+            }
+        }
+    }
+
+    private static MovieVideoList readVideos(DataInputStream in) throws IOException {
+        MovieVideoList list = null;
+        if (in.readUnsignedByte() != NULL) {
+            list = new MovieVideoList();
+            list.setMovieId(readInteger(in));
+            readListNumbers(in, list);
+            Video[] videos = new Video[readCount(in)];
+            for (int i = 0; i < videos.length; i++) {
+                Video video = new Video();
+                video.setId(readString(in));
+                video.setLanguage(readString(in));
+                video.setCountry(readString(in));
+                video.setKey(readString(in));
+                video.setName(readString(in));
+                video.setSite(readString(in));
+                video.setSize(readInteger(in));
+                video.setType(readString(in));
+                videos[i] = video;
+            }
+            list.setResults(videos);
+        }
+        return list;
+    }
+}
@@ -25,12 +25,10 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 import static ie.ianbuttimer.moviequest.Constants.INVALID_DATE;
 import static ie.ianbuttimer.moviequest.utils.Utils.readBooleanFromParcel;
@@ -50,7 +48,7 @@ import static ie.ianbuttimer.moviequest.utils.Utils.writeIntegerArrayToParcel;
 public class MovieInfo extends TMDbObject implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    protected static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
+    protected static long placeholderFields;  // mask of default value fields for a placeholder
 
     private String posterPath;
     private String backdropPath;
@@ -62,7 +60,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
     private Boolean adult;
     private Boolean video;
     private Integer voteCount;
-    private Date releaseDate;
+    private int releaseDate;        // packed date, see TMDbDate
     private Integer[] genreIds;
     private Double popularity;
     private Double voteAverage;
@@ -86,27 +84,243 @@ public class MovieInfo extends TMDbObject implements Parcelable {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices above!!!!
-        "poster_path",
-        "backdrop_path",
-        "overview",
-        "release_date",
-        "original_title",
-        "original_language",
-        "title",
-        "id",
-        "adult",
-        "video",
-        "vote_count",
-        "popularity",
-        "vote_average",
-        "genre_ids"
+    /** Mask of all the fields of a MovieInfo object */
+    public static final long MOVIE_INFO_FIELDS = makeFieldMask(FIRST_MEMBER, LAST_MOVIE_INFO_MEMBER);
+
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        stringTemplate.copy(POSTER_PATH, "poster_path", "posterPath", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setPosterPath((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).posterPath;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).posterPath = ((MovieInfo) from).posterPath;
+            }
+        }),
+        stringTemplate.copy(BACKDROP_PATH, "backdrop_path", "backdropPath", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setBackdropPath((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).backdropPath;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).backdropPath = ((MovieInfo) from).backdropPath;
+            }
+        }),
+        stringTemplate.copy(OVERVIEW, "overview", "overview", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setOverview((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).overview;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).overview = ((MovieInfo) from).overview;
+            }
+        }),
+        stringTemplate.copy(RELEASE_DATE, "release_date", "releaseDate", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setReleaseDate((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).getReleaseDateMemberValue();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).releaseDate = ((MovieInfo) from).releaseDate;
+            }
+        }),
+        stringTemplate.copy(ORIGINAL_TITLE, "original_title", "originalTitle", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setOriginalTitle((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).originalTitle;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).originalTitle = ((MovieInfo) from).originalTitle;
+            }
+        }),
+        stringTemplate.copy(ORIGINAL_LANGUAGE, "original_language", "originalLanguage", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setOriginalLanguage((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).originalLanguage;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).originalLanguage = ((MovieInfo) from).originalLanguage;
+            }
+        }),
+        stringTemplate.copy(TITLE, "title", "title", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setTitle((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).title;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).title = ((MovieInfo) from).title;
+            }
+        }),
+        intTemplate.copy(ID, "id", "id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setId((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).id = ((MovieInfo) from).id;
+            }
+        }),
+        boolTemplate.copy(ADULT, "adult", "adult", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setAdult((Boolean) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).adult;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).adult = ((MovieInfo) from).adult;
+            }
+        }),
+        boolTemplate.copy(VIDEO, "video", "video", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setVideo((Boolean) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).video;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).video = ((MovieInfo) from).video;
+            }
+        }),
+        intTemplate.copy(VOTE_COUNT, "vote_count", "voteCount", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setVoteCount((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).voteCount;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).voteCount = ((MovieInfo) from).voteCount;
+            }
+        }),
+        dblTemplate.copy(POPULARITY, "popularity", "popularity", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setPopularity((Double) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).popularity;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).popularity = ((MovieInfo) from).popularity;
+            }
+        }),
+        dblTemplate.copy(VOTE_AVERAGE, "vote_average", "voteAverage", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setVoteAverage((Double) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).voteAverage;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).voteAverage = ((MovieInfo) from).voteAverage;
+            }
+        }),
+        jsonArrayTemplate.copy(GENRE_IDS, "genre_ids", "genreIds", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfo) obj).setGenreIdsFromJson((JSONArray) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfo) obj).getGenreIdsMemberValue();
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfo) to).genreIds = ((MovieInfo) from).genreIds;
+            }
+        })
     };
 
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
+
     static {
         jsonMemberMap = generateMemberMap(null);
-        placeholderMemberMap = generateMemberMap(new int[] {
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
             TITLE, ID
         });
 
@@ -119,59 +333,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
      * @return member map
      */
     protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_MOVIE_INFO_MEMBER; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case POSTER_PATH:
-                        memberMap.put(key, stringTemplate.copy("setPosterPath", "getPosterPath", "posterPath"));
-                        break;
-                    case BACKDROP_PATH:
-                        memberMap.put(key, stringTemplate.copy("setBackdropPath", "getBackdropPath", "backdropPath"));
-                        break;
-                    case OVERVIEW:
-                        memberMap.put(key, stringTemplate.copy("setOverview", "getOverview", "overview"));
-                        break;
-                    case RELEASE_DATE:
-                        memberMap.put(key, stringTemplate.copy("setReleaseDate", "getReleaseDateMemberValue", "releaseDate"));
-                        break;
-                    case ORIGINAL_TITLE:
-                        memberMap.put(key, stringTemplate.copy("setOriginalTitle", "getOriginalTitle", "originalTitle"));
-                        break;
-                    case ORIGINAL_LANGUAGE:
-                        memberMap.put(key, stringTemplate.copy("setOriginalLanguage", "getOriginalLanguage", "originalLanguage"));
-                        break;
-                    case TITLE:
-                        memberMap.put(key, stringTemplate.copy("setTitle", "getTitle", "title"));
-                        break;
-                    case ID:
-                        memberMap.put(key, intTemplate.copy("setId", "getId", "id"));
-                        break;
-                    case ADULT:
-                        memberMap.put(key, boolTemplate.copy("setAdult", "isAdult", "adult"));
-                        break;
-                    case VIDEO:
-                        memberMap.put(key, boolTemplate.copy("setVideo", "isVideo", "video"));
-                        break;
-                    case VOTE_COUNT:
-                        memberMap.put(key, intTemplate.copy("setVoteCount", "getVoteCount", "voteCount"));
-                        break;
-                    case POPULARITY:
-                        memberMap.put(key, dblTemplate.copy("setPopularity", "getPopularity", "popularity"));
-                        break;
-                    case VOTE_AVERAGE:
-                        memberMap.put(key, dblTemplate.copy("setVoteAverage", "getVoteAverage", "voteAverage"));
-                        break;
-                    case GENRE_IDS:
-                        memberMap.put(key, jsonArrayTemplate.copy("setGenreIdsFromJson", "getGenreIdsMemberValue", "genreIds"));
-                        break;
-                }
-            }
-        }
-        return memberMap;
+        return generateMemberMap(MEMBERS, exclude);
     }
 
     @Override
@@ -183,6 +345,11 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -192,6 +359,10 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         return FIELD_NAMES;
     }
 
+    static MemberEntry[] getMemberIndexArray() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     public int[] getFieldIds() {
         return sAllFields;
@@ -210,7 +381,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         backdropPath = "";
         adult = false;
         overview = "";
-        releaseDate = INVALID_DATE;
+        releaseDate = TMDbDate.INVALID;
         genreIds = new Integer[] {};
         id = 0;
         originalTitle = "";
@@ -290,6 +461,16 @@ public class MovieInfo extends TMDbObject implements Parcelable {
     }
 
     public Date getReleaseDate() {
+        Date date = TMDbDate.toDate(releaseDate);
+        return (date == null ? INVALID_DATE : date);
+    }
+
+    /**
+     * Return the release date as a packed date
+     * @return  Packed date
+     * @see TMDbDate
+     */
+    public int getReleaseDateValue() {
         return releaseDate;
     }
 
@@ -299,24 +480,35 @@ public class MovieInfo extends TMDbObject implements Parcelable {
      */
     public String getReleaseDateMemberValue() {
         String date;
-        if (INVALID_DATE.equals(releaseDate)) {
-            date = (String)jsonMemberMap.get(FIELD_NAMES[RELEASE_DATE]).dfltValue;
+        if (TMDbDate.isValid(releaseDate)) {
+            date = TMDbDate.format(releaseDate);
         } else {
-            date = dateFormat.format(releaseDate);
+            date = (String)jsonMemberMap.get(FIELD_NAMES[RELEASE_DATE]).dfltValue;
         }
         return date;
     }
 
-    public void setReleaseDate(String releaseDate) {
-        try {
-            this.releaseDate = dateFormat.parse(releaseDate);
-        }
-        catch (ParseException e) {
-            e.printStackTrace();
-            this.releaseDate = INVALID_DATE;
+    public void setReleaseDate(Date releaseDate) {
+        if (INVALID_DATE.equals(releaseDate)) {
+            this.releaseDate = TMDbDate.INVALID;
+        } else {
+            this.releaseDate = TMDbDate.fromDate(releaseDate);
         }
     }
 
+    public void setReleaseDate(String releaseDate) {
+        this.releaseDate = TMDbDate.parse(releaseDate);
+    }
+
+    /**
+     * Set the release date from a packed date
+     * @param releaseDate   Packed date
+     * @see TMDbDate
+     */
+    public void setReleaseDateValue(int releaseDate) {
+        this.releaseDate = releaseDate;
+    }
+
     public Integer[] getGenreIds() {
         return genreIds;
     }
@@ -446,7 +638,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     /**
@@ -457,13 +649,13 @@ public class MovieInfo extends TMDbObject implements Parcelable {
      * @return <code>true</code> if all fields were copied, <code>false</code> otherwise
      */
     public static boolean copy(MovieInfo from, MovieInfo to, int[] fields) {
-        HashMap<String, MemberEntry> memberMap;
+        boolean result;
         if (fields == null) {
-            memberMap = jsonMemberMap;
+            result = copy(jsonMemberMap, from, to);
         } else {
-            memberMap = from.makeMemberMap(fields);
+            result = copy(from, to, makeFieldMask(fields));
         }
-        return copy(memberMap, from, to);
+        return result;
     }
 
     @Override
@@ -489,7 +681,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         if (video != null ? !video.equals(movieInfo.video) : movieInfo.video != null) return false;
         if (voteCount != null ? !voteCount.equals(movieInfo.voteCount) : movieInfo.voteCount != null)
             return false;
-        if (releaseDate != null ? !releaseDate.equals(movieInfo.releaseDate) : movieInfo.releaseDate != null)
+        if (releaseDate != movieInfo.releaseDate)
             return false;
         if (!Arrays.equals(genreIds, movieInfo.genreIds)) return false;
         if (popularity != null ? !popularity.equals(movieInfo.popularity) : movieInfo.popularity != null)
@@ -509,7 +701,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         result = 31 * result + (adult != null ? adult.hashCode() : 0);
         result = 31 * result + (video != null ? video.hashCode() : 0);
         result = 31 * result + (voteCount != null ? voteCount.hashCode() : 0);
-        result = 31 * result + (releaseDate != null ? releaseDate.hashCode() : 0);
+        result = 31 * result + releaseDate;
         result = 31 * result + Arrays.hashCode(genreIds);
         result = 31 * result + (popularity != null ? popularity.hashCode() : 0);
         result = 31 * result + (voteAverage != null ? voteAverage.hashCode() : 0);
@@ -533,7 +725,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         writeBooleanToParcel(parcel, adult);
         writeBooleanToParcel(parcel, video);
         parcel.writeInt(voteCount);
-        parcel.writeSerializable(releaseDate);
+        parcel.writeInt(releaseDate);
         parcel.writeDouble(popularity);
         parcel.writeDouble(voteAverage);
         writeIntegerArrayToParcel(parcel, genreIds);
@@ -566,7 +758,7 @@ public class MovieInfo extends TMDbObject implements Parcelable {
         obj.adult = readBooleanFromParcel(in);
         obj.video = readBooleanFromParcel(in);
         obj.voteCount = in.readInt();
-        obj.releaseDate = (Date) in.readSerializable();
+        obj.releaseDate = in.readInt();
         obj.popularity = in.readDouble();
         obj.voteAverage = in.readDouble();
         obj.genreIds = readIntegerArrayFromParcel(in);
@@ -19,10 +19,13 @@ package ie.ianbuttimer.moviequest.tmdb;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.net.Uri;
+import android.text.TextUtils;
+
+import com.google.gson.stream.JsonReader;
 
 import org.json.JSONObject;
 
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 
@@ -64,28 +67,131 @@ public class MovieInfoModel extends MovieInfo implements Parcelable {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES;  // NOTE order must follow the order of the indices in super class & above!!!!
+    /** Table of members, the single definition of the field names, field ids, properties & accessors of this object.
+        NOTE these fields are not returned from TMDb */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        intTemplate.copy(INDEX, "nonTMDb_index", "index", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setIndex((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).index;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).index = ((MovieInfoModel) from).index;
+            }
+        }),
+        stringTemplate.copy(POSTER_URI, "nonTMDb_posterUri", "posterUri", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setPosterUri(toUri(value));
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).posterUri;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).posterUri = ((MovieInfoModel) from).posterUri;
+            }
+        }),
+        stringTemplate.copy(BACKDROP_URI, "nonTMDb_backdropUri", "backdropUri", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setBackdropUri(toUri(value));
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).backdropUri;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).backdropUri = ((MovieInfoModel) from).backdropUri;
+            }
+        }),
+        stringTemplate.copy(THUMBNAIL_URI, "nonTMDb_thumbnailUri", "thumbnailUri", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setThumbnailUri(toUri(value));
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).thumbnailUri;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).thumbnailUri = ((MovieInfoModel) from).thumbnailUri;
+            }
+        }),
+        stringTemplate.copy(DETAILS, "nonTMDb_Details", "details", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setDetails((MovieDetails) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).details;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).details = ((MovieInfoModel) from).details;
+            }
+        }),
+        stringTemplate.copy(CACHE_DATE, "nonTMDb_cacheDate", "cacheDate", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setCacheDate((Date) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).cacheDate;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).cacheDate = ((MovieInfoModel) from).cacheDate;
+            }
+        }),
+        boolTemplate.copy(FAVOURITE, "nonTMDb_favourite", "favourite", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((MovieInfoModel) obj).setFavourite((Boolean) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((MovieInfoModel) obj).favourite;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((MovieInfoModel) to).favourite = ((MovieInfoModel) from).favourite;
+            }
+        })
+    };
+
+    private static final String[] FIELD_NAMES = makeFieldNames(MovieInfo.getFieldNamesArray(), MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(MovieInfo.getMemberIndexArray(), MEMBERS);
 
     static {
-        FIELD_NAMES = Arrays.copyOf(MovieInfo.getFieldNamesArray(), LAST_MOVIE_MODEL_MEMBER + 1);
-        FIELD_NAMES[INDEX] = "nonTMDb_index";    // field not returned from TMDb
-        FIELD_NAMES[POSTER_URI] = "nonTMDb_posterUri"; // field not returned from TMDb
-        FIELD_NAMES[BACKDROP_URI] = "nonTMDb_backdropUri"; // field not returned from TMDb
-        FIELD_NAMES[THUMBNAIL_URI] = "nonTMDb_thumbnailUri";	// field not returned from TMDb
-        FIELD_NAMES[DETAILS] = "nonTMDb_Details";	// field not returned from TMDb
-        FIELD_NAMES[CACHE_DATE] = "nonTMDb_cacheDate";	// field not returned from TMDb
-        FIELD_NAMES[FAVOURITE] = "nonTMDb_favourite";	// field not returned from TMDb
-
         // get members from super class
         jsonMemberMap = MovieInfo.generateMemberMap(null);
         // append this object's
-        jsonMemberMap.put(FIELD_NAMES[INDEX], intTemplate.copy("setIndex", "getIndex", "index"));
-        jsonMemberMap.put(FIELD_NAMES[POSTER_URI], stringTemplate.copy("setPosterUri", "getPosterUri", "posterUri"));
-        jsonMemberMap.put(FIELD_NAMES[BACKDROP_URI], stringTemplate.copy("setBackdropUri", "getBackdropUri", "backdropUri"));
-        jsonMemberMap.put(FIELD_NAMES[THUMBNAIL_URI], stringTemplate.copy("setThumbnailUri", "getThumbnailUri", "thumbnailUri"));
-        jsonMemberMap.put(FIELD_NAMES[DETAILS], stringTemplate.copy("setDetails", "getDetails", "details"));
-        jsonMemberMap.put(FIELD_NAMES[CACHE_DATE], stringTemplate.copy("setCacheDate", "getCacheDate", "cacheDate"));
-        jsonMemberMap.put(FIELD_NAMES[FAVOURITE], boolTemplate.copy("setFavourite", "isFavourite", "favourite"));
+        jsonMemberMap.putAll(generateMemberMap(MEMBERS, null));
 
         sAllFields = makeFieldIdsArray(FIRST_MEMBER, LAST_MOVIE_MODEL_MEMBER);
     }
@@ -95,6 +201,11 @@ public class MovieInfoModel extends MovieInfo implements Parcelable {
         return jsonMemberMap;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -157,11 +268,36 @@ public class MovieInfoModel extends MovieInfo implements Parcelable {
         return getInstance(jsonMemberMap, jsonData, movieModel);
     }
 
+    /**
+     * Create a MovieInfoModel object from a JSON stream
+     * @param reader    JSON reader positioned at the start of the object
+     * @return  new MovieInfoModel object
+     * @throws IOException if the stream cannot be read
+     */
+    public static MovieInfoModel getInstance(JsonReader reader) throws IOException {
+        return getInstance(jsonMemberMap, reader, new MovieInfoModel());
+    }
+
     @Override
     public <T extends TMDbObject> void copy(T from, int[] fields) {
         copy(from, this, fields);
     }
 
+    /**
+     * Convert a member value to a Uri
+     * @param value     Uri or string representation of a Uri
+     * @return  Uri or <code>null</code> if not available
+     */
+    private static Uri toUri(Object value) {
+        Uri uri = null;
+        if (value instanceof Uri) {
+            uri = (Uri) value;
+        } else if ((value instanceof String) && !TextUtils.isEmpty((String) value)) {
+            uri = Uri.parse((String) value);
+        }
+        return uri;
+    }
+
     public int getIndex() {
         return index;
     }
@@ -220,7 +356,7 @@ public class MovieInfoModel extends MovieInfo implements Parcelable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
@@ -21,8 +21,13 @@ import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Reader;
+
 /**
  * Class representing a TMDb server response to a movie list request
  * This is the information returned from the /movie/popular & /movie/top_rated API endpoint.
@@ -39,9 +44,18 @@ public class MovieList extends AbstractList<MovieInfoModel> implements Parcelabl
 
     @Override
     protected void setResult(int index, JSONObject json) {
-        MovieInfoModel result = MovieInfoModel.getInstance(json);
+        setResult(index, MovieInfoModel.getInstance(json));
+    }
+
+    @Override
+    protected void setResult(int index, MovieInfoModel result) {
         result.setIndex(getRangeStart() + index);
-        setResult(index, result);
+        super.setResult(index, result);
+    }
+
+    @Override
+    protected MovieInfoModel readResult(JsonReader reader) throws IOException {
+        return MovieInfoModel.getInstance(reader);
     }
 
     /**
@@ -53,6 +67,15 @@ public class MovieList extends AbstractList<MovieInfoModel> implements Parcelabl
         return (MovieList) getListFromJsonString(new MovieList(), jsonString);
     }
 
+    /**
+     * Create a AbstractList object from a JSON character stream
+     * @param reader  The JSON stream to read
+     * @return  A AbstractList object
+     */
+    public static MovieList getListFromReader(Reader reader) {
+        return (MovieList) getListFromReader(new MovieList(), reader);
+    }
+
     @Override
     protected void readExtraFields(JSONObject json) {
         // noop
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the movie models currently displayed, keyed by movie id.<br>
+ * This allows the instance state of a movie list to be saved as just the movie ids, and the list rebuilt
+ * from the cache on restore, rather than parcelling every model. The cache holds the most recently used
+ * models up to its capacity; if the process is killed the cache is empty and the list must be requested again.
+ * Lists larger than the capacity can't be saved as ids.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.tmdb.MovieModelCacheTest
+ */
+@SuppressWarnings("unused")
+public class MovieModelCache {
+
+    /** Default maximum number of models in the cache */
+    public static final int DEFAULT_CAPACITY = 10 * AbstractList.RESULTS_PER_LIST;
+
+    private static final MovieModelCache sInstance = new MovieModelCache(DEFAULT_CAPACITY);
+
+    private final LinkedHashMap<Integer, MovieInfoModel> cache;
+    private final int capacity;
+
+    /**
+     * Constructor
+     * @param capacity  Maximum number of models in the cache; once reached, the least recently used are removed
+     */
+    public MovieModelCache(final int capacity) {
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<Integer, MovieInfoModel>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MovieInfoModel> eldest) {
+                return (size() > capacity);
+            }
+        };
+    }
+
+    /**
+     * Get the process-wide cache
+     * @return  cache
+     */
+    public static MovieModelCache getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Add a model to the cache
+     * @param model     Model to add
+     */
+    public synchronized void put(MovieInfoModel model) {
+        if ((model != null) && (model.getId() != null)) {
+            cache.put(model.getId(), model);
+        }
+    }
+
+    /**
+     * Add models to the cache
+     * @param models    Models to add
+     */
+    public synchronized void putAll(List<MovieInfoModel> models) {
+        if (models != null) {
+            for (MovieInfoModel model : models) {
+                put(model);
+            }
+        }
+    }
+
+    /**
+     * Get a model from the cache
+     * @param id    Id of movie
+     * @return  model or <code>null</code> if not in cache
+     */
+    public synchronized MovieInfoModel get(int id) {
+        return cache.get(id);
+    }
+
+    /**
+     * Add models to the cache and get their ids
+     * @param models    Models to add
+     * @return  array of movie ids in the same order as <code>models</code>, or <code>null</code> if there are
+     *          more models than the cache can hold, as they could not all be restored
+     */
+    public synchronized int[] putAndGetIds(List<MovieInfoModel> models) {
+        int[] ids;
+        if ((models != null) && (models.size() > capacity)) {
+            ids = null;
+        } else if (models != null) {
+            ids = new int[models.size()];
+            for (int i = 0; i < ids.length; i++) {
+                MovieInfoModel model = models.get(i);
+                put(model);
+                ids[i] = (model.getId() != null ? model.getId() : 0);   // 0 is never cached, so restore will fail
+            }
+        } else {
+            ids = new int[0];
+        }
+        return ids;
+    }
+
+    /**
+     * Get the models for a list of movie ids
+     * @param ids   Ids of movies
+     * @return  list of models in the same order as <code>ids</code>, or <code>null</code> if any are not in the cache
+     */
+    public synchronized ArrayList<MovieInfoModel> getAll(int[] ids) {
+        ArrayList<MovieInfoModel> models = null;
+        if (ids != null) {
+            models = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                MovieInfoModel model = cache.get(id);
+                if (model == null) {
+                    models = null;
+                    break;
+                }
+                models.add(model);
+            }
+        }
+        return models;
+    }
+
+    /**
+     * Get the number of models in the cache
+     * @return  number of models
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get the maximum number of models in the cache
+     * @return  capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Remove all models from the cache
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+}
@@ -29,6 +29,8 @@ public class ProdCompany extends IdName implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
 
+    private static final InternRegistry<ProdCompany> sRegistry = new InternRegistry<>();  // shared instances
+
     static {
         jsonMemberMap = generateMemberMap(null);
     }
@@ -60,10 +62,20 @@ public class ProdCompany extends IdName implements Parcelable {
     /**
      * Create an ProdCompany object from JSON data
      * @param jsonData  JSON data object
-     * @return  new ProdCompany object or null if no data
+     * @return  shared ProdCompany object or null if no data
      */
     public static ProdCompany getInstance(JSONObject jsonData) {
-        return TMDbObject.getInstance(jsonMemberMap, jsonData, new ProdCompany());
+        return intern(TMDbObject.getInstance(jsonMemberMap, jsonData, new ProdCompany()));
+    }
+
+    /**
+     * Get the shared instance of a production company
+     * @param company    Object to intern
+     * @return  shared instance, or <code>company</code> if there isn't one
+     * @see InternRegistry
+     */
+    public static ProdCompany intern(ProdCompany company) {
+        return (company == null ? null : sRegistry.intern(company.getId(), company));
     }
 
     // just provide the creator and parcel constructor as other parcelable methods are in super class
@@ -71,7 +83,7 @@ public class ProdCompany extends IdName implements Parcelable {
     public static final Parcelable.Creator<ProdCompany> CREATOR
             = new Parcelable.Creator<ProdCompany>() {
         public ProdCompany createFromParcel(Parcel in) {
-            return new ProdCompany(in);
+            return intern(new ProdCompany(in));
         }
 
         public ProdCompany[] newArray(int size) {
@@ -31,17 +31,19 @@ import java.util.HashMap;
 public class ProdCountry extends IsoName implements Parcelable {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices in super class
-        "iso_3166_1",
-        "name"
-    };
+    private static final InternRegistry<ProdCountry> sRegistry = new InternRegistry<>();  // shared instances
+    private static long placeholderFields;  // mask of default value fields for a placeholder
+
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = makeMembers("iso_3166_1");
+
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
 
     static {
-        jsonMemberMap = generateMemberMap(FIELD_NAMES, null);
-        placeholderMemberMap = generateMemberMap(FIELD_NAMES, new int[] {
+        jsonMemberMap = generateMemberMap(MEMBERS, null);
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
                 ISO
         });
     }
@@ -51,6 +53,11 @@ public class ProdCountry extends IsoName implements Parcelable {
         return jsonMemberMap;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -77,7 +84,7 @@ public class ProdCountry extends IsoName implements Parcelable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
@@ -88,10 +95,20 @@ public class ProdCountry extends IsoName implements Parcelable {
     /**
      * Create an ProdCountry object from JSON data
      * @param jsonData  JSON data object
-     * @return  new ProdCountry object or null if no data
+     * @return  shared ProdCountry object or null if no data
      */
     public static ProdCountry getInstance(JSONObject jsonData) {
-        return TMDbObject.getInstance(jsonMemberMap, jsonData, new ProdCountry());
+        return intern(TMDbObject.getInstance(jsonMemberMap, jsonData, new ProdCountry()));
+    }
+
+    /**
+     * Get the shared instance of a production country
+     * @param country    Object to intern
+     * @return  shared instance, or <code>country</code> if there isn't one
+     * @see InternRegistry
+     */
+    public static ProdCountry intern(ProdCountry country) {
+        return (country == null ? null : sRegistry.intern(country.getIso(), country));
     }
 
     // just provide the creator and parcel constructor as other parcelable ,ethods are in super class
@@ -99,7 +116,7 @@ public class ProdCountry extends IsoName implements Parcelable {
     public static final Parcelable.Creator<ProdCountry> CREATOR
             = new Parcelable.Creator<ProdCountry>() {
         public ProdCountry createFromParcel(Parcel in) {
-            return new ProdCountry(in);
+            return intern(new ProdCountry(in));
         }
 
         public ProdCountry[] newArray(int size) {
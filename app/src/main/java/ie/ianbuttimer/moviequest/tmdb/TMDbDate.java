@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Thread-safe codec for dates in the 'yyyy-MM-dd' format used by the TMDb server.<br>
+ * Dates are represented as a packed int of the form yyyymmdd, e.g. 20150617, which preserves date
+ * ordering and is cheap to store & compare. Parsing does not allocate; conversions to and from
+ * {@link Date} use the default time zone, in the same way as SimpleDateFormat.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.tmdb.TMDbDateTest
+ */
+@SuppressWarnings("unused")
+public final class TMDbDate {
+
+    /** Packed value representing an invalid or unknown date */
+    public static final int INVALID = 0;
+
+    /** Length of a date string in TMDb format */
+    public static final int LENGTH = 10;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int[] DAYS_IN_MONTH = new int[] {
+            31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31
+    };
+
+    /**
+     * Private constructor as only static methods
+     */
+    private TMDbDate() {
+    }
+
+    /**
+     * Pack a date
+     * @param year  Year
+     * @param month Month, 1-12
+     * @param day   Day of month, 1-31
+     * @return  packed date, or {@link #INVALID} if not a valid date
+     */
+    public static int pack(int year, int month, int day) {
+        int packed = INVALID;
+        if ((year >= 1) && (year <= 9999) && (month >= 1) && (month <= 12) &&
+                (day >= 1) && (day <= daysInMonth(year, month))) {
+            packed = (year * 10000) + (month * 100) + day;
+        }
+        return packed;
+    }
+
+    public static int getYear(int packed) {
+        return packed / 10000;
+    }
+
+    public static int getMonth(int packed) {
+        return (packed / 100) % 100;
+    }
+
+    public static int getDay(int packed) {
+        return packed % 100;
+    }
+
+    /**
+     * Check if a packed date is valid
+     * @param packed    Packed date
+     * @return  <code>true</code> if valid
+     */
+    public static boolean isValid(int packed) {
+        return (packed != INVALID) && (pack(getYear(packed), getMonth(packed), getDay(packed)) == packed);
+    }
+
+    private static boolean isLeapYear(int year) {
+        return ((year % 4) == 0) && (((year % 100) != 0) || ((year % 400) == 0));
+    }
+
+    private static int daysInMonth(int year, int month) {
+        int days = DAYS_IN_MONTH[month - 1];
+        if ((month == 2) && isLeapYear(year)) {
+            ++days;
+        }
+        return days;
+    }
+
+    /**
+     * Parse a date in TMDb format
+     * @param text  Text to parse
+     * @return  packed date, or {@link #INVALID} if not a valid date
+     */
+    public static int parse(CharSequence text) {
+        int packed = INVALID;
+        if ((text != null) && (text.length() == LENGTH) && (text.charAt(4) == '-') && (text.charAt(7) == '-')) {
+            int year = parseDigits(text, 0, 4);
+            int month = parseDigits(text, 5, 2);
+            int day = parseDigits(text, 8, 2);
+            if ((year >= 0) && (month >= 0) && (day >= 0)) {
+                packed = pack(year, month, day);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Parse a sequence of decimal digits
+     * @param text      Text to parse
+     * @param start     Index of first digit
+     * @param count     Number of digits
+     * @return  value, or -1 if a character is not a digit
+     */
+    private static int parseDigits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char ch = text.charAt(i);
+            if ((ch < '0') || (ch > '9')) {
+                value = -1;
+                break;
+            }
+            value = (value * 10) + (ch - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Format a packed date in TMDb format
+     * @param packed    Packed date
+     * @return  date string, or an empty string if not a valid date
+     */
+    public static String format(int packed) {
+        String text = "";
+        if (isValid(packed)) {
+            char[] chars = new char[LENGTH];
+            formatDigits(chars, 0, 4, getYear(packed));
+            chars[4] = '-';
+            formatDigits(chars, 5, 2, getMonth(packed));
+            chars[7] = '-';
+            formatDigits(chars, 8, 2, getDay(packed));
+            text = new String(chars);
+        }
+        return text;
+    }
+
+    private static void formatDigits(char[] chars, int start, int count, int value) {
+        for (int i = start + count - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+    }
+
+    /**
+     * Convert a packed date to the number of days since 1970-01-01
+     * @param packed    Packed date
+     * @return  epoch day
+     */
+    public static long toEpochDay(int packed) {
+        // days from civil algorithm, see http://howardhinnant.github.io/date_algorithms.html
+        long year = getYear(packed);
+        int month = getMonth(packed);
+        int day = getDay(packed);
+        if (month <= 2) {
+            --year;
+        }
+        long era = (year >= 0 ? year : year - 399) / 400;
+        long yearOfEra = year - (era * 400);                                                  // [0, 399]
+        long dayOfYear = ((153 * (month > 2 ? month - 3 : month + 9)) + 2) / 5 + day - 1;     // [0, 365]
+        long dayOfEra = (yearOfEra * 365) + (yearOfEra / 4) - (yearOfEra / 100) + dayOfYear;  // [0, 146096]
+        return (era * 146097) + dayOfEra - 719468;
+    }
+
+    /**
+     * Convert a number of days since 1970-01-01 to a packed date
+     * @param epochDay  Epoch day
+     * @return  packed date, or {@link #INVALID} if out of range
+     */
+    public static int fromEpochDay(long epochDay) {
+        // civil from days algorithm, see http://howardhinnant.github.io/date_algorithms.html
+        long days = epochDay + 719468;
+        long era = (days >= 0 ? days : days - 146096) / 146097;
+        long dayOfEra = days - (era * 146097);                                                     // [0, 146096]
+        long yearOfEra = (dayOfEra - (dayOfEra / 1460) + (dayOfEra / 36524) - (dayOfEra / 146096)) / 365;  // [0, 399]
+        long dayOfYear = dayOfEra - ((365 * yearOfEra) + (yearOfEra / 4) - (yearOfEra / 100));     // [0, 365]
+        long mp = ((5 * dayOfYear) + 2) / 153;                                                     // [0, 11]
+        int day = (int) (dayOfYear - (((153 * mp) + 2) / 5) + 1);                                 // [1, 31]
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);                                             // [1, 12]
+        long year = yearOfEra + (era * 400) + (month <= 2 ? 1 : 0);
+        return ((year >= 1) && (year <= 9999) ? pack((int) year, month, day) : INVALID);
+    }
+
+    /**
+     * Convert a packed date to a Date at midnight in the default time zone
+     * @param packed    Packed date
+     * @return  date, or <code>null</code> if not a valid date
+     */
+    public static Date toDate(int packed) {
+        Date date = null;
+        if (isValid(packed)) {
+            TimeZone zone = TimeZone.getDefault();
+            long utc = toEpochDay(packed) * MILLIS_PER_DAY;
+            // use the offset applicable at local midnight
+            int offset = zone.getOffset(utc - zone.getRawOffset());
+            date = new Date(utc - offset);
+        }
+        return date;
+    }
+
+    /**
+     * Convert a Date to a packed date, using the default time zone
+     * @param date  Date to convert
+     * @return  packed date, or {@link #INVALID} if <code>date</code> is <code>null</code>
+     */
+    public static int fromDate(Date date) {
+        int packed = INVALID;
+        if (date != null) {
+            long millis = date.getTime();
+            long local = millis + TimeZone.getDefault().getOffset(millis);
+            long epochDay = local / MILLIS_PER_DAY;
+            if ((local % MILLIS_PER_DAY) < 0) {
+                --epochDay;     // round towards negative infinity
+            }
+            packed = fromEpochDay(epochDay);
+        }
+        return packed;
+    }
+}
@@ -19,29 +19,26 @@ package ie.ianbuttimer.moviequest.tmdb;
 import android.os.Parcelable;
 import android.text.TextUtils;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Method;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Locale;
+import java.util.Map;
 
 import ie.ianbuttimer.moviequest.data.IEmpty;
+import ie.ianbuttimer.moviequest.utils.Utils;
 
 /**
  * Base class for TMDb-related objects
  */
 public abstract class TMDbObject implements Parcelable, IEmpty {
 
-    private static Class[] stringParameterTypes;      // single string parameter
-    private static Class[] intParameterTypes;         // single integer parameter
-    private static Class[] boolParameterTypes;        // single boolean parameter
-    private static Class[] dblParameterTypes;         // single double parameter
-    private static Class[] jsonObjectParameterTypes;  // single json object parameter
-    private static Class[] jsonArrayParameterTypes;   // single json array parameter
-
     protected static MemberEntry stringTemplate;    // string from json
     protected static MemberEntry intTemplate;       // int from json
     protected static MemberEntry boolTemplate;      // boolean from json
@@ -49,25 +46,22 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
     protected static MemberEntry jsonObjectTemplate;// object from json
     protected static MemberEntry jsonArrayTemplate; // array from json
 
-    static SimpleDateFormat dateFormat;   // date format used by TMDb server
+    /* types of value to extract from json */
+    static final int JSON_STRING = 0;
+    static final int JSON_INT = 1;
+    static final int JSON_BOOLEAN = 2;
+    static final int JSON_DOUBLE = 3;
+    static final int JSON_OBJECT = 4;
+    static final int JSON_ARRAY = 5;
 
     static {
-        dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
-
-        stringParameterTypes = new Class[] { String.class };
-        intParameterTypes = new Class[] { Integer.class };
-        boolParameterTypes = new Class[] { Boolean.class };
-        dblParameterTypes = new Class[] { Double.class };
-        jsonObjectParameterTypes = new Class[] { JSONObject.class };
-        jsonArrayParameterTypes = new Class[] { JSONArray.class };
-
-        /* setup map to support creating object from json using reflection */
-        stringTemplate = new MemberEntry("", "", "", "getString", stringParameterTypes, "");
-        intTemplate = new MemberEntry("", "", "", "getInt", intParameterTypes, 0);
-        boolTemplate = new MemberEntry("", "", "", "getBoolean", boolParameterTypes, false);
-        dblTemplate = new MemberEntry("", "", "", "getDouble", dblParameterTypes, 0.0d);
-        jsonObjectTemplate = new MemberEntry("", "", "", "getJSONObject", jsonObjectParameterTypes, null);
-        jsonArrayTemplate = new MemberEntry("", "", "", "getJSONArray", jsonArrayParameterTypes, null);
+        /* setup templates for the member tables */
+        stringTemplate = new MemberEntry(-1, "", "", JSON_STRING, "", null);
+        intTemplate = new MemberEntry(-1, "", "", JSON_INT, 0, null);
+        boolTemplate = new MemberEntry(-1, "", "", JSON_BOOLEAN, false, null);
+        dblTemplate = new MemberEntry(-1, "", "", JSON_DOUBLE, 0.0d, null);
+        jsonObjectTemplate = new MemberEntry(-1, "", "", JSON_OBJECT, null, null);
+        jsonArrayTemplate = new MemberEntry(-1, "", "", JSON_ARRAY, null, null);
     }
 
 
@@ -85,6 +79,126 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
         return allFields;
     }
 
+    /**
+     * Make a field names array, indexed by field id
+     * @param base      Field names array of the super class, or <code>null</code> if none
+     * @param members   Member table of the class
+     * @return  field names array
+     */
+    protected static String[] makeFieldNames(String[] base, MemberEntry[] members) {
+        int length = (base == null ? 0 : base.length);
+        for (MemberEntry member : members) {
+            if (member.field >= length) {
+                length = member.field + 1;
+            }
+        }
+        String[] fieldNames;
+        if (base == null) {
+            fieldNames = new String[length];
+        } else {
+            fieldNames = Arrays.copyOf(base, length);
+        }
+        for (MemberEntry member : members) {
+            fieldNames[member.field] = member.name;
+        }
+        return fieldNames;
+    }
+
+    /**
+     * Make a member table indexed by field id
+     * @param base      Indexed member table of the super class, or <code>null</code> if none
+     * @param members   Member table of the class
+     * @return  member table indexed by field id
+     */
+    protected static MemberEntry[] makeMemberIndex(MemberEntry[] base, MemberEntry[] members) {
+        int length = (base == null ? 0 : base.length);
+        for (MemberEntry member : members) {
+            if (member.field >= length) {
+                length = member.field + 1;
+            }
+        }
+        MemberEntry[] index;
+        if (base == null) {
+            index = new MemberEntry[length];
+        } else {
+            index = Arrays.copyOf(base, length);
+        }
+        for (MemberEntry member : members) {
+            index[member.field] = member;
+        }
+        return index;
+    }
+
+    /**
+     * Generate a member map from a member table
+     * @param members   Member table of the class
+     * @param exclude   Array of ids of members to exclude
+     * @return member map
+     */
+    protected static HashMap<String, MemberEntry> generateMemberMap(MemberEntry[] members, int[] exclude) {
+        HashMap<String, MemberEntry> memberMap = new HashMap<>();
+        int[] sortedExclude = Utils.getSortedArray(exclude);
+
+        for (MemberEntry member : members) {
+            if (Arrays.binarySearch(sortedExclude, member.field) < 0) {
+                memberMap.put(member.name, member);
+            }
+        }
+        return memberMap;
+    }
+
+    /**
+     * Get the bit representing a field in a field mask
+     * @param field     Id of field
+     * @return  field bit
+     */
+    public static long fieldBit(int field) {
+        return (1L << field);
+    }
+
+    /**
+     * Make a field mask from an array of field ids
+     * @param fields    Array of field ids of members to include
+     * @return  field mask
+     */
+    public static long makeFieldMask(int[] fields) {
+        long mask = 0;
+        if (fields != null) {
+            for (int field : fields) {
+                mask |= fieldBit(field);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Make a field mask for a range of field ids
+     * @param first     Id of first field
+     * @param last      Id of last field
+     * @return  field mask
+     */
+    protected static long makeFieldMask(int first, int last) {
+        long mask = 0;
+        for (int i = first; i <= last; i++) {
+            mask |= fieldBit(i);
+        }
+        return mask;
+    }
+
+    /**
+     * Make a field mask from a member table
+     * @param members   Member table of the class
+     * @param exclude   Array of ids of members to exclude
+     * @return  field mask
+     */
+    protected static long makeFieldMask(MemberEntry[] members, int[] exclude) {
+        long mask = 0;
+        for (MemberEntry member : members) {
+            mask |= fieldBit(member.field);
+        }
+        return (mask & ~makeFieldMask(exclude));
+    }
+
     /**
      * Default constructor
      */
@@ -117,6 +231,62 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
      */
     public abstract int[] getFieldIds();
 
+    /**
+     * Get the member table of this object, including the members of its super classes, indexed by field id
+     * @return  member table
+     * @see #makeMemberIndex(MemberEntry[], MemberEntry[])
+     */
+    protected abstract MemberEntry[] getMemberIndex();
+
+    /**
+     * Get the member entry for a field
+     * @param field     Id of field
+     * @return  member entry or <code>null</code> if not a member of this object
+     */
+    private MemberEntry getMemberEntry(int field) {
+        MemberEntry[] index = getMemberIndex();
+        MemberEntry entry = null;
+        if ((field >= 0) && (field < index.length)) {
+            entry = index[field];
+        }
+        return entry;
+    }
+
+    /**
+     * Set the value of a member of this object; unknown fields are ignored
+     * @param field     Id of field to set
+     * @param value     Value to set, of the type produced by the member's JSON type
+     */
+    protected void setMember(int field, Object value) {
+        MemberEntry entry = getMemberEntry(field);
+        if (entry != null) {
+            entry.accessor.set(this, value);
+        }
+    }
+
+    /**
+     * Get the value of a member of this object
+     * @param field     Id of field to get
+     * @return  value, of the type used for the member's default value, or <code>null</code> if unknown field
+     */
+    protected Object getMember(int field) {
+        MemberEntry entry = getMemberEntry(field);
+        return (entry != null ? entry.accessor.get(this) : null);
+    }
+
+    /**
+     * Copy the value of a member from another object to this object; unknown fields are ignored
+     * @param field     Id of field to copy
+     * @param from      Object to copy from
+     * @throws ClassCastException if <code>from</code> does not have the specified field
+     */
+    protected void copyMember(int field, TMDbObject from) {
+        MemberEntry entry = getMemberEntry(field);
+        if (entry != null) {
+            entry.accessor.copy(from, this);
+        }
+    }
+
     /**
      * Get the object property name associated with the specified index
      * @param index     Index of field
@@ -136,53 +306,189 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
     }
 
     /**
-     * Generate a member map representing specified fields
-     * @param fields    Array of field isa of members to include
-     * @return member map
+     * Direct access to a member of an object, without reflection
      */
-    protected HashMap<String, MemberEntry> makeMemberMap(int[] fields) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        HashMap<String, MemberEntry> baseMap = getMemberMap();
-        for (int field : fields) {
-            String fieldName = getFieldName(field);
-            if (!TextUtils.isEmpty(fieldName)) {
-                MemberEntry member = baseMap.get(fieldName);
-                if (member != null) {
-                    memberMap.put(fieldName, member);
-                }
-            }
-        }
-        return memberMap;
+    protected interface MemberAccessor {
+        /**
+         * Set the value of the member
+         * @param obj       Object to set the member of
+         * @param value     Value to set, of the type produced by the member's JSON type
+         */
+        void set(TMDbObject obj, Object value);
+
+        /**
+         * Get the value of the member
+         * @param obj       Object to get the member of
+         * @return  value, of the type used for the member's default value
+         */
+        Object get(TMDbObject obj);
+
+        /**
+         * Copy the member from one object to another
+         * @param from      Object to copy from
+         * @param to        Object to copy to
+         * @throws ClassCastException if <code>from</code> does not have the member
+         */
+        void copy(TMDbObject from, TMDbObject to);
     }
 
     /**
-     * Class representing the methods to be used by reflection for a class variable
+     * Class representing a class variable; the tables of these entries are the single definition of the JSON
+     * names, field ids, default values & accessors of each class
      */
     protected static class MemberEntry {
-        String classSetter;     // name of setter method in MovieInfo
-        String classGetter;     // name of getter method in MovieInfo
-        String jsonGetter;      // name of getter method to extract from JSON object
+        int field;              // id of the field in the object
+        String name;            // name of the property in the JSON object
         String property;        // name of the object's internal property
-        Class[] parameterTypes; // array that identifies the method's formal parameter types
+        int jsonType;           // type of value to extract from JSON object
         Object dfltValue;       // default value
+        MemberAccessor accessor;    // accessor for the object's internal property
 
-        public MemberEntry(String classSetter, String classGetter, String property, String jsonGetter, Class[] parameterTypes, Object dfltValue) {
-            this.classSetter = classSetter;
-            this.classGetter = classGetter;
+        public MemberEntry(int field, String name, String property, int jsonType, Object dfltValue,
+                           MemberAccessor accessor) {
+            this.field = field;
+            this.name = name;
             this.property = property;
-            this.jsonGetter = jsonGetter;
-            this.parameterTypes = parameterTypes;
+            this.jsonType = jsonType;
             this.dfltValue = dfltValue;
+            this.accessor = accessor;
         }
 
         /**
-         * Creates a copy of this object with a new <code>classSetter</code>
-         * @param classSetter   Class setter to use
+         * Creates a copy of this object for the specified field
+         * @param field         Id of the field
+         * @param name          Name of the property in the JSON object
+         * @param property      Name of the object's internal property
+         * @param accessor      Accessor for the object's internal property
          * @return  new object
          */
-        public MemberEntry copy(String classSetter, String classGetter, String property) {
-            return new MemberEntry(classSetter, classGetter, property, this.jsonGetter, this.parameterTypes, this.dfltValue);
+        public MemberEntry copy(int field, String name, String property, MemberAccessor accessor) {
+            return new MemberEntry(field, name, property, this.jsonType, this.dfltValue, accessor);
         }
+
+        /**
+         * Read the value for this member from a JSON object
+         * @param jsonData  JSON data object
+         * @param key       JSON property name
+         * @return  value
+         * @throws JSONException if the value is not of the required type
+         */
+        Object readJson(JSONObject jsonData, String key) throws JSONException {
+            Object data;
+            switch (jsonType) {
+                case JSON_STRING:
+                    data = jsonData.getString(key);
+                    break;
+                case JSON_INT:
+                    data = jsonData.getInt(key);
+                    break;
+                case JSON_BOOLEAN:
+                    data = jsonData.getBoolean(key);
+                    break;
+                case JSON_DOUBLE:
+                    data = jsonData.getDouble(key);
+                    break;
+                case JSON_OBJECT:
+                    data = jsonData.getJSONObject(key);
+                    break;
+                case JSON_ARRAY:
+                    data = jsonData.getJSONArray(key);
+                    break;
+                default:
+                    data = jsonData.get(key);
+                    break;
+            }
+            return data;
+        }
+
+        /**
+         * Read the value for this member from a JSON stream
+         * @param reader    JSON reader positioned at the value
+         * @return  value
+         * @throws IOException if the stream cannot be read
+         */
+        Object readJson(JsonReader reader) throws IOException {
+            Object data;
+            switch (jsonType) {
+                case JSON_STRING:
+                    data = reader.nextString();
+                    break;
+                case JSON_INT:
+                    data = reader.nextInt();
+                    break;
+                case JSON_BOOLEAN:
+                    data = reader.nextBoolean();
+                    break;
+                case JSON_DOUBLE:
+                    data = reader.nextDouble();
+                    break;
+                default:
+                    // nested objects & arrays are passed to their setters as JSON
+                    data = readJsonValue(reader);
+                    break;
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Read the next value from a JSON stream as a JSONObject, JSONArray or primitive value
+     * @param reader    JSON reader positioned at the value
+     * @return  value
+     * @throws IOException if the stream cannot be read
+     */
+    static Object readJsonValue(JsonReader reader) throws IOException {
+        Object value;
+        try {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT:
+                    JSONObject object = new JSONObject();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        object.put(reader.nextName(), readJsonValue(reader));
+                    }
+                    reader.endObject();
+                    value = object;
+                    break;
+                case BEGIN_ARRAY:
+                    JSONArray array = new JSONArray();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        array.put(readJsonValue(reader));
+                    }
+                    reader.endArray();
+                    value = array;
+                    break;
+                case NUMBER:
+                    String number = reader.nextString();
+                    try {
+                        long longValue = Long.parseLong(number);
+                        if ((longValue >= Integer.MIN_VALUE) && (longValue <= Integer.MAX_VALUE)) {
+                            value = (int) longValue;
+                        } else {
+                            value = longValue;
+                        }
+                    }
+                    catch (NumberFormatException e) {
+                        value = Double.valueOf(number);
+                    }
+                    break;
+                case BOOLEAN:
+                    value = reader.nextBoolean();
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    value = JSONObject.NULL;
+                    break;
+                default:
+                    value = reader.nextString();
+                    break;
+            }
+        }
+        catch (JSONException e) {
+            throw new IOException(e);
+        }
+        return value;
     }
 
     /**
@@ -194,28 +500,26 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
      */
     public static <T extends TMDbObject> T getInstance(HashMap<String, MemberEntry> memberMap, JSONObject jsonData, T obj) {
         if ((jsonData != null) && (jsonData.length() > 0)) {
-            Class objClass = obj.getClass();
             try {
-                for (String key : memberMap.keySet()) {
+                for (Map.Entry<String, MemberEntry> member : memberMap.entrySet()) {
+                    String key = member.getKey();
                     if (jsonData.has(key)) {
-                        MemberEntry entry = memberMap.get(key);
+                        MemberEntry entry = member.getValue();
                         Object data;
                         try {
-                            // use reflection to create object
-                            Method getMethod = JSONObject.class.getMethod(entry.jsonGetter, stringParameterTypes);  // get the get method
-                            data = getMethod.invoke(jsonData, key);  // get the data
+                            data = entry.readJson(jsonData, key);  // get the data
                         }
-                        catch (Exception e) {
+                        catch (JSONException e) {
                             data = jsonData.get(key);  // get the data using generic get
                             if (data.equals(JSONObject.NULL)) {
                                 data = entry.dfltValue;
                             } else {
                                 e.printStackTrace();
+                                continue;
                             }
                         }
                         try {
-                            Method setMethod = objClass.getMethod(entry.classSetter, entry.parameterTypes); // get the set method
-                            setMethod.invoke(obj, data);    // set the data
+                            obj.setMember(entry.field, data);    // set the data
                         } catch (Exception e) {
                             e.printStackTrace();
                         }
@@ -247,6 +551,46 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
         return obj;
     }
 
+    /**
+     * Create a TMDbObject subclass object from a JSON stream
+     * @param memberMap Map of JSON property names to class MemberEntry objects
+     * @param reader    JSON reader positioned at the start of the object
+     * @param obj       Object to save data into
+     * @return updated object
+     * @throws IOException if the stream cannot be read
+     */
+    public static <T extends TMDbObject> T getInstance(HashMap<String, MemberEntry> memberMap, JsonReader reader, T obj) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            MemberEntry entry = memberMap.get(reader.nextName());
+            if (entry == null) {
+                reader.skipValue();     // not a member of this object
+                continue;
+            }
+            Object data;
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                data = entry.dfltValue;
+            } else {
+                try {
+                    data = entry.readJson(reader);  // get the data
+                }
+                catch (IllegalStateException | NumberFormatException e) {
+                    e.printStackTrace();
+                    reader.skipValue();
+                    continue;
+                }
+            }
+            try {
+                obj.setMember(entry.field, data);    // set the data
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        reader.endObject();
+        return obj;
+    }
+
     /**
      * Check if the specified list of properties are their default values
      * @param memberMap Map of JSON property names to class MemberEntry objects
@@ -255,27 +599,43 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
      */
     public static <T extends TMDbObject> boolean isDefault(HashMap<String, MemberEntry> memberMap, T obj) {
         int count = 0;
-        Class objClass = obj.getClass();
-        for (String key : memberMap.keySet()) {
-            MemberEntry entry = memberMap.get(key);
-            try {
-                // use reflection to get value
-                Method getMethod = objClass.getMethod(entry.classGetter); // get the get method
-                Object value = getMethod.invoke(obj);
-                if (value != null) {
-                    if (value.equals(entry.dfltValue)) {
-                        ++count;    // is default value
-                    }
-                } else if (entry.dfltValue == null) {
-                    ++count;    // both null
+        for (MemberEntry entry : memberMap.values()) {
+            Object value = obj.getMember(entry.field);
+            if (value != null) {
+                if (value.equals(entry.dfltValue)) {
+                    ++count;    // is default value
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
+            } else if (entry.dfltValue == null) {
+                ++count;    // both null
             }
         }
         return (count == memberMap.size());
     }
 
+    /**
+     * Check if the specified fields are their default values
+     * @param fields    Mask of the fields to check
+     * @param obj       Object to check
+     * @return <code>true</code> if all specified fields are their default values, <code>false</code> otherwise
+     */
+    public static <T extends TMDbObject> boolean isDefault(long fields, T obj) {
+        boolean isDefault = true;
+        for (MemberEntry entry : obj.getMemberMap().values()) {
+            if ((fields & fieldBit(entry.field)) != 0) {
+                Object value = obj.getMember(entry.field);
+                if (value != null) {
+                    isDefault = value.equals(entry.dfltValue);
+                } else {
+                    isDefault = (entry.dfltValue == null);
+                }
+                if (!isDefault) {
+                    break;
+                }
+            }
+        }
+        return isDefault;
+    }
+
     /**
      * Copy from one TMDbObject subclass object to another
      * @param memberMap Map of JSON property names to class MemberEntry objects
@@ -285,20 +645,11 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
      */
     public static <T extends TMDbObject> boolean copy(HashMap<String, MemberEntry> memberMap, T from, T to) {
         int count = 0;
-        Class fromClass = from.getClass();
-        Class toClass = to.getClass();
-        for (String key : memberMap.keySet()) {
-            MemberEntry entry = memberMap.get(key);
+        for (MemberEntry entry : memberMap.values()) {
             try {
-                // use reflection to get value
-                Method getMethod = fromClass.getMethod(entry.classGetter); // get the get method
-                Object fromValue = getMethod.invoke(from);
-
-                Method setMethod = toClass.getMethod(entry.classSetter, entry.parameterTypes); // get the set method
-                setMethod.invoke(to, fromValue);    // set the value
-
+                to.copyMember(entry.field, from);
                 ++count;
-            } catch (Exception e) {
+            } catch (ClassCastException e) {
                 e.printStackTrace();
             }
         }
@@ -316,14 +667,36 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
         boolean result;
         if ((from == null) || (to == null)) {
             result = false;
+        } else if (fields == null) {
+            result = copy(to.getMemberMap(), from, to);
         } else {
-            HashMap<String, MemberEntry> memberMap;
-            if (fields == null) {
-                memberMap = to.getMemberMap();
-            } else {
-                memberMap = to.makeMemberMap(fields);
+            result = copy(from, to, makeFieldMask(fields));
+        }
+        return result;
+    }
+
+    /**
+     * Copy from one TMDbObject subclass object to another
+     * @param from      Object to copy from
+     * @param to        Object to copy to
+     * @param fields    Mask of the fields to copy
+     * @return <code>true</code> if all fields were copied, <code>false</code> otherwise
+     */
+    public static <T extends TMDbObject> boolean copy(T from, T to, long fields) {
+        boolean result;
+        if ((from == null) || (to == null)) {
+            result = false;
+        } else {
+            result = true;
+            for (long mask = fields; mask != 0; mask &= (mask - 1)) {
+                int field = Long.numberOfTrailingZeros(mask);
+                try {
+                    to.copyMember(field, from);
+                } catch (ClassCastException e) {
+                    e.printStackTrace();
+                    result = false;
+                }
             }
-            result = copy(memberMap, from, to);
         }
         return result;
     }
@@ -343,6 +716,38 @@ public abstract class TMDbObject implements Parcelable, IEmpty {
         copy(from, this, null);
     }
 
+    /**
+     * Copy from a TMDbObject subclass object to this object
+     * @param from      Object to copy from
+     * @param fields    Mask of the fields to copy
+     */
+    public <T extends TMDbObject> void copy(T from, long fields) {
+        copy(from, this, fields);
+    }
+
+    /**
+     * Get a JSON object representing the specified fields of this object, using the TMDb server field names
+     * @param fields    Mask of the fields to include
+     * @return  JSON object; <code>null</code> members are omitted
+     */
+    public JSONObject toJSONObject(long fields) {
+        JSONObject json = new JSONObject();
+        for (MemberEntry entry : getMemberMap().values()) {
+            if ((fields & fieldBit(entry.field)) != 0) {
+                Object value = getMember(entry.field);
+                if (value != null) {
+                    try {
+                        json.put(entry.name, value);
+                    }
+                    catch (JSONException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        return json;
+    }
+
     /**
      * Check if the object is a placeholder, i.e. the minimal amount of info has been set
      * @return  <code>true</code> if a placeholder
@@ -21,8 +21,12 @@ import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 import ie.ianbuttimer.moviequest.tmdb.AbstractList;
 
 /**
@@ -48,6 +52,11 @@ public class AppendedReviewList extends AbstractList<BaseReview> implements Parc
         setResult(index, result);
     }
 
+    @Override
+    protected BaseReview readResult(JsonReader reader) throws IOException {
+        return BaseReview.getInstance(reader);
+    }
+
     /**
      * Create an AppendedReviewList object from a JSON string
      * @param jsonString  The JSON string to read
@@ -22,14 +22,15 @@ import android.content.Intent;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONObject;
 
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.HashMap;
 
 import ie.ianbuttimer.moviequest.tmdb.TMDbObject;
 import ie.ianbuttimer.moviequest.utils.TMDbNetworkUtils;
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 /**
  * Class representing a basic review contents as utilised by the TMDb API.
@@ -42,7 +43,7 @@ import ie.ianbuttimer.moviequest.utils.Utils;
 public class BaseReview extends TMDbObject {
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
+    private static long placeholderFields;  // mask of default value fields for a placeholder
 
     private String id;
     private String author;
@@ -58,17 +59,80 @@ public class BaseReview extends TMDbObject {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES;
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        stringTemplate.copy(ID, "id", "id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((BaseReview) obj).setId((String) value);
+            }
 
-    static {
-        FIELD_NAMES = new String[LAST_BASE_REVIEW_MEMBER + 1];
-        FIELD_NAMES[ID] = "id";
-        FIELD_NAMES[AUTHOR] = "author";
-        FIELD_NAMES[CONTENT] = "content";
-        FIELD_NAMES[URL] = "url";
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((BaseReview) obj).id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((BaseReview) to).id = ((BaseReview) from).id;
+            }
+        }),
+        stringTemplate.copy(AUTHOR, "author", "author", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((BaseReview) obj).setAuthor((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((BaseReview) obj).author;
+            }
 
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((BaseReview) to).author = ((BaseReview) from).author;
+            }
+        }),
+        stringTemplate.copy(CONTENT, "content", "content", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((BaseReview) obj).setContent((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((BaseReview) obj).content;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((BaseReview) to).content = ((BaseReview) from).content;
+            }
+        }),
+        stringTemplate.copy(URL, "url", "url", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((BaseReview) obj).setUrl((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((BaseReview) obj).url;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((BaseReview) to).url = ((BaseReview) from).url;
+            }
+        })
+    };
+
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
+
+    static {
         jsonMemberMap = generateMemberMap(null);
-        placeholderMemberMap = generateMemberMap(new int[] {
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
             ID
         });
 
@@ -79,6 +143,10 @@ public class BaseReview extends TMDbObject {
         return FIELD_NAMES;
     }
 
+    static MemberEntry[] getMemberIndexArray() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected HashMap<String, MemberEntry> getMemberMap() {
         return jsonMemberMap;
@@ -88,29 +156,7 @@ public class BaseReview extends TMDbObject {
      * Generate the member map representing this object
      */
     protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_BASE_REVIEW_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case ID:
-                        memberMap.put(key, stringTemplate.copy("setId", "getId", FIELD_NAMES[i]));
-                        break;
-                    case AUTHOR:
-                        memberMap.put(key, stringTemplate.copy("setAuthor", "getAuthor", FIELD_NAMES[i]));
-                        break;
-                    case CONTENT:
-                        memberMap.put(key, stringTemplate.copy("setContent", "getContent", FIELD_NAMES[i]));
-                        break;
-                    case URL:
-                        memberMap.put(key, stringTemplate.copy("setUrl", "getUrl", FIELD_NAMES[i]));
-                        break;
-                }
-            }
-        }
-        return memberMap;
+        return generateMemberMap(MEMBERS, exclude);
     }
 
     @Override
@@ -145,6 +191,11 @@ public class BaseReview extends TMDbObject {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -159,6 +210,16 @@ public class BaseReview extends TMDbObject {
         return getInstance(jsonData, new BaseReview());
     }
 
+    /**
+     * Create a BaseReview object from a JSON stream
+     * @param reader    JSON reader positioned at the start of the object
+     * @return  new BaseReview object
+     * @throws IOException if the stream cannot be read
+     */
+    public static BaseReview getInstance(JsonReader reader) throws IOException {
+        return getInstance(jsonMemberMap, reader, new BaseReview());
+    }
+
     /**
      * Create a BaseReview object from JSON data
      * @param jsonData  JSON data object
@@ -208,7 +269,7 @@ public class BaseReview extends TMDbObject {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
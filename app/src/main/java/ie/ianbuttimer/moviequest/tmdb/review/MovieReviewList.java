@@ -21,9 +21,13 @@ import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * Class representing a TMDb server response to a reviews list request
  * This is the information returned from the following API endpoints:
@@ -69,6 +73,15 @@ public class MovieReviewList extends AppendedReviewList implements Parcelable {
         }
     }
 
+    @Override
+    protected boolean readExtraField(String name, JsonReader reader) throws IOException {
+        boolean consumed = MOVIE_ID.equals(name);
+        if (consumed) {
+            setMovieId(reader.nextInt());
+        }
+        return consumed;
+    }
+
     /**
      * Create a MovieReviewList object from a Bundle
      * @param bundle    The bundle read
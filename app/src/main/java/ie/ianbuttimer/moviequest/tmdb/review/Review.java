@@ -21,11 +21,9 @@ import android.os.Parcel;
 
 import org.json.JSONObject;
 
-import java.util.Arrays;
 import java.util.HashMap;
 
 import ie.ianbuttimer.moviequest.tmdb.TMDbObject;
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 /**
  * Class representing a movie review contents as utilised by the TMDb API.
@@ -53,16 +51,82 @@ public class Review extends BaseReview {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES;
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        stringTemplate.copy(LANGUAGE, "iso_639_1", "iso_639_1", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Review) obj).setLanguage((String) value);
+            }
 
-    static {
-        FIELD_NAMES = Arrays.copyOf(BaseReview.getFieldNamesArray(), LAST_REVIEW_MEMBER + 1);
-        FIELD_NAMES[LANGUAGE] = "iso_639_1";
-        FIELD_NAMES[MEDIA_ID] = "media_id";
-        FIELD_NAMES[MEDIA_TITLE] = "media_title";
-        FIELD_NAMES[MEDIA_TYPE] = "media_type";
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Review) obj).iso_639_1;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Review) to).iso_639_1 = ((Review) from).iso_639_1;
+            }
+        }),
+        intTemplate.copy(MEDIA_ID, "media_id", "media_id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Review) obj).setMediaId((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Review) obj).media_id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Review) to).media_id = ((Review) from).media_id;
+            }
+        }),
+        stringTemplate.copy(MEDIA_TITLE, "media_title", "media_title", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Review) obj).setMediaTitle((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Review) obj).media_title;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Review) to).media_title = ((Review) from).media_title;
+            }
+        }),
+        stringTemplate.copy(MEDIA_TYPE, "media_type", "media_type", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Review) obj).setMediaType((String) value);
+            }
 
-        jsonMemberMap = generateMemberMap(null);
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Review) obj).media_type;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Review) to).media_type = ((Review) from).media_type;
+            }
+        })
+    };
+
+    private static final String[] FIELD_NAMES = makeFieldNames(BaseReview.getFieldNamesArray(), MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(BaseReview.getMemberIndexArray(), MEMBERS);
+
+    static {
+        // get members from super class
+        jsonMemberMap = BaseReview.generateMemberMap(null);
+        // add local members
+        jsonMemberMap.putAll(generateMemberMap(MEMBERS, null));
 
         sAllFields = makeFieldIdsArray(FIRST_MEMBER, LAST_REVIEW_MEMBER);
     }
@@ -72,35 +136,6 @@ public class Review extends BaseReview {
         return jsonMemberMap;
     }
 
-    /**
-     * Generate the member map representing this object
-     */
-    protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_REVIEW_MEMBER; i <= LAST_REVIEW_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case LANGUAGE:
-                        memberMap.put(key, stringTemplate.copy("setLanguage", "getLanguage", FIELD_NAMES[i]));
-                        break;
-                    case MEDIA_ID:
-                        memberMap.put(key, intTemplate.copy("setMediaId", "getMediaId", FIELD_NAMES[i]));
-                        break;
-                    case MEDIA_TITLE:
-                        memberMap.put(key, stringTemplate.copy("setMediaTitle", "getMediaTitle", FIELD_NAMES[i]));
-                        break;
-                    case MEDIA_TYPE:
-                        memberMap.put(key, stringTemplate.copy("setMediaType", "getMediaType", FIELD_NAMES[i]));
-                        break;
-                }
-            }
-        }
-        return memberMap;
-    }
-
     @Override
     public int[] getFieldIds() {
         return sAllFields;
@@ -138,6 +173,11 @@ public class Review extends BaseReview {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
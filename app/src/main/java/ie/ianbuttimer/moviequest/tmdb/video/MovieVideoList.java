@@ -21,9 +21,13 @@ import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 import ie.ianbuttimer.moviequest.tmdb.AbstractList;
 
 /**
@@ -56,6 +60,11 @@ public class MovieVideoList extends AbstractList<Video> implements Parcelable {
         setResult(index, result);
     }
 
+    @Override
+    protected Video readResult(JsonReader reader) throws IOException {
+        return Video.getInstance(reader);
+    }
+
     /**
      * Create a MovieVideoList object from a JSON string
      * @param jsonString  The JSON string to read
@@ -79,6 +88,15 @@ public class MovieVideoList extends AbstractList<Video> implements Parcelable {
         }
     }
 
+    @Override
+    protected boolean readExtraField(String name, JsonReader reader) throws IOException {
+        boolean consumed = MOVIE_ID.equals(name);
+        if (consumed) {
+            setMovieId(reader.nextInt());
+        }
+        return consumed;
+    }
+
     /**
      * Create a MovieVideoList object from a Bundle
      * @param bundle    The bundle read
@@ -23,15 +23,16 @@ import android.os.Parcel;
 import android.support.annotation.NonNull;
 import android.text.TextUtils;
 
+import com.google.gson.stream.JsonReader;
+
 import org.json.JSONObject;
 
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.Comparator;
 import java.util.HashMap;
 
 import ie.ianbuttimer.moviequest.tmdb.TMDbObject;
 import ie.ianbuttimer.moviequest.utils.ITester;
-import ie.ianbuttimer.moviequest.utils.Utils;
 
 /**
  * Class representing a trailer video as utilised by the TMDb API
@@ -57,7 +58,7 @@ public class Video extends TMDbObject implements Comparable {
     public static final String YOU_TUBE = "YouTube";
 
     private static HashMap<String, MemberEntry> jsonMemberMap;  // map of JSON property names to class setter method & JSON getter method names
-    private static HashMap<String, MemberEntry> placeholderMemberMap;  // map of default value fields for a placeholder
+    private static long placeholderFields;  // mask of default value fields for a placeholder
 
     private String id;
     private String iso_639_1;
@@ -81,21 +82,144 @@ public class Video extends TMDbObject implements Comparable {
 
     private static final int[] sAllFields;  // list of all fields
 
-    private static final String[] FIELD_NAMES = new String[] {
-        // NOTE must follow the order of the indices above!!!!
-        "id",
-        "iso_639_1",
-        "iso_3166_1",
-        "key",
-        "name",
-        "site",
-        "size",
-        "type"
+    /** Table of members, the single definition of the JSON names, field ids, properties & accessors of this object */
+    private static final MemberEntry[] MEMBERS = new MemberEntry[] {
+        stringTemplate.copy(ID, "id", "id", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setId((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).id;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).id = ((Video) from).id;
+            }
+        }),
+        stringTemplate.copy(LANGUAGE, "iso_639_1", "iso_639_1", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setLanguage((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).iso_639_1;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).iso_639_1 = ((Video) from).iso_639_1;
+            }
+        }),
+        stringTemplate.copy(COUNTRY, "iso_3166_1", "iso_3166_1", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setCountry((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).iso_3166_1;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).iso_3166_1 = ((Video) from).iso_3166_1;
+            }
+        }),
+        stringTemplate.copy(KEY, "key", "key", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setKey((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).key;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).key = ((Video) from).key;
+            }
+        }),
+        stringTemplate.copy(NAME, "name", "name", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setName((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).name;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).name = ((Video) from).name;
+            }
+        }),
+        stringTemplate.copy(SITE, "site", "site", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setSite((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).site;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).site = ((Video) from).site;
+            }
+        }),
+        intTemplate.copy(SIZE, "size", "size", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setSize((Integer) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).size;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).size = ((Video) from).size;
+            }
+        }),
+        stringTemplate.copy(TYPE, "type", "type", new MemberAccessor() {
+            @Override
+            public void set(TMDbObject obj, Object value) {
+                ((Video) obj).setType((String) value);
+            }
+
+            @Override
+            public Object get(TMDbObject obj) {
+                return ((Video) obj).type;
+            }
+
+            @Override
+            public void copy(TMDbObject from, TMDbObject to) {
+                ((Video) to).type = ((Video) from).type;
+            }
+        })
     };
 
+    private static final String[] FIELD_NAMES = makeFieldNames(null, MEMBERS);
+    private static final MemberEntry[] MEMBER_INDEX = makeMemberIndex(null, MEMBERS);
+
     static {
         jsonMemberMap = generateMemberMap(null);
-        placeholderMemberMap = generateMemberMap(new int[] {
+        placeholderFields = makeFieldMask(MEMBERS, new int[] {
             ID
         });
 
@@ -111,41 +235,7 @@ public class Video extends TMDbObject implements Comparable {
      * Generate the member map representing this object
      */
     protected static HashMap<String, MemberEntry> generateMemberMap(int[] exclude) {
-        HashMap<String, MemberEntry> memberMap = new HashMap<>();
-        int[] sortedExclude = Utils.getSortedArray(exclude);
-
-        for (int i = FIRST_MEMBER; i <= LAST_VIDEO_MEMBER ; i++) {
-            if (Arrays.binarySearch(sortedExclude, i) < 0) {
-                String key = FIELD_NAMES[i];
-                switch (i) {
-                    case ID:
-                        memberMap.put(key, stringTemplate.copy("setId", "getId", FIELD_NAMES[i]));
-                        break;
-                    case LANGUAGE:
-                        memberMap.put(key, stringTemplate.copy("setLanguage", "getLanguage", FIELD_NAMES[i]));
-                        break;
-                    case COUNTRY:
-                        memberMap.put(key, stringTemplate.copy("setCountry", "getCountry", FIELD_NAMES[i]));
-                        break;
-                    case KEY:
-                        memberMap.put(key, stringTemplate.copy("setKey", "getKey", FIELD_NAMES[i]));
-                        break;
-                    case NAME:
-                        memberMap.put(key, stringTemplate.copy("setName", "getName", FIELD_NAMES[i]));
-                        break;
-                    case SITE:
-                        memberMap.put(key, stringTemplate.copy("setSite", "getSite", FIELD_NAMES[i]));
-                        break;
-                    case SIZE:
-                        memberMap.put(key, intTemplate.copy("setSize", "getSize", FIELD_NAMES[i]));
-                        break;
-                    case TYPE:
-                        memberMap.put(key, stringTemplate.copy("setType", "getType", FIELD_NAMES[i]));
-                        break;
-                }
-            }
-        }
-        return memberMap;
+        return generateMemberMap(MEMBERS, exclude);
     }
 
     @Override
@@ -184,6 +274,11 @@ public class Video extends TMDbObject implements Comparable {
         return name;
     }
 
+    @Override
+    protected MemberEntry[] getMemberIndex() {
+        return MEMBER_INDEX;
+    }
+
     @Override
     protected String[] getFieldNames() {
         return FIELD_NAMES;
@@ -198,6 +293,16 @@ public class Video extends TMDbObject implements Comparable {
         return getInstance(jsonData, new Video());
     }
 
+    /**
+     * Create a Video object from a JSON stream
+     * @param reader    JSON reader positioned at the start of the object
+     * @return  new Video object
+     * @throws IOException if the stream cannot be read
+     */
+    public static Video getInstance(JsonReader reader) throws IOException {
+        return getInstance(jsonMemberMap, reader, new Video());
+    }
+
     /**
      * Create a BaseReview object from JSON data
      * @param jsonData  JSON data object
@@ -279,7 +384,7 @@ public class Video extends TMDbObject implements Comparable {
 
     @Override
     public boolean isPlaceHolder() {
-        return isDefault(placeholderMemberMap, this);
+        return isDefault(placeholderFields, this);
     }
 
     @Override
@@ -17,15 +17,21 @@
 
 package ie.ianbuttimer.moviequest.utils;
 
+import android.content.ContentValues;
 import android.database.Cursor;
 import android.support.annotation.NonNull;
 
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+
 import static ie.ianbuttimer.moviequest.Constants.INVALID_DATE;
+import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_JSON;
 import static ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry.COLUMN_TIMESTAMP;
 
 /**
@@ -38,6 +44,8 @@ public class DbUtils {
     public static final String DB_RAW_BOOLEAN_TRUE = "1";
     public static final String DB_RAW_BOOLEAN_FALSE = "0";
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private static SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
 
     /**
@@ -91,6 +99,78 @@ public class DbUtils {
         return date;
     }
 
+    /**
+     * Get the movie details from the current row of a cursor.<br>
+     * The details may be stored as a binary record or, for rows cached prior to binary records, as JSON.
+     * Either may be compressed.
+     * @param cursor    Cursor to get details from
+     * @return  MovieDetails object or <code>null</code> if not available
+     */
+    public static MovieDetails movieDetailsFromCursor(Cursor cursor) {
+        MovieDetails details = null;
+        int idx = cursor.getColumnIndex(COLUMN_JSON);
+        if (idx >= 0) {
+            if (cursor.getType(idx) == Cursor.FIELD_TYPE_BLOB) {
+                details = movieDetailsFromPayload(cursor.getBlob(idx));
+            } else {
+                details = MovieDetails.getInstance(cursor.getString(idx));
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Get the movie details from the payload in a movie ContentValue object
+     * @param cv    ContentValue object to get details from
+     * @return  MovieDetails object or <code>null</code> if not available
+     * @see #movieDetailsFromCursor(Cursor)
+     */
+    public static MovieDetails movieDetailsFromContentValues(ContentValues cv) {
+        MovieDetails details = null;
+        Object payload = cv.get(COLUMN_JSON);
+        if (payload instanceof byte[]) {
+            details = movieDetailsFromPayload((byte[]) payload);
+        } else if (payload instanceof String) {
+            details = MovieDetails.getInstance((String) payload);
+        }
+        return details;
+    }
+
+    /**
+     * Get the movie details from a binary payload; a binary record or JSON, either of which may be compressed
+     * @param payload   Payload to get details from
+     * @return  MovieDetails object or <code>null</code> if not available
+     */
+    private static MovieDetails movieDetailsFromPayload(byte[] payload) {
+        MovieDetails details = null;
+        byte[] data = PayloadCodec.decompress(payload);
+        if (MovieDetailsRecord.isRecord(data)) {
+            details = MovieDetailsRecord.decode(data);
+        } else if (data != null) {
+            details = MovieDetails.getInstance(new String(data, UTF_8));
+        }
+        return details;
+    }
+
+    /**
+     * Get a JSON string stored in a column, which may be compressed
+     * @param cursor    Cursor to get string from
+     * @param idx       Index of column
+     * @return  JSON string or <code>null</code> if not available
+     */
+    public static String jsonFromCursor(Cursor cursor, int idx) {
+        String json = null;
+        switch (cursor.getType(idx)) {
+            case Cursor.FIELD_TYPE_BLOB:
+                json = PayloadCodec.decompressString(cursor.getBlob(idx));
+                break;
+            case Cursor.FIELD_TYPE_STRING:
+                json = cursor.getString(idx);
+                break;
+        }
+        return json;
+    }
+
     /**
      * Generate an id argument array
      * @param id    id to include
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class providing compression of payloads cached in the database.<br>
+ * A compressed payload consists of a marker byte and the uncompressed length, followed by the deflate
+ * compressed data. The marker allows compressed and uncompressed payloads to coexist in the same column;
+ * data without the marker is returned unchanged by {@link #decompress(byte[])}.
+ *
+ * Unit tests:
+ *  ie.ianbuttimer.moviequest.utils.PayloadCodecTest
+ */
+@SuppressWarnings("unused")
+public class PayloadCodec {
+
+    /** Marker byte identifying a compressed payload */
+    public static final byte COMPRESSED_MARKER = (byte) 0xDF;
+    /** Minimum length of payload to compress; below this the saving isn't worth the decode cost */
+    public static final int MIN_COMPRESS_LENGTH = 256;
+
+    private static final int HEADER_LENGTH = 5;     // marker + int uncompressed length
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // codecs are relatively expensive to create, so reuse one per thread
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION);
+        }
+    };
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    // statistics
+    private static final AtomicLong compressedCount = new AtomicLong();
+    private static final AtomicLong uncompressedBytes = new AtomicLong();
+    private static final AtomicLong compressedBytes = new AtomicLong();
+    private static final AtomicLong decodeCount = new AtomicLong();
+    private static final AtomicLong decodeNanos = new AtomicLong();
+
+    /**
+     * Compress a payload
+     * @param data  Payload to compress
+     * @return  Compressed payload, or <code>null</code> if the payload is too small or doesn't compress
+     */
+    public static byte[] compress(byte[] data) {
+        if ((data == null) || (data.length < MIN_COMPRESS_LENGTH)) {
+            return null;
+        }
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        out.write(COMPRESSED_MARKER);
+        out.write(data.length >>> 24);
+        out.write(data.length >>> 16);
+        out.write(data.length >>> 8);
+        out.write(data.length);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            out.write(buffer, 0, length);
+            if (out.size() >= data.length) {
+                return null;    // no saving
+            }
+        }
+        byte[] compressed = out.toByteArray();
+
+        compressedCount.incrementAndGet();
+        uncompressedBytes.addAndGet(data.length);
+        compressedBytes.addAndGet(compressed.length);
+        return compressed;
+    }
+
+    /**
+     * Compress a string payload
+     * @param data  Payload to compress
+     * @return  Compressed payload, or <code>null</code> if the payload is too small or doesn't compress
+     */
+    public static byte[] compress(String data) {
+        byte[] compressed = null;
+        if ((data != null) && (data.length() >= MIN_COMPRESS_LENGTH)) {
+            compressed = compress(data.getBytes(UTF_8));
+        }
+        return compressed;
+    }
+
+    /**
+     * Check if the specified data is a compressed payload
+     * @param data  Data to check
+     * @return  <code>true</code> if data is compressed
+     */
+    public static boolean isCompressed(byte[] data) {
+        return ((data != null) && (data.length > HEADER_LENGTH) && (data[0] == COMPRESSED_MARKER));
+    }
+
+    /**
+     * Decompress a payload
+     * @param data  Payload to decompress
+     * @return  Decompressed payload, <code>data</code> if it is not compressed, or <code>null</code> if the
+     *          payload is corrupt
+     */
+    public static byte[] decompress(byte[] data) {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        long start = System.nanoTime();
+        int length = ((data[1] & 0xff) << 24) | ((data[2] & 0xff) << 16) | ((data[3] & 0xff) << 8) | (data[4] & 0xff);
+        byte[] decompressed = null;
+        if (length >= 0) {
+            Inflater inflater = INFLATER.get();
+            inflater.reset();
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            byte[] out = new byte[length];
+            try {
+                int offset = 0;
+                while ((offset < length) && !inflater.finished()) {
+                    int count = inflater.inflate(out, offset, length - offset);
+                    if ((count == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;  // truncated
+                    }
+                    offset += count;
+                }
+                if ((offset == length) && inflater.finished()) {
+                    decompressed = out;
+                }
+            } catch (DataFormatException e) {
+                e.printStackTrace();
+            }
+        }
+        decodeCount.incrementAndGet();
+        decodeNanos.addAndGet(System.nanoTime() - start);
+        return decompressed;
+    }
+
+    /**
+     * Decompress a string payload
+     * @param data  Payload to decompress
+     * @return  Decompressed string, or <code>null</code> if the payload is corrupt
+     */
+    public static String decompressString(byte[] data) {
+        String string = null;
+        byte[] decompressed = decompress(data);
+        if (decompressed != null) {
+            string = new String(decompressed, UTF_8);
+        }
+        return string;
+    }
+
+    /**
+     * Get the number of payloads compressed
+     * @return  Count
+     */
+    public static long getCompressedCount() {
+        return compressedCount.get();
+    }
+
+    /**
+     * Get the total uncompressed size of the payloads compressed
+     * @return  Size in bytes
+     */
+    public static long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * Get the total compressed size of the payloads compressed
+     * @return  Size in bytes
+     */
+    public static long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * Get the total bytes saved by compression
+     * @return  Size in bytes
+     */
+    public static long getBytesSaved() {
+        return uncompressedBytes.get() - compressedBytes.get();
+    }
+
+    /**
+     * Get the number of payloads decompressed
+     * @return  Count
+     */
+    public static long getDecodeCount() {
+        return decodeCount.get();
+    }
+
+    /**
+     * Get the total time spent decompressing payloads
+     * @return  Time in nanoseconds
+     */
+    public static long getDecodeNanos() {
+        return decodeNanos.get();
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public static void resetStats() {
+        compressedCount.set(0);
+        uncompressedBytes.set(0);
+        compressedBytes.set(0);
+        decodeCount.set(0);
+        decodeNanos.set(0);
+    }
+}
@@ -30,6 +30,12 @@ import java.net.URL;
 import ie.ianbuttimer.moviequest.data.MovieContentProvider;
 import ie.ianbuttimer.moviequest.data.MovieContract.MovieEntry;
 import ie.ianbuttimer.moviequest.data.MovieContract.FavouriteEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.MovieSearchEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.ReviewEntry;
+import ie.ianbuttimer.moviequest.data.MovieContract.VideoEntry;
+
+import static ie.ianbuttimer.moviequest.data.MovieContract.DELETE_CHUNK_PARAM;
+import static ie.ianbuttimer.moviequest.data.MovieContract.UPSERT_PARAM;
 
 
 /**
@@ -66,6 +72,55 @@ public class UriUtils {
         return ContentUris.withAppendedId(FavouriteEntry.CONTENT_URI, id);
     }
 
+    /**
+     * Make a cached movie videos with id uri
+     * @param id    Id of movie
+     * @return  Uri
+     */
+    public static Uri getVideosWithIdUri(int id) {
+        return ContentUris.withAppendedId(VideoEntry.CONTENT_URI, id);
+    }
+
+    /**
+     * Make a cached movie reviews with id uri
+     * @param id    Id of movie
+     * @return  Uri
+     */
+    public static Uri getReviewsWithIdUri(int id) {
+        return ContentUris.withAppendedId(ReviewEntry.CONTENT_URI, id);
+    }
+
+    /**
+     * Make a cached movies search uri
+     * @param terms     Search terms
+     * @return  Uri
+     */
+    public static Uri getMovieSearchUri(@NonNull String terms) {
+        return MovieEntry.SEARCH_CONTENT_URI.buildUpon()
+                .appendQueryParameter(MovieSearchEntry.QUERY_PARAM, terms).build();
+    }
+
+    /**
+     * Make a uri for a delete which is performed in chunks
+     * @param uri           Directory uri to delete from
+     * @param chunkSize     Maximum number of rows to delete per statement
+     * @return  Uri
+     */
+    public static Uri getChunkedDeleteUri(@NonNull Uri uri, int chunkSize) {
+        return uri.buildUpon()
+                .appendQueryParameter(DELETE_CHUNK_PARAM, String.valueOf(chunkSize)).build();
+    }
+
+    /**
+     * Make a uri for an insert which updates the row if it already exists
+     * @param uri   Directory uri to insert into
+     * @return  Uri
+     */
+    public static Uri getUpsertUri(@NonNull Uri uri) {
+        return uri.buildUpon()
+                .appendQueryParameter(UPSERT_PARAM, Boolean.TRUE.toString()).build();
+    }
+
     /**
      * Get the id from a 'with id' uri
      * @param uri   Uri to get id from
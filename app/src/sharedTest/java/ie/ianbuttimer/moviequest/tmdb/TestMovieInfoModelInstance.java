@@ -21,6 +21,7 @@ import com.google.gson.Gson;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static ie.ianbuttimer.moviequest.tmdb.MovieInfoModel.INDEX;
 import static org.junit.Assert.fail;
 
 /**
@@ -70,17 +71,19 @@ public class TestMovieInfoModelInstance extends TestMovieInfoInstance {
         }
 
         Gson gson = new Gson();
-        return convertMovieInfoFields(gson.toJson(movieModel));
+        String jsonString = convertMovieInfoFields(gson.toJson(movieModel));
+        // replace the internal property name of the index with the non-TMDb field name
+        return jsonString.replace("\"" + getPropertyName(INDEX) + "\":", "\"" + getFieldName(INDEX) + "\":");
     }
 
     /**
      * Return the JSONObject representing the object
-     * @param movieDetails     Object to JSONify or if <code>null</code> a new object is created
+     * @param movieModel     Object to JSONify or if <code>null</code> a new object is created
      * @return JSONObject or <code>null</code>
      */
-    public JSONObject getJsonObject(MovieDetails movieDetails) {
+    public JSONObject getJsonObject(MovieInfoModel movieModel) {
         JSONObject jsonObject = null;
-        String jsonString = getJsonString(movieDetails);
+        String jsonString = getJsonString(movieModel);
         try {
             jsonObject = new JSONObject(jsonString);
         }
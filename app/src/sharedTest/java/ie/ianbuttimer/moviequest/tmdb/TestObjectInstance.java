@@ -40,19 +40,16 @@ public abstract class TestObjectInstance {
      */
     public String convertFieldToBoolean(String raw, String field) {
         String result = raw;
-        int index = raw.indexOf(field);
+        int index = raw.indexOf("\"" + field + "\":");
         if (index >= 0) {
-            int zeroIndex = raw.indexOf(DB_RAW_BOOLEAN_FALSE, index);
-            int oneIndex = raw.indexOf(DB_RAW_BOOLEAN_TRUE, index);
-            if ((zeroIndex > 0) && (oneIndex > 0)) {
-                if (zeroIndex < oneIndex) {
-                    oneIndex = -1;
-                }
+            // only convert if the value immediately following the field is an int representation
+            index += field.length() + 3;
+            String raw01 = raw.substring(index, index + 1);
+            if (raw01.equals(DB_RAW_BOOLEAN_FALSE) || raw01.equals(DB_RAW_BOOLEAN_TRUE)) {
+                boolean value = raw01.equals(DB_RAW_BOOLEAN_TRUE);
+                result = raw.substring(0, index) + String.valueOf(value);
+                result += raw.substring(index + 1);
             }
-            boolean value = (oneIndex > 0);
-            index = (value ? oneIndex : zeroIndex);
-            result = raw.substring(0, index) + String.valueOf(value);
-            result += raw.substring(index + 1);
         }
         return result;
     }
@@ -69,6 +66,16 @@ public abstract class TestObjectInstance {
         String result = raw;
         int index = raw.indexOf(field);
         if (index >= 0) {
+            int valueIndex = raw.indexOf(':', index) + 1;       // first char of value
+            if (Character.isDigit(raw.charAt(valueIndex))) {
+                // packed date, example segment "releaseDate":20150617,
+                int endIndex = valueIndex;
+                while (Character.isDigit(raw.charAt(endIndex))) {
+                    ++endIndex;
+                }
+                int packed = Integer.parseInt(raw.substring(valueIndex, endIndex));
+                return raw.substring(0, valueIndex) + "\"" + TMDbDate.format(packed) + "\"" + raw.substring(endIndex);
+            }
             // example segment "releaseDate":"Jun 17, 2015 12:00:00 AM",
             int startIndex = raw.indexOf('\"', index) + 1;      // " at end of field name
             startIndex = raw.indexOf('\"', startIndex + 1) + 1; // first char of date
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import org.junit.Test;
+
+import static ie.ianbuttimer.moviequest.data.CacheMaintenancePolicy.NEVER;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for CacheMaintenancePolicy
+ */
+public class CacheMaintenancePolicyTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+    private static final long MIN_INTERVAL = 6 * HOUR;
+    private static final long MAX_INTERVAL = 72 * HOUR;
+    private static final long SIZE_THRESHOLD = 1024 * 1024;
+
+    private static final long NOW = 1000 * HOUR;
+
+    private final CacheMaintenancePolicy policy =
+            new CacheMaintenancePolicy(MIN_INTERVAL, MAX_INTERVAL, SIZE_THRESHOLD, 25);
+
+    @Test
+    public void neverRun() {
+        assertTrue(policy.isDue(NOW, NEVER, 0));
+    }
+
+    @Test
+    public void clockChanged() {
+        assertTrue(policy.isDue(NOW, NOW + HOUR, 0));
+    }
+
+    @Test
+    public void withinMinInterval() {
+        // not due even if large
+        assertFalse(policy.isDue(NOW, NOW - MIN_INTERVAL + 1, SIZE_THRESHOLD * 10));
+    }
+
+    @Test
+    public void sizeThreshold() {
+        long lastRun = NOW - MIN_INTERVAL;
+        assertFalse(policy.isDue(NOW, lastRun, SIZE_THRESHOLD - 1));
+        assertTrue(policy.isDue(NOW, lastRun, SIZE_THRESHOLD));
+    }
+
+    @Test
+    public void maxInterval() {
+        assertFalse(policy.isDue(NOW, NOW - MAX_INTERVAL + 1, 0));
+        assertTrue(policy.isDue(NOW, NOW - MAX_INTERVAL, 0));
+    }
+
+    @Test
+    public void vacuum() {
+        assertFalse(policy.shouldVacuum(0, 0));
+        assertFalse(policy.shouldVacuum(100, 0));
+        assertFalse(policy.shouldVacuum(100, 24));
+        assertTrue(policy.shouldVacuum(100, 25));
+        assertTrue(policy.shouldVacuum(4, 4));
+    }
+}
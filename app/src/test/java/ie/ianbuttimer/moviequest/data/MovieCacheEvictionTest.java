@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for MovieCacheEviction
+ */
+public class MovieCacheEvictionTest {
+
+    private static final long[] SIZES = new long[] { 100, 200, 300, 400 };    // least recently used first
+
+    /**
+     * Count the movies to evict, as MovieCacheEviction.evict() walks the least recently used movies
+     * @param sizes     Payload sizes, least recently used first
+     * @param maxRows   Maximum number of movies, <code>0</code> for no limit
+     * @param maxBytes  Maximum total size in bytes of movie payloads, <code>0</code> for no limit
+     * @return  Number of movies to evict
+     */
+    private static int countToEvict(long[] sizes, int maxRows, long maxBytes) {
+        long bytes = 0;
+        for (long size : sizes) {
+            bytes += size;
+        }
+        int count = 0;
+        while (MovieCacheEviction.isOverLimits(sizes.length - count, bytes, maxRows, maxBytes) &&
+                (count < sizes.length)) {
+            bytes -= sizes[count];
+            ++count;
+        }
+        return count;
+    }
+
+    @Test
+    public void noLimits() {
+        assertEquals(0, countToEvict(SIZES, 0, 0));
+        assertEquals(0, countToEvict(new long[0], 1, 1));
+    }
+
+    @Test
+    public void rowLimit() {
+        assertEquals(0, countToEvict(SIZES, SIZES.length, 0));
+        assertEquals(1, countToEvict(SIZES, 3, 0));
+        assertEquals(3, countToEvict(SIZES, 1, 0));
+    }
+
+    @Test
+    public void byteLimit() {
+        assertEquals(0, countToEvict(SIZES, 0, 1000));
+        assertEquals(1, countToEvict(SIZES, 0, 999));
+        assertEquals(1, countToEvict(SIZES, 0, 900));
+        assertEquals(2, countToEvict(SIZES, 0, 899));
+        // a single movie larger than the limit is evicted
+        assertEquals(4, countToEvict(SIZES, 0, 399));
+    }
+
+    @Test
+    public void bothLimits() {
+        // whichever limit requires more evictions applies
+        assertEquals(2, countToEvict(SIZES, 3, 700));
+        assertEquals(3, countToEvict(SIZES, 1, 1000));
+    }
+
+    @Test
+    public void overLimits() {
+        assertFalse(MovieCacheEviction.isOverLimits(10, 1000, 0, 0));
+        assertFalse(MovieCacheEviction.isOverLimits(10, 1000, 10, 1000));
+        assertTrue(MovieCacheEviction.isOverLimits(11, 1000, 10, 1000));
+        assertTrue(MovieCacheEviction.isOverLimits(10, 1001, 10, 1000));
+    }
+
+    @Test
+    public void payloadSize() {
+        Charset utf8 = Charset.forName("UTF-8");
+        for (String str : new String[] { "", "{\"id\":1}", "caf\u00e9", "\u20ac10", "\ud83c\udfac film" }) {
+            assertEquals(str, str.getBytes(utf8).length, MovieContentValues.utf8Length(str));
+        }
+    }
+}
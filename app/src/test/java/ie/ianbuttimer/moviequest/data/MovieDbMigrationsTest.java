@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for MovieDbMigrations
+ *
+ * The migrations themselves are tested against a populated database in
+ * ie.ianbuttimer.moviequest.data.MovieDbMigrationTest
+ */
+public class MovieDbMigrationsTest {
+
+    @Test
+    public void latestVersion() {
+        assertEquals("Migrations don't reach database version",
+                MovieDbHelper.VERSION, MovieDbMigrations.getLatestVersion());
+    }
+
+    @Test
+    public void migrationPerVersion() {
+        for (int version = MovieDbMigrations.FIRST_VERSION; version < MovieDbHelper.VERSION; version++) {
+            assertNotNull("No migration from " + version, MovieDbMigrations.getMigration(version));
+        }
+        assertNull(MovieDbMigrations.getMigration(MovieDbMigrations.FIRST_VERSION - 1));
+        assertNull(MovieDbMigrations.getMigration(MovieDbHelper.VERSION));
+    }
+
+    @Test
+    public void canMigrate() {
+        for (int version = MovieDbMigrations.FIRST_VERSION; version < MovieDbHelper.VERSION; version++) {
+            assertTrue("Can't migrate from " + version, MovieDbMigrations.canMigrate(version, MovieDbHelper.VERSION));
+        }
+        assertFalse("Migrate from 0", MovieDbMigrations.canMigrate(0, MovieDbHelper.VERSION));
+        assertFalse("Migrate to same", MovieDbMigrations.canMigrate(MovieDbHelper.VERSION, MovieDbHelper.VERSION));
+        assertFalse("Migrate down", MovieDbMigrations.canMigrate(MovieDbHelper.VERSION, MovieDbMigrations.FIRST_VERSION));
+        assertFalse("Migrate past latest", MovieDbMigrations.canMigrate(MovieDbMigrations.FIRST_VERSION, MovieDbHelper.VERSION + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void migrateInvalid() {
+        MovieDbMigrations.migrate(null, MovieDbHelper.VERSION, MovieDbMigrations.FIRST_VERSION);
+    }
+}
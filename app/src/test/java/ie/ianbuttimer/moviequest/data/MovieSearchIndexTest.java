@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.data;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for MovieSearchIndex
+ */
+public class MovieSearchIndexTest {
+
+    @Test
+    public void matchExpression() {
+        assertEquals("\"fight*\"", MovieSearchIndex.makeMatchExpression("Fight"));
+        assertEquals("\"fight*\" \"club*\"", MovieSearchIndex.makeMatchExpression("  fight   CLUB "));
+        // search syntax removed
+        assertEquals("\"fight*\" \"or*\" \"club*\"", MovieSearchIndex.makeMatchExpression("\"fight\" OR club*"));
+        assertEquals("\"title*\" \"amélie*\"", MovieSearchIndex.makeMatchExpression("title:Amélie"));
+        assertEquals("\"2001*\"", MovieSearchIndex.makeMatchExpression("2001"));
+
+        assertNull(MovieSearchIndex.makeMatchExpression(null));
+        assertNull(MovieSearchIndex.makeMatchExpression(""));
+        assertNull(MovieSearchIndex.makeMatchExpression(" \"*- "));
+    }
+
+    /**
+     * Make a 'pcx' format matchinfo blob
+     * @param phrases   Number of phrases
+     * @param columns   Number of columns
+     * @param hits      Hits per phrase/column; hits in row, hits in all rows, rows with hits
+     * @return  blob
+     */
+    private static byte[] matchinfo(int phrases, int columns, int... hits) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (2 + hits.length)).order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(columns);
+        for (int hit : hits) {
+            buffer.putInt(hit);
+        }
+        return buffer.array();
+    }
+
+    @Test
+    public void rank() {
+        // 1 phrase, 3 columns; title, overview & reviews
+        double title = MovieSearchIndex.rank(matchinfo(1, 3,
+                1, 2, 2,    0, 4, 3,    0, 6, 2));
+        double overview = MovieSearchIndex.rank(matchinfo(1, 3,
+                0, 2, 2,    1, 4, 3,    0, 6, 2));
+        double reviews = MovieSearchIndex.rank(matchinfo(1, 3,
+                0, 2, 2,    0, 4, 3,    1, 6, 2));
+        assertTrue("Title not ranked above overview", title > overview);
+        assertTrue("Overview not ranked above reviews", overview > reviews);
+        assertTrue("Reviews not ranked", reviews > 0);
+
+        // 2 phrases both matched rank above one
+        double both = MovieSearchIndex.rank(matchinfo(2, 3,
+                1, 2, 2,    0, 4, 3,    0, 6, 2,
+                1, 2, 2,    0, 4, 3,    0, 6, 2));
+        double one = MovieSearchIndex.rank(matchinfo(2, 3,
+                1, 2, 2,    0, 4, 3,    0, 6, 2,
+                0, 2, 2,    0, 4, 3,    0, 6, 2));
+        assertTrue("More phrases not ranked higher", both > one);
+
+        assertEquals(0, MovieSearchIndex.rank(null), 0);
+        assertEquals(0, MovieSearchIndex.rank(new byte[4]), 0);
+        assertEquals("Truncated", 0, MovieSearchIndex.rank(matchinfo(2, 3, 1, 2, 2)), 0);
+    }
+
+    @Test
+    public void reviewsText() {
+        assertNull(MovieSearchIndex.getReviewsText(new MovieDetails(1, "No reviews")));
+    }
+}
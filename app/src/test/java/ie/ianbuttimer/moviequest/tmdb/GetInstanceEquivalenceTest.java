@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test verifying the precompiled member maps create the same objects from JSON as the reflection-based creation.<br>
+ * Timing of the precompiled creation is in ie.ianbuttimer.moviequest.benchmark.ModelBenchmark
+ */
+public class GetInstanceEquivalenceTest {
+
+    private interface IDecoder {
+        TMDbObject decode(JSONObject json);
+    }
+
+    @Test
+    public void movieInfoEquivalence() {
+        TestMovieInfoInstance provider = new TestMovieInfoInstance();
+        final JSONObject json = provider.getJsonObject(provider.setupObject());
+
+        assertEquivalent("MovieInfo", json, new IDecoder() {
+            @Override
+            public TMDbObject decode(JSONObject json) {
+                return getInstanceReflective(new MovieInfo().getMemberMap(), json, new MovieInfo());
+            }
+        }, new IDecoder() {
+            @Override
+            public TMDbObject decode(JSONObject json) {
+                return MovieInfo.getInstance(json);
+            }
+        });
+    }
+
+    @Test
+    public void movieDetailsEquivalence() {
+        TestMovieDetailInstance provider = new TestMovieDetailInstance();
+        final JSONObject json = provider.getJsonObject(provider.setupObject(new MovieDetails()));
+
+        assertEquivalent("MovieDetails", json, new IDecoder() {
+            @Override
+            public TMDbObject decode(JSONObject json) {
+                return withoutLists(getInstanceReflective(new MovieDetails().getMemberMap(), json, new MovieDetails()));
+            }
+        }, new IDecoder() {
+            @Override
+            public TMDbObject decode(JSONObject json) {
+                return withoutLists(MovieDetails.getInstance(json));
+            }
+        });
+    }
+
+    /**
+     * Clear the review & video lists, as they do not implement equals()
+     * @param movie     Object to update
+     * @return  updated object
+     */
+    private static MovieDetails withoutLists(MovieDetails movie) {
+        movie.setReviewList(null);
+        movie.setMovieVideoList(null);
+        return movie;
+    }
+
+    /**
+     * Run the before & after decoders, verifying they produce the same object
+     * @param name      Name of class being decoded
+     * @param json      JSON to decode
+     * @param before    Reflection-based decoder
+     * @param after     Precompiled decoder
+     */
+    private void assertEquivalent(String name, JSONObject json, IDecoder before, IDecoder after) {
+        assertEquals(name + ": decoders differ", before.decode(json), after.decode(json));
+    }
+
+    private static final String[] JSON_GETTERS = new String[] {
+            "getString", "getInt", "getBoolean", "getDouble", "getJSONObject", "getJSONArray"
+    };
+    private static final Class[] PARAMETER_TYPES = new Class[] {
+            String.class, Integer.class, Boolean.class, Double.class, JSONObject.class, JSONArray.class
+    };
+    private static final String[] SETTER_SUFFIXES = new String[] {
+            "", "", "", "", "FromJson", "FromJson"
+    };
+
+    /**
+     * Get the name of the setter for a member, following the naming used by the reflective member maps
+     * @param entry Member entry
+     * @return  setter name
+     */
+    private static String getSetterName(TMDbObject.MemberEntry entry) {
+        String property = entry.property;
+        if (property.equals("movieVideoList")) {
+            property = "videoList";
+        }
+        return "set" + property.substring(0, 1).toUpperCase(Locale.US) + property.substring(1) +
+                SETTER_SUFFIXES[entry.jsonType];
+    }
+
+    /**
+     * Reflection-based object creation from JSON, as used prior to the precompiled member maps.
+     * The getter & setter names are derived from the member entries.
+     * @param memberMap Map of JSON property names to class MemberEntry objects
+     * @param jsonData  JSON data object
+     * @param obj       Object to save data into
+     * @return updated object
+     */
+    private static <T extends TMDbObject> T getInstanceReflective(HashMap<String, TMDbObject.MemberEntry> memberMap, JSONObject jsonData, T obj) {
+        Class objClass = obj.getClass();
+        Class[] stringParameterTypes = new Class[] { String.class };
+        try {
+            for (String key : memberMap.keySet()) {
+                if (jsonData.has(key)) {
+                    TMDbObject.MemberEntry entry = memberMap.get(key);
+                    Object data;
+                    try {
+                        Method getMethod = JSONObject.class.getMethod(JSON_GETTERS[entry.jsonType], stringParameterTypes);
+                        data = getMethod.invoke(jsonData, key);
+                    }
+                    catch (Exception e) {
+                        data = jsonData.get(key);
+                        if (data.equals(JSONObject.NULL)) {
+                            data = entry.dfltValue;
+                        }
+                    }
+                    try {
+                        Method setMethod = objClass.getMethod(getSetterName(entry), PARAMETER_TYPES[entry.jsonType]);
+                        setMethod.invoke(obj, data);
+                    } catch (Exception e) {
+                        // setter not available via reflection
+                    }
+                }
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+        }
+        return obj;
+    }
+}
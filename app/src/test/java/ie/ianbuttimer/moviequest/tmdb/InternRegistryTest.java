@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit test for the interning of simple TMDb objects
+ */
+public class InternRegistryTest {
+
+    @Test
+    public void intern() {
+        InternRegistry<Genre> registry = new InternRegistry<>();
+        Genre action = new Genre(28, "Action");
+
+        assertSame("First not registered", action, registry.intern(action.getId(), action));
+        assertSame("Equal not shared", action, registry.intern(28, new Genre(28, "Action")));
+
+        Genre renamed = new Genre(28, "Action & Adventure");
+        assertSame("Different object shared", renamed, registry.intern(28, renamed));
+        assertEquals("Registry size", 1, registry.size());
+        assertNull("Null interned", registry.intern(1, null));
+    }
+
+    @Test
+    public void capacity() {
+        InternRegistry<Language> registry = new InternRegistry<>(1);
+        registry.intern("en", new Language("en", "English"));
+
+        Language french = new Language("fr", "French");
+        assertSame("Over capacity", french, registry.intern("fr", french));
+        assertNotSame("Registered over capacity", french, registry.intern("fr", new Language("fr", "French")));
+        assertEquals("Registry size", 1, registry.size());
+    }
+
+    @Test
+    public void clearAll() {
+        InternRegistry<Genre> registry = new InternRegistry<>();
+        Genre action = new Genre(28, "Action");
+        registry.intern(28, action);
+
+        InternRegistry.clearAll();
+        assertEquals("Registry not cleared", 0, registry.size());
+        Genre other = new Genre(28, "Action");
+        assertSame("Cleared instance shared", other, registry.intern(28, other));
+    }
+
+    @Test
+    public void decodeShared() throws JSONException {
+        MovieDetails first = MovieDetails.getInstance(MovieDetailsRecordTest.makeMovieJson(1).toString());
+        MovieDetails second = MovieDetails.getInstance(MovieDetailsRecordTest.makeMovieJson(2).toString());
+
+        assertSame("Genre not shared", first.getGenres()[0], second.getGenres()[0]);
+        assertSame("Company not shared", first.getProductionCompanies()[0], second.getProductionCompanies()[0]);
+        assertSame("Country not shared", first.getProductionCountries()[0], second.getProductionCountries()[0]);
+        assertSame("Language not shared", first.getSpokenLanguages()[0], second.getSpokenLanguages()[0]);
+
+        MovieDetails decoded = MovieDetailsRecord.decode(MovieDetailsRecord.encode(first));
+        assertSame("Record genre not shared", first.getGenres()[0], decoded.getGenres()[0]);
+        assertSame("Record language not shared", first.getSpokenLanguages()[0], decoded.getSpokenLanguages()[0]);
+    }
+
+    @Test
+    public void internStatic() throws JSONException {
+        Genre genre = Genre.getInstance(new JSONObject().put("id", 9999).put("name", "Test genre"));
+
+        assertSame("Not shared", genre, Genre.intern(new Genre(9999, "Test genre")));
+        assertNull("Null interned", Genre.intern(null));
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+import ie.ianbuttimer.moviequest.tmdb.review.BaseReview;
+import ie.ianbuttimer.moviequest.tmdb.review.MovieReviewList;
+import ie.ianbuttimer.moviequest.tmdb.video.MovieVideoList;
+import ie.ianbuttimer.moviequest.tmdb.video.Video;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit test for the streaming decode of list responses
+ */
+public class ListStreamDecodeTest {
+
+    private static final int PAGE = 2;
+    private static final int TOTAL_PAGES = 5;
+    private static final int TOTAL_RESULTS = TOTAL_PAGES * AbstractList.RESULTS_PER_LIST;
+
+    private static final int ITERATIONS = 500;
+
+    private static final String VIDEO_LIST_JSON = "{\"id\":211672,\"results\":[" +
+            "{\"id\":\"571bfc65c3a36843150006c8\",\"iso_639_1\":\"en\",\"iso_3166_1\":\"US\",\"key\":\"eisKxhjBnZ0\"," +
+                "\"name\":\"Official Trailer\",\"site\":\"YouTube\",\"size\":1080,\"type\":\"Trailer\"}," +
+            "{\"id\":\"571bfc7bc3a36864e00003cf\",\"iso_639_1\":\"en\",\"iso_3166_1\":\"US\",\"key\":\"jc86EFjLFV4\"," +
+                "\"name\":\"Teaser\",\"site\":\"YouTube\",\"size\":null,\"type\":\"Teaser\"}" +
+            "]}";
+
+    private static final String REVIEW_LIST_JSON = "{\"id\":211672,\"page\":1,\"results\":[" +
+            "{\"id\":\"55a58e46c3a3682bb2000065\",\"author\":\"Andres Gomez\",\"content\":\"Tiresome.\"," +
+                "\"url\":\"https://www.themoviedb.org/review/55a58e46c3a3682bb2000065\",\"unknown\":{\"a\":[1,2]}}" +
+            "],\"total_pages\":1,\"total_results\":1}";
+
+    /**
+     * Get a list response JSON string, using the MovieInfo test instance values for each result
+     * @return JSON string
+     */
+    private String getMovieListJson() {
+        JSONObject movie = new JSONObject();
+        try {
+            movie.put("poster_path", TestMovieInfoInstance.poster_path);
+            movie.put("adult", TestMovieInfoInstance.adult);
+            movie.put("overview", TestMovieInfoInstance.overview);
+            movie.put("release_date", TestMovieInfoInstance.release_date);
+            movie.put("genre_ids", new JSONArray(TestMovieInfoInstance.genre_ids));
+            movie.put("id", TestMovieInfoInstance.id);
+            movie.put("original_title", TestMovieInfoInstance.original_title);
+            movie.put("original_language", TestMovieInfoInstance.original_language);
+            movie.put("title", TestMovieInfoInstance.title);
+            movie.put("backdrop_path", TestMovieInfoInstance.backdrop_path);
+            movie.put("popularity", TestMovieInfoInstance.popularity);
+            movie.put("vote_count", TestMovieInfoInstance.vote_count);
+            movie.put("video", TestMovieInfoInstance.video);
+            movie.put("vote_average", TestMovieInfoInstance.vote_average);
+        }
+        catch (JSONException e) {
+            fail("JSONObject creation error: " + e.getMessage());
+        }
+        StringBuilder sb = new StringBuilder("{\"page\":" + PAGE + ",\"results\":[");
+        for (int i = 0; i < AbstractList.RESULTS_PER_LIST; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(movie.toString());
+        }
+        sb.append("],\"total_results\":").append(TOTAL_RESULTS)
+                .append(",\"total_pages\":").append(TOTAL_PAGES).append('}');
+        return sb.toString();
+    }
+
+    private MovieList decodeFromTree(String json) {
+        MovieList list = new MovieList();
+        try {
+            AbstractList.getListFromJson(list, new JSONObject(json));
+        }
+        catch (JSONException e) {
+            fail("JSONObject creation error: " + e.getMessage());
+        }
+        return list;
+    }
+
+    @Test
+    public void movieListMatchesTreeDecode() {
+        String json = getMovieListJson();
+        MovieList tree = decodeFromTree(json);
+        MovieList stream = MovieList.getListFromJsonString(json);
+
+        assertFalse("Stream decode empty", stream.isEmpty());
+        assertEquals("Page", PAGE, stream.getPageNumber());
+        assertEquals("Total pages", TOTAL_PAGES, stream.getTotalPages());
+        assertEquals("Total results", TOTAL_RESULTS, stream.getTotalResults());
+        assertArrayEquals("Results", tree.getResults(), stream.getResults());
+        assertEquals("Title", TestMovieInfoInstance.title, stream.getResults()[0].getTitle());
+        Integer[] genreIds = stream.getResults()[0].getGenreIds();
+        assertEquals("Genre ids", TestMovieInfoInstance.genre_ids.length, genreIds.length);
+        for (int i = 0; i < genreIds.length; i++) {
+            assertEquals("Genre id", TestMovieInfoInstance.genre_ids[i], genreIds[i].intValue());
+        }
+
+        MovieInfoModel[] results = stream.getResults();
+        for (int i = 0; i < results.length; i++) {
+            assertEquals("Index", tree.getResults()[i].getIndex(), results[i].getIndex());
+            assertEquals("Index", stream.getRangeStart() + i, results[i].getIndex());
+        }
+    }
+
+    @Test
+    public void videoListDecode() {
+        MovieVideoList list = MovieVideoList.getListFromJsonString(VIDEO_LIST_JSON);
+
+        assertFalse("Stream decode empty", list.isEmpty());
+        assertEquals("Movie id", Integer.valueOf(211672), list.getMovieId());
+        assertEquals("Result count", 2, list.getResultCount());
+
+        Video video = list.getResults()[0];
+        assertEquals("Key", "eisKxhjBnZ0", video.getKey());
+        assertEquals("Size", Integer.valueOf(1080), video.getSize());
+        assertEquals("Null size", new Video().getSize(), list.getResults()[1].getSize());
+    }
+
+    @Test
+    public void reviewListDecode() {
+        MovieReviewList list = MovieReviewList.getListFromJsonString(REVIEW_LIST_JSON);
+
+        assertFalse("Stream decode empty", list.isEmpty());
+        assertEquals("Movie id", Integer.valueOf(211672), list.getMovieId());
+        assertEquals("Result count", 1, list.getResultCount());
+
+        BaseReview review = list.getResults()[0];
+        assertEquals("Author", "Andres Gomez", review.getAuthor());
+        assertEquals("Content", "Tiresome.", review.getContent());
+    }
+
+    @Test
+    public void malformedResponse() {
+        MovieList list = MovieList.getListFromJsonString("{\"page\":1,\"results\":[{\"id\":1},");
+        assertTrue("Malformed response not empty", list.isEmpty());
+    }
+
+    @Test
+    public void streamAllocatesLess() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Allocation counting not supported", (bean instanceof com.sun.management.ThreadMXBean));
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+        String json = getMovieListJson();
+
+        for (int i = 0; i < ITERATIONS / 10; i++) {  // warm up
+            decodeFromTree(json);
+            MovieList.getListFromJsonString(json);
+        }
+
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeFromTree(json);
+        }
+        long treeBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+        start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            MovieList.getListFromJsonString(json);
+        }
+        long streamBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+        assertTrue(String.format(Locale.US, "Stream decode %d bytes/op not less than tree decode %d bytes/op",
+                streamBytes / ITERATIONS, treeBytes / ITERATIONS), (streamBytes < treeBytes));
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import android.net.Uri;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import ie.ianbuttimer.moviequest.tmdb.review.Review;
+import ie.ianbuttimer.moviequest.tmdb.video.Video;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the member tables of TMDbObject subclasses
+ */
+public class MemberTableTest {
+
+    @Test
+    public void memberMapsMatchFieldNames() {
+        checkMemberMap(new MovieInfo());
+        checkMemberMap(new MovieInfoModel());
+        checkMemberMap(new MovieDetails());
+        checkMemberMap(new CollectionInfo());
+        checkMemberMap(new Genre());
+        checkMemberMap(new Language());
+        checkMemberMap(new ProdCountry());
+        checkMemberMap(new Video());
+        checkMemberMap(new Review());
+    }
+
+    @Test
+    public void membersRoundTrip() throws JSONException {
+        checkRoundTrip(new MovieInfo(), new MovieInfo());
+        checkRoundTrip(new MovieDetails(), new MovieDetails());
+        checkRoundTrip(new CollectionInfo(), new CollectionInfo());
+        checkRoundTrip(new Genre(), new Genre());
+        checkRoundTrip(new ProdCompany(), new ProdCompany());
+        checkRoundTrip(new Language(), new Language());
+        checkRoundTrip(new ProdCountry(), new ProdCountry());
+        checkRoundTrip(new Video(), new Video());
+        checkRoundTrip(new Review(), new Review());
+    }
+
+    @Test
+    public void modelMembersRoundTrip() {
+        // model members are not received from TMDb, so round trip values of the member types
+        MovieInfoModel source = new MovieInfoModel();
+        source.setIndex(5);
+        source.setPosterUri(Uri.parse("http://image.tmdb.org/poster.jpg"));
+        source.setBackdropUri(Uri.parse("http://image.tmdb.org/backdrop.jpg"));
+        source.setThumbnailUri(Uri.parse("http://image.tmdb.org/thumbnail.jpg"));
+        source.setDetails(new MovieDetails(211672, "Minions"));
+        source.setCacheDate(new Date(1500000000000L));
+        source.setFavourite(true);
+
+        MovieInfoModel fresh = new MovieInfoModel();
+        MovieInfoModel target = new MovieInfoModel();
+        for (int field = MovieInfoModel.INDEX; field <= MovieInfoModel.FAVOURITE; field++) {
+            String msg = "MovieInfoModel." + target.getFieldName(field);
+            Object value = source.getMember(field);
+            assertFalse(msg + ": test value is default", isSameValue(fresh.getMember(field), value));
+            target.setMember(field, value);
+            assertTrue(msg + ": round trip", isSameValue(value, target.getMember(field)));
+        }
+    }
+
+    @Test
+    public void reviewIncludesBaseMembers() {
+        TMDbObject review = new Review();
+        HashMap<String, TMDbObject.MemberEntry> memberMap = review.getMemberMap();
+        assertNotNull("Review missing id", memberMap.get("id"));
+        assertNotNull("Review missing author", memberMap.get("author"));
+        assertNotNull("Review missing media_title", memberMap.get("media_title"));
+    }
+
+    @Test
+    public void copyMovieDetails() {
+        MovieDetails movie = new TestMovieDetailInstance().setupObject(new MovieDetails());
+        MovieDetails copy = new MovieDetails();
+
+        assertFalse("Test object is default", TMDbObject.isDefault(movie.getMemberMap(), movie));
+
+        copy.copy(movie);
+        // genre ids are not a member of the details object, which uses genres instead
+        copy.setGenreIds(movie.getGenreIds());
+        assertEquals("Copy differs", movie, copy);
+        assertEquals("Collection not copied", movie.getCollection(), copy.getCollection());
+        assertEquals("Genres not copied", movie.getGenres().length, copy.getGenres().length);
+    }
+
+    @Test
+    public void copySelectedFields() {
+        MovieDetails movie = new TestMovieDetailInstance().setupObject(new MovieDetails());
+        MovieInfoModel model = new MovieInfoModel();
+
+        TMDbObject.copy(movie, model, new MovieInfo().getFieldIds());
+        assertEquals("Title not copied", movie.getTitle(), model.getTitle());
+        assertEquals("Id not copied", movie.getId(), model.getId());
+        assertEquals("Genre ids not copied", movie.getGenreIds().length, model.getGenreIds().length);
+    }
+
+    @Test
+    public void copyFieldMask() {
+        MovieDetails movie = new TestMovieDetailInstance().setupObject(new MovieDetails());
+        MovieInfoModel model = new MovieInfoModel(movie.getId(), movie.getTitle());
+        model.setIndex(5);
+
+        assertTrue("Model not placeholder", model.isPlaceHolder());
+        assertTrue("Copy failed", TMDbObject.copy(movie, model, MovieInfo.MOVIE_INFO_FIELDS));
+        assertFalse("Model is placeholder", model.isPlaceHolder());
+        assertEquals("Overview not copied", movie.getOverview(), model.getOverview());
+        assertEquals("Release date not copied", movie.getReleaseDate(), model.getReleaseDate());
+        assertEquals("Genre ids not copied", movie.getGenreIds().length, model.getGenreIds().length);
+        assertEquals("Index changed", 5, model.getIndex());
+
+        MovieInfo info = new MovieInfo();
+        info.copy(movie, TMDbObject.fieldBit(MovieInfo.TITLE) | TMDbObject.fieldBit(MovieInfo.ID));
+        assertEquals("Title not copied", movie.getTitle(), info.getTitle());
+        assertEquals("Id not copied", movie.getId(), info.getId());
+        assertEquals("Overview copied", new MovieInfo().getOverview(), info.getOverview());
+    }
+
+    @Test
+    public void toJSONObjectFieldMask() {
+        MovieDetails movie = new TestMovieDetailInstance().setupObject(new MovieDetails());
+        JSONObject json = movie.toJSONObject(MovieInfo.MOVIE_INFO_FIELDS);
+
+        assertFalse("Details field included", json.has(movie.getFieldName(MovieDetails.BUDGET)));
+        MovieInfoModel model = MovieInfoModel.getInstance(json);
+        assertEquals("Id", movie.getId(), model.getId());
+        assertEquals("Title", movie.getTitle(), model.getTitle());
+        assertEquals("Overview", movie.getOverview(), model.getOverview());
+        assertEquals("Release date", movie.getReleaseDate(), model.getReleaseDate());
+        assertEquals("Vote average", movie.getVoteAverage(), model.getVoteAverage());
+        assertEquals("Adult", movie.isAdult(), model.isAdult());
+    }
+
+    @Test
+    public void isDefaultFieldMask() {
+        MovieInfo movie = new MovieInfo();
+        long mask = TMDbObject.fieldBit(MovieInfo.TITLE) | TMDbObject.fieldBit(MovieInfo.OVERVIEW);
+        assertTrue("New object not default", TMDbObject.isDefault(mask, movie));
+        movie.setId(10);
+        assertTrue("Unselected field checked", TMDbObject.isDefault(mask, movie));
+        movie.setOverview("Overview");
+        assertFalse("Object is default", TMDbObject.isDefault(mask, movie));
+    }
+
+    @Test
+    public void isDefault() {
+        MovieInfo movie = new MovieInfo();
+        assertTrue("New object not default", TMDbObject.isDefault(movie.getMemberMap(), movie));
+        movie.setTitle("Minions");
+        assertFalse("Object is default", TMDbObject.isDefault(movie.getMemberMap(), movie));
+    }
+
+    @Test
+    public void placeHolder() {
+        CollectionInfo collection = new CollectionInfo();
+        assertTrue("New object not placeholder", collection.isPlaceHolder());
+        collection.setId(1);
+        assertTrue("Placeholder depends on id", collection.isPlaceHolder());
+        collection.setPosterPath("/poster.jpg");
+        assertFalse("Object is placeholder", collection.isPlaceHolder());
+    }
+
+    /**
+     * Check every member of an object round trips through setMember()/getMember(), using a JSON value which
+     * differs from the member's default value
+     * @param obj       Object to check
+     * @param fresh     New object of the same class
+     */
+    private void checkRoundTrip(TMDbObject obj, TMDbObject fresh) throws JSONException {
+        String className = obj.getClass().getSimpleName();
+        JSONObject json = makeJson(obj);
+        for (TMDbObject.MemberEntry entry : obj.getMemberMap().values()) {
+            String msg = className + "." + entry.name;
+            assertSame(msg + ": not indexed", entry, obj.getMemberIndex()[entry.field]);
+
+            Object value = entry.readJson(json, entry.name);
+            obj.setMember(entry.field, value);
+            Object member = obj.getMember(entry.field);
+            assertFalse(msg + ": not set", isSameValue(fresh.getMember(entry.field), member));
+            if ((entry.jsonType != TMDbObject.JSON_OBJECT) && (entry.jsonType != TMDbObject.JSON_ARRAY)) {
+                assertEquals(msg + ": round trip", value, member);
+            }
+        }
+    }
+
+    /**
+     * Make a JSON object with non-default values for all members of an object
+     * @param obj   Object to make JSON for
+     * @return  JSON object
+     */
+    private JSONObject makeJson(TMDbObject obj) throws JSONException {
+        JSONObject json = new JSONObject();
+        for (TMDbObject.MemberEntry entry : obj.getMemberMap().values()) {
+            Object value;
+            switch (entry.jsonType) {
+                case TMDbObject.JSON_STRING:
+                    value = ("release_date".equals(entry.name) ? "2015-06-17" : entry.name + " value");
+                    break;
+                case TMDbObject.JSON_INT:
+                    value = 100 + entry.field;
+                    break;
+                case TMDbObject.JSON_BOOLEAN:
+                    value = true;
+                    break;
+                case TMDbObject.JSON_DOUBLE:
+                    value = 0.5 + entry.field;
+                    break;
+                default:
+                    value = NESTED_JSON.get(entry.name);
+                    assertNotNull("No test value for " + entry.name, value);
+                    break;
+            }
+            json.put(entry.name, value);
+        }
+        return json;
+    }
+
+    /** Test values for nested members */
+    private static final HashMap<String, Object> NESTED_JSON = new HashMap<>();
+    static {
+        try {
+            NESTED_JSON.put("genre_ids", new JSONArray("[16, 35]"));
+            NESTED_JSON.put("genres", new JSONArray("[{\"id\":16,\"name\":\"Animation\"}]"));
+            NESTED_JSON.put("production_companies", new JSONArray("[{\"id\":33,\"name\":\"Universal Pictures\"}]"));
+            NESTED_JSON.put("production_countries",
+                    new JSONArray("[{\"iso_3166_1\":\"US\",\"name\":\"United States of America\"}]"));
+            NESTED_JSON.put("spoken_languages", new JSONArray("[{\"iso_639_1\":\"en\",\"name\":\"English\"}]"));
+            NESTED_JSON.put("belongs_to_collection", new JSONObject("{\"id\":86066,\"name\":\"Despicable Me Collection\"," +
+                    "\"poster_path\":\"/poster.jpg\",\"backdrop_path\":\"/backdrop.jpg\"}"));
+            NESTED_JSON.put("reviews", new JSONObject("{\"page\":1,\"results\":[{\"id\":\"r1\",\"author\":\"Author\"," +
+                    "\"content\":\"Content\",\"url\":\"http://review\"}],\"total_pages\":1,\"total_results\":1}"));
+            NESTED_JSON.put("videos", new JSONObject("{\"id\":211672,\"results\":[{\"id\":\"v1\",\"iso_639_1\":\"en\"," +
+                    "\"iso_3166_1\":\"US\",\"key\":\"k1\",\"name\":\"Trailer\",\"site\":\"YouTube\",\"size\":1080," +
+                    "\"type\":\"Trailer\"}]}"));
+        }
+        catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compare member values, comparing arrays & lists by content
+     * @param value1    First value
+     * @param value2    Second value
+     * @return  <code>true</code> if the same
+     */
+    private static boolean isSameValue(Object value1, Object value2) {
+        boolean same;
+        if ((value1 instanceof Object[]) && (value2 instanceof Object[])) {
+            same = Arrays.equals((Object[]) value1, (Object[]) value2);
+        } else if ((value1 instanceof AbstractList) && (value2 instanceof AbstractList)) {
+            same = Arrays.equals(((AbstractList<?>) value1).getResults(), ((AbstractList<?>) value2).getResults());
+        } else if ((value1 instanceof JSONArray) && (value2 instanceof JSONArray)) {
+            same = value1.toString().equals(value2.toString());
+        } else {
+            same = (value1 != null ? value1.equals(value2) : value2 == null);
+        }
+        return same;
+    }
+
+    private void checkMemberMap(TMDbObject obj) {
+        String className = obj.getClass().getSimpleName();
+        for (Map.Entry<String, TMDbObject.MemberEntry> member : obj.getMemberMap().entrySet()) {
+            TMDbObject.MemberEntry entry = member.getValue();
+            assertEquals(className + ": field name mismatch", member.getKey(), entry.name);
+            assertEquals(className + ": field id mismatch", entry.name, obj.getFieldName(entry.field));
+        }
+    }
+}
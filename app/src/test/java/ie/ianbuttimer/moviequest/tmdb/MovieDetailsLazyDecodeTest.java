@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for the deferred decoding of MovieDetails nested members
+ */
+public class MovieDetailsLazyDecodeTest {
+
+    private TestMovieDetailInstance provider = new TestMovieDetailInstance();
+    private MovieDetails expected;
+    private JSONObject json;
+
+    @Before
+    public void createObject() {
+        expected = provider.setupObject(new MovieDetails());
+        json = provider.getJsonObject(expected);
+    }
+
+    @Test
+    public void decodeOnAccess() {
+        MovieDetails movie = MovieDetails.getInstance(json);
+
+        assertArrayEquals("Genres differ", expected.getGenres(), movie.getGenres());
+        assertArrayEquals("Production companies differ", expected.getProductionCompanies(), movie.getProductionCompanies());
+        // the test JSON doesn't use the TMDb names for iso names, so only check the count
+        assertEquals("Production countries differ", expected.getProductionCountries().length, movie.getProductionCountries().length);
+        assertEquals("Spoken languages differ", expected.getSpokenLanguages().length, movie.getSpokenLanguages().length);
+        assertEquals("Collection differs", expected.getCollection(), movie.getCollection());
+        // repeat access returns the decoded object
+        assertEquals("Genres decoded again", movie.getGenres(), movie.getGenres());
+    }
+
+    @Test
+    public void copyUndecoded() {
+        MovieDetails movie = MovieDetails.getInstance(json);
+        MovieDetails copy = new MovieDetails();
+
+        copy.copy(movie);
+        assertArrayEquals("Genres differ", expected.getGenres(), copy.getGenres());
+        assertArrayEquals("Production companies differ", expected.getProductionCompanies(), copy.getProductionCompanies());
+        assertEquals("Collection differs", expected.getCollection(), copy.getCollection());
+        assertArrayEquals("Source genres differ", expected.getGenres(), movie.getGenres());
+    }
+
+    @Test
+    public void setOverridesJson() {
+        MovieDetails movie = MovieDetails.getInstance(json);
+        Genre[] genres = new Genre[] { new Genre() };
+
+        movie.setGenres(genres);
+        assertArrayEquals("Genres not set", genres, movie.getGenres());
+    }
+
+    @Test
+    public void concurrentDecode() throws InterruptedException {
+        final int threadCount = 8;
+
+        for (int pass = 0; pass < 50; pass++) {
+            final MovieDetails movie = MovieDetails.getInstance(json);
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger failures = new AtomicInteger();
+            Thread[] threads = new Thread[threadCount];
+
+            for (int i = 0; i < threadCount; i++) {
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            if ((movie.getGenres() == null) || (movie.getCollection() == null) ||
+                                    (movie.getProductionCompanies() == null)) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals("Concurrent access failed", 0, failures.get());
+            assertArrayEquals("Genres differ", expected.getGenres(), movie.getGenres());
+        }
+    }
+}
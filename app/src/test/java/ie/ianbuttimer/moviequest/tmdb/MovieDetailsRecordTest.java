@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import ie.ianbuttimer.moviequest.tmdb.review.BaseReview;
+import ie.ianbuttimer.moviequest.tmdb.video.Video;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the MovieDetails binary record format, including a comparison with JSON
+ */
+public class MovieDetailsRecordTest {
+
+    private static final int MOVIE_COUNT = 100;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void roundTrip() throws JSONException {
+        MovieDetails movie = MovieDetails.getInstance(makeMovieJson(1).toString());
+        byte[] record = MovieDetailsRecord.encode(movie);
+
+        assertNotNull("Encode failed", record);
+        assertTrue("Not a record", MovieDetailsRecord.isRecord(record));
+
+        MovieDetails decoded = MovieDetailsRecord.decode(record);
+        assertNotNull("Decode failed", decoded);
+        checkEquals(movie, decoded);
+    }
+
+    @Test
+    public void roundTripDefaults() {
+        MovieDetails movie = new MovieDetails(10, "Placeholder");
+        MovieDetails decoded = MovieDetailsRecord.decode(MovieDetailsRecord.encode(movie));
+
+        assertNotNull("Decode failed", decoded);
+        checkEquals(movie, decoded);
+        assertTrue("Not a placeholder", decoded.isPlaceHolder());
+    }
+
+    @Test
+    public void rejectInvalid() {
+        byte[] record = MovieDetailsRecord.encode(new MovieDetails(10, "Placeholder"));
+
+        assertFalse("JSON is record", MovieDetailsRecord.isRecord("{\"id\":10}".getBytes()));
+        assertNull("Decoded null", MovieDetailsRecord.decode(null));
+
+        byte[] unknownVersion = record.clone();
+        unknownVersion[1] = (byte) (MovieDetailsRecord.RECORD_VERSION + 1);
+        assertNull("Decoded unknown version", MovieDetailsRecord.decode(unknownVersion));
+
+        byte[] truncated = new byte[record.length / 2];
+        System.arraycopy(record, 0, truncated, 0, truncated.length);
+        assertNull("Decoded truncated record", MovieDetailsRecord.decode(truncated));
+    }
+
+    @Test
+    public void recordSmallerThanJson() throws JSONException {
+        long jsonBytes = 0;
+        long recordBytes = 0;
+        for (int i = 0; i < MOVIE_COUNT; i++) {
+            String json = makeMovieJson(i + 1).toString();
+            byte[] record = MovieDetailsRecord.encode(MovieDetails.getInstance(json));
+            assertNotNull("Encode failed", record);
+
+            int size = json.getBytes(UTF_8).length;
+            assertTrue(String.format(Locale.US, "Movie %d: record %d bytes not less than JSON %d bytes",
+                    i + 1, record.length, size), (record.length < size));
+            jsonBytes += size;
+            recordBytes += record.length;
+        }
+        assertTrue("Total record size not less than JSON", (recordBytes < jsonBytes));
+    }
+
+    private void checkEquals(MovieDetails expected, MovieDetails actual) {
+        assertEquals("Title", expected.getTitle(), actual.getTitle());
+        assertEquals("Release date", expected.getReleaseDate(), actual.getReleaseDate());
+        assertArrayEquals("Genre ids", expected.getGenreIds(), actual.getGenreIds());
+        assertArrayEquals("Genres", expected.getGenres(), actual.getGenres());
+        assertArrayEquals("Production companies", expected.getProductionCompanies(), actual.getProductionCompanies());
+        assertArrayEquals("Production countries", expected.getProductionCountries(), actual.getProductionCountries());
+        assertArrayEquals("Spoken languages", expected.getSpokenLanguages(), actual.getSpokenLanguages());
+        assertEquals("Collection", expected.getCollection(), actual.getCollection());
+
+        BaseReview[] expectedReviews = expected.getReviewList().getResults();
+        BaseReview[] actualReviews = actual.getReviewList().getResults();
+        assertEquals("Review count", expectedReviews.length, actualReviews.length);
+        for (int i = 0; i < expectedReviews.length; i++) {
+            assertEquals("Review", expectedReviews[i], actualReviews[i]);
+        }
+        assertEquals("Review total", expected.getReviewList().getTotalResults(), actual.getReviewList().getTotalResults());
+
+        Video[] expectedVideos = expected.getMovieVideoList().getResults();
+        Video[] actualVideos = actual.getMovieVideoList().getResults();
+        assertEquals("Video count", expectedVideos.length, actualVideos.length);
+        for (int i = 0; i < expectedVideos.length; i++) {
+            assertEquals("Video", expectedVideos[i], actualVideos[i]);
+        }
+
+        // lists don't implement equals(), so compare the remainder without them
+        expected.setReviewList(null);
+        expected.setMovieVideoList(null);
+        actual.setReviewList(null);
+        actual.setMovieVideoList(null);
+        assertEquals("Movie", expected, actual);
+    }
+
+    /**
+     * Make a synthetic movie details response, including appended reviews & videos
+     * @param id    Movie id
+     * @return  JSON object
+     */
+    static JSONObject makeMovieJson(int id) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        json.put("title", "Movie " + id);
+        json.put("original_title", "Original movie " + id);
+        json.put("original_language", "en");
+        json.put("overview", "Overview of movie " + id + ", a story of the kind which fills a few lines of text " +
+                "on the details screen, describing the plot without giving too much away.");
+        json.put("release_date", String.format(Locale.US, "20%02d-%02d-%02d", id % 20, (id % 12) + 1, (id % 28) + 1));
+        json.put("poster_path", "/poster" + id + ".jpg");
+        json.put("backdrop_path", "/backdrop" + id + ".jpg");
+        json.put("adult", false);
+        json.put("video", false);
+        json.put("vote_count", id * 7);
+        json.put("vote_average", (id % 100) / 10.0);
+        json.put("popularity", id * 1.5);
+        json.put("budget", id * 100000);
+        json.put("revenue", id * 250000);
+        json.put("runtime", 90 + (id % 60));
+        json.put("homepage", "http://www.example.com/movie" + id);
+        json.put("imdb_id", "tt" + (1000000 + id));
+        json.put("status", "Released");
+        json.put("tagline", "The tagline of movie " + id);
+
+        JSONArray genres = new JSONArray();
+        for (int i = 0; i < 3; i++) {
+            genres.put(new JSONObject().put("id", 10 + i).put("name", "Genre " + i));
+        }
+        json.put("genres", genres);
+        JSONArray companies = new JSONArray();
+        for (int i = 0; i < 2; i++) {
+            companies.put(new JSONObject().put("id", 100 + i).put("name", "Company " + i));
+        }
+        json.put("production_companies", companies);
+        json.put("production_countries", new JSONArray()
+                .put(new JSONObject().put("iso_3166_1", "US").put("name", "United States of America")));
+        json.put("spoken_languages", new JSONArray()
+                .put(new JSONObject().put("iso_639_1", "en").put("name", "English")));
+        json.put("belongs_to_collection", new JSONObject().put("id", 5000 + id).put("name", "Collection " + id)
+                .put("poster_path", "/collection" + id + ".jpg").put("backdrop_path", JSONObject.NULL));
+
+        JSONArray reviews = new JSONArray();
+        for (int i = 0; i < 2; i++) {
+            reviews.put(new JSONObject().put("id", "review" + id + "_" + i).put("author", "Author " + i)
+                    .put("content", "Review " + i + " of movie " + id + ". It was an enjoyable film with a good cast.")
+                    .put("url", "https://www.themoviedb.org/review/" + id + "_" + i));
+        }
+        json.put("reviews", new JSONObject().put("page", 1).put("total_pages", 1)
+                .put("total_results", reviews.length()).put("results", reviews));
+
+        JSONArray videos = new JSONArray();
+        for (int i = 0; i < 3; i++) {
+            videos.put(new JSONObject().put("id", "video" + id + "_" + i).put("iso_639_1", "en")
+                    .put("iso_3166_1", "US").put("key", "key" + id + "_" + i).put("name", "Trailer " + i)
+                    .put("site", "YouTube").put("size", 1080).put("type", "Trailer"));
+        }
+        json.put("videos", new JSONObject().put("id", id).put("results", videos));
+        return json;
+    }
+}
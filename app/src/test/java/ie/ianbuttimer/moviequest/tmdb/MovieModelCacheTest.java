@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit test for MovieModelCache
+ */
+public class MovieModelCacheTest {
+
+    private static List<MovieInfoModel> makeModels(int firstId, int count) {
+        List<MovieInfoModel> models = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MovieInfoModel model = new MovieInfoModel();
+            model.setId(firstId + i);
+            model.setTitle("Movie " + (firstId + i));
+            models.add(model);
+        }
+        return models;
+    }
+
+    @Test
+    public void saveRestore() {
+        MovieModelCache cache = new MovieModelCache(MovieModelCache.DEFAULT_CAPACITY);
+        List<MovieInfoModel> models = makeModels(100, 20);
+        Collections.reverse(models);
+
+        int[] ids = cache.putAndGetIds(models);
+        assertEquals("Id count", models.size(), ids.length);
+        assertEquals("First id", 119, ids[0]);
+
+        List<MovieInfoModel> restored = cache.getAll(ids);
+        assertEquals("Restored count", models.size(), restored.size());
+        for (int i = 0; i < models.size(); i++) {
+            assertSame("Restored model " + i, models.get(i), restored.get(i));
+        }
+
+        assertArrayEquals("No models", new int[0], cache.putAndGetIds(null));
+        assertNull("Null ids", cache.getAll(null));
+    }
+
+    @Test
+    public void missing() {
+        MovieModelCache cache = new MovieModelCache(MovieModelCache.DEFAULT_CAPACITY);
+        int[] ids = cache.putAndGetIds(makeModels(1, 5));
+
+        // e.g. process killed
+        cache.clear();
+        cache.putAll(makeModels(1, 4));
+        assertNull("Incomplete restore", cache.getAll(ids));
+
+        MovieInfoModel noId = new MovieInfoModel();
+        noId.setId(null);
+        assertNull("Model without id", cache.getAll(cache.putAndGetIds(Arrays.asList(noId))));
+    }
+
+    @Test
+    public void capacity() {
+        MovieModelCache cache = new MovieModelCache(10);
+        List<MovieInfoModel> first = makeModels(1, 10);
+        cache.putAll(first);
+        assertSame("Least recently used", first.get(0), cache.get(1));    // 1 now most recently used
+
+        cache.putAll(makeModels(11, 5));
+        assertEquals("Cache size", 10, cache.size());
+        assertSame("Recently used removed", first.get(0), cache.get(1));
+        assertNull("Eldest retained", cache.get(2));
+        assertNull("Over capacity restore", cache.getAll(new int[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void overCapacity() {
+        MovieModelCache cache = new MovieModelCache(10);
+        List<MovieInfoModel> models = makeModels(1, 10);
+        assertEquals("At capacity", 10, cache.putAndGetIds(models).length);
+
+        // list larger than the cache can't be saved as ids, nor evict the cached models
+        assertNull("Over capacity ids", cache.putAndGetIds(makeModels(101, 11)));
+        assertEquals("Cache size", 10, cache.size());
+        assertEquals("Cached models", models, cache.getAll(cache.putAndGetIds(models)));
+    }
+}
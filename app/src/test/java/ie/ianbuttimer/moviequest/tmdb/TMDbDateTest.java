@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.tmdb;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for TMDbDate
+ */
+public class TMDbDateTest {
+
+    private static final String[] INVALID = new String[] {
+            null, "", "2015-6-17", "2015/06/17", "2015-06-17 ", "2015-13-01", "2015-00-10",
+            "2015-06-00", "2015-06-31", "2015-02-29", "1900-02-29", "0000-01-01", "20a5-06-17",
+            "2015-0x-17", "+015-06-17"
+    };
+
+    @Test
+    public void parseFormat() {
+        int packed = TMDbDate.parse("2015-06-17");
+        assertEquals("Packed", 20150617, packed);
+        assertEquals("Year", 2015, TMDbDate.getYear(packed));
+        assertEquals("Month", 6, TMDbDate.getMonth(packed));
+        assertEquals("Day", 17, TMDbDate.getDay(packed));
+        assertEquals("Format", "2015-06-17", TMDbDate.format(packed));
+
+        assertEquals("Leap year", 20160229, TMDbDate.parse("2016-02-29"));
+        assertEquals("Leap century", 20000229, TMDbDate.parse("2000-02-29"));
+        assertEquals("Padding", "0987-01-02", TMDbDate.format(TMDbDate.parse("0987-01-02")));
+
+        for (String text : INVALID) {
+            assertEquals("Invalid " + text, TMDbDate.INVALID, TMDbDate.parse(text));
+        }
+        assertFalse("Invalid valid", TMDbDate.isValid(TMDbDate.INVALID));
+        assertFalse("Bad day valid", TMDbDate.isValid(20150631));
+        assertEquals("Invalid format", "", TMDbDate.format(TMDbDate.INVALID));
+        assertNull("Invalid date", TMDbDate.toDate(TMDbDate.INVALID));
+        assertEquals("Null date", TMDbDate.INVALID, TMDbDate.fromDate(null));
+    }
+
+    @Test
+    public void epochDay() {
+        assertEquals("Epoch", 0, TMDbDate.toEpochDay(19700101));
+        assertEquals("Epoch", 19700101, TMDbDate.fromEpochDay(0));
+        assertEquals("Pre-epoch", -1, TMDbDate.toEpochDay(19691231));
+        assertEquals("Pre-epoch", 19691231, TMDbDate.fromEpochDay(-1));
+
+        // walk every day over a range spanning leap years & centuries
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1895, Calendar.JANUARY, 1);
+        long epochDay = TMDbDate.toEpochDay(18950101);
+        for (int i = 0; i < 365 * 210; i++) {
+            int packed = TMDbDate.pack(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                    calendar.get(Calendar.DAY_OF_MONTH));
+            assertEquals("To epoch day " + packed, epochDay, TMDbDate.toEpochDay(packed));
+            assertEquals("From epoch day " + epochDay, packed, TMDbDate.fromEpochDay(epochDay));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            ++epochDay;
+        }
+    }
+
+    @Test
+    public void dateConversion() throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        String[] dates = new String[] {
+                "1901-12-13", "1950-01-01", "1969-12-31", "1970-01-01", "2000-02-29", "2015-03-29",
+                "2015-06-17", "2015-10-25", "2038-01-19"
+        };
+        for (String text : dates) {
+            Date expected = format.parse(text);
+            int packed = TMDbDate.parse(text);
+
+            assertEquals("To date " + text, expected, TMDbDate.toDate(packed));
+            assertEquals("From date " + text, packed, TMDbDate.fromDate(expected));
+            // any time during the day maps to the same date
+            assertEquals("From date end " + text, packed,
+                    TMDbDate.fromDate(new Date(expected.getTime() + (12 * 60 * 60 * 1000))));
+        }
+    }
+
+    @Test
+    public void concurrency() throws Exception {
+        final int threads = 8;
+        final int iterations = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    start.await();
+                    int mismatches = 0;
+                    // each thread walks a different sequence of days so results interleave
+                    long epochDay = seed * 1000;
+                    for (int i = 0; i < iterations; i++, epochDay += 7) {
+                        int packed = TMDbDate.fromEpochDay(epochDay);
+                        String text = TMDbDate.format(packed);
+                        int parsed = TMDbDate.parse(text);
+                        if ((parsed != packed) || (TMDbDate.toEpochDay(parsed) != epochDay) ||
+                                (TMDbDate.fromDate(TMDbDate.toDate(parsed)) != packed)) {
+                            ++mismatches;
+                        }
+                    }
+                    return mismatches;
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue("Timed out", executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        for (Future<Integer> result : results) {
+            assertEquals("Mismatches", 0, (int) result.get());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2017  Ian Buttimer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ie.ianbuttimer.moviequest.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+
+import ie.ianbuttimer.moviequest.tmdb.MovieDetails;
+import ie.ianbuttimer.moviequest.tmdb.MovieDetailsRecord;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for PayloadCodec
+ */
+public class PayloadCodecTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private String json;
+
+    @Before
+    public void setUp() {
+        PayloadCodec.resetStats();
+
+        StringBuilder sb = new StringBuilder("{\"id\":550,\"results\":[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"author\":\"Reviewer ").append(i)
+                    .append("\",\"content\":\"A review of the movie, which is a good movie.\"}");
+        }
+        json = sb.append("]}").toString();
+    }
+
+    @Test
+    public void roundTripString() {
+        byte[] compressed = PayloadCodec.compress(json);
+        assertNotNull("Not compressed", compressed);
+        assertTrue("Not a compressed payload", PayloadCodec.isCompressed(compressed));
+        assertTrue("No saving", compressed.length < json.length());
+        assertEquals(json, PayloadCodec.decompressString(compressed));
+    }
+
+    @Test
+    public void roundTripRecord() {
+        MovieDetails movie = new MovieDetails(550, json);
+        byte[] record = MovieDetailsRecord.encode(movie);
+        byte[] compressed = PayloadCodec.compress(record);
+        assertNotNull("Not compressed", compressed);
+        assertFalse(MovieDetailsRecord.isRecord(compressed));
+
+        byte[] decompressed = PayloadCodec.decompress(compressed);
+        assertArrayEquals(record, decompressed);
+        assertTrue(MovieDetailsRecord.isRecord(decompressed));
+        assertEquals(json, MovieDetailsRecord.decode(decompressed).getTitle());
+    }
+
+    @Test
+    public void notCompressed() {
+        assertNull("Small payload compressed", PayloadCodec.compress("{\"id\":550}"));
+        assertNull("Null payload compressed", PayloadCodec.compress((byte[]) null));
+
+        byte[] random = new byte[PayloadCodec.MIN_COMPRESS_LENGTH * 4];
+        new Random(1).nextBytes(random);
+        random[0] = 0;
+        assertNull("Incompressible payload compressed", PayloadCodec.compress(random));
+
+        // uncompressed data is passed through
+        assertFalse(PayloadCodec.isCompressed(random));
+        assertSame(random, PayloadCodec.decompress(random));
+        byte[] plain = json.getBytes(UTF_8);
+        assertEquals(json, PayloadCodec.decompressString(plain));
+    }
+
+    @Test
+    public void corrupt() {
+        byte[] compressed = PayloadCodec.compress(json);
+        assertNotNull(compressed);
+
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        assertNull("Truncated payload decompressed", PayloadCodec.decompress(truncated));
+
+        byte[] garbage = Arrays.copyOf(compressed, compressed.length);
+        for (int i = 5; i < garbage.length; i++) {
+            garbage[i] = (byte) 0xff;
+        }
+        assertNull("Corrupt payload decompressed", PayloadCodec.decompress(garbage));
+
+        // codec still usable
+        assertEquals(json, PayloadCodec.decompressString(compressed));
+    }
+
+    @Test
+    public void stats() {
+        byte[] compressed = PayloadCodec.compress(json);
+        assertNotNull(compressed);
+        PayloadCodec.decompress(compressed);
+        PayloadCodec.decompress(compressed);
+
+        assertEquals(1, PayloadCodec.getCompressedCount());
+        assertEquals(json.length(), PayloadCodec.getUncompressedBytes());
+        assertEquals(compressed.length, PayloadCodec.getCompressedBytes());
+        assertEquals(json.length() - compressed.length, PayloadCodec.getBytesSaved());
+        assertEquals(2, PayloadCodec.getDecodeCount());
+        assertTrue(PayloadCodec.getDecodeNanos() > 0);
+
+        PayloadCodec.resetStats();
+        assertEquals(0, PayloadCodec.getCompressedCount());
+        assertEquals(0, PayloadCodec.getDecodeCount());
+    }
+}